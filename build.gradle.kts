@@ -80,7 +80,7 @@ dependencies {
     // Database & migration
     implementation("org.flywaydb:flyway-core:11.14.1")
     implementation("org.flywaydb:flyway-database-postgresql:11.14.1")
-    runtimeOnly("org.postgresql:postgresql")
+    implementation("org.postgresql:postgresql") // CopyManager for the bulk inserts of the staging tables
     runtimeOnly("org.mariadb.jdbc:mariadb-java-client")
     implementation("com.microsoft.sqlserver:mssql-jdbc:12.10.0.jre11") // verify JRE version; project uses Java 17
 
@@ -1,5 +1,6 @@
 package com.ibosng._config;
 
+import com.zaxxer.hikari.HikariDataSource;
 import jakarta.persistence.EntityManagerFactory;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Value;
@@ -40,16 +41,22 @@ public class DataSourceConfig {
     @Value("${database.ibosngDbPassword:#{null}}")
     private String jdbcPassword;
 
+    @Getter
+    @Value("${database.ibosngJdbcBatchSize:50}")
+    private int jdbcBatchSize;
+
     @Bean
     @Primary
     public DataSource postgresDataSource() {
-        DataSourceBuilder<?> dataSourceBuilder = DataSourceBuilder.create();
+        DataSourceBuilder<HikariDataSource> dataSourceBuilder = DataSourceBuilder.create().type(HikariDataSource.class);
         dataSourceBuilder.driverClassName("org.postgresql.Driver");
         dataSourceBuilder.url(getJdbcUrl());
         dataSourceBuilder.username(getJdbcUsername());
         dataSourceBuilder.password(getJdbcPassword());
 
-        DataSource dataSource = dataSourceBuilder.build();
+        HikariDataSource dataSource = dataSourceBuilder.build();
+        // the driver sends a JDBC batch of inserts as multi-row inserts
+        dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
 
         // Ensure timezone is set per session
         return new org.springframework.jdbc.datasource.DelegatingDataSource(dataSource) {
@@ -89,6 +96,11 @@ public class DataSourceConfig {
         hibernateProperties.setProperty("hibernate.hbm2ddl.auto", "validate");
         hibernateProperties.setProperty("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
         hibernateProperties.setProperty("hibernate.show_sql", "false");
+        hibernateProperties.setProperty("hibernate.jdbc.batch_size", String.valueOf(getJdbcBatchSize()));
+        hibernateProperties.setProperty("hibernate.order_inserts", "true");
+        hibernateProperties.setProperty("hibernate.order_updates", "true");
+        hibernateProperties.setProperty("hibernate.jdbc.batch_versioned_data", "true");
+        hibernateProperties.setProperty("hibernate.default_batch_fetch_size", "50");
         hibernateProperties.setProperty("defer-datasource-initialization", "true");
 
         return hibernateProperties;
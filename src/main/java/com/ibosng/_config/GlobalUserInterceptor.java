@@ -2,6 +2,8 @@ package com.ibosng._config;
 
 import com.ibosng.dbservice.entities.Benutzer;
 import com.ibosng.dbservice.services.BenutzerService;
+import com.ibosng.gatewayservice.security.AuthContext;
+import com.ibosng.gatewayservice.security.AuthContextHolder;
 import com.ibosng.gatewayservice.services.BenutzerDetailsService;
 import com.ibosng.gatewayservice.utils.Helpers;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,6 +21,7 @@ public class GlobalUserInterceptor implements HandlerInterceptor {
     private final BenutzerDetailsService benutzerDetailsService; // For Token
     private final BenutzerService benutzerService;             // For ID lookup
     private final GlobalUserHolder globalUserHolder;
+    private final AuthContextHolder authContextHolder;
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
@@ -29,9 +32,15 @@ public class GlobalUserInterceptor implements HandlerInterceptor {
 
         Benutzer benutzer = null;
 
-        // 2. Strategy A: Try JWT Token (Primary)
+        // 2. Strategy A: Use the context the JwtFilter resolved from the token (Primary)
+        AuthContext authContext = authContextHolder.current();
+        if (authContext != null) {
+            benutzer = authContext.getBenutzer();
+        }
+
+        // 3. Strategy B: Try JWT Token (requests the JwtFilter does not run for)
         String token = Helpers.getTokenFromRequest(request);
-        if (token != null) {
+        if (authContext == null && token != null) {
             try {
                 benutzer = benutzerDetailsService.getUserFromToken(token);
             } catch (Exception e) {
@@ -39,7 +48,7 @@ public class GlobalUserInterceptor implements HandlerInterceptor {
             }
         }
 
-        // 3. Strategy B: Try Header (Fallback/Legacy for Moxis/LHR)
+        // 4. Strategy C: Try Header (Fallback/Legacy for Moxis/LHR)
         if (benutzer == null) {
             String userId = request.getHeader(USER_HEADER);
             if (NumberUtils.isParsable(userId)) {
@@ -47,7 +56,7 @@ public class GlobalUserInterceptor implements HandlerInterceptor {
             }
         }
 
-        // 4. Populate Context
+        // 5. Populate Context
         if (benutzer != null) {
             globalUserHolder.setUsername(benutzer.getEmail());
             globalUserHolder.setUserId(benutzer.getId());
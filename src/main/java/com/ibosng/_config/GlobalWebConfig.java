@@ -1,6 +1,7 @@
 package com.ibosng._config;
 
 import com.ibosng.dbservice.services.BenutzerService;
+import com.ibosng.gatewayservice.security.AuthContextHolder;
 import com.ibosng.gatewayservice.services.BenutzerDetailsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -29,13 +30,14 @@ public class GlobalWebConfig implements WebMvcConfigurer {
     private final BenutzerDetailsService benutzerDetailsService;
     private final BenutzerService benutzerService;
     private final GlobalUserHolder globalUserHolder;
+    private final AuthContextHolder authContextHolder;
 
     @Value("${cors.allowedOrigins}")
     private List<String> allowedOrigins;
 
     @Bean
     public GlobalUserInterceptor globalUserInterceptor() {
-        return new GlobalUserInterceptor(benutzerDetailsService, benutzerService, globalUserHolder);
+        return new GlobalUserInterceptor(benutzerDetailsService, benutzerService, globalUserHolder, authContextHolder);
     }
 
     // This bean was only present in the validator service and disabled csrf protection for all of its endpoints.
@@ -3,6 +3,7 @@ package com.ibosng._config;
 import com.ibosng.aiservice.services.AISchedulerService;
 import com.ibosng.fileimportservice.services.impl.FileImportSchedulerServiceImpl;
 import com.ibosng.lhrservice.services.impl.LhrSchedulerServiceImpl;
+import com.ibosng.microsoftgraphservice.services.FileShareService;
 import com.ibosng.moxisservice.services.impl.MoxisSchedulerServiceImpl;
 import com.ibosng.usercreationservice.service.impl.UserCreationSchedulerServiceImpl;
 import com.ibosng.validationservice.services.impl.ValidationSchedulerServiceImpl;
@@ -29,6 +30,7 @@ public class LegacySchedulers {
     private final FileImportSchedulerServiceImpl fileImportSchedulerService;
     private final MoxisSchedulerServiceImpl moxisSchedulerService;
     private final LhrSchedulerServiceImpl lhrSchedulerService;
+    private final FileShareService fileShareService;
 
 
     @Scheduled(cron = CRON_EVERY_30_MINUTES)
@@ -56,6 +58,11 @@ public class LegacySchedulers {
         validationSchedulerService.updateMAData();
     }
 
+    @Scheduled(cron = "${cronExpressionResyncMAData:0 0 2 * * ?}")
+    public void resyncMADataScheduled() {
+        validationSchedulerService.resyncMAData();
+    }
+
     @Scheduled(cron = CRON_1_MINUTE)
     public void checkIncomingFilesScheduledUserCreationService() {
         userCreationSchedulerService.checkIncomingFiles();
@@ -126,6 +133,11 @@ public class LegacySchedulers {
         lhrSchedulerService.abwesenheitenCheck();
     }
 
+    @Scheduled(cron = "${cronExpressionReconcileFileIndex:0 30 2 * * ?}")
+    public void reconcileFileIndexScheduled() {
+        fileShareService.reconcileFileIndex();
+    }
+
 
 
 
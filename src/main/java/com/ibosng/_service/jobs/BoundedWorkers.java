@@ -0,0 +1,99 @@
+package com.ibosng._service.jobs;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Works through a list of items with a bounded number of threads. Each worker takes the next item from a shared queue
+ * as soon as it is done with the previous one, so a few slow items do not hold up the others.
+ */
+public final class BoundedWorkers {
+
+    @FunctionalInterface
+    public interface ItemTask<T> {
+        void run(T item) throws Exception;
+    }
+
+    private BoundedWorkers() {
+    }
+
+    /**
+     * Runs the task for every item on at most {@code threads} daemon threads named {@code <threadName>-<n>} and
+     * returns once all items are done. The first exception of a task stops the other workers and is thrown as the
+     * cause of the {@link ExecutionException}.
+     */
+    public static <T> void forEach(String threadName, int threads, List<T> items, ItemTask<T> task)
+            throws InterruptedException, ExecutionException {
+        forEach(threadName, threads, items, task, null);
+    }
+
+    /**
+     * Like {@link #forEach(String, int, List, ItemTask)}, additionally passes the index of the last item up to which
+     * all items are done to {@code doneUpTo} whenever it moves forward, as the workers finish the items out of order.
+     */
+    public static <T> void forEach(String threadName, int threads, List<T> items, ItemTask<T> task, IntConsumer doneUpTo)
+            throws InterruptedException, ExecutionException {
+        if (items.isEmpty()) {
+            return;
+        }
+        Queue<Integer> pending = new ConcurrentLinkedQueue<>(IntStream.range(0, items.size()).boxed().toList());
+        Progress progress = doneUpTo != null ? new Progress(items.size(), doneUpTo) : null;
+
+        int workers = Math.min(Math.max(1, threads), items.size());
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, threadName + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = IntStream.range(0, workers)
+                    .<Future<?>>mapToObj(worker -> executor.submit(() -> {
+                        Integer index;
+                        while ((index = pending.poll()) != null && !Thread.currentThread().isInterrupted()) {
+                            task.run(items.get(index));
+                            if (progress != null) {
+                                progress.done(index);
+                            }
+                        }
+                        return null;
+                    }))
+                    .toList();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static class Progress {
+        private final boolean[] done;
+        private final IntConsumer doneUpTo;
+        private int next;
+
+        Progress(int size, IntConsumer doneUpTo) {
+            this.done = new boolean[size];
+            this.doneUpTo = doneUpTo;
+        }
+
+        synchronized void done(int index) {
+            done[index] = true;
+            int previous = next;
+            while (next < done.length && done[next]) {
+                next++;
+            }
+            if (next > previous) {
+                doneUpTo.accept(next - 1);
+            }
+        }
+    }
+}
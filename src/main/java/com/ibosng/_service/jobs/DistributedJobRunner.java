@@ -0,0 +1,167 @@
+package com.ibosng._service.jobs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs scheduled jobs on at most one instance at a time.
+ * <p>
+ * The lock of a job is taken without a fixed lease, so the Redisson watchdog keeps renewing it for as long as the job
+ * runs and it is only released once the job finished or its instance died. A job with several shards locks every
+ * shard on its own, so up to {@link JobDefinition#getShards()} instances work on it in parallel. A shard that fails
+ * keeps its last {@link JobContext#checkpoint checkpoint} and the next run continues from there. A shard of a job with a
+ * {@link JobDefinition#getCron() cron} that finished is marked done for its fire time, so an instance triggered late
+ * for the same fire time does not run it again from the start.
+ */
+@Slf4j
+@Component
+public class DistributedJobRunner {
+
+    static final String CHECKPOINT_PREFIX = "jobs:checkpoint:";
+    static final String DONE_PREFIX = "jobs:done:";
+    private static final Duration MAX_CRON_LOOKBACK = Duration.ofDays(400);
+
+    @FunctionalInterface
+    public interface JobTask {
+        void run(JobContext context) throws Exception;
+    }
+
+    private final Map<String, JobMetrics> metrics = new ConcurrentHashMap<>();
+    private final RedissonClient redissonClient;
+    private final Clock clock;
+
+    @Autowired
+    public DistributedJobRunner(RedissonClient redissonClient) {
+        this(redissonClient, Clock.systemDefaultZone());
+    }
+
+    DistributedJobRunner(RedissonClient redissonClient, Clock clock) {
+        this.redissonClient = redissonClient;
+        this.clock = clock;
+    }
+
+    /**
+     * Runs the shards of the job that are not running on another instance.
+     *
+     * @return whether this instance ran at least one shard
+     */
+    public boolean run(JobDefinition job, JobTask task) {
+        JobMetrics jobMetrics = getMetrics(job.getName());
+        if (!isEnabled(job)) {
+            log.info("{} is currently disabled.", job.getName());
+            return false;
+        }
+        int shards = Math.max(1, job.getShards());
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        CronExpression cron = job.getCron() != null ? CronExpression.parse(job.getCron()) : null;
+        ZonedDateTime fireTime = cron != null ? lastFireTime(cron, now) : null;
+        int claimed = 0;
+        for (int shard = 0; shard < shards && claimed < job.getMaxShardsPerInstance(); shard++) {
+            RLock lock = redissonClient.getLock(shards == 1 ? job.getLockKey() : job.getLockKey() + ":" + shard);
+            try {
+                if (!lock.tryLock(0, TimeUnit.MILLISECONDS)) {
+                    jobMetrics.getOverlaps().incrementAndGet();
+                    log.info("Another instance is already processing {} (shard {}/{}).", job.getName(), shard + 1, shards);
+                    continue;
+                }
+            } catch (InterruptedException e) {
+                log.error("Failed to acquire lock of {}", job.getName(), e);
+                Thread.currentThread().interrupt();
+                break;
+            }
+            try {
+                // checked with the lock held, the instance that finished the shard has released it already
+                RBucket<String> done = fireTime != null ? redissonClient.getBucket(doneKey(job, shard, fireTime)) : null;
+                if (done != null && done.isExists()) {
+                    log.info("{} (shard {}/{}) already finished for {}.", job.getName(), shard + 1, shards, fireTime);
+                    continue;
+                }
+                claimed++;
+                if (runShard(job, shard, shards, task, jobMetrics) && done != null) {
+                    ZonedDateTime nextFireTime = cron.next(now);
+                    done.set(clock.instant().toString(), nextFireTime != null
+                            ? Duration.between(now, nextFireTime).plus(Duration.ofMinutes(1))
+                            : Duration.ofDays(1));
+                }
+            } finally {
+                if (lock.isHeldByCurrentThread()) {
+                    lock.unlock();
+                }
+            }
+        }
+        return claimed > 0;
+    }
+
+    public JobMetrics getMetrics(String jobName) {
+        return metrics.computeIfAbsent(jobName, name -> new JobMetrics());
+    }
+
+    /**
+     * The latest time the cron fired at or before now, null if it did not fire within {@link #MAX_CRON_LOOKBACK}.
+     */
+    static ZonedDateTime lastFireTime(CronExpression cron, ZonedDateTime now) {
+        Duration lookback = Duration.ofMinutes(1);
+        ZonedDateTime fireTime = cron.next(now.minus(lookback));
+        while ((fireTime == null || fireTime.isAfter(now)) && lookback.compareTo(MAX_CRON_LOOKBACK) < 0) {
+            lookback = lookback.multipliedBy(2);
+            fireTime = cron.next(now.minus(lookback));
+        }
+        if (fireTime == null || fireTime.isAfter(now)) {
+            return null;
+        }
+        for (ZonedDateTime next = cron.next(fireTime); next != null && !next.isAfter(now); next = cron.next(fireTime)) {
+            fireTime = next;
+        }
+        return fireTime;
+    }
+
+    private static String doneKey(JobDefinition job, int shard, ZonedDateTime fireTime) {
+        return DONE_PREFIX + job.getName() + ":" + shard + ":" + fireTime.toInstant();
+    }
+
+    /**
+     * @return whether the shard finished without failure
+     */
+    private boolean runShard(JobDefinition job, int shard, int shards, JobTask task, JobMetrics jobMetrics) {
+        RBucket<String> checkpoint = redissonClient.getBucket(CHECKPOINT_PREFIX + job.getName() + ":" + shard);
+        JobContext context = new JobContext(job.getName(), shard, shards, checkpoint);
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            task.run(context);
+            context.clearCheckpoint();
+        } catch (InterruptedException e) {
+            failed = true;
+            log.warn("{} (shard {}/{}) was interrupted", job.getName(), shard + 1, shards);
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            failed = true;
+            log.error("Error occurred while running {} (shard {}/{})", job.getName(), shard + 1, shards, e);
+        }
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        jobMetrics.recordRun(duration, context.getItems(), failed);
+        log.info("{} (shard {}/{}) {} after {} ms with {} items", job.getName(), shard + 1, shards,
+                failed ? "failed" : "finished", duration.toMillis(), context.getItems());
+        return !failed;
+    }
+
+    private boolean isEnabled(JobDefinition job) {
+        if (job.getEnabledFlagKey() == null) {
+            return true;
+        }
+        RBucket<Boolean> enabled = redissonClient.getBucket(job.getEnabledFlagKey());
+        return Boolean.TRUE.equals(enabled.get());
+    }
+}
@@ -0,0 +1,61 @@
+package com.ibosng._service.jobs;
+
+import lombok.Getter;
+import org.redisson.api.RBucket;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The shard a job runs for, together with its checkpoint and the number of items it processed.
+ */
+public class JobContext {
+
+    @Getter
+    private final String jobName;
+    @Getter
+    private final int shard;
+    @Getter
+    private final int shardCount;
+    private final RBucket<String> checkpoint;
+    private final AtomicLong items = new AtomicLong();
+
+    JobContext(String jobName, int shard, int shardCount, RBucket<String> checkpoint) {
+        this.jobName = jobName;
+        this.shard = shard;
+        this.shardCount = shardCount;
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * Whether the item with the id belongs to the shard of this run.
+     */
+    public boolean owns(long id) {
+        return Math.floorMod(id, shardCount) == shard;
+    }
+
+    /**
+     * The last checkpoint of an unfinished run of this shard, null if the last run finished.
+     */
+    public String getCheckpoint() {
+        return checkpoint.get();
+    }
+
+    /**
+     * Stores how far the shard got, so that a run interrupted by a failure or a restart continues from here.
+     */
+    public void checkpoint(String value) {
+        checkpoint.set(value);
+    }
+
+    public void addItems(long count) {
+        items.addAndGet(count);
+    }
+
+    public long getItems() {
+        return items.get();
+    }
+
+    void clearCheckpoint() {
+        checkpoint.delete();
+    }
+}
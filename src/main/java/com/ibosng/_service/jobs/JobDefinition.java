@@ -0,0 +1,45 @@
+package com.ibosng._service.jobs;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * A job run by the {@link DistributedJobRunner}.
+ */
+@Getter
+@Builder
+public class JobDefinition {
+
+    /**
+     * Name of the job in logs, metrics and checkpoint keys.
+     */
+    private final String name;
+
+    /**
+     * Redis key of the lock. Sharded jobs lock {@code lockKey:<shard>} instead.
+     */
+    private final String lockKey;
+
+    /**
+     * Redis key of a {@code Boolean} switching the job on and off, the job always runs if {@code null}.
+     */
+    private final String enabledFlagKey;
+
+    /**
+     * Cron expression of the schedule the job is triggered by. If set, a shard that finished is marked done until the
+     * next fire time, so that a shard is run once per fire time even if the instances are triggered at different times.
+     */
+    private final String cron;
+
+    /**
+     * Number of shards the work is split into, each shard can run on a different instance.
+     */
+    @Builder.Default
+    private final int shards = 1;
+
+    /**
+     * Shards a single instance claims per run, so the remaining shards are left to other instances.
+     */
+    @Builder.Default
+    private final int maxShardsPerInstance = Integer.MAX_VALUE;
+}
@@ -0,0 +1,38 @@
+package com.ibosng._service.jobs;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of a job since startup together with duration and items of its last run.
+ */
+@Getter
+public class JobMetrics {
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong items = new AtomicLong();
+
+    /**
+     * Runs skipped because another run held the lock, e.g. because the job takes longer than its schedule.
+     */
+    private final AtomicLong overlaps = new AtomicLong();
+
+    private volatile Duration lastDuration = Duration.ZERO;
+    private volatile long lastItems;
+    private volatile LocalDateTime lastFinishedAt;
+
+    void recordRun(Duration duration, long processedItems, boolean failed) {
+        runs.incrementAndGet();
+        if (failed) {
+            failures.incrementAndGet();
+        }
+        items.addAndGet(processedItems);
+        lastDuration = duration;
+        lastItems = processedItems;
+        lastFinishedAt = LocalDateTime.now();
+    }
+}
@@ -1,5 +1,6 @@
 package com.ibosng.aiservice.services;
 
+import com.azure.ai.openai.assistants.models.ToolDefinition;
 import com.ibosng.aiservice.dtos.ServiceMethodDto;
 import com.ibosng.aiservice.dtos.tooldefiinition.ToolDefinitionDto;
 import com.ibosng.aiservice.enums.RequestType;
@@ -12,5 +13,10 @@ public interface ServiceMethodRegistryService {
 
     List<ToolDefinitionDto> buildToolDefinitions(RequestType type);
 
+    /**
+     * The tool definitions of {@link #buildToolDefinitions} as passed to the assistant, built once at startup.
+     */
+    List<ToolDefinition> getToolDefinitions(RequestType type);
+
     Object callServiceMethod(String methodName, Map<String, Object> params, RequestType type);
 }
@@ -2,34 +2,66 @@ package com.ibosng.aiservice.services.impl;
 
 import com.azure.ai.openai.assistants.AssistantsClient;
 import com.azure.ai.openai.assistants.models.*;
-import com.azure.json.JsonReader;
 import com.ibosng.aiservice.dtos.AssistantRequestDTO;
 import com.ibosng.aiservice.dtos.AssistantResponseDTO;
 import com.ibosng.aiservice.dtos.AssistantResponseDTO.ToolCallResultDTO;
-import com.ibosng.aiservice.dtos.tooldefiinition.ToolDefinitionDto;
 import com.ibosng.aiservice.enums.RequestType;
 import com.ibosng.aiservice.services.AssistantPromptService;
 import com.ibosng.aiservice.services.AssistantService;
 import com.ibosng.aiservice.services.ServiceMethodRegistryService;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.ibosng.aiservice.utils.Helpers.*;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class AssistantServiceImpl implements AssistantService {
     private final static Integer NUMBER_OF_RETRIES = 150;
     private final AssistantsClient assistantsClient;
 
     private final ServiceMethodRegistryService serviceMethodRegistryService;
     private final AssistantPromptService assistantPromptService;
+    private final ExecutorService toolCallExecutor;
+
+    public AssistantServiceImpl(AssistantsClient assistantsClient,
+                                ServiceMethodRegistryService serviceMethodRegistryService,
+                                AssistantPromptService assistantPromptService,
+                                @Value("${assistantToolCallThreads:4}") int toolCallThreads) {
+        this(assistantsClient, serviceMethodRegistryService, assistantPromptService, toolCallExecutor(toolCallThreads));
+    }
+
+    AssistantServiceImpl(AssistantsClient assistantsClient,
+                         ServiceMethodRegistryService serviceMethodRegistryService,
+                         AssistantPromptService assistantPromptService,
+                         ExecutorService toolCallExecutor) {
+        this.assistantsClient = assistantsClient;
+        this.serviceMethodRegistryService = serviceMethodRegistryService;
+        this.assistantPromptService = assistantPromptService;
+        this.toolCallExecutor = toolCallExecutor;
+    }
+
+    private static ExecutorService toolCallExecutor(int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "assistant-tool-call-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        toolCallExecutor.shutdownNow();
+    }
 
     @Override
     public AssistantResponseDTO processRequest(AssistantRequestDTO assistantRequest) {
@@ -145,6 +177,20 @@ public class AssistantServiceImpl implements AssistantService {
         return builder.build();
     }
 
+    /**
+     * Runs the tool calls of one action concurrently, they do not depend on each other. The results keep the order
+     * of the tool calls.
+     */
+    private List<ToolCallResultDTO> executeToolCalls(List<RequiredToolCall> toolCalls, RequestType requestType) {
+        if (toolCalls.size() == 1) {
+            return List.of(executeToolCall(toolCalls.get(0), requestType));
+        }
+        List<CompletableFuture<ToolCallResultDTO>> futures = toolCalls.stream()
+                .map(toolCall -> CompletableFuture.supplyAsync(() -> executeToolCall(toolCall, requestType), toolCallExecutor))
+                .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
     private ThreadRun createAndRunThread(AssistantRequestDTO assistantRequest, String uniqueId, String modifiedPrompt) {
         if (assistantRequest.isNewThread()) {
             return createNewThread(assistantRequest, uniqueId, modifiedPrompt);
@@ -229,14 +275,13 @@ public class AssistantServiceImpl implements AssistantService {
             if (currentRun.getStatus().equals(RunStatus.REQUIRES_ACTION) &&
                     currentRun.getRequiredAction() instanceof SubmitToolOutputsAction requiredAction) {
 
-                List<ToolOutput> toolOutputs = new ArrayList<>();
-
-                for (RequiredToolCall toolCall : requiredAction.getSubmitToolOutputs().getToolCalls()) {
-                    var toolCallResult = executeToolCall(toolCall, type);
-                    toolCallResults.add(toolCallResult);
+                List<ToolCallResultDTO> results = executeToolCalls(requiredAction.getSubmitToolOutputs().getToolCalls(), type);
+                toolCallResults.addAll(results);
 
+                List<ToolOutput> toolOutputs = new ArrayList<>();
+                for (ToolCallResultDTO toolCallResult : results) {
                     toolOutputs.add(new ToolOutput()
-                            .setToolCallId(toolCall.getId())
+                            .setToolCallId(toolCallResult.getToolId())
                             .setOutput(serializeObject(toolCallResult.getResult())));
                 }
 
@@ -259,27 +304,9 @@ public class AssistantServiceImpl implements AssistantService {
     }
 
     private void setTools(CreateAndRunThreadOptions createAndRunThreadOptions, RequestType type) {
-        List<ToolDefinitionDto> tools = serviceMethodRegistryService.buildToolDefinitions(type);
-
-        if (tools != null && !tools.isEmpty()) {
-            List<ToolDefinition> mappedTools = tools.stream()
-                    .map(tool -> {
-                        try {
-                            JsonReader jsonReader = createJsonReaderFromDto(tool);
-                            if (jsonReader != null) {
-                                return ToolDefinition.fromJson(jsonReader);
-                            }
-                        } catch (IOException e) {
-                            log.error("Error while trying to create ToolDefinition: ", e);
-                        }
-                        return null;
-                    })
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
-
-            if (!mappedTools.isEmpty()) {
-                createAndRunThreadOptions.setTools(mappedTools);
-            }
+        List<ToolDefinition> tools = serviceMethodRegistryService.getToolDefinitions(type);
+        if (!tools.isEmpty()) {
+            createAndRunThreadOptions.setTools(tools);
         }
 
 /*        // 💡 Always add file_search for chat
@@ -1,5 +1,10 @@
 package com.ibosng.aiservice.services.impl;
 
+import com.azure.ai.openai.assistants.models.ToolDefinition;
+import com.azure.json.JsonProviders;
+import com.azure.json.JsonReader;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ibosng.aiservice.annotations.MethodDescription;
 import com.ibosng.aiservice.annotations.ParameterDescription;
 import com.ibosng.aiservice.dtos.ParameterDescriptionDto;
@@ -10,193 +15,255 @@ import com.ibosng.aiservice.dtos.tooldefiinition.ToolParameterPropertiesDto;
 import com.ibosng.aiservice.dtos.tooldefiinition.ToolParametersDto;
 import com.ibosng.aiservice.enums.RequestType;
 import com.ibosng.aiservice.services.ServiceMethodRegistryService;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
-import static com.ibosng.aiservice.utils.Helpers.convertValue;
 import static com.ibosng.aiservice.utils.Helpers.mapJavaTypeToOpenAI;
 import static com.ibosng.dbservice.utils.Parsers.isNullOrBlank;
 
-
+/**
+ * The methods of the service of each {@link RequestType} offered to the assistant as tools.
+ * <p>
+ * The tool definitions, their JSON and the {@link MethodHandle} bound to the service bean are built once at startup,
+ * so an assistant request neither reflects over the service nor serializes the tools. The arguments of a tool call are
+ * converted with converters prepared per parameter.
+ */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class ServiceMethodRegistryServiceImpl implements ServiceMethodRegistryService {
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private record ServiceTool(ServiceMethodDto serviceMethod, MethodHandle handle, String[] parameterNames,
+                               Function<Object, Object>[] converters) {
+    }
+
+    private record ServiceTools(List<ServiceMethodDto> serviceMethods, List<ToolDefinitionDto> toolDefinitionDtos,
+                                List<ToolDefinition> toolDefinitions, Map<String, ServiceTool> tools) {
+    }
+
+    private static final ServiceTools NO_TOOLS = new ServiceTools(List.of(), List.of(), List.of(), Map.of());
+
     private final ApplicationContext applicationContext;
+    private final Map<RequestType, ServiceTools> registry = new EnumMap<>(RequestType.class);
 
-    @Override
-    public List<ServiceMethodDto> getServiceMethods(RequestType requestType) {
-        List<ServiceMethodDto> methods = new ArrayList<>();
-        try {
-            // Get the service class using the RequestType's controller mapping
+    public ServiceMethodRegistryServiceImpl(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    @PostConstruct
+    void init() {
+        for (RequestType requestType : RequestType.values()) {
             String serviceClassName = requestType.getServiceClassName();
-            if(isNullOrBlank(serviceClassName)) {
-                return methods;
+            if (isNullOrBlank(serviceClassName)) {
+                continue;
             }
-            Class<?> serviceClass = Class.forName(requestType.getServiceClassName());
-
-            // Extract methods from the class
-            for (Method method : serviceClass.getDeclaredMethods()) {
-                ServiceMethodDto methodDto = new ServiceMethodDto();
-                methodDto.setMethodName(method.getName());
-                methodDto.setReturnType(method.getReturnType().getSimpleName());
-
-                // Extract parameters
-                List<ParameterDescriptionDto> parameterDescriptions = new ArrayList<>();
-                Parameter[] methodParameters = method.getParameters();
-                
-                // Check if method has parameter descriptions annotation
-                ParameterDescription paramDescAnnotation = method.getAnnotation(ParameterDescription.class);
-                Map<String, String> paramDescriptions = new HashMap<>();
-                
-                if (paramDescAnnotation != null) {
-                    // Build a map of parameter names to descriptions
-                    for (ParameterDescription.Param param : paramDescAnnotation.value()) {
-                        paramDescriptions.put(param.name(), param.description());
-                    }
-                }
-                
-                // Process each parameter
-                for (Parameter parameter : methodParameters) {
-                    String paramName = parameter.getName();
-                    String paramType = parameter.getType().getSimpleName();
-                    String description = paramDescriptions.getOrDefault(paramName, "No description available");
-                    
-                    parameterDescriptions.add(new ParameterDescriptionDto(paramName, paramType, description));
-                }
-                
-                methodDto.setParameters(parameterDescriptions);
-                
-                if (method.isAnnotationPresent(MethodDescription.class)) {
-                    methodDto.setDescription(method.getAnnotation(MethodDescription.class).value());
-                } else {
-                    methodDto.setDescription("Keine Beschreibung verfügbar");
-                }
-
-                methods.add(methodDto);
+            try {
+                Class<?> serviceClass = Class.forName(serviceClassName);
+                register(requestType, serviceClass, applicationContext.getBean(serviceClass));
+            } catch (ClassNotFoundException e) {
+                log.error("Service class not found for RequestType: {}", requestType, e);
             }
-        } catch (ClassNotFoundException e) {
-            log.error("Service class not found for RequestType: {}", requestType, e);
         }
-        return methods;
     }
 
-    @Override
-    public List<ToolDefinitionDto> buildToolDefinitions(RequestType type) {
-        List<ServiceMethodDto> serviceMethods = getServiceMethods(type);
-        List<ToolDefinitionDto> tools = new ArrayList<>();
-
-        for (ServiceMethodDto method : serviceMethods) {
-            // Populate parameter properties
-            Map<String, ToolParameterPropertiesDto> properties = new HashMap<>();
-            List<String> requiredParameters = new ArrayList<>();
-            
-            for (ParameterDescriptionDto param : method.getParameters()) {
-                String paramType = param.getType(); // The type (e.g., "String")
-                String paramName = param.getName(); // The name (e.g., "location")
-                String paramDesc = param.getDescription(); // The description
-
-                ToolParameterPropertiesDto property = new ToolParameterPropertiesDto();
-                property.setType(paramType.toLowerCase()); // Set type (e.g., "string")
-                property.setDescription(paramDesc);
-
-                if (paramType.contains("List") || paramType.contains("java.util.List") || paramType.endsWith("[]")) {
-                    property.setType("array");  // ✅ OpenAI expects "array"
-
-                    // Define array items type (assuming list of strings for now)
-                    Map<String, String> items = new HashMap<>();
-                    items.put("type", "string"); // 🔹 Ensure it's properly formatted
-                    property.setItems(items);
-                } else {
-                    // Standard types (string, int, etc.)
-                    property.setType(mapJavaTypeToOpenAI(paramType));
-                }
-
-                properties.put(paramName, property);
-                requiredParameters.add(paramName); // Add to required list
-            }
-
-            // Create parameters object
-            ToolParametersDto parameters = new ToolParametersDto();
-            parameters.setType("object");
-            parameters.setProperties(properties);
-            parameters.setRequired(requiredParameters);
+    /**
+     * Registers the methods declared by {@code serviceClass} as the tools of the request type, called on
+     * {@code serviceInstance}.
+     */
+    void register(RequestType requestType, Class<?> serviceClass, Object serviceInstance) {
+        List<ServiceMethodDto> serviceMethods = new ArrayList<>();
+        List<ToolDefinitionDto> toolDefinitionDtos = new ArrayList<>();
+        List<ToolDefinition> toolDefinitions = new ArrayList<>();
+        Map<String, ServiceTool> tools = new HashMap<>();
 
-            // Create function object
-            ToolFunctionDto function = new ToolFunctionDto();
-            function.setName(method.getMethodName());
-            function.setDescription(method.getDescription());
-            function.setParameters(parameters);
+        Method[] methods = serviceClass.getDeclaredMethods();
+        Arrays.sort(methods, Comparator.comparing(Method::getName));
+        for (Method method : methods) {
+            if (Modifier.isStatic(method.getModifiers()) || method.isSynthetic()) {
+                continue;
+            }
+            if (tools.containsKey(method.getName())) {
+                log.warn("Ignoring overload of tool {} of {}", method.getName(), serviceClass.getSimpleName());
+                continue;
+            }
+            try {
+                ServiceMethodDto serviceMethod = describe(method);
+                ToolDefinitionDto toolDefinitionDto = toToolDefinition(serviceMethod);
+                tools.put(method.getName(), new ServiceTool(serviceMethod, bind(method, serviceInstance),
+                        Arrays.stream(method.getParameters()).map(Parameter::getName).toArray(String[]::new),
+                        converters(method)));
+                serviceMethods.add(serviceMethod);
+                toolDefinitionDtos.add(toolDefinitionDto);
+                toolDefinitions.add(parse(toolDefinitionDto));
+            } catch (IllegalAccessException | IOException e) {
+                log.error("Could not register tool {} of {}", method.getName(), serviceClass.getSimpleName(), e);
+            }
+        }
+        registry.put(requestType, new ServiceTools(List.copyOf(serviceMethods), List.copyOf(toolDefinitionDtos),
+                List.copyOf(toolDefinitions), Map.copyOf(tools)));
+        log.info("Registered {} tools for RequestType {}", tools.size(), requestType);
+    }
 
-            // Create tool definition
-            ToolDefinitionDto tool = new ToolDefinitionDto();
-            tool.setType("function");
-            tool.setFunction(function);
+    @Override
+    public List<ServiceMethodDto> getServiceMethods(RequestType requestType) {
+        return tools(requestType).serviceMethods();
+    }
 
-            tools.add(tool);
-        }
+    @Override
+    public List<ToolDefinitionDto> buildToolDefinitions(RequestType type) {
+        return tools(type).toolDefinitionDtos();
+    }
 
-        return tools;
+    @Override
+    public List<ToolDefinition> getToolDefinitions(RequestType type) {
+        return tools(type).toolDefinitions();
     }
 
     @Override
     public Object callServiceMethod(String methodName, Map<String, Object> params, RequestType type) {
         try {
-            // Get the service class associated with the RequestType
-            Class<?> serviceClass = Class.forName(type.getServiceClassName());
-            Object serviceInstance = applicationContext.getBean(serviceClass);
-
-            // Find the matching method by name
-            Method[] methods = serviceClass.getDeclaredMethods();
-            for (Method method : methods) {
-                if (method.getName().equals(methodName)) {
-                    // Prepare method parameters
-                    Object[] args = prepareMethodArguments(method, params);
-
-                    // Invoke the method dynamically
-                    Object result = method.invoke(serviceInstance, args);
-                    return result != null ? result : "No response from service method.";
-                }
+            ServiceTool tool = tools(type).tools().get(methodName);
+            if (tool == null) {
+                throw new RuntimeException("Method not found: " + methodName);
             }
-            throw new RuntimeException("Method not found: " + methodName);
-        } catch (Exception e) {
+            Object result = tool.handle().invokeExact(prepareMethodArguments(tool, params));
+            return result != null ? result : "No response from service method.";
+        } catch (Throwable e) {
             log.error("Failed to call service method: {}", e.getMessage());
             throw new RuntimeException("Error invoking service method: " + methodName, e);
         }
     }
 
-    private Object[] prepareMethodArguments(Method method, Map<String, Object> params) {
-        Parameter[] parameters = method.getParameters();
-        Object[] args = new Object[parameters.length];
+    private ServiceTools tools(RequestType type) {
+        return type == null ? NO_TOOLS : registry.getOrDefault(type, NO_TOOLS);
+    }
 
-        for (int i = 0; i < parameters.length; i++) {
-            Parameter parameter = parameters[i];
+    private static ServiceMethodDto describe(Method method) {
+        ServiceMethodDto methodDto = new ServiceMethodDto();
+        methodDto.setMethodName(method.getName());
+        methodDto.setReturnType(method.getReturnType().getSimpleName());
+
+        Map<String, String> paramDescriptions = new HashMap<>();
+        ParameterDescription paramDescAnnotation = method.getAnnotation(ParameterDescription.class);
+        if (paramDescAnnotation != null) {
+            for (ParameterDescription.Param param : paramDescAnnotation.value()) {
+                paramDescriptions.put(param.name(), param.description());
+            }
+        }
+
+        List<ParameterDescriptionDto> parameterDescriptions = new ArrayList<>();
+        for (Parameter parameter : method.getParameters()) {
             String paramName = parameter.getName();
-            Class<?> paramType = parameter.getType();
-
-            if (params.containsKey(paramName)) {
-                Object value = params.get(paramName);
-                if (paramType.isInstance(value)) {
-                    args[i] = value;
-                } else {
-                    // Convert value to the required type (if needed)
-                    args[i] = convertValue(value, paramType);
-                }
+            parameterDescriptions.add(new ParameterDescriptionDto(paramName, parameter.getType().getSimpleName(),
+                    paramDescriptions.getOrDefault(paramName, "No description available")));
+        }
+        methodDto.setParameters(parameterDescriptions);
+
+        if (method.isAnnotationPresent(MethodDescription.class)) {
+            methodDto.setDescription(method.getAnnotation(MethodDescription.class).value());
+        } else {
+            methodDto.setDescription("Keine Beschreibung verfügbar");
+        }
+        return methodDto;
+    }
+
+    private static ToolDefinitionDto toToolDefinition(ServiceMethodDto method) {
+        Map<String, ToolParameterPropertiesDto> properties = new LinkedHashMap<>();
+        List<String> requiredParameters = new ArrayList<>();
+
+        for (ParameterDescriptionDto param : method.getParameters()) {
+            String paramType = param.getType();
+            ToolParameterPropertiesDto property = new ToolParameterPropertiesDto();
+            property.setDescription(param.getDescription());
+
+            if (paramType.contains("List") || paramType.endsWith("[]")) {
+                // OpenAI expects "array", the items are assumed to be strings
+                property.setType("array");
+                Map<String, String> items = new HashMap<>();
+                items.put("type", "string");
+                property.setItems(items);
             } else {
-                args[i] = null; // Use null for missing parameters
+                property.setType(mapJavaTypeToOpenAI(paramType));
             }
+
+            properties.put(param.getName(), property);
+            requiredParameters.add(param.getName());
         }
 
+        ToolParametersDto parameters = new ToolParametersDto();
+        parameters.setType("object");
+        parameters.setProperties(properties);
+        parameters.setRequired(requiredParameters);
+
+        ToolFunctionDto function = new ToolFunctionDto();
+        function.setName(method.getMethodName());
+        function.setDescription(method.getDescription());
+        function.setParameters(parameters);
+
+        ToolDefinitionDto tool = new ToolDefinitionDto();
+        tool.setType("function");
+        tool.setFunction(function);
+        return tool;
+    }
+
+    private static ToolDefinition parse(ToolDefinitionDto toolDefinitionDto) throws IOException {
+        try (JsonReader jsonReader = JsonProviders.createReader(OBJECT_MAPPER.writeValueAsString(toolDefinitionDto))) {
+            return ToolDefinition.fromJson(jsonReader);
+        }
+    }
+
+    /**
+     * Handle taking the arguments as {@code Object[]} and returning the result as {@code Object}, {@code null} for
+     * void methods.
+     */
+    private static MethodHandle bind(Method method, Object serviceInstance) throws IllegalAccessException {
+        return MethodHandles.lookup().unreflect(method)
+                .bindTo(serviceInstance)
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(MethodType.methodType(Object.class, Object[].class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object>[] converters(Method method) {
+        Parameter[] parameters = method.getParameters();
+        Function<Object, Object>[] converters = new Function[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Class<?> type = MethodType.methodType(parameters[i].getType()).wrap().returnType();
+            JavaType javaType = OBJECT_MAPPER.getTypeFactory().constructType(parameters[i].getParameterizedType());
+            converters[i] = value -> value == null || (type.isInstance(value) && !javaType.isContainerType())
+                    ? value
+                    : OBJECT_MAPPER.convertValue(value, javaType);
+        }
+        return converters;
+    }
+
+    private static Object[] prepareMethodArguments(ServiceTool tool, Map<String, Object> params) {
+        String[] parameterNames = tool.parameterNames();
+        Object[] args = new Object[parameterNames.length];
+        for (int i = 0; i < parameterNames.length; i++) {
+            // missing parameters are passed as null
+            args[i] = tool.converters()[i].apply(params.get(parameterNames[i]));
+        }
         return args;
     }
 }
@@ -35,6 +35,9 @@ public class DataSourceMariaDBConfig {
     @Value("${mariaDBPassword:#{null}}")
     private String mariaDbPassword;
 
+    @Value("${mariaDBJdbcBatchSize:50}")
+    private int mariaDbJdbcBatchSize;
+
     @Bean(name = "mariaDbDataSource")
     public HikariDataSource mariaDbDataSource() {
         HikariDataSource dataSource = new HikariDataSource();
@@ -73,6 +76,11 @@ public class DataSourceMariaDBConfig {
         hibernateProperties.setProperty("hibernate.hbm2ddl.auto", "validate");
         hibernateProperties.setProperty("hibernate.dialect", "org.hibernate.dialect.MariaDBDialect");
         hibernateProperties.setProperty("hibernate.show_sql", "false");
+        hibernateProperties.setProperty("hibernate.jdbc.batch_size", String.valueOf(mariaDbJdbcBatchSize));
+        hibernateProperties.setProperty("hibernate.order_inserts", "true");
+        hibernateProperties.setProperty("hibernate.order_updates", "true");
+        hibernateProperties.setProperty("hibernate.jdbc.batch_versioned_data", "true");
+        hibernateProperties.setProperty("hibernate.default_batch_fetch_size", "50");
         hibernateProperties.setProperty("defer-datasource-initialization", "true");
         return hibernateProperties;
     }
@@ -0,0 +1,21 @@
+package com.ibosng.dbibosservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Changed row of an ibos table with the personalnummer and LHR firma of the employee it belongs to, which are
+ * {@code null} if the row does not belong to an active employee.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IbosChangeDto {
+    private Integer id;
+    private LocalDateTime changedAt;
+    private String personalnummer;
+    private Integer lhrNr;
+}
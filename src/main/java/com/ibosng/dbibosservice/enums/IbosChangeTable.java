@@ -0,0 +1,50 @@
+package com.ibosng.dbibosservice.enums;
+
+import lombok.Getter;
+
+/**
+ * Tables of ibos whose changes are synced incrementally. Each table is read in the order of its change timestamp and
+ * id, each row being joined to the employees it belongs to through its reference column.
+ */
+@Getter
+public enum IbosChangeTable {
+    ADRESSE("ADRESSE", "ADadnr", "ADadnr", "ADaeda", "ADerda", Joins.BY_ADRESSE),
+    ARBEITSVERTRAG("ARBEITSVERTRAG", "id", "id", "aeda", "erda", Joins.BY_ARBEITSVERTRAG),
+    ARBEITSVERTRAG_FIX("ARBEITSVERTRAG_FIX", "ARBEITSVERTRAG_id", "ARBEITSVERTRAG_id", "aeda", "erda", Joins.BY_ARBEITSVERTRAG),
+    // a Zusatz which just ended is synced as well, so the employee is updated
+    ARBEITSVERTRAG_ZUSATZ("ARBEITSVERTRAG_ZUSATZ", "id", "id", "aeda", "erda", Joins.BY_ZUSATZ),
+    ARBEITSVERTRAG_ZUSATZ_FIX("ARBEITSVERTRAG_ZUSATZ_FIX", "ARBEITSVERTRAG_ZUSATZ_id", "ARBEITSVERTRAG_ZUSATZ_id", "aeda", "erda", Joins.BY_ZUSATZ),
+    DIENSTVERTRAG("DIENSTVERTRAG", "DVnr", "ADadnr", "DVaeda", "DVerda", Joins.BY_ADRESSE),
+    DVZUSATZ("DVZUSATZ", "DZnr", "ADadnr", "DZaeda", "DZerda", Joins.BY_ADRESSE),
+    PERSONALBOGEN("PERSONALBOGEN", "PBid", "PB_ADadnr", "PBaeda", "PBerda", Joins.BY_ADRESSE);
+
+    private final String tableName;
+    private final String changeFeedQuery;
+
+    /**
+     * The rows are filtered by two branches on the changed and the created column, so that each can use its index, the
+     * exact position after the watermark is only checked for the rows found by them.
+     */
+    IbosChangeTable(String tableName, String idColumn, String referenceColumn, String changedColumn, String createdColumn, String joins) {
+        this.tableName = tableName;
+        String changedAt = "coalesce(" + changedColumn + ", " + createdColumn + ")";
+        this.changeFeedQuery = "select c.id, c.changed_at, avz.persnr, ifi.lhr_nr from (" +
+                "select " + idColumn + " as id, " + referenceColumn + " as ref, " + changedAt + " as changed_at from " + tableName + " " +
+                "where (" + changedColumn + " >= ? or " + createdColumn + " >= ?) " +
+                "and " + changedAt + " < now() - interval ? second " +
+                "and (" + changedAt + " > ? or (" + changedAt + " = ? and " + idColumn + " > ?)) " +
+                "order by changed_at, id limit ?) c " +
+                joins + " left join IBIS_FIRMA ifi on ifi.id = avz.dienstgeber " +
+                "order by c.changed_at, c.id";
+    }
+
+    private static final class Joins {
+        private static final String ACTIVE_ZUSATZ = "avz.datum_von < current_date " +
+                "and (avz.datum_bis is null or avz.datum_bis > current_date) " +
+                "and avz.persnr is not null and avz.persnr != ''";
+        private static final String BY_ADRESSE = "left join ARBEITSVERTRAG av on av.ADRESSE_adnr = c.ref " +
+                "left join ARBEITSVERTRAG_ZUSATZ avz on avz.ARBEITSVERTRAG_id = av.id and " + ACTIVE_ZUSATZ;
+        private static final String BY_ARBEITSVERTRAG = "left join ARBEITSVERTRAG_ZUSATZ avz on avz.ARBEITSVERTRAG_id = c.ref and " + ACTIVE_ZUSATZ;
+        private static final String BY_ZUSATZ = "left join ARBEITSVERTRAG_ZUSATZ avz on avz.id = c.ref and avz.persnr is not null and avz.persnr != ''";
+    }
+}
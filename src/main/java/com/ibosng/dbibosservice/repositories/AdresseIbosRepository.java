@@ -15,7 +15,7 @@ import java.util.List;
 
 @Repository
 @Transactional("mariaDbTransactionManager")
-public interface AdresseIbosRepository extends JpaRepository<AdresseIbos, Integer> {
+public interface AdresseIbosRepository extends JpaRepository<AdresseIbos, Integer>, AdresseIbosRepositoryExtended {
 
     String TN_SEARCH_QUERY = "select distinct ad.* from ADRESSE ad " +
             "join SM_TN sm_tn on ad.ADadnr = sm_tn.ADRESSE_ADadnr " +
@@ -0,0 +1,17 @@
+package com.ibosng.dbibosservice.repositories;
+
+import com.ibosng.dbibosservice.dtos.IbosChangeDto;
+import com.ibosng.dbibosservice.enums.IbosChangeTable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AdresseIbosRepositoryExtended {
+
+    /**
+     * Reads the next page of rows of the table changed after the watermark, ordered by change timestamp and id. Rows
+     * changed in the last {@code settleSeconds} are left for the next run, as transactions still running may commit
+     * older timestamps. A row is returned once per employee it belongs to, the limit applies to the rows of the table.
+     */
+    List<IbosChangeDto> findChanges(IbosChangeTable table, LocalDateTime changedAt, Integer lastId, int limit, long settleSeconds);
+}
@@ -0,0 +1,32 @@
+package com.ibosng.dbibosservice.repositories;
+
+import com.ibosng.dbibosservice.dtos.IbosChangeDto;
+import com.ibosng.dbibosservice.enums.IbosChangeTable;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class AdresseIbosRepositoryExtendedImpl implements AdresseIbosRepositoryExtended {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AdresseIbosRepositoryExtendedImpl(@Qualifier("mariaDbDataSource") DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public List<IbosChangeDto> findChanges(IbosChangeTable table, LocalDateTime changedAt, Integer lastId, int limit, long settleSeconds) {
+        Timestamp watermark = Timestamp.valueOf(changedAt);
+        return jdbcTemplate.query(table.getChangeFeedQuery(),
+                (rs, rowNum) -> new IbosChangeDto(
+                        rs.getInt("id"),
+                        rs.getTimestamp("changed_at").toLocalDateTime(),
+                        rs.getString("persnr"),
+                        rs.getObject("lhr_nr", Integer.class)),
+                watermark, watermark, settleSeconds, watermark, watermark, lastId, limit);
+    }
+}
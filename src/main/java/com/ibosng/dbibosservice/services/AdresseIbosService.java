@@ -1,6 +1,8 @@
 package com.ibosng.dbibosservice.services;
 
+import com.ibosng.dbibosservice.dtos.IbosChangeDto;
 import com.ibosng.dbibosservice.entities.AdresseIbos;
+import com.ibosng.dbibosservice.enums.IbosChangeTable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -54,4 +56,10 @@ public interface AdresseIbosService extends BaseService<AdresseIbos> {
     List<AdresseIbos> findAllByChangedAfterWithSeminarData(String createdBy, LocalDateTime after, String type);
 
     String findKostenstelle2UpnByKostenstelleId(int id);
+
+    /**
+     * Next page of the rows of the table changed after the watermark, see
+     * {@link com.ibosng.dbibosservice.repositories.AdresseIbosRepositoryExtended#findChanges}.
+     */
+    List<IbosChangeDto> findChanges(IbosChangeTable table, LocalDateTime changedAt, Integer lastId, int limit, long settleSeconds);
 }
@@ -1,6 +1,8 @@
 package com.ibosng.dbibosservice.services.impl;
 
+import com.ibosng.dbibosservice.dtos.IbosChangeDto;
 import com.ibosng.dbibosservice.entities.AdresseIbos;
+import com.ibosng.dbibosservice.enums.IbosChangeTable;
 import com.ibosng.dbibosservice.repositories.AdresseIbosRepository;
 import com.ibosng.dbibosservice.services.AdresseIbosService;
 import lombok.RequiredArgsConstructor;
@@ -185,6 +187,11 @@ public class AdresseIbosServiceImpl implements AdresseIbosService {
         return adresseIbosRepository.findKostenstelle2UpnByKostenstelleId(id);
     }
 
+    @Override
+    public List<IbosChangeDto> findChanges(IbosChangeTable table, LocalDateTime changedAt, Integer lastId, int limit, long settleSeconds) {
+        return adresseIbosRepository.findChanges(table, changedAt, lastId, limit, settleSeconds);
+    }
+
     private AdresseIbos mapToAdresseIbos(Object[] row) {
         AdresseIbos adresseIbos = new AdresseIbos();
 
@@ -0,0 +1,20 @@
+package com.ibosng.dbservice.dtos.mitarbeiter;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One row of the Abwesenheiten list: either a single Abwesenheit or a range of Zeitausgleich days, which are shown as
+ * one entry. The full name of the employee is selected with the row, so mapping the page needs no Stammdaten per row.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AbwesenheitListEntryDto {
+    private boolean zeitausgleich;
+    private List<Integer> ids;
+    private String fullName;
+}
@@ -0,0 +1,30 @@
+package com.ibosng.dbservice.dtos.mitarbeiter;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Personalnummer of an employee with the names from the Stammdaten and the Benutzer it belongs to, the Stammdaten and
+ * Benutzer fields are {@code null} if there is none. The Benutzer fields are also {@code null} if several Benutzer are
+ * linked to the Personalnummer.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MitarbeiterIdentityDto {
+    private Integer personalnummerId;
+    private String personalnummer;
+    private Integer firmaId;
+    private String vorname;
+    private String nachname;
+    private Integer benutzerId;
+    private String benutzerFirstName;
+    private String benutzerLastName;
+    private String email;
+
+    /**
+     * Email of the Benutzer with the first and last name of the Stammdaten, which need not be the employee.
+     */
+    private String emailByName;
+}
@@ -0,0 +1,18 @@
+package com.ibosng.dbservice.dtos.zeiterfassung;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Employee whose month can be reported to LHR as finished: it has Leistungserfassungen in the month, none of them is
+ * locked yet and at least one was signed in Moxis.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MonthCloseCandidateDto {
+    private Integer personalnummerId;
+    private String personalnummer;
+    private Integer firmaId;
+}
@@ -0,0 +1,37 @@
+package com.ibosng.dbservice.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "file_share_index")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FileShareIndex {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "share_name")
+    private String shareName;
+
+    @Column(name = "file_id")
+    private String fileId;
+
+    @Column(name = "directory_path")
+    private String directoryPath;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "indexed_at")
+    private LocalDateTime indexedAt;
+
+}
@@ -0,0 +1,41 @@
+package com.ibosng.dbservice.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Employee of the incremental ibos sync that could not be synced yet, either because the sync failed or because there
+ * is no personalnummer for it yet. It is retried on every run until it is synced.
+ */
+@Entity
+@Table(name = "ibos_sync_pending")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IbosSyncPending {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "personalnummer")
+    private String personalnummer;
+
+    @Column(name = "lhr_nr")
+    private Integer lhrNr;
+
+    @Column(name = "first_seen_at")
+    private LocalDateTime firstSeenAt;
+
+    @Column(name = "last_attempt_at")
+    private LocalDateTime lastAttemptAt;
+
+    @Column(name = "attempts")
+    private Integer attempts;
+
+}
@@ -0,0 +1,49 @@
+package com.ibosng.dbservice.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Watermark of the incremental sync of a table of ibos, the change timestamp and id of the last row read.
+ */
+@Entity
+@Table(name = "ibos_sync_state")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IbosSyncState {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "table_name")
+    private String tableName;
+
+    @Column(name = "changed_at")
+    private LocalDateTime changedAt;
+
+    @Column(name = "last_id")
+    private Integer lastId;
+
+    @Column(name = "last_run_at")
+    private LocalDateTime lastRunAt;
+
+    @Column(name = "last_changed_rows")
+    private Integer lastChangedRows;
+
+    @Column(name = "last_synced")
+    private Integer lastSynced;
+
+    /**
+     * Seconds between the oldest change read in the last run and the run.
+     */
+    @Column(name = "lag_seconds")
+    private Long lagSeconds;
+
+}
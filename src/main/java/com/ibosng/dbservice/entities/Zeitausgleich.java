@@ -22,6 +22,9 @@ import static com.ibosng.dbservice.utils.Parsers.getLocalDateNow;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "zeitausgleich")
+@NamedEntityGraph(name = "Zeitausgleich.personalnummerAndFuehrungskraefte",
+        attributeNodes = {@NamedAttributeNode(value = "personalnummer", subgraph = "personalnummer"), @NamedAttributeNode("fuehrungskraefte")},
+        subgraphs = @NamedSubgraph(name = "personalnummer", attributeNodes = @NamedAttributeNode("firma")))
 @Builder(toBuilder = true)
 public class Zeitausgleich {
 
@@ -5,7 +5,9 @@ import com.ibosng.dbservice.entities.masterdata.Personalnummer;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -16,13 +18,20 @@ import static com.ibosng.dbservice.utils.Parsers.getLocalDateNow;
 
 @Entity
 @Table(name = "abwesenheit")
+@NamedEntityGraph(name = "Abwesenheit.personalnummer",
+        attributeNodes = @NamedAttributeNode(value = "personalnummer", subgraph = "personalnummer"),
+        subgraphs = @NamedSubgraph(name = "personalnummer", attributeNodes = @NamedAttributeNode("firma")))
+@NamedEntityGraph(name = "Abwesenheit.personalnummerAndFuehrungskraefte",
+        attributeNodes = {@NamedAttributeNode(value = "personalnummer", subgraph = "personalnummer"), @NamedAttributeNode("fuehrungskraefte")},
+        subgraphs = @NamedSubgraph(name = "personalnummer", attributeNodes = @NamedAttributeNode("firma")))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class Abwesenheit {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "abwesenheit_id_seq")
+    @SequenceGenerator(name = "abwesenheit_id_seq", sequenceName = "abwesenheit_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Integer id;
 
@@ -67,7 +76,9 @@ public class Abwesenheit {
     @Column(name = "comment_fuehrungskraft")
     private String commentFuehrungskraft;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "abwesenheit_fuehrungskraft",
             joinColumns = @JoinColumn(name = "abwesenheit_id"),
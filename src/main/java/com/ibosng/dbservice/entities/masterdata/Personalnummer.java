@@ -9,6 +9,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.Hibernate;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
@@ -18,6 +19,7 @@ import static com.ibosng.dbservice.utils.Parsers.isNullOrBlank;
 
 @Entity
 @Table(name = "personalnummer")
+@NamedEntityGraph(name = "Personalnummer.firma", attributeNodes = @NamedAttributeNode("firma"))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -34,7 +36,7 @@ public class Personalnummer {
     @Column(name = "personalnummer")
     private String personalnummer;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "firma")
     private IbisFirma firma;
 
@@ -77,7 +79,7 @@ public class Personalnummer {
                 "id=" + id +
                 ", nummer=" + nummer +
                 ", personalnummer='" + personalnummer + '\'' +
-                ", firma=" + firma +
+                ", firma=" + (firma != null ? firma.getId() : null) +
                 ", status=" + status +
                 '}';
     }
@@ -85,17 +87,18 @@ public class Personalnummer {
     @Override
     public boolean equals(Object object) {
         if (this == object) return true;
-        if (object == null || getClass() != object.getClass()) return false;
+        // the other side may be an uninitialized proxy, so compare the entity classes and read it through its getters
+        if (object == null || Hibernate.getClass(this) != Hibernate.getClass(object)) return false;
         Personalnummer that = (Personalnummer) object;
-        return Objects.equals(nummer, that.nummer) &&
-                Objects.equals(personalnummer, that.personalnummer) &&
-                Objects.equals(firma != null ? firma.getId() : null, that.firma != null ? that.firma.getId() : null) &&
-                status == that.status;
+        return Objects.equals(getNummer(), that.getNummer()) &&
+                Objects.equals(getPersonalnummer(), that.getPersonalnummer()) &&
+                Objects.equals(getFirma() != null ? getFirma().getId() : null, that.getFirma() != null ? that.getFirma().getId() : null) &&
+                getStatus() == that.getStatus();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(nummer, personalnummer, firma != null ? firma.getId() : null, status);
+        return Objects.hash(getNummer(), getPersonalnummer(), getFirma() != null ? getFirma().getId() : null, getStatus());
     }
 
     public boolean isIncomplete() {
@@ -24,6 +24,22 @@ import static com.ibosng.dbservice.utils.Parsers.getLocalDateNow;
 
 @Entity
 @Table(name = "stammdaten")
+@NamedEntityGraph(name = "Stammdaten.details",
+        attributeNodes = {
+                @NamedAttributeNode(value = "personalnummer", subgraph = "personalnummer"),
+                @NamedAttributeNode("anrede"),
+                @NamedAttributeNode("titel"),
+                @NamedAttributeNode("titel2"),
+                @NamedAttributeNode("geschlecht"),
+                @NamedAttributeNode("familienstand"),
+                @NamedAttributeNode("staatsbuergerschaft"),
+                @NamedAttributeNode("muttersprache"),
+                @NamedAttributeNode("adresse"),
+                @NamedAttributeNode("abweichendeAdresse"),
+                @NamedAttributeNode("mobilnummer"),
+                @NamedAttributeNode("bank"),
+                @NamedAttributeNode("zusatzInfo")},
+        subgraphs = @NamedSubgraph(name = "personalnummer", attributeNodes = @NamedAttributeNode("firma")))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -34,22 +50,22 @@ public class Stammdaten {
     @Column(name = "id")
     private Integer id;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "personalnummer", referencedColumnName = "id")
     private Personalnummer personalnummer;
 
     @OneToMany(mappedBy = "stammdaten", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
     private List<StammdatenDataStatus> errors = new ArrayList<>();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "anrede", referencedColumnName = "id")
     private Anrede anrede;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "titel", referencedColumnName = "id")
     private Titel titel;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "titel2", referencedColumnName = "id")
     private Titel titel2;
 
@@ -65,11 +81,11 @@ public class Stammdaten {
     @Column(name = "ecard_status")
     private BlobStatus ecardStatus;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "geschlecht", referencedColumnName = "id")
     private Geschlecht geschlecht;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "familienstand", referencedColumnName = "id")
     private Familienstand familienstand;
 
@@ -79,36 +95,36 @@ public class Stammdaten {
 
     private Integer lebensalter;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "staatsbuergerschaft", referencedColumnName = "id")
     private Land staatsbuergerschaft;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "muttersprache", referencedColumnName = "id")
     private Muttersprache muttersprache;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "adresse", referencedColumnName = "id")
     private Adresse adresse;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "abweichende_adresse", referencedColumnName = "id")
     private Adresse abweichendeAdresse;
 
     private String email;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "mobilnummer", referencedColumnName = "id")
     private Telefon mobilnummer;
 
     @Column(name = "handy_signatur")
     private boolean handySignatur;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "bank", referencedColumnName = "id")
     private BankDaten bank;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "zusatz_info", referencedColumnName = "id")
     private ZusatzInfo zusatzInfo;
 
@@ -154,21 +170,21 @@ public class Stammdaten {
         return "Stammdaten{" +
                 "personalnummer='" + personalnummer.getId() + '\'' +
                 ", errors=" + errors.stream().map(MitarbeiterDataStatus::getError).toList() +
-                ", anrede=" + anrede.getName() +
-                ", titel=" + titel.getName() +
-                ", titel2=" + titel2.getName() +
+                ", anrede=" + anrede.getId() +
+                ", titel=" + titel.getId() +
+                ", titel2=" + titel2.getId() +
                 ", nachname='" + nachname + '\'' +
                 ", vorname='" + vorname + '\'' +
                 ", geburtsname='" + geburtsname + '\'' +
                 ", svnr=" + svnr +
                 ", ecard='" + ecardStatus + '\'' +
                 ", abweichendeAdresse='" + abweichendeAdresse != null ? String.valueOf(abweichendeAdresse.getId()) : " " + '\'' +
-                ", geschlecht='" + geschlecht.getName() + '\'' +
-                ", familienstand=" + familienstand.getName() +
+                ", geschlecht='" + geschlecht.getId() + '\'' +
+                ", familienstand=" + familienstand.getId() +
                 ", geburtsdatum=" + geburtsdatum +
                 ", lebensalter=" + lebensalter +
                 ", staatsbuergerschaft=" + staatsbuergerschaft.getId() +
-                ", muttersprache='" + muttersprache + '\'' +
+                ", muttersprache='" + (muttersprache != null ? muttersprache.getId() : null) + '\'' +
                 ", adresse=" + adresse.getId() +
                 ", email='" + email + '\'' +
                 ", mobilnummer=" + mobilnummer.getId() +
@@ -197,7 +213,7 @@ public class Stammdaten {
                 Objects.equals(geburtsdatum, that.geburtsdatum) &&
                 Objects.equals(lebensalter, that.lebensalter) &&
                 Objects.equals(staatsbuergerschaft != null ? staatsbuergerschaft.getId() : null, that.staatsbuergerschaft != null ? that.staatsbuergerschaft.getId() : null) &&
-                Objects.equals(muttersprache, that.muttersprache) &&
+                Objects.equals(muttersprache != null ? muttersprache.getId() : null, that.muttersprache != null ? that.muttersprache.getId() : null) &&
                 Objects.equals(adresse != null ? adresse.getId() : null, that.adresse != null ? that.adresse.getId() : null) &&
                 Objects.equals(abweichendeAdresse != null ? abweichendeAdresse.getId() : null, that.abweichendeAdresse != null ? that.abweichendeAdresse.getId() : null) &&
                 Objects.equals(email, that.email) &&
@@ -223,7 +239,7 @@ public class Stammdaten {
                 geburtsdatum,
                 lebensalter,
                 staatsbuergerschaft != null ? staatsbuergerschaft.getId() : null,
-                muttersprache,
+                muttersprache != null ? muttersprache.getId() : null,
                 adresse != null ? adresse.getId() : null,
                 abweichendeAdresse != null ? abweichendeAdresse.getId() : null,
                 email,
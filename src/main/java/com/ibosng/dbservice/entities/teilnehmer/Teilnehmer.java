@@ -28,6 +28,13 @@ import static com.ibosng.dbservice.utils.Parsers.getLocalDateNow;
 
 @Entity
 @Table(name = "teilnehmer")
+@NamedEntityGraph(name = "Teilnehmer.details",
+        attributeNodes = {
+                @NamedAttributeNode(value = "personalnummer", subgraph = "personalnummer"),
+                @NamedAttributeNode("geschlecht"),
+                @NamedAttributeNode("anrede"),
+                @NamedAttributeNode("muttersprache")},
+        subgraphs = @NamedSubgraph(name = "personalnummer", attributeNodes = @NamedAttributeNode("firma")))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -50,7 +57,7 @@ public class Teilnehmer {
     @Column(name = "nachname")
     private String nachname;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "geschlecht")
     private Geschlecht geschlecht;
 
@@ -114,11 +121,11 @@ public class Teilnehmer {
     @JoinColumn(name = "adresse")
     private Adresse adresse;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "anrede", referencedColumnName = "id")
     private Anrede anrede;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "personalnummer", referencedColumnName = "id")
     private Personalnummer personalnummer;
 
@@ -138,7 +145,7 @@ public class Teilnehmer {
     @Column(name = "vermittelbar_ausserhalb_ams")
     private boolean vermittelbarAusserhalbAms;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "muttersprache")
     private Muttersprache muttersprache;
 
@@ -240,7 +247,7 @@ public class Teilnehmer {
                 ", titel2='" + titel2 + '\'' +
                 ", vorname='" + vorname + '\'' +
                 ", nachname='" + nachname + '\'' +
-                ", geschlecht='" + geschlecht + '\'' +
+                ", geschlecht='" + (geschlecht != null ? geschlecht.getId() : "null") + '\'' +
                 ", svNummer=" + svNummer +
                 ", geburtsdatum=" + geburtsdatum +
                 ", email='" + email + '\'' +
@@ -18,7 +18,8 @@ import static com.ibosng.dbservice.utils.Parsers.getLocalDateNow;
 public class TeilnehmerStaging {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "teilnehmer_staging_id_seq")
+    @SequenceGenerator(name = "teilnehmer_staging_id_seq", sequenceName = "teilnehmer_staging_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Integer id;
 
@@ -22,7 +22,8 @@ import static com.ibosng.dbservice.utils.Parsers.getLocalDateNow;
 public class Leistungserfassung {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "leistungserfassung_id_seq")
+    @SequenceGenerator(name = "leistungserfassung_id_seq", sequenceName = "leistungserfassung_id_seq", allocationSize = 50)
     private Integer id;
 
     @ManyToOne
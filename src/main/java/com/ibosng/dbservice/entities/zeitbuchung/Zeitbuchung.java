@@ -17,7 +17,8 @@ import static com.ibosng.dbservice.utils.Parsers.getLocalDateNow;
 public class Zeitbuchung {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "zeitbuchung_id_seq")
+    @SequenceGenerator(name = "zeitbuchung_id_seq", sequenceName = "zeitbuchung_id_seq", allocationSize = 50)
     private Integer id;
 
     @Column(name = "von")
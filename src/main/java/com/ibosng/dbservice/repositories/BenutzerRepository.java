@@ -2,6 +2,7 @@ package com.ibosng.dbservice.repositories;
 
 import com.ibosng.dbservice.entities.Benutzer;
 import com.ibosng.dbservice.entities.masterdata.Personalnummer;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -13,26 +14,44 @@ import java.util.Optional;
 @Repository
 @Transactional("postgresTransactionManager")
 public interface BenutzerRepository extends JpaRepository<Benutzer, Integer> {
+    @Override
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
+    Optional<Benutzer> findById(Integer id);
+
+    @Override
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
+    List<Benutzer> findAll();
+
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Benutzer> getBenutzerByAzureId(String azureId);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     @Query("SELECT b FROM Benutzer b WHERE b.email ILIKE :email")
     List<Benutzer> findByEmailIgnoreCase(String email);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Benutzer> findAllByFirstNameAndLastName(String firstName, String lastName);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     Benutzer findByPersonalnummer_Personalnummer(String personalnummer);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     Benutzer findByUpnIgnoreCase(String upn);
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     Benutzer findByUpnContainingIgnoreCase(String upn);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     Benutzer findByAzureId(String azureId);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     Optional<Benutzer> findFirstByPersonalnummer_PersonalnummerAndPersonalnummer_Firma_BmdClientOrderByCreatedOnDesc(String personalnummer, Integer firma);
 
     @Query(value = "SELECT * FROM benutzer WHERE LOWER(SPLIT_PART(email, '@', 1)) = :samIbos", nativeQuery = true)
     List<Benutzer> findAllBySamIbosName(String samIbos);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Benutzer> findByPersonalnummer(Personalnummer personalnummer);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     Benutzer findByPersonalnummer_Id(Integer personalnummerId);
 }
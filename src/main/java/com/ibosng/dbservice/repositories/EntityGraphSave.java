@@ -0,0 +1,68 @@
+package com.ibosng.dbservice.repositories;
+
+import jakarta.persistence.AttributeNode;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Subgraph;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jpa.SpecHints;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Saves for repository fragments whose entities map their associations lazily. Merging a detached entity would return
+ * proxies for those associations, which callers outside of a transaction could not read. The entity is loaded with
+ * its named graph before the merge, so that the merged copy takes the loaded associations, and the attribute nodes of
+ * the graph are initialized after it for associations changed by the caller.
+ */
+public final class EntityGraphSave {
+
+    private EntityGraphSave() {
+    }
+
+    public static <T, S extends T> S save(EntityManager entityManager, Class<T> entityClass, String graphName, S entity) {
+        Object id = entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity);
+        if (id == null) {
+            entityManager.persist(entity);
+            return entity;
+        }
+        EntityGraph<?> graph = entityManager.getEntityGraph(graphName);
+        entityManager.find(entityClass, id, Map.of(SpecHints.HINT_SPEC_LOAD_GRAPH, graph));
+        S merged = entityManager.merge(entity);
+        initialize(entityManager.unwrap(SessionImplementor.class), merged, graph.getAttributeNodes());
+        return merged;
+    }
+
+    public static <T, S extends T> List<S> saveAll(EntityManager entityManager, Class<T> entityClass, String graphName, Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entityManager, entityClass, graphName, entity)));
+        return saved;
+    }
+
+    public static <T, S extends T> S saveAndFlush(EntityManager entityManager, Class<T> entityClass, String graphName, S entity) {
+        S saved = save(entityManager, entityClass, graphName, entity);
+        entityManager.flush();
+        return saved;
+    }
+
+    private static void initialize(SessionImplementor session, Object entity, List<AttributeNode<?>> attributeNodes) {
+        for (AttributeNode<?> attributeNode : attributeNodes) {
+            Object value = session.getEntityPersister(null, entity).getPropertyValue(entity, attributeNode.getAttributeName());
+            if (value == null) {
+                continue;
+            }
+            Hibernate.initialize(value);
+            for (Subgraph<?> subgraph : attributeNode.getSubgraphs().values()) {
+                if (value instanceof Collection<?> elements) {
+                    elements.forEach(element -> initialize(session, Hibernate.unproxy(element), subgraph.getAttributeNodes()));
+                } else {
+                    initialize(session, Hibernate.unproxy(value), subgraph.getAttributeNodes());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.ibosng.dbservice.repositories;
+
+import com.ibosng.dbservice.entities.FileShareIndex;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Transactional("postgresTransactionManager")
+public interface FileShareIndexRepository extends JpaRepository<FileShareIndex, Integer> {
+
+    String DELETE_BY_FILE_ID = "delete from FileShareIndex f where f.shareName = :shareName and f.fileId = :fileId";
+
+    String DELETE_BY_FILE_NAME = "delete from FileShareIndex f where f.shareName = :shareName " +
+            "and f.directoryPath = :directoryPath and f.fileName = :fileName";
+
+    String DELETE_BY_DIRECTORY = "delete from FileShareIndex f where f.shareName = :shareName " +
+            "and (f.directoryPath = :directoryPath or f.directoryPath like :descendants escape '!')";
+
+    String MOVE_DIRECTORY = "update FileShareIndex f " +
+            "set f.directoryPath = concat(:targetPath, substring(f.directoryPath, length(:sourcePath) + 1)) " +
+            "where f.shareName = :shareName and (f.directoryPath = :sourcePath or f.directoryPath like :descendants escape '!')";
+
+    Optional<FileShareIndex> findByShareNameAndFileId(String shareName, String fileId);
+
+    List<FileShareIndex> findAllByShareName(String shareName);
+
+    @Modifying
+    @Query(value = DELETE_BY_FILE_ID)
+    int deleteByShareNameAndFileId(String shareName, String fileId);
+
+    @Modifying
+    @Query(value = DELETE_BY_FILE_NAME)
+    int deleteByFileName(String shareName, String directoryPath, String fileName);
+
+    /**
+     * Deletes the entries of the directory and all its subdirectories, {@code descendants} being the escaped
+     * LIKE pattern of the subdirectories. The empty path stands for the whole share.
+     */
+    @Modifying
+    @Query(value = DELETE_BY_DIRECTORY)
+    int deleteByDirectory(String shareName, String directoryPath, String descendants);
+
+    @Modifying
+    @Query(value = MOVE_DIRECTORY)
+    int moveDirectory(String shareName, String sourcePath, String targetPath, String descendants);
+}
@@ -0,0 +1,11 @@
+package com.ibosng.dbservice.repositories;
+
+import com.ibosng.dbservice.entities.IbosSyncPending;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@Transactional("postgresTransactionManager")
+public interface IbosSyncPendingRepository extends JpaRepository<IbosSyncPending, Integer> {
+}
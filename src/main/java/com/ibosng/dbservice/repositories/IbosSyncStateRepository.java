@@ -0,0 +1,15 @@
+package com.ibosng.dbservice.repositories;
+
+import com.ibosng.dbservice.entities.IbosSyncState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+@Transactional("postgresTransactionManager")
+public interface IbosSyncStateRepository extends JpaRepository<IbosSyncState, Integer> {
+
+    Optional<IbosSyncState> findByTableName(String tableName);
+}
@@ -5,6 +5,8 @@ import com.ibosng.dbservice.entities.teilnehmer.Teilnehmer;
 import com.ibosng.dbservice.entities.teilnehmer.TeilnehmerStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -17,11 +19,19 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 @Transactional("postgresTransactionManager")
 public interface TeilnehmerRepository extends JpaRepository<Teilnehmer, Integer>, TeilnehmerRepositoryExtended, JpaSpecificationExecutor<Teilnehmer> {
 
+    /**
+     * The Personalnummer and the master data of the Teilnehmer are lazy. The queries loading Teilnehmer join them with
+     * this graph, as the imports and validations read them outside of a transaction. The native queries cannot take a
+     * graph, their rows are only read in web requests, where the associations are batch loaded.
+     */
+    String DETAILS = "Teilnehmer.details";
+
     String GET_SUMMARY_IMPORTED_TEILNEHMER = """
             SELECT date_trunc('day', tn.changed_on)       AS date,
                                pr.projekt_nummer                      AS projektnummer,
@@ -330,14 +340,39 @@ public interface TeilnehmerRepository extends JpaRepository<Teilnehmer, Integer>
 
     String FIND_TEILNEHMER_FILTERED_COUNT = "SELECT COUNT(*) FROM (" + FIND_TEILNEHMER_FILTERED_TR + " UNION " + FIND_TEILNEHMER_FILTERED_PR + " ) tn";
 
+    @Override
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
+    Optional<Teilnehmer> findById(Integer id);
+
+    @Override
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
+    List<Teilnehmer> findAll();
+
+    @Override
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
+    List<Teilnehmer> findAllById(Iterable<Integer> ids);
+
+    @Override
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
+    List<Teilnehmer> findAll(Specification<Teilnehmer> spec);
+
+    @Override
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
+    Page<Teilnehmer> findAll(Specification<Teilnehmer> spec, Pageable pageable);
+
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     List<Teilnehmer> findAllByImportFilename(String importFilename);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     List<Teilnehmer> findBySvNummer(String svn);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     List<Teilnehmer> findByVorname(String vorname);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     List<Teilnehmer> findByNachname(String nachname);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     List<Teilnehmer> findByVornameAndNachname(String vorname, String nachname);
 
     @Query(value = GET_SUMMARY_IMPORTED_TEILNEHMER, nativeQuery = true)
@@ -361,26 +396,34 @@ public interface TeilnehmerRepository extends JpaRepository<Teilnehmer, Integer>
     @Query(value = GET_COUNT_TEILNEHMER_FOR_STATUS_AND_MASSNAHMENUMMER, nativeQuery = true)
     Integer getCountTeilnehmerWithStatusAndMassnahmenummer(TeilnehmerStatus status, String massnahmenummer);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     Page<Teilnehmer> findByStatus(TeilnehmerStatus status, Pageable pageable);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     List<Teilnehmer> findAllByCreatedOnAfterOrChangedOnAfter(LocalDateTime createdOn, LocalDateTime changedOn);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     @Query("select t from Teilnehmer t where t.personalnummer.personalnummer = :personalnummer")
     Teilnehmer findByPersonalnummerString(String personalnummer);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     Teilnehmer findByPersonalnummer_Id(Integer personalnummer);
 
     @Modifying
     @Query("UPDATE Teilnehmer t SET t.hasBisDocument = :hasBisDocument WHERE t.id = :id")
     void updateTeilnehmerHasBisDocument(@Param("hasBisDocument") boolean hasBisDocument, @Param("id") Integer id);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     List<Teilnehmer> findAllByVornameAndNachnameAndSvNummer(String vorname, String nachname, String svNummer);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     List<Teilnehmer> findAllByVornameAndNachnameAndGeburtsdatum(String vorname, String nachname, LocalDate geburtsdatum);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     @Query("SELECT t FROM Teilnehmer t JOIN Abmeldung abm ON abm.personalnummer.id = t.personalnummer.id and abm.status = :status")
     List<Teilnehmer> findAllByAbgemeldetenTeilnehmer(AbmeldungStatus status);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     List<Teilnehmer> findByIdIn(Collection<Integer> ids);
 
     @Query(nativeQuery = true, value = FIND_TEILNEHMER_FILTERED_VORNAME_ASC)
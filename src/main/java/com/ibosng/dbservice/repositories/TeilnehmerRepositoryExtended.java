@@ -30,4 +30,20 @@ public interface TeilnehmerRepositoryExtended {
 
     Page<Teilnehmer> findTeilnehmerFiltered(String identifiersString, String seminarName, String projektName, Boolean isActive, Boolean isUebaTeilnehmer, Boolean isAngemeldet, String geschlecht, Boolean isFehlerhaft, String massnahmennummer, Benutzer benutzer, String sortProperty, Sort.Direction direction, int page, int size);
 
+    /**
+     * One keyset page of the Teilnehmer matching the filters of {@link #findTeilnehmerFiltered}, in the requested order
+     * with the id as tie breaker. Each row holds the id and the value of the sort property. The page starts after the
+     * row {@code afterSortValue}, {@code afterId} of the previous page, or at the beginning if {@code afterId} is null.
+     */
+    List<Object[]> findTeilnehmerIdsFiltered(String identifiersString, String seminarName, String projektName, Boolean isActive, Boolean isUebaTeilnehmer, Boolean isAngemeldet, String geschlecht, Boolean isFehlerhaft, String massnahmennummer, Benutzer benutzer, String sortProperty, Sort.Direction direction, Object afterSortValue, Integer afterId, int size);
+
+    /**
+     * Saves like {@link org.springframework.data.jpa.repository.JpaRepository#save}, but the returned Teilnehmer has
+     * its Personalnummer and master data loaded.
+     */
+    <S extends Teilnehmer> S save(S teilnehmer);
+
+    <S extends Teilnehmer> List<S> saveAll(Iterable<S> teilnehmerList);
+
+    <S extends Teilnehmer> S saveAndFlush(S teilnehmer);
 }
@@ -10,9 +10,12 @@ import com.ibosng.dbservice.entities.teilnehmer.Teilnehmer2Seminar;
 import com.ibosng.dbservice.entities.teilnehmer.TeilnehmerStatus;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
 import jakarta.persistence.criteria.*;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.*;
 
@@ -26,6 +29,9 @@ import static com.ibosng.dbservice.utils.Parsers.isNullOrBlank;
 public class TeilnehmerRepositoryExtendedImpl implements TeilnehmerRepositoryExtended {
     private final EntityManagerFactory entityManagerFactory;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public TeilnehmerRepositoryExtendedImpl(@Qualifier("postgresEntityManagerFactory") EntityManagerFactory entityManagerFactory) {
         this.entityManagerFactory = entityManagerFactory;
     }
@@ -173,6 +179,47 @@ public class TeilnehmerRepositoryExtendedImpl implements TeilnehmerRepositoryExt
         return null;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findTeilnehmerIdsFiltered(String identifiersString, String seminarName, String projektName, Boolean isActive, Boolean isUebaTeilnehmer, Boolean isAngemeldet, String geschlecht, Boolean isFehlerhaft, String massnahmennummer, Benutzer benutzer, String sortProperty, Sort.Direction direction, Object afterSortValue, Integer afterId, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Teilnehmer> teilnehmerRoot = query.from(Teilnehmer.class);
+        Join<Teilnehmer, Teilnehmer2Seminar> joinTeilnehmerSeminar = teilnehmerRoot.join("teilnehmerSeminars", JoinType.LEFT);
+        Join<Teilnehmer2Seminar, Seminar> joinSeminar = joinTeilnehmerSeminar.join("seminar", JoinType.LEFT);
+        Join<Seminar, Projekt> joinProject = joinSeminar.join("project", JoinType.LEFT);
+        Join<Seminar2Trainer, Seminar> joinTrainerSeminar = joinSeminar.join("trainerSeminars", JoinType.LEFT);
+        Join<Seminar2Trainer, Benutzer> joinBenutzer = joinTrainerSeminar.join("trainer", JoinType.LEFT);
+        List<Predicate> predicates = buildGeneralPredicates(identifiersString, seminarName, projektName, isActive, isUebaTeilnehmer, isAngemeldet, geschlecht, isFehlerhaft, massnahmennummer, benutzer, cb, teilnehmerRoot, joinTeilnehmerSeminar, joinSeminar, joinBenutzer, joinProject);
+
+        Path<Comparable<Object>> sortPath = teilnehmerRoot.get(sortProperty);
+        Path<Integer> idPath = teilnehmerRoot.get("id");
+        if (afterId != null) {
+            // postgres sorts null values last in ascending and first in descending order
+            Predicate sameSortValue;
+            Predicate laterSortValue;
+            if (afterSortValue == null) {
+                sameSortValue = cb.isNull(sortPath);
+                laterSortValue = direction.isAscending() ? cb.disjunction() : cb.isNotNull(sortPath);
+            } else {
+                Comparable<Object> after = (Comparable<Object>) afterSortValue;
+                sameSortValue = cb.equal(sortPath, after);
+                laterSortValue = direction.isAscending() ? cb.or(cb.greaterThan(sortPath, after), cb.isNull(sortPath)) : cb.lessThan(sortPath, after);
+            }
+            predicates.add(cb.or(laterSortValue, cb.and(sameSortValue, cb.greaterThan(idPath, afterId))));
+        }
+
+        // the sort column has to be selected for DISTINCT, the id makes the order stable
+        query.multiselect(idPath, sortPath).distinct(true)
+                .where(cb.and(predicates.toArray(new Predicate[0])))
+                .orderBy(direction.isAscending() ? cb.asc(sortPath) : cb.desc(sortPath), cb.asc(idPath));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setMaxResults(Math.max(size, 1))
+                .getResultList();
+    }
+
     private List<Teilnehmer> generalFilter(EntityManager entityManager,
                                            Root<Teilnehmer> teilnehmerRoot,
                                            String identifiersString,
@@ -202,8 +249,9 @@ public class TeilnehmerRepositoryExtendedImpl implements TeilnehmerRepositoryExt
         // Apply sorting
         applySorting(pageable, cb, query, teilnehmerRoot);
 
-        // Create query and set pagination
+        // Create query and set pagination, the entity manager is closed before the Teilnehmer are read
         Query jpaQuery = entityManager.createQuery(query);
+        jpaQuery.setHint(SpecHints.HINT_SPEC_LOAD_GRAPH, entityManager.getEntityGraph(TeilnehmerRepository.DETAILS));
         jpaQuery.setFirstResult(offset);
         jpaQuery.setMaxResults(size);
 
@@ -351,4 +399,18 @@ public class TeilnehmerRepositoryExtendedImpl implements TeilnehmerRepositoryExt
         return entityManager.createQuery(countQuery).getSingleResult();
     }
 
+    @Override
+    public <S extends Teilnehmer> S save(S teilnehmer) {
+        return EntityGraphSave.save(entityManager, Teilnehmer.class, TeilnehmerRepository.DETAILS, teilnehmer);
+    }
+
+    @Override
+    public <S extends Teilnehmer> List<S> saveAll(Iterable<S> teilnehmerList) {
+        return EntityGraphSave.saveAll(entityManager, Teilnehmer.class, TeilnehmerRepository.DETAILS, teilnehmerList);
+    }
+
+    @Override
+    public <S extends Teilnehmer> S saveAndFlush(S teilnehmer) {
+        return EntityGraphSave.saveAndFlush(entityManager, Teilnehmer.class, TeilnehmerRepository.DETAILS, teilnehmer);
+    }
 }
@@ -12,7 +12,7 @@ import java.util.List;
 
 @Repository
 @Transactional("postgresTransactionManager")
-public interface TeilnehmerStagingRepository extends JpaRepository<TeilnehmerStaging, Integer> {
+public interface TeilnehmerStagingRepository extends JpaRepository<TeilnehmerStaging, Integer>, TeilnehmerStagingRepositoryExtended {
 
     String DELETE_BY_IDENTIFIER = "delete from TeilnehmerStaging where importFilename = :identifier";
 
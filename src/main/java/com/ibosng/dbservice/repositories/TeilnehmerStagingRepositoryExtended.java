@@ -0,0 +1,19 @@
+package com.ibosng.dbservice.repositories;
+
+import com.ibosng.dbservice.entities.teilnehmer.TeilnehmerStaging;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+@Transactional("postgresTransactionManager")
+public interface TeilnehmerStagingRepositoryExtended {
+
+    /**
+     * Inserts the given rows with a single COPY, bypassing the persistence context. Rows without id get one reserved
+     * from teilnehmer_staging_id_seq, the ids are written back to the entities. The audit trigger still fires for every
+     * row. Returns the number of rows inserted.
+     */
+    long batchInsert(List<TeilnehmerStaging> teilnehmerStagings);
+}
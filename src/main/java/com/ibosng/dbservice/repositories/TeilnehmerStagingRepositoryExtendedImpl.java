@@ -0,0 +1,199 @@
+package com.ibosng.dbservice.repositories;
+
+import com.ibosng.dbservice.entities.teilnehmer.TeilnehmerStaging;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+@Slf4j
+public class TeilnehmerStagingRepositoryExtendedImpl implements TeilnehmerStagingRepositoryExtended {
+
+    /**
+     * Increment of teilnehmer_staging_id_seq, every value of the sequence reserves the block of ids ending with it, the
+     * same way Hibernate's pooled optimizer does.
+     */
+    static final int ID_ALLOCATION_SIZE = 50;
+
+    private static final String COPY_SQL = """
+            COPY teilnehmer_staging (
+                    id, titel, titel2, vorname, nachname, geschlecht, sv_nummer, geburtsdatum, buchungsstatus, anmerkung,
+                    zubuchung, geplant, eintritt, austritt, rgs, massnahmennummer, veranstaltungsnummer, email,
+                    telefon, import_filename, info, seminar_identifier, seminar_start_date, seminar_end_date,
+                    seminar_start_time, seminar_type, trainer, betreuer_titel, betreuer_vorname, betreuer_nachname,
+                    plz, ort, strasse, nation, landesvorwahl, vorwahl, telefon_nummer, status, teilnahmebeginn,
+                    anmeldestatus, ams, abmeldegrund, anwesenheit_in_ue, entschuldigte_abwesenheit_in_ue,
+                    unentschuldigte_abwesenheit_in_ue, summe_erfasste_an_und_abwesenheit, anwesenheit_erfasst_bis,
+                    absolute_anwesenheit, relative_anwesenheit, source, teilnehmer_id, ursprungsland, gerburtsort,
+                    erlaeuterung_ziel, vermittelbar_ab, notiz, created_on, created_by, changed_by, anrede,
+                    teilnahme_von, teilnahme_bis, muttersprache)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    private static final String RESERVE_IDS_SQL = """
+            select nextval('teilnehmer_staging_id_seq')
+            from generate_series(1, ?)
+            """;
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TeilnehmerStagingRepositoryExtendedImpl(@Qualifier("postgresDataSource") DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public long batchInsert(List<TeilnehmerStaging> teilnehmerStagings) {
+        if (teilnehmerStagings.isEmpty()) {
+            return 0;
+        }
+        assignIds(teilnehmerStagings);
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> copy(connection, teilnehmerStagings));
+        log.debug("Copied {} teilnehmer staging rows", copied);
+        return copied == null ? 0 : copied;
+    }
+
+    private void assignIds(List<TeilnehmerStaging> teilnehmerStagings) {
+        List<TeilnehmerStaging> withoutId = teilnehmerStagings.stream().filter(teilnehmerStaging -> teilnehmerStaging.getId() == null).toList();
+        Iterator<Long> highs = Collections.emptyIterator();
+        long next = 1;
+        long high = 0;
+        for (int i = 0; i < withoutId.size(); i++) {
+            if (next > high) {
+                if (!highs.hasNext()) {
+                    int blocks = (withoutId.size() - i + ID_ALLOCATION_SIZE - 1) / ID_ALLOCATION_SIZE;
+                    highs = jdbcTemplate.queryForList(RESERVE_IDS_SQL, Long.class, blocks).iterator();
+                }
+                high = highs.next();
+                // the first value of a new sequence is its start value, which reserves no block below it
+                next = Math.max(1, high - ID_ALLOCATION_SIZE + 1);
+            }
+            withoutId.get(i).setId(Math.toIntExact(next++));
+        }
+    }
+
+    private static long copy(Connection connection, List<TeilnehmerStaging> teilnehmerStagings) throws SQLException {
+        PGCopyOutputStream copyStream = new PGCopyOutputStream(connection.unwrap(PGConnection.class), COPY_SQL, COPY_BUFFER_SIZE);
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(copyStream, StandardCharsets.UTF_8), COPY_BUFFER_SIZE);
+            for (TeilnehmerStaging teilnehmerStaging : teilnehmerStagings) {
+                writeRow(writer, values(teilnehmerStaging));
+            }
+            writer.flush();
+            return copyStream.endCopy();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Copying the teilnehmer staging rows failed", e);
+        } finally {
+            if (copyStream.isActive()) {
+                copyStream.cancelCopy();
+            }
+        }
+    }
+
+    private static List<Object> values(TeilnehmerStaging teilnehmerStaging) {
+        return Arrays.asList(
+                teilnehmerStaging.getId(),
+                teilnehmerStaging.getTitel(),
+                teilnehmerStaging.getTitel2(),
+                teilnehmerStaging.getVorname(),
+                teilnehmerStaging.getNachname(),
+                teilnehmerStaging.getGeschlecht(),
+                teilnehmerStaging.getSvNummer(),
+                teilnehmerStaging.getGeburtsdatum(),
+                teilnehmerStaging.getBuchungsstatus(),
+                teilnehmerStaging.getAnmerkung(),
+                teilnehmerStaging.getZubuchung(),
+                teilnehmerStaging.getGeplant(),
+                teilnehmerStaging.getEintritt(),
+                teilnehmerStaging.getAustritt(),
+                teilnehmerStaging.getRgs(),
+                teilnehmerStaging.getMassnahmennummer(),
+                teilnehmerStaging.getVeranstaltungsnummer(),
+                teilnehmerStaging.getEmail(),
+                teilnehmerStaging.getTelefon(),
+                teilnehmerStaging.getImportFilename(),
+                teilnehmerStaging.getInfo(),
+                teilnehmerStaging.getSeminarIdentifier(),
+                teilnehmerStaging.getSeminarStartDate(),
+                teilnehmerStaging.getSeminarEndDate(),
+                teilnehmerStaging.getSeminarStartTime(),
+                teilnehmerStaging.getSeminarType(),
+                teilnehmerStaging.getTrainer(),
+                teilnehmerStaging.getBetreuerTitel(),
+                teilnehmerStaging.getBetreuerVorname(),
+                teilnehmerStaging.getBetreuerNachname(),
+                teilnehmerStaging.getPlz(),
+                teilnehmerStaging.getOrt(),
+                teilnehmerStaging.getStrasse(),
+                teilnehmerStaging.getNation(),
+                teilnehmerStaging.getLandesvorwahl(),
+                teilnehmerStaging.getVorwahl(),
+                teilnehmerStaging.getTelefonNummer(),
+                ordinal(teilnehmerStaging.getStatus()),
+                teilnehmerStaging.getStartOfParticipation(),
+                teilnehmerStaging.getRegistrationStatus(),
+                teilnehmerStaging.getAms(),
+                teilnehmerStaging.getReasonOfDeregistration(),
+                teilnehmerStaging.getPresenceInUe(),
+                teilnehmerStaging.getExcusedAbscenceFromUe(),
+                teilnehmerStaging.getUnexcusedAbscenceFromUe(),
+                teilnehmerStaging.getTotalAbscence(),
+                teilnehmerStaging.getAttendanceRecordedUntil(),
+                teilnehmerStaging.getAbsolutePresencePercentage(),
+                teilnehmerStaging.getRelativePresencePercentage(),
+                ordinal(teilnehmerStaging.getSource()),
+                teilnehmerStaging.getTeilnehmerId(),
+                teilnehmerStaging.getUrsprungsland(),
+                teilnehmerStaging.getGerburtsort(),
+                teilnehmerStaging.getErlaeuterungZiel(),
+                teilnehmerStaging.getVermittelbarAb(),
+                teilnehmerStaging.getNotiz(),
+                teilnehmerStaging.getCreatedOn(),
+                teilnehmerStaging.getCreatedBy(),
+                teilnehmerStaging.getChangedBy(),
+                teilnehmerStaging.getAnrede(),
+                teilnehmerStaging.getTeilnahmeVon(),
+                teilnehmerStaging.getTeilnahmeBis(),
+                teilnehmerStaging.getMuttersprache());
+    }
+
+    /**
+     * Writes one CSV line, {@code null} is an empty unquoted field and every other value is quoted, so empty strings
+     * stay empty strings.
+     */
+    private static void writeRow(Writer writer, List<Object> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value != null) {
+                writer.write('"');
+                writer.write(String.valueOf(value).replace("\"", "\"\""));
+                writer.write('"');
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static Integer ordinal(Enum<?> value) {
+        return value == null ? null : value.ordinal();
+    }
+}
@@ -4,6 +4,7 @@ import com.ibosng.dbservice.entities.Zeitausgleich;
 import com.ibosng.dbservice.entities.lhr.AbwesenheitStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,6 +16,12 @@ import java.util.List;
 
 public interface ZeitausgleichRepository extends JpaRepository<Zeitausgleich, Integer> {
 
+    /**
+     * Joins the Personalnummer and Führungskräfte of the Zeitausgleich days loaded for lists instead of selecting them per
+     * row.
+     */
+    String DETAILS = "Zeitausgleich.personalnummerAndFuehrungskraefte";
+
     String FIND_LAST_ZA = """
              SELECT lz.* 
                     FROM zeitausgleich lz 
@@ -67,8 +74,10 @@ public interface ZeitausgleichRepository extends JpaRepository<Zeitausgleich, In
 
     List<Zeitausgleich> findByPersonalnummer_IdAndDatumBetweenOrderByDatumDescCreatedOnDesc(Integer personalnummerId, LocalDate datumStart, LocalDate datumEnd);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     List<Zeitausgleich> findAllByFuehrungskraefte_Id(Integer id);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     List<Zeitausgleich> findAllByFuehrungskraefte_IdAndStatusIn(Integer id, List<AbwesenheitStatus> statusList);
 
     List<Zeitausgleich> findAllByPersonalnummer_Id(Integer personalnummer);
@@ -84,6 +93,7 @@ public interface ZeitausgleichRepository extends JpaRepository<Zeitausgleich, In
 
     List<Zeitausgleich> findByPersonalnummer_IdAndDatumBetweenAndStatusIn(Integer personalnummer, LocalDate datumStart, LocalDate datumEnd, Collection<AbwesenheitStatus> statuses);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     List<Zeitausgleich> findAllByIdIn(List<Integer> ids);
 
     List<Zeitausgleich> findAllByPersonalnummer_IdAndStatus(Integer personalnummer, AbwesenheitStatus status);
@@ -3,17 +3,32 @@ package com.ibosng.dbservice.repositories.lhr;
 import com.ibosng.dbservice.entities.lhr.Abmeldung;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 @Transactional("postgresTransactionManager")
 public interface AbmeldungRepository extends JpaRepository<Abmeldung, Integer> {
 
+    @Override
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
+    Optional<Abmeldung> findById(Integer id);
+
+    @Override
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
+    List<Abmeldung> findAll();
+
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     Abmeldung findByPersonalnummerId(Integer personalnummer);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     Page<Abmeldung> findAll(Pageable pageable);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     Abmeldung findAllBySvNummer(String svNummer);
 }
@@ -4,6 +4,7 @@ import com.ibosng.dbservice.entities.lhr.Abwesenheit;
 import com.ibosng.dbservice.entities.lhr.AbwesenheitStatus;
 import com.ibosng.dbservice.entities.masterdata.Personalnummer;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -11,63 +12,106 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 @Transactional("postgresTransactionManager")
-public interface AbwesenheitRespository extends JpaRepository<Abwesenheit, Integer> {
+public interface AbwesenheitRespository extends JpaRepository<Abwesenheit, Integer>, AbwesenheitRespositoryExtended {
+
+    /**
+     * The Führungskräfte are lazy, every query loading Abwesenheiten joins them and the Personalnummer with one of these
+     * graphs instead of selecting them per row. The paged queries only join the Personalnummer, as a fetched collection
+     * would be paged in memory.
+     */
+    String DETAILS = "Abwesenheit.personalnummerAndFuehrungskraefte";
+    String WITH_PERSONALNUMMER = "Abwesenheit.personalnummer";
 
     String FIND_DISTINCT_YEARS_BY_PERSONALNUMMER = "SELECT DISTINCT YEAR(a.von) FROM Abwesenheit a WHERE a.personalnummer.id = :personalnummerId " +
             "UNION " +
             "SELECT DISTINCT YEAR(a.bis) FROM Abwesenheit a WHERE a.personalnummer.id = :personalnummerId";
 
+    @Override
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
+    Optional<Abwesenheit> findById(Integer id);
+
+    @Override
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
+    List<Abwesenheit> findAll();
+
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     List<Abwesenheit> findAllByFuehrungskraefte_Id(Integer userId);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     List<Abwesenheit> findAllByPersonalnummer_Id(Integer personalnummerId);
 
-    Abwesenheit findFirstByPersonalnummer_IdAndVonAndBis(Integer personalnummerId, LocalDate von, LocalDate bis);
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
+    List<Abwesenheit> findAllByPersonalnummer_IdAndVonAndBis(Integer personalnummerId, LocalDate von, LocalDate bis);
 
     long countByPersonalnummer_IdAndVonAfterAndBisBefore(Integer personalnummerId, LocalDate von, LocalDate bis);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     List<Abwesenheit> findAllByFuehrungskraefte_IdAndStatusIn(Integer id, List<AbwesenheitStatus> statusList);
 
+    @Query("SELECT DISTINCT a.personalnummer.id FROM Abwesenheit a JOIN a.fuehrungskraefte f WHERE f.id = :id AND a.status IN :statusList")
+    List<Integer> findPersonalnummerIdsByFuehrungskraefteIdAndStatusIn(Integer id, List<AbwesenheitStatus> statusList);
+
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
+    List<Abwesenheit> findAllByIdIn(List<Integer> ids);
+
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     List<Abwesenheit> findAllByPersonalnummer_IdAndStatus(Integer personalnummerId, AbwesenheitStatus status);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     @Query("SELECT a FROM Abwesenheit a WHERE a.personalnummer.id = :personalnummerId AND (YEAR(a.von) = :year OR YEAR(a.bis) = :year)")
     List<Abwesenheit> findAllByPersonalnummerPersonalnummerAndVonYear(Integer personalnummerId, int year);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     @Query("SELECT a FROM Abwesenheit a WHERE a.personalnummer.id = :personalnummerId AND (YEAR(a.von) = :year OR YEAR(a.bis) = :year) AND a.status = :status")
     List<Abwesenheit> findAllByPersonalnummerPersonalnummerAndStatusAndVonYear(Integer personalnummerId, int year, AbwesenheitStatus status);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     @Query("SELECT a FROM Abwesenheit a WHERE a.personalnummer.id = :personalnummerId AND a.status NOT IN :excludedStatuses AND a.von <= :endDate AND a.bis >= :startDate")
     List<Abwesenheit> findAllByPersonalnummerAndStatusInPeriod(Integer personalnummerId, List<AbwesenheitStatus> excludedStatuses, LocalDate startDate, LocalDate endDate);
 
     @Query(FIND_DISTINCT_YEARS_BY_PERSONALNUMMER)
     List<Integer> findDistinctYearsByPersonalnummer(Integer personalnummerId);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     List<Abwesenheit> findByTageNullOrSaldoNullAndStatusIn(Collection<AbwesenheitStatus> statuses);
 
+    @EntityGraph(value = WITH_PERSONALNUMMER, type = EntityGraph.EntityGraphType.LOAD)
     @Query(value = "select a from Abwesenheit a join a.personalnummer pn where a.personalnummer.id = :personalnummerId and a.status in :statuses and a.grund in :grunde and ((a.von between :vonDate and :bisDate) or (a.bis between :vonDate and :bisDate) or (a.von <= :vonDate and a.bis >= :bisDate))")
     List<Abwesenheit> findByDateRangeGrundAndStatus(Integer personalnummerId, LocalDate vonDate, LocalDate bisDate, List<AbwesenheitStatus> statuses, List<String> grunde, Pageable pageable);
 
     @Deprecated
+    @EntityGraph(value = WITH_PERSONALNUMMER, type = EntityGraph.EntityGraphType.LOAD)
     @Query(value = "select a from Abwesenheit a join a.personalnummer pn where pn.id = :personalnummerId and a.status in :statuses and ((a.von between :vonDate and :bisDate) or (a.bis between :vonDate and :bisDate) or (a.von <= :vonDate and a.bis >= :bisDate))")
     List<Abwesenheit> findByDateRangeAndStatus(Integer personalnummerId, LocalDate vonDate, LocalDate bisDate, List<AbwesenheitStatus> statuses, Pageable pageable);
 
+    @EntityGraph(value = WITH_PERSONALNUMMER, type = EntityGraph.EntityGraphType.LOAD)
     @Query(value = "select a from Abwesenheit a join a.personalnummer pn where pn.id = :personalnummerId and pn.firma.bmdClient = :bmdClient and a.status in :statuses and ((a.von between :vonDate and :bisDate) or (a.bis between :vonDate and :bisDate) or (a.von <= :vonDate and a.bis >= :bisDate))")
     List<Abwesenheit> findByDateRangeAndStatus(Integer personalnummerId, Integer bmdClient, LocalDate vonDate, LocalDate bisDate, List<AbwesenheitStatus> statuses, Pageable pageable);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     @Query(value = "select a from Abwesenheit a join a.personalnummer pn where pn.id = :personalnummerId and pn.firma.bmdClient = :bmdClient and a.status in :statuses and ((a.von between :vonDate and :bisDate) or (a.bis between :vonDate and :bisDate) or (a.von <= :vonDate and a.bis >= :bisDate))")
     List<Abwesenheit> findByDateRangeAndStatus(Integer personalnummerId, Integer bmdClient, LocalDate vonDate, LocalDate bisDate, List<AbwesenheitStatus> statuses);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     @Query(value = "select a from Abwesenheit a join a.personalnummer pn where pn.id = :personalnummerId and ((a.von between :vonDate and :bisDate) or (a.bis between :vonDate and :bisDate) or (a.von <= :vonDate and a.bis >= :bisDate))")
     List<Abwesenheit> findAbwesenheitBetweenDates(Integer personalnummerId, LocalDate vonDate, LocalDate bisDate);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     @Query(value = "select a from Abwesenheit a join a.personalnummer pn where a.personalnummer.id = :personalnummerId and ((a.von between :vonDate and :bisDate) or (a.bis between :vonDate and :bisDate) or (a.von <= :vonDate and a.bis >= :bisDate)) and a.status in :statuses")
     List<Abwesenheit> findAbwesenheitBetweenDatesAndStatusesIn(Integer personalnummerId, LocalDate vonDate, LocalDate bisDate, List<AbwesenheitStatus> statuses);
 
-    @Query(value = "select distinct(pn) from Abwesenheit a join a.personalnummer pn where a.von > :date and a.status in :statuses")
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
+    @Query(value = "select a from Abwesenheit a join a.personalnummer pn where ((a.von between :vonDate and :bisDate) or (a.bis between :vonDate and :bisDate) or (a.von <= :vonDate and a.bis >= :bisDate)) and a.status in :statuses order by pn.id, a.von")
+    List<Abwesenheit> findAllAbwesenheitenBetweenDatesAndStatusesIn(LocalDate vonDate, LocalDate bisDate, List<AbwesenheitStatus> statuses);
+
+    @Query(value = "select distinct pn from Abwesenheit a join a.personalnummer pn left join fetch pn.firma where a.von > :date and a.status in :statuses")
     List<Personalnummer> findAbwesenheitPersonalnummerFromDateAndStatusesIn(LocalDate date, List<AbwesenheitStatus> statuses);
 
     @Modifying
@@ -80,6 +124,10 @@ public interface AbwesenheitRespository extends JpaRepository<Abwesenheit, Integ
     @Query("select count(a) from Abwesenheit a join a.personalnummer pn where pn.id = :personalnummerId and a.status in :statuses and a.grund in :grunds and ((a.von between :von and :bis) or (a.bis between :von and :bis) or (a.von <= :von and a.bis >= :bis))")
     long countByPersonalnummer_IdAndVonAfterAndBisBeforeAndStatusInAndGrundIn(Integer personalnummerId, LocalDate von, LocalDate bis, Collection<AbwesenheitStatus> statuses, Collection<String> grunds);
 
+    @Modifying
+    @Query("UPDATE Abwesenheit a SET a.status = :status, a.changedOn = :changedOn, a.changedBy = :changedBy WHERE a.id in :ids")
+    int updateStatusByIdIn(Collection<Integer> ids, AbwesenheitStatus status, LocalDateTime changedOn, String changedBy);
+
     @Modifying
     @Query("UPDATE Abwesenheit a SET a.status = com.ibosng.dbservice.entities.lhr.AbwesenheitStatus.INVALID WHERE a.id = :abwesenheitId")
     void setStatusToInvalid(Integer abwesenheitId);
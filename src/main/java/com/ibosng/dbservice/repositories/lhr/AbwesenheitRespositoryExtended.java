@@ -0,0 +1,30 @@
+package com.ibosng.dbservice.repositories.lhr;
+
+import com.ibosng.dbservice.dtos.mitarbeiter.AbwesenheitListEntryDto;
+import com.ibosng.dbservice.entities.lhr.AbwesenheitStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@Transactional("postgresTransactionManager")
+public interface AbwesenheitRespositoryExtended {
+
+    /**
+     * Pages over the Abwesenheiten and the Zeitausgleich ranges of a person or of the employees of a Fuehrungskraft.
+     * Sorting uses the property names of {@link com.ibosng.dbservice.dtos.mitarbeiter.AbwesenheitDto}.
+     */
+    Page<AbwesenheitListEntryDto> findAbwesenheitList(Integer personalnummerId, Integer fuehrungskraftId,
+                                                      List<AbwesenheitStatus> statuses, Integer year, Pageable pageable);
+
+    /**
+     * Sets the Abwesenheiten in one of the statuses overlapping the dates to {@link AbwesenheitStatus#USED} if the
+     * months of their start and end both have a locked Leistungserfassung, returns the number of updated rows.
+     */
+    int markUsedInLockedMonths(LocalDate startDate, LocalDate endDate, List<AbwesenheitStatus> statuses, String changedBy, LocalDateTime changedOn);
+}
@@ -0,0 +1,230 @@
+package com.ibosng.dbservice.repositories.lhr;
+
+import com.ibosng.dbservice.dtos.mitarbeiter.AbwesenheitListEntryDto;
+import com.ibosng.dbservice.entities.lhr.AbwesenheitStatus;
+import com.ibosng.dbservice.entities.mitarbeiter.AbwesenheitType;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class AbwesenheitRespositoryExtendedImpl implements AbwesenheitRespositoryExtended {
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "personalnummer", "l.personalnummer_id",
+            "startDate", "l.start_date",
+            "endDate", "l.end_date",
+            "type", "l.type",
+            "comment", "l.comment",
+            "changedOn", "l.changed_on",
+            "durationInDays", "l.duration_in_days",
+            "status", "l.status",
+            "fullName", "st.full_name",
+            "commentFuehrungskraft", "l.comment_fuehrungskraft");
+
+    private static final String TYPE_ORDINAL = Arrays.stream(AbwesenheitType.values())
+            .map(type -> "when '" + type.name() + "' then " + type.ordinal())
+            .collect(Collectors.joining(" ", "case a.grund ", " end"));
+
+    // The DTO shows the grund as type, the LHR days if calculated and the business days otherwise. Holidays are only
+    // known to the Java calendar, so uncalculated Abwesenheiten are sorted by their weekdays.
+    private static final String ABWESENHEIT_ROWS = """
+            select false as zeitausgleich,
+                   a.id as id,
+                   array[a.id] as ids,
+                   a.personalnummer as personalnummer_id,
+                   a.von as start_date,
+                   a.bis as end_date,
+                   %s as type,
+                   a.kommentar as comment,
+                   coalesce(a.changed_on, a.created_on)::date as changed_on,
+                   coalesce(case when a.tage <> 0 then round(a.tage::numeric) end,
+                            (select count(*)
+                             from generate_series(a.von, a.bis, interval '1 day') d
+                             where extract(isodow from d) < 6)) as duration_in_days,
+                   a.status as status,
+                   case when trim(a.comment_fuehrungskraft) <> '' then a.comment_fuehrungskraft end as comment_fuehrungskraft
+            from abwesenheit a
+            %s
+            where %s
+            """;
+
+    // Consecutive days of a person with the same comment and status form one entry, as merged by
+    // ZeitausgleichService.mapListZeitausgleichToListAbwesenheitDto: subtracting the row number from the date gives
+    // the same value for every day of such a range.
+    private static final String ZEITAUSGLEICH_DAYS = """
+            select z.id,
+                   z.personalnummer,
+                   z.datum,
+                   z.status,
+                   case when trim(z.comment) <> '' then z.comment end as comment,
+                   coalesce(z.changed_on, z.created_on)::date as changed_on,
+                   case when trim(z.comment_fuehrungskraft) <> '' then z.comment_fuehrungskraft end as comment_fuehrungskraft
+            from zeitausgleich z
+            %s
+            where z.datum is not null
+              and %s
+            """;
+
+    private static final String ZEITAUSGLEICH_ROWS = """
+            select true as zeitausgleich,
+                   (array_agg(i.id order by i.datum desc, i.id desc))[1] as id,
+                   array_agg(i.id order by i.datum, i.id) as ids,
+                   i.personalnummer as personalnummer_id,
+                   min(i.datum) as start_date,
+                   max(i.datum) as end_date,
+                   %d as type,
+                   i.comment as comment,
+                   (array_agg(i.changed_on order by i.datum, i.id))[1] as changed_on,
+                   max(i.datum) - min(i.datum) + 1 as duration_in_days,
+                   i.status as status,
+                   (array_agg(i.comment_fuehrungskraft order by i.datum desc, i.id desc))[1] as comment_fuehrungskraft
+            from (select d.*,
+                         d.datum - (row_number() over (partition by d.personalnummer, d.comment, d.status
+                                                        order by d.datum, d.id))::int as island
+                  from zeitausgleich_days d) i
+            group by i.personalnummer, i.comment, i.status, i.island
+            """;
+
+    private static final String FULL_NAME_JOIN = """
+            left join lateral (
+                select concat_ws(' ', case when trim(s.vorname) <> '' then s.vorname end,
+                                      case when trim(s.nachname) <> '' then s.nachname end) as full_name
+                from stammdaten s
+                where s.personalnummer = l.personalnummer_id
+                order by s.id
+                limit 1) st on true
+            """;
+
+    // A month counts as closed once a Leistungserfassung of the employee in it is locked
+    private static final String MARK_USED_IN_LOCKED_MONTHS = """
+            update abwesenheit a
+            set status = :used, changed_by = :changedBy, changed_on = :changedOn
+            where a.status in (:statuses)
+              and ((a.von between :startDate and :endDate) or (a.bis between :startDate and :endDate)
+                   or (a.von <= :startDate and a.bis >= :endDate))
+              and exists (select 1 from personalnummer p where p.id = a.personalnummer and p.firma is not null)
+              and exists (select 1 from leistungserfassung l
+                          where l.personalnummer = a.personalnummer
+                            and l.is_locked
+                            and l.leistungsdatum >= date_trunc('month', a.von)::date
+                            and l.leistungsdatum < (date_trunc('month', a.von) + interval '1 month')::date)
+              and exists (select 1 from leistungserfassung l
+                          where l.personalnummer = a.personalnummer
+                            and l.is_locked
+                            and l.leistungsdatum >= date_trunc('month', a.bis)::date
+                            and l.leistungsdatum < (date_trunc('month', a.bis) + interval '1 month')::date)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public AbwesenheitRespositoryExtendedImpl(@Qualifier("postgresDataSource") DataSource dataSource) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    @Override
+    public Page<AbwesenheitListEntryDto> findAbwesenheitList(Integer personalnummerId, Integer fuehrungskraftId,
+                                                             List<AbwesenheitStatus> statuses, Integer year, Pageable pageable) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        String list = listQuery(personalnummerId, fuehrungskraftId, statuses, year, parameters);
+        Sort sort = pageable.getSort();
+
+        StringBuilder sql = new StringBuilder(list)
+                .append("select l.zeitausgleich, l.ids, st.full_name from abwesenheit_list l\n")
+                .append(FULL_NAME_JOIN)
+                .append("order by ").append(orderBy(sort));
+        if (pageable.isPaged()) {
+            sql.append("\nlimit :limit offset :offset");
+            parameters.addValue("limit", pageable.getPageSize());
+            parameters.addValue("offset", pageable.getOffset());
+        }
+
+        List<AbwesenheitListEntryDto> content = jdbcTemplate.query(sql.toString(), parameters, (rs, rowNum) ->
+                new AbwesenheitListEntryDto(rs.getBoolean("zeitausgleich"),
+                        Arrays.asList((Integer[]) rs.getArray("ids").getArray()), rs.getString("full_name")));
+        return PageableExecutionUtils.getPage(content, pageable, () -> jdbcTemplate.queryForObject(
+                list + "select count(*) from abwesenheit_list l", parameters, Long.class));
+    }
+
+    @Override
+    public int markUsedInLockedMonths(LocalDate startDate, LocalDate endDate, List<AbwesenheitStatus> statuses, String changedBy, LocalDateTime changedOn) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("used", AbwesenheitStatus.USED.ordinal())
+                .addValue("statuses", statuses.stream().map(Enum::ordinal).toList())
+                .addValue("startDate", startDate)
+                .addValue("endDate", endDate)
+                .addValue("changedBy", changedBy)
+                .addValue("changedOn", changedOn);
+        return jdbcTemplate.update(MARK_USED_IN_LOCKED_MONTHS, parameters);
+    }
+
+    private static String listQuery(Integer personalnummerId, Integer fuehrungskraftId, List<AbwesenheitStatus> statuses,
+                                    Integer year, MapSqlParameterSource parameters) {
+        List<String> abwesenheitConditions = new ArrayList<>();
+        List<String> zeitausgleichConditions = new ArrayList<>();
+        String abwesenheitJoin = "";
+        String zeitausgleichJoin = "";
+        if (personalnummerId != null) {
+            abwesenheitConditions.add("a.personalnummer = :personalnummerId");
+            zeitausgleichConditions.add("z.personalnummer = :personalnummerId");
+            parameters.addValue("personalnummerId", personalnummerId);
+        }
+        if (fuehrungskraftId != null) {
+            abwesenheitJoin = "join abwesenheit_fuehrungskraft af on af.abwesenheit_id = a.id and af.benutzer_id = :fuehrungskraftId";
+            zeitausgleichJoin = "join zeitausgleich_fuehrungskraft zf on zf.zeitausgleich_id = z.id and zf.benutzer_id = :fuehrungskraftId";
+            parameters.addValue("fuehrungskraftId", fuehrungskraftId);
+        }
+        if (statuses != null && !statuses.isEmpty()) {
+            abwesenheitConditions.add("a.status in (:statuses)");
+            zeitausgleichConditions.add("z.status in (:statuses)");
+            parameters.addValue("statuses", statuses.stream().map(Enum::ordinal).toList());
+        }
+        if (year != null) {
+            abwesenheitConditions.add("(extract(year from a.von) = :year or extract(year from a.bis) = :year)");
+            zeitausgleichConditions.add("extract(year from z.datum) = :year");
+            parameters.addValue("year", year);
+        }
+
+        return "with zeitausgleich_days as (\n"
+                + ZEITAUSGLEICH_DAYS.formatted(zeitausgleichJoin, conditions(zeitausgleichConditions))
+                + "), abwesenheit_list as (\n"
+                + ABWESENHEIT_ROWS.formatted(TYPE_ORDINAL, abwesenheitJoin, conditions(abwesenheitConditions))
+                + "union all\n"
+                + ZEITAUSGLEICH_ROWS.formatted(AbwesenheitType.ZEITAUSGLEICH.ordinal())
+                + ")\n";
+    }
+
+    private static String conditions(List<String> conditions) {
+        return conditions.isEmpty() ? "true" : String.join(" and ", conditions);
+    }
+
+    /**
+     * Ascending puts empty values last and descending first, like the former sorting of the DTOs. Ties are broken by
+     * the id, so that pages do not overlap.
+     */
+    private static String orderBy(Sort sort) {
+        List<String> columns = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("Invalid sort property: " + order.getProperty());
+            }
+            columns.add(order.isAscending() ? column + " asc nulls last" : column + " desc nulls first");
+        }
+        columns.add("l.zeitausgleich");
+        columns.add("l.id");
+        return String.join(", ", columns);
+    }
+}
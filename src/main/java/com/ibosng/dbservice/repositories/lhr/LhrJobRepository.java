@@ -2,10 +2,12 @@ package com.ibosng.dbservice.repositories.lhr;
 
 import com.ibosng.dbservice.entities.lhr.LhrJob;
 import com.ibosng.dbservice.entities.lhr.LhrJobStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -13,8 +15,19 @@ import java.util.List;
 @Transactional("postgresTransactionManager")
 public interface LhrJobRepository extends JpaRepository<LhrJob, Integer> {
 
+    @Override
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
+    Optional<LhrJob> findById(Integer id);
+
+    @Override
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
+    List<LhrJob> findAll();
+
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<LhrJob> findAllByStatusAndEintrittBefore(LhrJobStatus status, LocalDate date);
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<LhrJob> findAllByStatusAndEintrittLessThanEqual(LhrJobStatus status, LocalDate date);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<LhrJob> findAllByStatusAndEintrittBetween(LhrJobStatus status, LocalDate startDate, LocalDate endDate);
 }
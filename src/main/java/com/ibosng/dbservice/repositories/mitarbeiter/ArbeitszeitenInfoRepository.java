@@ -7,9 +7,15 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 @Transactional("postgresTransactionManager")
 public interface ArbeitszeitenInfoRepository extends JpaRepository<ArbeitszeitenInfo, Integer> {
     @Query("select ari from ArbeitszeitenInfo ari where ari.vertragsdaten.id = :vertragsdatenId")
     ArbeitszeitenInfo findByVertragsdatenId(Integer vertragsdatenId);
+
+    @Query("select ari from ArbeitszeitenInfo ari where ari.vertragsdaten.id in :vertragsdatenIds")
+    List<ArbeitszeitenInfo> findAllByVertragsdatenIdIn(Collection<Integer> vertragsdatenIds);
 }
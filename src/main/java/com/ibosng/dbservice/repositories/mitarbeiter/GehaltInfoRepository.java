@@ -6,9 +6,14 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 @Transactional("postgresTransactionManager")
 public interface GehaltInfoRepository extends JpaRepository<GehaltInfo, Integer> {
 
     GehaltInfo findByVertragsdaten_Id(Integer id);
+
+    List<GehaltInfo> findAllByVertragsdaten_IdIn(Collection<Integer> ids);
 }
@@ -3,15 +3,26 @@ package com.ibosng.dbservice.repositories.mitarbeiter;
 
 import com.ibosng.dbservice.entities.masterdata.Personalnummer;
 import com.ibosng.dbservice.entities.mitarbeiter.LvAcceptance;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
 import java.util.List;
 
 @Repository
 @Transactional("postgresTransactionManager")
 public interface LvAcceptanceRepository extends JpaRepository<LvAcceptance, Integer> {
 
+    @Override
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
+    Optional<LvAcceptance> findById(Integer id);
+
+    @Override
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
+    List<LvAcceptance> findAll();
+
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<LvAcceptance> findByPersonalnummer(Personalnummer personalnummer);
 }
@@ -3,25 +3,51 @@ package com.ibosng.dbservice.repositories.mitarbeiter;
 
 import com.ibosng.dbservice.entities.masterdata.Personalnummer;
 import com.ibosng.dbservice.entities.mitarbeiter.MitarbeiterType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 @Transactional("postgresTransactionManager")
-public interface PersonalnummerRepository extends JpaRepository<Personalnummer, Integer> {
+public interface PersonalnummerRepository extends JpaRepository<Personalnummer, Integer>, PersonalnummerRepositoryExtended {
+
+    /**
+     * The Firma is lazy, the queries loading Personalnummern join it with this graph, as most callers read it outside
+     * of a transaction.
+     */
+    String WITH_FIRMA = "Personalnummer.firma";
+
+    @Override
+    @EntityGraph(value = WITH_FIRMA, type = EntityGraph.EntityGraphType.LOAD)
+    Optional<Personalnummer> findById(Integer id);
+
+    @Override
+    @EntityGraph(value = WITH_FIRMA, type = EntityGraph.EntityGraphType.LOAD)
+    List<Personalnummer> findAll();
+
+    @Override
+    @EntityGraph(value = WITH_FIRMA, type = EntityGraph.EntityGraphType.LOAD)
+    List<Personalnummer> findAllById(Iterable<Integer> ids);
 
     @Query("SELECT MAX(p.nummer) FROM Personalnummer p WHERE p.firma.id = :firmaId")
     Integer findMaxNummerByFirmaId(Integer firmaId);
 
+    @EntityGraph(value = WITH_FIRMA, type = EntityGraph.EntityGraphType.LOAD)
     Personalnummer findByPersonalnummer(String personalnummer);
 
+    @EntityGraph(value = WITH_FIRMA, type = EntityGraph.EntityGraphType.LOAD)
     List<Personalnummer> findAllByMitarbeiterType(MitarbeiterType mitarbeiterType);
 
+    @EntityGraph(value = WITH_FIRMA, type = EntityGraph.EntityGraphType.LOAD)
     List<Personalnummer> findAllByMitarbeiterTypeAndIsIbosngOnboarded(MitarbeiterType mitarbeiterType, Boolean isIbosngOnboarded);
 
+    @EntityGraph(value = WITH_FIRMA, type = EntityGraph.EntityGraphType.LOAD)
     Personalnummer findByPersonalnummerAndFirma_BmdClient(String personalnummer, Integer bmdClient);
+
+    boolean existsByPersonalnummerAndFirma_LhrNr(String personalnummer, Integer lhrNr);
 }
@@ -0,0 +1,29 @@
+package com.ibosng.dbservice.repositories.mitarbeiter;
+
+import com.ibosng.dbservice.dtos.mitarbeiter.MitarbeiterIdentityDto;
+import com.ibosng.dbservice.entities.masterdata.Personalnummer;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+@Transactional("postgresTransactionManager")
+public interface PersonalnummerRepositoryExtended {
+
+    /**
+     * The Personalnummern of the Firma with their Stammdaten and Benutzer, loaded in one query. The Benutzer is the
+     * one linked to the Personalnummer, otherwise the one with the names of the Stammdaten.
+     */
+    List<MitarbeiterIdentityDto> findIdentitiesByFirmaId(Integer firmaId);
+
+    /**
+     * Saves like {@link org.springframework.data.jpa.repository.JpaRepository#save}, but the returned Personalnummer
+     * has its Firma loaded.
+     */
+    <S extends Personalnummer> S save(S personalnummer);
+
+    <S extends Personalnummer> List<S> saveAll(Iterable<S> personalnummerList);
+
+    <S extends Personalnummer> S saveAndFlush(S personalnummer);
+}
@@ -0,0 +1,93 @@
+package com.ibosng.dbservice.repositories.mitarbeiter;
+
+import com.ibosng.dbservice.dtos.mitarbeiter.MitarbeiterIdentityDto;
+import com.ibosng.dbservice.entities.masterdata.Personalnummer;
+import com.ibosng.dbservice.repositories.EntityGraphSave;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+public class PersonalnummerRepositoryExtendedImpl implements PersonalnummerRepositoryExtended {
+
+    // Like StammdatenService.findByPersonalnummer the first Stammdaten is taken. Like BenutzerService.findByPersonalnummer
+    // the Benutzer is only taken if it is the only one linked to the Personalnummer. The email of the first Benutzer
+    // with the names of the Stammdaten is kept apart, as BenutzerService.findAllByFirstNameAndLastName found it.
+    private static final String FIND_IDENTITIES_BY_FIRMA = """
+            select p.id as personalnummer_id,
+                   p.personalnummer,
+                   p.firma as firma_id,
+                   s.vorname,
+                   s.nachname,
+                   b.id as benutzer_id,
+                   b.first_name as benutzer_first_name,
+                   b.last_name as benutzer_last_name,
+                   b.email,
+                   n.email as email_by_name
+            from personalnummer p
+            left join lateral (
+                select st.vorname, st.nachname
+                from stammdaten st
+                where st.personalnummer = p.id
+                order by st.id
+                limit 1) s on true
+            left join lateral (
+                select be.id, be.first_name, be.last_name, be.email, count(*) over () as linked
+                from benutzer be
+                where be.personalnummer = p.id
+                order by be.id
+                limit 1) b on b.linked = 1
+            left join lateral (
+                select bn.email
+                from benutzer bn
+                where bn.first_name = s.vorname and bn.last_name = s.nachname
+                order by bn.id
+                limit 1) n on true
+            where p.firma = :firmaId
+            order by p.id
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public PersonalnummerRepositoryExtendedImpl(@Qualifier("postgresDataSource") DataSource dataSource) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    @Override
+    public List<MitarbeiterIdentityDto> findIdentitiesByFirmaId(Integer firmaId) {
+        return jdbcTemplate.query(FIND_IDENTITIES_BY_FIRMA, new MapSqlParameterSource("firmaId", firmaId),
+                (rs, rowNum) -> new MitarbeiterIdentityDto(
+                        rs.getInt("personalnummer_id"),
+                        rs.getString("personalnummer"),
+                        rs.getInt("firma_id"),
+                        rs.getString("vorname"),
+                        rs.getString("nachname"),
+                        rs.getObject("benutzer_id", Integer.class),
+                        rs.getString("benutzer_first_name"),
+                        rs.getString("benutzer_last_name"),
+                        rs.getString("email"),
+                        rs.getString("email_by_name")));
+    }
+
+    @Override
+    public <S extends Personalnummer> S save(S personalnummer) {
+        return EntityGraphSave.save(entityManager, Personalnummer.class, PersonalnummerRepository.WITH_FIRMA, personalnummer);
+    }
+
+    @Override
+    public <S extends Personalnummer> List<S> saveAll(Iterable<S> personalnummerList) {
+        return EntityGraphSave.saveAll(entityManager, Personalnummer.class, PersonalnummerRepository.WITH_FIRMA, personalnummerList);
+    }
+
+    @Override
+    public <S extends Personalnummer> S saveAndFlush(S personalnummer) {
+        return EntityGraphSave.saveAndFlush(entityManager, Personalnummer.class, PersonalnummerRepository.WITH_FIRMA, personalnummer);
+    }
+}
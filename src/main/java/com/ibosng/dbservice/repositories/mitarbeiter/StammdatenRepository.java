@@ -5,31 +5,74 @@ import com.ibosng.dbservice.entities.mitarbeiter.MitarbeiterStatus;
 import com.ibosng.dbservice.entities.mitarbeiter.Stammdaten;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 @Transactional("postgresTransactionManager")
 public interface StammdatenRepository extends JpaRepository<Stammdaten, Integer>, StammdatenRepositoryExtended, JpaSpecificationExecutor<Stammdaten> {
 
+    /**
+     * The associations of the Stammdaten are lazy. The queries loading Stammdaten join them, together with the Firma of
+     * the Personalnummer, with this graph, as the Stammdaten are mapped and validated as a whole, often outside of a
+     * transaction. The errors stay eager, as the validations replace them on detached Stammdaten.
+     */
+    String DETAILS = "Stammdaten.details";
+
+    @Override
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
+    Optional<Stammdaten> findById(Integer id);
+
+    @Override
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
+    List<Stammdaten> findAll();
+
+    @Override
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
+    List<Stammdaten> findAllById(Iterable<Integer> ids);
+
+    @Override
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
+    List<Stammdaten> findAll(Specification<Stammdaten> spec);
+
+    @Override
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
+    Page<Stammdaten> findAll(Specification<Stammdaten> spec, Pageable pageable);
+
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     Stammdaten findByPersonalnummer(Personalnummer personalnummer);
 
+    @Override
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     Page<Stammdaten> findAll(Pageable pageable);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     List<Stammdaten> findAllByCreatedOnAfterOrChangedOnAfter(LocalDateTime createdOn, LocalDateTime changedOn);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     List<Stammdaten> findAllByVornameAndNachname(String vorname, String nachname);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     List<Stammdaten> findAllByEmail(String email);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     Stammdaten findByPersonalnummer_PersonalnummerAndStatusIn(String personalnummer, List<MitarbeiterStatus> status);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     Stammdaten findByPersonalnummerAndStatusIn(Personalnummer personalnummer, List<MitarbeiterStatus> status);
 
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
+    List<Stammdaten> findAllByPersonalnummerInAndStatusIn(Collection<Personalnummer> personalnummers, List<MitarbeiterStatus> status);
+
+    @EntityGraph(value = DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     Stammdaten findByPersonalnummer_Id(Integer personalnummerId);
 }
@@ -2,11 +2,14 @@ package com.ibosng.dbservice.repositories.mitarbeiter;
 
 import com.ibosng.dbservice.dtos.mitarbeiter.MAFilteredResultDto;
 import com.ibosng.dbservice.dtos.mitarbeiter.MASearchCriteriaDto;
+import com.ibosng.dbservice.entities.mitarbeiter.Stammdaten;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Repository
 @Transactional("postgresTransactionManager")
 public interface StammdatenRepositoryExtended {
@@ -14,4 +17,14 @@ public interface StammdatenRepositoryExtended {
     Page<Object[]> findForBenutzerOrderedByNachnameEintritt(Pageable pageable, String mitarbeiterType, String benutzerEmail);
 
     Page<MAFilteredResultDto> findMAByCriteria(MASearchCriteriaDto maSearchCriteriaDto, Pageable pageable);
+
+    /**
+     * Saves like {@link org.springframework.data.jpa.repository.JpaRepository#save}, but the returned Stammdaten have
+     * their associations loaded.
+     */
+    <S extends Stammdaten> S save(S stammdaten);
+
+    <S extends Stammdaten> List<S> saveAll(Iterable<S> stammdatenList);
+
+    <S extends Stammdaten> S saveAndFlush(S stammdaten);
 }
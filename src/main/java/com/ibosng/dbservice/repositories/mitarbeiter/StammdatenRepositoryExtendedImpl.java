@@ -6,8 +6,10 @@ import com.ibosng.dbservice.entities.Adresse;
 import com.ibosng.dbservice.entities.Benutzer;
 import com.ibosng.dbservice.entities.masterdata.*;
 import com.ibosng.dbservice.entities.mitarbeiter.*;
+import com.ibosng.dbservice.repositories.EntityGraphSave;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
@@ -27,6 +29,9 @@ import static com.ibosng.dbservice.utils.Parsers.isNullOrBlank;
 public class StammdatenRepositoryExtendedImpl implements StammdatenRepositoryExtended {
     private final EntityManagerFactory entityManagerFactory;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public StammdatenRepositoryExtendedImpl(@Qualifier("postgresEntityManagerFactory") EntityManagerFactory entityManagerFactory) {
         this.entityManagerFactory = entityManagerFactory;
     }
@@ -353,4 +358,19 @@ public class StammdatenRepositoryExtendedImpl implements StammdatenRepositoryExt
 
         return predicates;
     }
+
+    @Override
+    public <S extends Stammdaten> S save(S stammdaten) {
+        return EntityGraphSave.save(entityManager, Stammdaten.class, StammdatenRepository.DETAILS, stammdaten);
+    }
+
+    @Override
+    public <S extends Stammdaten> List<S> saveAll(Iterable<S> stammdatenList) {
+        return EntityGraphSave.saveAll(entityManager, Stammdaten.class, StammdatenRepository.DETAILS, stammdatenList);
+    }
+
+    @Override
+    public <S extends Stammdaten> S saveAndFlush(S stammdaten) {
+        return EntityGraphSave.saveAndFlush(entityManager, Stammdaten.class, StammdatenRepository.DETAILS, stammdaten);
+    }
 }
@@ -3,24 +3,40 @@ package com.ibosng.dbservice.repositories.mitarbeiter;
 import com.ibosng.dbservice.entities.mitarbeiter.MitarbeiterStatus;
 import com.ibosng.dbservice.entities.mitarbeiter.Vertragsaenderung;
 import com.ibosng.dbservice.entities.mitarbeiter.VertragsaenderungStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
 import java.util.List;
 
 @Repository
 @Transactional("postgresTransactionManager")
 public interface VertragsaenderungRepository extends JpaRepository<Vertragsaenderung, Integer>, VertragsaenderungRepositoryExtended {
+    @Override
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
+    Optional<Vertragsaenderung> findById(Integer id);
+
+    @Override
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
+    List<Vertragsaenderung> findAll();
+
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Vertragsaenderung> findAllByPersonalnummer_Personalnummer(String personalnummer);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Vertragsaenderung> findAllByPersonalnummer_PersonalnummerAndStatus(String personalnummer, MitarbeiterStatus status);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Vertragsaenderung> findAllBySuccessor_Id(Integer successorId);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Vertragsaenderung> findAllByPredecessor_Id(Integer predecessorId);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     Vertragsaenderung findBySuccessor_IdAndPredecessor_Id(Integer successorId, Integer predecessorId);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Vertragsaenderung> findByPersonalnummer_PersonalnummerAndStatus(String personalnummer, VertragsaenderungStatus status);
 }
@@ -4,11 +4,13 @@ package com.ibosng.dbservice.repositories.mitarbeiter;
 import com.ibosng.dbservice.entities.masterdata.Personalnummer;
 import com.ibosng.dbservice.entities.mitarbeiter.MitarbeiterStatus;
 import com.ibosng.dbservice.entities.mitarbeiter.Vertragsdaten;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collection;
@@ -17,28 +19,50 @@ import java.util.List;
 @Repository
 @Transactional("postgresTransactionManager")
 public interface VertragsdatenRepository extends JpaRepository<Vertragsdaten, Integer> {
+    @Override
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
+    Optional<Vertragsdaten> findById(Integer id);
+
+    @Override
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
+    List<Vertragsdaten> findAll();
+
     @Query("select ver.eintritt from Vertragsdaten ver where ver.personalnummer.personalnummer = :personalnummer and ver.eintritt IS NOT NULL")
     LocalDate findEintrittByPersonalnummer(String personalnummer);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Vertragsdaten> findAllByCreatedOnAfterOrChangedOnAfter(LocalDateTime createdOn, LocalDateTime changedOn);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     Vertragsdaten findFirstByPersonalnummer_PersonalnummerOrderByCreatedOnDescChangedOnDesc(String personalnummer);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Vertragsdaten> findByPersonalnummer_Personalnummer(String personalnummer);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Vertragsdaten> findByPersonalnummer_PersonalnummerAndStatusIn(String personalnummer, Collection<MitarbeiterStatus> statuses);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Vertragsdaten> findByPersonalnummer_IdAndStatusIn(Integer personalnummer, Collection<MitarbeiterStatus> statuses);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Vertragsdaten> findAllByFuehrungskraftIsNullAndFuehrungskraftRefIsNotNull();
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Vertragsdaten> findAllByStartcoachIsNullAndStartcoachRefIsNotNull();
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     @Query("Select v from Vertragsdaten v where v.personalnummer.personalnummer = :personalnummer and v.status in :statuses and v.id not in (select va.successor.id from Vertragsaenderung va WHERE va.successor IS NOT NULL)")
     List<Vertragsdaten> findAllByPNAndStatusesNotInVertragsdatenaenderungen(String personalnummer, List<MitarbeiterStatus> statuses);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     @Query("Select v from Vertragsdaten v where v.personalnummer = :personalnummer and v.status in :statuses and v.id not in (select va.successor.id from Vertragsaenderung va WHERE va.successor IS NOT NULL)")
     List<Vertragsdaten> findAllByPNAndStatusesNotInVertragsdatenaenderungen(Personalnummer personalnummer, List<MitarbeiterStatus> statuses);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
+    @Query("Select v from Vertragsdaten v where v.personalnummer in :personalnummers and v.status in :statuses and v.id not in (select va.successor.id from Vertragsaenderung va WHERE va.successor IS NOT NULL)")
+    List<Vertragsdaten> findAllByPNsAndStatusesNotInVertragsdatenaenderungen(Collection<Personalnummer> personalnummers, List<MitarbeiterStatus> statuses);
+
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Vertragsdaten> findAllByPersonalnummer(Personalnummer personalnummer);
 }
@@ -6,10 +6,13 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 @Transactional("postgresTransactionManager")
 public interface SeminarPruefungRepository extends JpaRepository<SeminarPruefung, Integer> {
     List<SeminarPruefung> findByTeilnehmer2Seminar_Id(Integer teilnehmer2SeminarId);
+
+    List<SeminarPruefung> findByTeilnehmer2Seminar_IdIn(Collection<Integer> teilnehmer2SeminarIds);
 }
@@ -1,6 +1,7 @@
 package com.ibosng.dbservice.repositories.urlaub;
 
 import com.ibosng.dbservice.entities.urlaub.Urlaubsdaten;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,15 +11,28 @@ import java.util.Optional;
 
 @Repository
 public interface UrlaubsdatenRepository extends JpaRepository<Urlaubsdaten, Integer> {
+    @Override
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
+    Optional<Urlaubsdaten> findById(Integer id);
+
+    @Override
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
+    List<Urlaubsdaten> findAll();
+
     boolean existsByPersonalnummer_IdAndAnspruchType_LhrIdAndMonthAndFromAndNextAnspruch(Integer personalnummer, Integer lhrId, LocalDate month, LocalDate from, LocalDate nextAnspruch);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     Urlaubsdaten findFirstByPersonalnummer_IdAndAnspruchType_LhrIdAndMonthAndFromAndNextAnspruch(Integer personalnummer, Integer lhrId, LocalDate month, LocalDate from, LocalDate nextAnspruch);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Urlaubsdaten> findByPersonalnummer_IdAndMonth(Integer personalnummer, LocalDate month);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Urlaubsdaten> findByPersonalnummer_IdAndMonthBetweenOrderByMonthDesc(Integer personalnummer, LocalDate monthStart, LocalDate monthEnd);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Urlaubsdaten> findByPersonalnummer_IdAndMonthBetweenAndAnspruchType_BezeichnungOrderByMonthDesc(Integer personalnummer, LocalDate month, LocalDate monthEnd, String anspruch);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     Optional<Urlaubsdaten> findFirstByPersonalnummer_IdAndMonthOrderByAnspruchType_IdAsc(Integer personalnummerId, LocalDate month);
 }
@@ -5,11 +5,13 @@ import com.ibosng.dbservice.entities.mitarbeiter.vereinbarung.Vereinbarung;
 import com.ibosng.dbservice.entities.mitarbeiter.vereinbarung.VereinbarungStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
 import java.util.List;
 
 
@@ -17,9 +19,20 @@ import java.util.List;
 @Transactional("postgresTransactionManager")
 public interface VereinbarungRepository extends JpaRepository<Vereinbarung, Integer>, JpaSpecificationExecutor<Vereinbarung> {
 
+    @Override
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
+    Optional<Vereinbarung> findById(Integer id);
+
+    @Override
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
+    List<Vereinbarung> findAll();
+
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Vereinbarung> findAllByPersonalnummer(Personalnummer personalnummer);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     Page<Vereinbarung> findAllByStatus(VereinbarungStatus status, Pageable pageable);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     Vereinbarung findVereinbarungByWorkflow_Id(Integer workflowId);
 }
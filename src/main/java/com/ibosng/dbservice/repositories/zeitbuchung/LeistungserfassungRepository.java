@@ -4,6 +4,7 @@ import com.ibosng.dbservice.entities.masterdata.Personalnummer;
 import com.ibosng.dbservice.entities.zeitbuchung.Leistungserfassung;
 import com.ibosng.dbservice.entities.zeitbuchung.Leistungstyp;
 import com.ibosng.dbservice.entities.zeitbuchung.MoxisStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -16,7 +17,7 @@ import java.util.Optional;
 
 @Repository
 @Transactional("postgresTransactionManager")
-public interface LeistungserfassungRepository extends JpaRepository<Leistungserfassung, Integer> {
+public interface LeistungserfassungRepository extends JpaRepository<Leistungserfassung, Integer>, LeistungserfassungRepositoryExtended {
     String OVERLAPPING_ENTRIES = """
             SELECT DISTINCT t1.leistungsdatum as "result"
                  FROM (select z.id as "id", leistungsdatum, von, bis, l.personalnummer FROM zeitbuchung z JOIN leistungserfassung l ON z.leistungserfassung = l.id) as t1
@@ -39,21 +40,37 @@ public interface LeistungserfassungRepository extends JpaRepository<Leistungserf
             AND l.moxisStatus = :moxisStatus
             """;
 
+    @Override
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
+    Optional<Leistungserfassung> findById(Integer id);
+
+    @Override
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
+    List<Leistungserfassung> findAll();
+
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     Optional<Leistungserfassung> findFirstByLeistungstypAndLeistungsdatumAndPersonalnummer(Leistungstyp leistungstyp, LocalDate leistungsdatum, Personalnummer personalnummer);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Leistungserfassung> findByPersonalnummer_IdAndLeistungsdatumBetween(Integer personalnummerId, LocalDate leistungsdatumStart, LocalDate leistungsdatumEnd);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Leistungserfassung> findByPersonalnummer_IdAndLeistungsdatum(Integer personalnummerId, LocalDate leistungsdatum);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Leistungserfassung> findByPersonalnummer_IdAndLeistungsdatumAndLeistungstyp(Integer personalnummerId, LocalDate leistungsdatum, Leistungstyp leistungstyp);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     @Query(FIND_MOTNHS_TO_BE_SEND_TO_LHR)
     List<Leistungserfassung> findByPersonalNummerMonthsToBeSend(Integer personalnummerId, LocalDate leistungsdatumAfter, LocalDate leistungsdatumBefore, MoxisStatus moxisStatus);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Leistungserfassung> findByPersonalnummer_IdAndLeistungsdatumBetweenAndIsSyncedWithLhrTrue(Integer personalnummerId, LocalDate leistungsdatumStart, LocalDate leistungsdatumEnd);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Leistungserfassung> findByPersonalnummer_IdAndLeistungsdatumBetweenAndIsSyncedWithLhrNullOrIsSyncedWithLhrFalse(Integer personalnummerId, LocalDate leistungsdatumStart, LocalDate leistungsdatumEnd);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     @Query("SELECT l FROM Leistungserfassung l WHERE l.leistungsdatum BETWEEN :startDate AND :endDate AND (l.moxisStatus IS NULL OR l.moxisStatus <> :successStatus)")
     List<Leistungserfassung> findLeistungserfassungInPeriodAndNotInStatus(LocalDate startDate, LocalDate endDate, MoxisStatus successStatus);
 
@@ -64,9 +81,12 @@ public interface LeistungserfassungRepository extends JpaRepository<Leistungserf
 
     boolean existsByPersonalnummer_IdAndPersonalnummer_Firma_BmdClientAndLeistungsdatumBetweenAndIsLocked(Integer personalnummerId, Integer bmdClient, LocalDate startDate, LocalDate endDate, boolean b);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Leistungserfassung> findByPersonalnummerAndLeistungsdatumBetween(Personalnummer personalnummer, LocalDate leistungsdatumStart, LocalDate leistungsdatumEnd);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Leistungserfassung> findByPersonalnummerAndLeistungsdatum(Personalnummer personalnummer, LocalDate leistungsdatum);
 
+    @EntityGraph(attributePaths = "personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     List<Leistungserfassung> findByIsSyncedWithLhrNullOrIsSyncedWithLhrFalse();
 }
@@ -0,0 +1,26 @@
+package com.ibosng.dbservice.repositories.zeitbuchung;
+
+import com.ibosng.dbservice.dtos.zeiterfassung.MonthCloseCandidateDto;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@Transactional("postgresTransactionManager")
+public interface LeistungserfassungRepositoryExtended {
+
+    /**
+     * The employees with a Firma whose Leistungserfassungen between the dates are all unlocked and at least one of
+     * them signed in Moxis, ordered by Personalnummer id.
+     */
+    List<MonthCloseCandidateDto> findMonthCloseCandidates(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Locks the Leistungserfassungen of the employees between the dates, returns the number of locked rows.
+     */
+    int lockLeistungserfassungen(Collection<Integer> personalnummerIds, LocalDate startDate, LocalDate endDate, String changedBy, LocalDateTime changedOn);
+}
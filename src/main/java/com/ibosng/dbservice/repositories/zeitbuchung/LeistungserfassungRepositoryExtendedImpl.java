@@ -0,0 +1,67 @@
+package com.ibosng.dbservice.repositories.zeitbuchung;
+
+import com.ibosng.dbservice.dtos.zeiterfassung.MonthCloseCandidateDto;
+import com.ibosng.dbservice.entities.zeitbuchung.MoxisStatus;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public class LeistungserfassungRepositoryExtendedImpl implements LeistungserfassungRepositoryExtended {
+
+    private static final String FIND_MONTH_CLOSE_CANDIDATES = """
+            select p.id as personalnummer_id, p.personalnummer, p.firma as firma_id
+            from leistungserfassung l
+            join personalnummer p on p.id = l.personalnummer
+            where l.leistungsdatum between :startDate and :endDate
+              and p.firma is not null
+            group by p.id, p.personalnummer, p.firma
+            having not bool_or(coalesce(l.is_locked, false))
+               and bool_or(l.moxis_status = :signed)
+            order by p.id
+            """;
+
+    private static final String LOCK_LEISTUNGSERFASSUNGEN = """
+            update leistungserfassung
+            set is_locked = true, changed_by = :changedBy, changed_on = :changedOn
+            where personalnummer in (:personalnummerIds)
+              and leistungsdatum between :startDate and :endDate
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public LeistungserfassungRepositoryExtendedImpl(@Qualifier("postgresDataSource") DataSource dataSource) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    @Override
+    public List<MonthCloseCandidateDto> findMonthCloseCandidates(LocalDate startDate, LocalDate endDate) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("startDate", startDate)
+                .addValue("endDate", endDate)
+                .addValue("signed", MoxisStatus.SUCCESS.name());
+        return jdbcTemplate.query(FIND_MONTH_CLOSE_CANDIDATES, params, (rs, rowNum) -> new MonthCloseCandidateDto(
+                rs.getInt("personalnummer_id"),
+                rs.getString("personalnummer"),
+                rs.getInt("firma_id")));
+    }
+
+    @Override
+    public int lockLeistungserfassungen(Collection<Integer> personalnummerIds, LocalDate startDate, LocalDate endDate, String changedBy, LocalDateTime changedOn) {
+        if (personalnummerIds.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("personalnummerIds", personalnummerIds)
+                .addValue("startDate", startDate)
+                .addValue("endDate", endDate)
+                .addValue("changedBy", changedBy)
+                .addValue("changedOn", changedOn);
+        return jdbcTemplate.update(LOCK_LEISTUNGSERFASSUNGEN, params);
+    }
+}
@@ -4,6 +4,7 @@ import com.ibosng.dbservice.entities.seminar.Seminar;
 import com.ibosng.dbservice.entities.teilnehmer.Teilnehmer;
 import com.ibosng.dbservice.entities.zeiterfassung.Zeiterfassung;
 import com.ibosng.dbservice.entities.zeiterfassung.ZeiterfassungStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -14,8 +15,18 @@ import java.util.Optional;
 
 @Repository
 public interface ZeiterfassungRepository extends JpaRepository<Zeiterfassung, Integer> {
+    @Override
+    @EntityGraph(attributePaths = "teilnehmer.personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
+    Optional<Zeiterfassung> findById(Integer id);
+
+    @Override
+    @EntityGraph(attributePaths = "teilnehmer.personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
+    List<Zeiterfassung> findAll();
+
+    @EntityGraph(attributePaths = "teilnehmer.personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     Optional<Zeiterfassung> findBySeminarAndTeilnehmerAndDatum(Seminar seminar, Teilnehmer teilnehmer, LocalDate datum);
 
+    @EntityGraph(attributePaths = "teilnehmer.personalnummer.firma", type = EntityGraph.EntityGraphType.LOAD)
     @Query("select zet from Zeiterfassung zet where zet.zeiterfassungTransfer.id = :zeiterfassungTransferId and zet.status = :status")
     List<Zeiterfassung> findAllByZeiterfassungTransferIdAndStatus(Integer zeiterfassungTransferId, ZeiterfassungStatus status);
 }
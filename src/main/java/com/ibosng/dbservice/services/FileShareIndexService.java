@@ -0,0 +1,46 @@
+package com.ibosng.dbservice.services;
+
+import com.ibosng.dbservice.entities.FileShareIndex;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Index of the file ids of the file shares with the directory and name of the file, so files can be resolved by id
+ * without listing the share. Directory paths are stored without leading and trailing slashes, the empty path being
+ * the root directory of the share.
+ */
+public interface FileShareIndexService extends BaseService<FileShareIndex> {
+
+    Optional<FileShareIndex> findByShareNameAndFileId(String shareName, String fileId);
+
+    /**
+     * Stores the location of the file id. Entries of other file ids with the same location are removed, as the file
+     * they pointed to has been replaced.
+     */
+    void indexFile(String shareName, String fileId, String directoryPath, String fileName);
+
+    void removeFile(String shareName, String fileId);
+
+    void removeFile(String shareName, String directoryPath, String fileName);
+
+    /**
+     * Removes the entries of the directory and all its subdirectories.
+     */
+    void removeDirectory(String shareName, String directoryPath);
+
+    /**
+     * Points the entries of the directory and all its subdirectories to the new directory path. Renaming a directory
+     * keeps the file ids.
+     */
+    void moveDirectory(String shareName, String sourcePath, String targetPath);
+
+    /**
+     * Aligns the index of the share with the files found by a full listing of the share started at {@code startedAt}.
+     * Entries indexed after that are kept, as the listing may have missed them.
+     *
+     * @return the number of added, updated and removed entries.
+     */
+    int reconcile(String shareName, List<FileShareIndex> files, LocalDateTime startedAt);
+}
@@ -0,0 +1,13 @@
+package com.ibosng.dbservice.services;
+
+import com.ibosng.dbservice.entities.IbosSyncPending;
+
+import java.util.List;
+
+/**
+ * Employees of the incremental ibos sync that are retried on the next run.
+ */
+public interface IbosSyncPendingService extends BaseService<IbosSyncPending> {
+
+    void deleteAll(List<IbosSyncPending> pending);
+}
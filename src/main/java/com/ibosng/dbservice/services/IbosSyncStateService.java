@@ -0,0 +1,13 @@
+package com.ibosng.dbservice.services;
+
+import com.ibosng.dbservice.entities.IbosSyncState;
+
+import java.util.Optional;
+
+/**
+ * Watermarks of the incremental sync of the ibos tables, one entry per table.
+ */
+public interface IbosSyncStateService extends BaseService<IbosSyncState> {
+
+    Optional<IbosSyncState> findByTableName(String tableName);
+}
@@ -13,5 +13,17 @@ public interface PlzService extends BaseService<Plz> {
 
     List<String> findOrtByPlz(Integer plz);
 
+    /**
+     * Returns the Orte of the given PLZ containing the given Ort as a whole word or word prefix.
+     */
+    List<String> findMatchingOrtsByPlz(Integer plz, String ort);
+
+    /**
+     * Whether any Ort contains the given Ort as a whole word or word prefix.
+     */
+    boolean existsMatchingOrt(String ort);
+
+    void refreshGazetteer();
+
     Integer findPlzByOrt(String ort);
 }
@@ -3,11 +3,14 @@ package com.ibosng.dbservice.services;
 import com.ibosng.dbservice.dtos.SeminarPruefungDto;
 import com.ibosng.dbservice.entities.seminar.SeminarPruefung;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface SeminarPruefungService extends BaseService<SeminarPruefung> {
     List<SeminarPruefung> findAllByTeilnehmerIdAndSeminarId(Integer teilnehmerId, Integer SeminarId);
 
+    List<SeminarPruefung> findAllByTeilnehmer2SeminarIdIn(Collection<Integer> teilnehmer2SeminarIds);
+
     SeminarPruefungDto mapSeminarPruefungToDto(SeminarPruefung seminarPruefung);
 
 }
\ No newline at end of file
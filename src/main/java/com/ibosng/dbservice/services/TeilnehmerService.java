@@ -16,11 +16,22 @@ import org.springframework.data.domain.Sort;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TeilnehmerService extends BaseService<Teilnehmer> {
 
     List<PruefungCsvDto> findTeilnehmerForPruefungCsv(String identifiersString, String seminarName, String projektName, boolean isActive, Boolean isUebaTeilnehmer, boolean isAngemeldet, String geschlecht, String sortProperty, Sort.Direction direction, int page, int size);
     List<PruefungXlsxDto> findTeilnehmerForPruefungXlsx(String identifiersString, String seminarName, String projektName, boolean isActive, Boolean isUebaTeilnehmer, boolean isAngemeldet, String geschlecht, String sortProperty, Sort.Direction direction, int page, int size);
+
+    /**
+     * Passes the rows of all Teilnehmer matching the filters to the consumer one by one. The Teilnehmer are read in
+     * keyset pages, each page is loaded completely before it is passed on, so no connection is held while the consumer
+     * runs.
+     */
+    void streamTeilnehmerForPruefungCsv(String identifiersString, String seminarName, String projektName, boolean isActive, Boolean isUebaTeilnehmer, boolean isAngemeldet, String geschlecht, String sortProperty, Sort.Direction direction, Consumer<PruefungCsvDto> consumer);
+
+    void streamTeilnehmerForPruefungXlsx(String identifiersString, String seminarName, String projektName, boolean isActive, Boolean isUebaTeilnehmer, boolean isAngemeldet, String geschlecht, String sortProperty, Sort.Direction direction, Consumer<PruefungXlsxDto> consumer);
+
     List<Teilnehmer> getBySVN(String svn);
 
     List<Teilnehmer> getByVorname(String vorname);
@@ -49,6 +60,8 @@ public interface TeilnehmerService extends BaseService<Teilnehmer> {
 
     TeilnehmerSeminarDto findTeilnehmerDtoById(Integer id);
 
+    List<TeilnehmerSeminarDto> findTeilnehmerDtosByIds(List<Integer> ids);
+
     Teilnehmer findByPersonalnummerString(String personalnummer);
 
     Teilnehmer findCompleteTnByPersonalnummerString(String personalnummer);
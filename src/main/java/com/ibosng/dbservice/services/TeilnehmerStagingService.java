@@ -12,6 +12,8 @@ public interface TeilnehmerStagingService extends BaseService<TeilnehmerStaging>
 
     void deleteAllByIdentifier(String identifier);
 
+    void batchInsert(List<TeilnehmerStaging> teilnehmerStagings);
+
     List<TeilnehmerStaging> findByImportFilenameAndTeilnehmerId(String filename, int teilnehmerId);
 
     List<TeilnehmerStaging> findAllByImportFilenameAndTeilnehmerIdAndStatus(String filename, int teilnehmerId, TeilnehmerStatus status);
@@ -26,6 +26,12 @@ public interface ZeitausgleichService extends BaseService<Zeitausgleich> {
 
     List<AbwesenheitDto> mapListZeitausgleichToListAbwesenheitDto(List<Zeitausgleich> zeitausgleich);
 
+    /**
+     * Maps the days of one employee with the given full name instead of looking up the Stammdaten per day, for lists
+     * that selected it.
+     */
+    List<AbwesenheitDto> mapListZeitausgleichToListAbwesenheitDto(List<Zeitausgleich> zeitausgleich, String fullName);
+
     List<ZeitbuchungenDto> mapListZeitausgleichToListZeitbuchungenDto(List<Zeitausgleich> zeitausgleich);
 
     boolean isExist(Integer personalnummerId, LocalDate datum, LocalTime timeVon, LocalTime timeBis);
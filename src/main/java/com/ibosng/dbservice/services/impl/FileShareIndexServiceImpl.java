@@ -0,0 +1,154 @@
+package com.ibosng.dbservice.services.impl;
+
+import com.ibosng.dbservice.entities.FileShareIndex;
+import com.ibosng.dbservice.repositories.FileShareIndexRepository;
+import com.ibosng.dbservice.services.FileShareIndexService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class FileShareIndexServiceImpl implements FileShareIndexService {
+
+    private final FileShareIndexRepository fileShareIndexRepository;
+
+    @Override
+    public List<FileShareIndex> findAll() {
+        return fileShareIndexRepository.findAll();
+    }
+
+    @Override
+    public Optional<FileShareIndex> findById(Integer id) {
+        return fileShareIndexRepository.findById(id);
+    }
+
+    @Override
+    public FileShareIndex save(FileShareIndex object) {
+        return fileShareIndexRepository.save(object);
+    }
+
+    @Override
+    public List<FileShareIndex> saveAll(List<FileShareIndex> objects) {
+        return fileShareIndexRepository.saveAll(objects);
+    }
+
+    @Override
+    public void deleteById(Integer id) {
+        fileShareIndexRepository.deleteById(id);
+    }
+
+    @Override
+    public List<FileShareIndex> findAllByIdentifier(String identifier) {
+        return null;
+    }
+
+    @Override
+    public Optional<FileShareIndex> findByShareNameAndFileId(String shareName, String fileId) {
+        return fileShareIndexRepository.findByShareNameAndFileId(shareName, fileId);
+    }
+
+    @Override
+    @Transactional("postgresTransactionManager")
+    public void indexFile(String shareName, String fileId, String directoryPath, String fileName) {
+        String path = normalize(directoryPath);
+        fileShareIndexRepository.deleteByFileName(shareName, path, fileName);
+        if (fileId == null) {
+            return;
+        }
+        FileShareIndex entry = fileShareIndexRepository.findByShareNameAndFileId(shareName, fileId)
+                .orElseGet(FileShareIndex::new);
+        entry.setShareName(shareName);
+        entry.setFileId(fileId);
+        entry.setDirectoryPath(path);
+        entry.setFileName(fileName);
+        entry.setIndexedAt(LocalDateTime.now());
+        fileShareIndexRepository.save(entry);
+    }
+
+    @Override
+    public void removeFile(String shareName, String fileId) {
+        fileShareIndexRepository.deleteByShareNameAndFileId(shareName, fileId);
+    }
+
+    @Override
+    public void removeFile(String shareName, String directoryPath, String fileName) {
+        fileShareIndexRepository.deleteByFileName(shareName, normalize(directoryPath), fileName);
+    }
+
+    @Override
+    public void removeDirectory(String shareName, String directoryPath) {
+        String path = normalize(directoryPath);
+        fileShareIndexRepository.deleteByDirectory(shareName, path, descendantsPattern(path));
+    }
+
+    @Override
+    public void moveDirectory(String shareName, String sourcePath, String targetPath) {
+        String source = normalize(sourcePath);
+        fileShareIndexRepository.moveDirectory(shareName, source, normalize(targetPath), descendantsPattern(source));
+    }
+
+    @Override
+    @Transactional("postgresTransactionManager")
+    public int reconcile(String shareName, List<FileShareIndex> files, LocalDateTime startedAt) {
+        Map<String, FileShareIndex> indexed = new HashMap<>();
+        for (FileShareIndex entry : fileShareIndexRepository.findAllByShareName(shareName)) {
+            indexed.put(entry.getFileId(), entry);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<FileShareIndex> changed = new ArrayList<>();
+        for (FileShareIndex file : files) {
+            String path = normalize(file.getDirectoryPath());
+            FileShareIndex entry = indexed.remove(file.getFileId());
+            if (entry == null) {
+                entry = new FileShareIndex(null, shareName, file.getFileId(), path, file.getFileName(), now);
+            } else if ((entry.getIndexedAt() != null && entry.getIndexedAt().isAfter(startedAt))
+                    || (path.equals(entry.getDirectoryPath()) && Objects.equals(file.getFileName(), entry.getFileName()))) {
+                continue;
+            } else {
+                entry.setDirectoryPath(path);
+                entry.setFileName(file.getFileName());
+                entry.setIndexedAt(now);
+            }
+            changed.add(entry);
+        }
+
+        List<FileShareIndex> stale = indexed.values().stream()
+                .filter(entry -> entry.getIndexedAt() == null || !entry.getIndexedAt().isAfter(startedAt))
+                .toList();
+        fileShareIndexRepository.saveAll(changed);
+        fileShareIndexRepository.deleteAllInBatch(stale);
+        return changed.size() + stale.size();
+    }
+
+    static String normalize(String path) {
+        if (path == null) {
+            return "";
+        }
+        String normalized = path.replace('\\', '/');
+        while (normalized.startsWith("/")) {
+            normalized = normalized.substring(1);
+        }
+        while (normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized;
+    }
+
+    /**
+     * LIKE pattern matching all subdirectories of the path, escaped with '!'.
+     */
+    static String descendantsPattern(String path) {
+        String escaped = path.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+        return escaped.isEmpty() ? "%" : escaped + "/%";
+    }
+}
@@ -0,0 +1,52 @@
+package com.ibosng.dbservice.services.impl;
+
+import com.ibosng.dbservice.entities.IbosSyncPending;
+import com.ibosng.dbservice.repositories.IbosSyncPendingRepository;
+import com.ibosng.dbservice.services.IbosSyncPendingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class IbosSyncPendingServiceImpl implements IbosSyncPendingService {
+
+    private final IbosSyncPendingRepository ibosSyncPendingRepository;
+
+    @Override
+    public List<IbosSyncPending> findAll() {
+        return ibosSyncPendingRepository.findAll();
+    }
+
+    @Override
+    public Optional<IbosSyncPending> findById(Integer id) {
+        return ibosSyncPendingRepository.findById(id);
+    }
+
+    @Override
+    public IbosSyncPending save(IbosSyncPending object) {
+        return ibosSyncPendingRepository.save(object);
+    }
+
+    @Override
+    public List<IbosSyncPending> saveAll(List<IbosSyncPending> objects) {
+        return ibosSyncPendingRepository.saveAll(objects);
+    }
+
+    @Override
+    public void deleteById(Integer id) {
+        ibosSyncPendingRepository.deleteById(id);
+    }
+
+    @Override
+    public List<IbosSyncPending> findAllByIdentifier(String identifier) {
+        return null;
+    }
+
+    @Override
+    public void deleteAll(List<IbosSyncPending> pending) {
+        ibosSyncPendingRepository.deleteAll(pending);
+    }
+}
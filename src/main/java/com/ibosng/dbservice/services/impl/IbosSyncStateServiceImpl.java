@@ -0,0 +1,52 @@
+package com.ibosng.dbservice.services.impl;
+
+import com.ibosng.dbservice.entities.IbosSyncState;
+import com.ibosng.dbservice.repositories.IbosSyncStateRepository;
+import com.ibosng.dbservice.services.IbosSyncStateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class IbosSyncStateServiceImpl implements IbosSyncStateService {
+
+    private final IbosSyncStateRepository ibosSyncStateRepository;
+
+    @Override
+    public List<IbosSyncState> findAll() {
+        return ibosSyncStateRepository.findAll();
+    }
+
+    @Override
+    public Optional<IbosSyncState> findById(Integer id) {
+        return ibosSyncStateRepository.findById(id);
+    }
+
+    @Override
+    public IbosSyncState save(IbosSyncState object) {
+        return ibosSyncStateRepository.save(object);
+    }
+
+    @Override
+    public List<IbosSyncState> saveAll(List<IbosSyncState> objects) {
+        return ibosSyncStateRepository.saveAll(objects);
+    }
+
+    @Override
+    public void deleteById(Integer id) {
+        ibosSyncStateRepository.deleteById(id);
+    }
+
+    @Override
+    public List<IbosSyncState> findAllByIdentifier(String identifier) {
+        return null;
+    }
+
+    @Override
+    public Optional<IbosSyncState> findByTableName(String tableName) {
+        return ibosSyncStateRepository.findByTableName(tableName);
+    }
+}
@@ -3,16 +3,28 @@ package com.ibosng.dbservice.services.impl;
 import com.ibosng.dbservice.entities.Plz;
 import com.ibosng.dbservice.repositories.PlzRepository;
 import com.ibosng.dbservice.services.PlzService;
+import com.ibosng.dbservice.utils.PlzGazetteer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * PLZ lookups used by the validations are served from an in-memory {@link PlzGazetteer}. The gazetteer is rebuilt
+ * after every write through this service and every <b>plzGazetteerRefreshMillis</b> to pick up changes made by other
+ * instances.
+ */
+@Slf4j
 @Service
 public class PlzServiceImpl implements PlzService {
 
     private final PlzRepository plzRepository;
 
+    private volatile PlzGazetteer gazetteer;
+
     public PlzServiceImpl(PlzRepository plzRepository) {
         this.plzRepository = plzRepository;
     }
@@ -29,17 +41,22 @@ public class PlzServiceImpl implements PlzService {
 
     @Override
     public Plz save(Plz object) {
-        return plzRepository.save(object);
+        Plz saved = plzRepository.save(object);
+        refreshGazetteer();
+        return saved;
     }
 
     @Override
     public List<Plz> saveAll(List<Plz> objects) {
-        return plzRepository.saveAll(objects);
+        List<Plz> saved = plzRepository.saveAll(objects);
+        refreshGazetteer();
+        return saved;
     }
 
     @Override
     public void deleteById(Integer id) {
         plzRepository.deleteById(id);
+        refreshGazetteer();
     }
 
     @Override
@@ -59,16 +76,47 @@ public class PlzServiceImpl implements PlzService {
 
     @Override
     public List<Plz> findByPlz(Integer Plz) {
-        return plzRepository.findByPlz(Plz);
+        return Plz != null ? getGazetteer().findByPlz(Plz) : List.of();
     }
 
     @Override
     public List<String> findOrtByPlz(Integer plz) {
-        return plzRepository.findOrtByPlz(plz);
+        return plz != null ? getGazetteer().findOrtByPlz(plz) : List.of();
+    }
+
+    @Override
+    public List<String> findMatchingOrtsByPlz(Integer plz, String ort) {
+        return plz != null ? getGazetteer().findMatchingOrts(plz, ort) : List.of();
+    }
+
+    @Override
+    public boolean existsMatchingOrt(String ort) {
+        return getGazetteer().containsMatchingOrt(ort);
     }
 
     @Override
     public Integer findPlzByOrt(String ort) {
         return plzRepository.findPlzByOrt(ort);
     }
+
+    @Override
+    @Scheduled(fixedDelayString = "${plzGazetteerRefreshMillis:900000}")
+    public void refreshGazetteer() {
+        PlzGazetteer refreshed = PlzGazetteer.of(plzRepository.findAll(Sort.by("id")));
+        gazetteer = refreshed;
+        log.debug("PLZ gazetteer refreshed with {} PLZ", refreshed.size());
+    }
+
+    private PlzGazetteer getGazetteer() {
+        PlzGazetteer current = gazetteer;
+        if (current == null) {
+            synchronized (this) {
+                if (gazetteer == null) {
+                    refreshGazetteer();
+                }
+                current = gazetteer;
+            }
+        }
+        return current;
+    }
 }
@@ -8,6 +8,7 @@ import com.ibosng.dbservice.entities.Adresse;
 import com.ibosng.dbservice.entities.Benutzer;
 import com.ibosng.dbservice.entities.Land;
 import com.ibosng.dbservice.entities.lhr.AbmeldungStatus;
+import com.ibosng.dbservice.entities.masterdata.Personalnummer;
 import com.ibosng.dbservice.entities.mitarbeiter.*;
 import com.ibosng.dbservice.entities.mitarbeiter.datastatus.StammdatenDataStatus;
 import com.ibosng.dbservice.entities.natif.Kompetenz;
@@ -27,19 +28,28 @@ import com.ibosng.dbservice.services.mitarbeiter.ArbeitszeitenInfoService;
 import com.ibosng.dbservice.services.mitarbeiter.GehaltInfoService;
 import com.ibosng.dbservice.services.mitarbeiter.StammdatenService;
 import com.ibosng.dbservice.services.mitarbeiter.VertragsdatenService;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.ibosng.dbservice.utils.Mappers.mapTeilnehmerSeminarDtoToCsvDto;
@@ -49,6 +59,9 @@ import static com.ibosng.dbservice.utils.Parsers.parseTimestampSqlToLocalDate;
 
 @Service
 public class TeilnehmerServiceImpl implements TeilnehmerService {
+    private static final int PRUEFUNG_EXPORT_BATCH_SIZE = 200;
+    private static final List<MitarbeiterStatus> TEILNEHMER_MITARBEITER_STATUSES = List.of(MitarbeiterStatus.ACTIVE, MitarbeiterStatus.VALIDATED, MitarbeiterStatus.NOT_VALIDATED);
+
     private final TeilnehmerRepository teilnehmerRepository;
     private final TelefonServiceImpl telefonService;
     private final SeminarPruefungService seminarPruefungService;
@@ -56,6 +69,7 @@ public class TeilnehmerServiceImpl implements TeilnehmerService {
     private final VertragsdatenService vertragsdatenService;
     private final GehaltInfoService gehaltInfoService;
     private final ArbeitszeitenInfoService arbeitszeitenInfoService;
+    private final TransactionTemplate readOnlyTransactionTemplate;
 
     @Autowired
     public TeilnehmerServiceImpl(TeilnehmerRepository teilnehmerRepository,
@@ -64,7 +78,8 @@ public class TeilnehmerServiceImpl implements TeilnehmerService {
                                  StammdatenService stammdatenService,
                                  VertragsdatenService vertragsdatenService,
                                  GehaltInfoService gehaltInfoService,
-                                 ArbeitszeitenInfoService arbeitszeitenInfoService) {
+                                 ArbeitszeitenInfoService arbeitszeitenInfoService,
+                                 @Qualifier("postgresTransactionManager") PlatformTransactionManager transactionManager) {
         this.teilnehmerRepository = teilnehmerRepository;
         this.telefonService = telefonService;
         this.seminarPruefungService = seminarPruefungService;
@@ -72,6 +87,8 @@ public class TeilnehmerServiceImpl implements TeilnehmerService {
         this.vertragsdatenService = vertragsdatenService;
         this.gehaltInfoService = gehaltInfoService;
         this.arbeitszeitenInfoService = arbeitszeitenInfoService;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
     }
 
     @Override
@@ -120,6 +137,48 @@ public class TeilnehmerServiceImpl implements TeilnehmerService {
         return pruefungXlsxList;
     }
 
+    @Override
+    public void streamTeilnehmerForPruefungCsv(String identifiersString, String seminarName, String projektName, boolean isActive, Boolean isUebaTeilnehmer, boolean isAngemeldet, String geschlecht, String sortProperty, Sort.Direction direction, Consumer<PruefungCsvDto> consumer) {
+        streamTeilnehmerForPruefung(identifiersString, seminarName, projektName, isActive, isUebaTeilnehmer, isAngemeldet, geschlecht, sortProperty, direction, dto -> {
+            PruefungCsvDto csvDto = mapTeilnehmerSeminarDtoToCsvDto(dto);
+            if (csvDto != null) {
+                consumer.accept(csvDto);
+            }
+        });
+    }
+
+    @Override
+    public void streamTeilnehmerForPruefungXlsx(String identifiersString, String seminarName, String projektName, boolean isActive, Boolean isUebaTeilnehmer, boolean isAngemeldet, String geschlecht, String sortProperty, Sort.Direction direction, Consumer<PruefungXlsxDto> consumer) {
+        streamTeilnehmerForPruefung(identifiersString, seminarName, projektName, isActive, isUebaTeilnehmer, isAngemeldet, geschlecht, sortProperty, direction, dto -> {
+            PruefungXlsxDto xlsxDto = mapTeilnehmerSeminarDtoToXlsxDto(dto);
+            if (xlsxDto != null) {
+                consumer.accept(xlsxDto);
+            }
+        });
+    }
+
+    private void streamTeilnehmerForPruefung(String identifiersString, String seminarName, String projektName, boolean isActive, Boolean isUebaTeilnehmer, boolean isAngemeldet, String geschlecht, String sortProperty, Sort.Direction direction, Consumer<TeilnehmerSeminarDto> consumer) {
+        if (isNullOrBlank(sortProperty)) {
+            sortProperty = "nachname";
+        }
+        Object afterSortValue = null;
+        Integer afterId = null;
+        List<Object[]> rows;
+        do {
+            rows = teilnehmerRepository.findTeilnehmerIdsFiltered(identifiersString, seminarName, projektName, isActive, isUebaTeilnehmer, isAngemeldet, geschlecht, null, null, null, sortProperty, direction, afterSortValue, afterId, PRUEFUNG_EXPORT_BATCH_SIZE);
+            if (rows.isEmpty()) {
+                break;
+            }
+            Object[] last = rows.get(rows.size() - 1);
+            afterId = (Integer) last[0];
+            afterSortValue = last[1];
+            List<Integer> ids = rows.stream().map(row -> (Integer) row[0]).toList();
+            // the whole batch is loaded before it is handed on, no connection is held while the consumer writes it
+            List<TeilnehmerSeminarDto> dtos = readOnlyTransactionTemplate.execute(status -> findTeilnehmerDtosByIds(ids));
+            dtos.forEach(consumer);
+        } while (rows.size() == PRUEFUNG_EXPORT_BATCH_SIZE);
+    }
+
     @Override
     public Optional<Teilnehmer> findById(Integer id) {
         return teilnehmerRepository.findById(id);
@@ -275,44 +334,127 @@ public class TeilnehmerServiceImpl implements TeilnehmerService {
             GehaltInfo gehaltInfo = null;
             ArbeitszeitenInfo arbeitszeitenInfo = null;
             if (teilnehmer.getPersonalnummer() != null) {
-                stammdaten = stammdatenService.findByPersonalnummerAndStatusIn(teilnehmer.getPersonalnummer(), List.of(MitarbeiterStatus.ACTIVE, MitarbeiterStatus.VALIDATED, MitarbeiterStatus.NOT_VALIDATED));
-                vertragsdaten = vertragsdatenService.findAllByPNAndStatusesNotInVertragsdatenaenderungen(teilnehmer.getPersonalnummer(), List.of(MitarbeiterStatus.ACTIVE, MitarbeiterStatus.VALIDATED, MitarbeiterStatus.NOT_VALIDATED)).stream().findFirst().orElse(null);
+                stammdaten = stammdatenService.findByPersonalnummerAndStatusIn(teilnehmer.getPersonalnummer(), TEILNEHMER_MITARBEITER_STATUSES);
+                vertragsdaten = vertragsdatenService.findAllByPNAndStatusesNotInVertragsdatenaenderungen(teilnehmer.getPersonalnummer(), TEILNEHMER_MITARBEITER_STATUSES).stream().findFirst().orElse(null);
                 if (vertragsdaten != null && vertragsdaten.getId() != null) {
                     gehaltInfo = gehaltInfoService.findByVertragsdatenId(vertragsdaten.getId());
                     arbeitszeitenInfo = arbeitszeitenInfoService.findByVertragsdatenId(vertragsdaten.getId());
                 }
             }
-            List<SeminarDto> seminarDtos = new ArrayList<>();
-            if (teilnehmer.getTeilnehmerSeminars() != null) {
-                seminarDtos = teilnehmer.getTeilnehmerSeminars().stream().map(TeilnehmerServiceImpl::toDto).toList();
-                SeminarDto seminarDto = seminarDtos.stream().findFirst().orElse(null);
-                if (seminarDto != null) {
-                    List<SeminarPruefung> seminarPruefung = seminarPruefungService.findAllByTeilnehmerIdAndSeminarId(id, seminarDto.getId());
-                    if (!seminarPruefung.isEmpty()) {
-                        SeminarPruefungNiveau seminarPruefungNiveau = seminarPruefung.get(0).getNiveau();
-                        return TeilnehmerSeminarDto.builder()
-                                .teilnehmerDto(toDto(teilnehmer, stammdaten, vertragsdaten, gehaltInfo, arbeitszeitenInfo))
-                                .seminarDtos(seminarDtos)
-                                .pruefungNiveau(seminarPruefungNiveau.getName())
-                                .nationPalKz(teilnehmer.getNation().stream()
-                                        .map(Land::getPalKz)
-                                        .collect(Collectors.joining(", ")))
-                                .ursprungsLandPalKz(Optional.ofNullable(teilnehmer.getUrsprung())
-                                        .map(Adresse::getLand)
-                                        .map(Land::getPalKz)
-                                        .orElse(null))
-                                .build();
-                    }
+            SeminarPruefung seminarPruefung = null;
+            Teilnehmer2Seminar firstTeilnehmerSeminar = findFirstTeilnehmerSeminar(teilnehmer);
+            if (firstTeilnehmerSeminar != null) {
+                seminarPruefung = seminarPruefungService.findAllByTeilnehmerIdAndSeminarId(id, firstTeilnehmerSeminar.getSeminar().getId()).stream().findFirst().orElse(null);
+            }
+            return toTeilnehmerSeminarDto(teilnehmer, stammdaten, vertragsdaten, gehaltInfo, arbeitszeitenInfo, seminarPruefung);
+        }
+        return null;
+    }
 
-                }
+    /**
+     * The same as {@link #findTeilnehmerDtoById} for several Teilnehmer, with one query per kind of data instead of one
+     * per Teilnehmer. Has to run in a transaction, the lazy associations are read in batches. Ids that do not exist are
+     * skipped.
+     */
+    @Transactional(transactionManager = "postgresTransactionManager", readOnly = true)
+    @Override
+    public List<TeilnehmerSeminarDto> findTeilnehmerDtosByIds(List<Integer> ids) {
+        Map<Integer, Teilnehmer> teilnehmers = teilnehmerRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Teilnehmer::getId, Function.identity()));
+
+        Map<Integer, Stammdaten> stammdatenByPersonalnummer = new HashMap<>();
+        Map<Integer, Vertragsdaten> vertragsdatenByPersonalnummer = new HashMap<>();
+        Map<Integer, GehaltInfo> gehaltInfoByVertragsdaten = new HashMap<>();
+        Map<Integer, ArbeitszeitenInfo> arbeitszeitenInfoByVertragsdaten = new HashMap<>();
+        List<Personalnummer> personalnummers = teilnehmers.values().stream()
+                .map(Teilnehmer::getPersonalnummer)
+                .filter(Objects::nonNull)
+                .toList();
+        if (!personalnummers.isEmpty()) {
+            stammdatenService.findAllByPersonalnummerInAndStatusIn(personalnummers, TEILNEHMER_MITARBEITER_STATUSES)
+                    .forEach(stammdaten -> stammdatenByPersonalnummer.putIfAbsent(stammdaten.getPersonalnummer().getId(), stammdaten));
+            vertragsdatenService.findAllByPNsAndStatusesNotInVertragsdatenaenderungen(personalnummers, TEILNEHMER_MITARBEITER_STATUSES)
+                    .forEach(vertragsdaten -> vertragsdatenByPersonalnummer.putIfAbsent(vertragsdaten.getPersonalnummer().getId(), vertragsdaten));
+            List<Integer> vertragsdatenIds = vertragsdatenByPersonalnummer.values().stream().map(Vertragsdaten::getId).toList();
+            if (!vertragsdatenIds.isEmpty()) {
+                gehaltInfoService.findAllByVertragsdatenIdIn(vertragsdatenIds)
+                        .forEach(gehaltInfo -> gehaltInfoByVertragsdaten.putIfAbsent(gehaltInfo.getVertragsdaten().getId(), gehaltInfo));
+                arbeitszeitenInfoService.findAllByVertragsdatenIdIn(vertragsdatenIds)
+                        .forEach(arbeitszeitenInfo -> arbeitszeitenInfoByVertragsdaten.putIfAbsent(arbeitszeitenInfo.getVertragsdaten().getId(), arbeitszeitenInfo));
+            }
+        }
+
+        Map<Integer, SeminarPruefung> seminarPruefungByTeilnehmerSeminar = new HashMap<>();
+        List<Integer> teilnehmerSeminarIds = teilnehmers.values().stream()
+                .map(TeilnehmerServiceImpl::findFirstTeilnehmerSeminar)
+                .filter(Objects::nonNull)
+                .map(Teilnehmer2Seminar::getId)
+                .toList();
+        if (!teilnehmerSeminarIds.isEmpty()) {
+            seminarPruefungService.findAllByTeilnehmer2SeminarIdIn(teilnehmerSeminarIds)
+                    .forEach(seminarPruefung -> seminarPruefungByTeilnehmerSeminar.putIfAbsent(seminarPruefung.getTeilnehmer2Seminar().getId(), seminarPruefung));
+        }
 
+        List<TeilnehmerSeminarDto> dtos = new ArrayList<>();
+        for (Integer id : ids) {
+            Teilnehmer teilnehmer = teilnehmers.get(id);
+            if (teilnehmer == null) {
+                continue;
             }
-            return TeilnehmerSeminarDto.builder()
-                    .teilnehmerDto(toDto(teilnehmer, stammdaten, vertragsdaten, gehaltInfo, arbeitszeitenInfo))
-                    .seminarDtos(seminarDtos)
-                    .build();
+            Integer personalnummerId = teilnehmer.getPersonalnummer() != null ? teilnehmer.getPersonalnummer().getId() : null;
+            Vertragsdaten vertragsdaten = vertragsdatenByPersonalnummer.get(personalnummerId);
+            Integer vertragsdatenId = vertragsdaten != null ? vertragsdaten.getId() : null;
+            Teilnehmer2Seminar firstTeilnehmerSeminar = findFirstTeilnehmerSeminar(teilnehmer);
+            dtos.add(toTeilnehmerSeminarDto(teilnehmer,
+                    stammdatenByPersonalnummer.get(personalnummerId),
+                    vertragsdaten,
+                    gehaltInfoByVertragsdaten.get(vertragsdatenId),
+                    arbeitszeitenInfoByVertragsdaten.get(vertragsdatenId),
+                    firstTeilnehmerSeminar != null ? seminarPruefungByTeilnehmerSeminar.get(firstTeilnehmerSeminar.getId()) : null));
+        }
+        return dtos;
+    }
+
+    /**
+     * The Teilnehmer2Seminar of the first SeminarDto, the one the Prüfung niveau is read from.
+     */
+    private static Teilnehmer2Seminar findFirstTeilnehmerSeminar(Teilnehmer teilnehmer) {
+        if (teilnehmer.getTeilnehmerSeminars() == null || teilnehmer.getTeilnehmerSeminars().isEmpty()) {
+            return null;
         }
-        return null;
+        Teilnehmer2Seminar teilnehmer2Seminar = teilnehmer.getTeilnehmerSeminars().get(0);
+        return teilnehmer2Seminar != null && teilnehmer2Seminar.getSeminar() != null ? teilnehmer2Seminar : null;
+    }
+
+    private static TeilnehmerSeminarDto toTeilnehmerSeminarDto(Teilnehmer teilnehmer,
+                                                               Stammdaten stammdaten,
+                                                               Vertragsdaten vertragsdaten,
+                                                               GehaltInfo gehaltInfo,
+                                                               ArbeitszeitenInfo arbeitszeitenInfo,
+                                                               SeminarPruefung seminarPruefung) {
+        List<SeminarDto> seminarDtos = new ArrayList<>();
+        if (teilnehmer.getTeilnehmerSeminars() != null) {
+            seminarDtos = teilnehmer.getTeilnehmerSeminars().stream().map(TeilnehmerServiceImpl::toDto).toList();
+            if (seminarPruefung != null) {
+                SeminarPruefungNiveau seminarPruefungNiveau = seminarPruefung.getNiveau();
+                return TeilnehmerSeminarDto.builder()
+                        .teilnehmerDto(toDto(teilnehmer, stammdaten, vertragsdaten, gehaltInfo, arbeitszeitenInfo))
+                        .seminarDtos(seminarDtos)
+                        .pruefungNiveau(seminarPruefungNiveau.getName())
+                        .nationPalKz(teilnehmer.getNation().stream()
+                                .map(Land::getPalKz)
+                                .collect(Collectors.joining(", ")))
+                        .ursprungsLandPalKz(Optional.ofNullable(teilnehmer.getUrsprung())
+                                .map(Adresse::getLand)
+                                .map(Land::getPalKz)
+                                .orElse(null))
+                        .build();
+            }
+        }
+        return TeilnehmerSeminarDto.builder()
+                .teilnehmerDto(toDto(teilnehmer, stammdaten, vertragsdaten, gehaltInfo, arbeitszeitenInfo))
+                .seminarDtos(seminarDtos)
+                .build();
     }
 
     @Override
@@ -336,13 +478,9 @@ public class TeilnehmerServiceImpl implements TeilnehmerService {
             t.getPraktika().size();
             t.getAbschluesse().size();
 
-            // also touch lazy @OneToOne / @ManyToOne if needed
-            if (t.getAdresse() != null) t.getAdresse().getId();
-            if (t.getUrsprung() != null) t.getUrsprung().getId();
-            if (t.getPersonalnummer() != null) t.getPersonalnummer().getId();
-            if (t.getAnrede() != null) t.getAnrede().getId();
-            if (t.getGeschlecht() != null) t.getGeschlecht().getId();
-            if (t.getMuttersprache() != null) t.getMuttersprache().getId();
+            // getId() does not initialize a proxy, the Personalnummer and master data come with the graph
+            Hibernate.initialize(t.getAdresse());
+            Hibernate.initialize(t.getUrsprung());
         }
         return t;
     }
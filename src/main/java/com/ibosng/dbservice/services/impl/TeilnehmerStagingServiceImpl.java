@@ -49,6 +49,11 @@ public class TeilnehmerStagingServiceImpl implements TeilnehmerStagingService {
         return teilnehmerStagingRepository.saveAll(teilnehmers);
     }
 
+    @Override
+    public void batchInsert(List<TeilnehmerStaging> teilnehmerStagings) {
+        teilnehmerStagingRepository.batchInsert(teilnehmerStagings);
+    }
+
     @Override
     public void deleteById(Integer id) {
         this.teilnehmerStagingRepository.deleteById(id);
@@ -37,6 +37,7 @@ import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.ibosng.dbservice.utils.Helpers.localDateToString;
 import static com.ibosng.dbservice.utils.Parsers.*;
@@ -126,13 +127,8 @@ public class ZeitausgleichServiceImpl implements ZeitausgleichService {
 
     @Override
     public AbwesenheitDto mapZeitausgleichToAbwesenheitDto(Zeitausgleich zeitausgleich) {
-        AbwesenheitDto abwesenheitDto = new AbwesenheitDto();
-        abwesenheitDto.setType(AbwesenheitType.ZEITAUSGLEICH);
-        if (zeitausgleich.getId() != null) {
-            abwesenheitDto.setId(zeitausgleich.getId());
-        }
+        String fullName = null;
         if (zeitausgleich.getPersonalnummer() != null) {
-            abwesenheitDto.setPersonalnummerId(zeitausgleich.getPersonalnummer().getId());
             Stammdaten stammdaten = stammdatenService.findByPersonalnummerId(zeitausgleich.getPersonalnummer().getId());
             if (stammdaten != null) {
                 StringBuilder sb = new StringBuilder();
@@ -145,9 +141,22 @@ public class ZeitausgleichServiceImpl implements ZeitausgleichService {
                 if (!isNullOrBlank(stammdaten.getNachname())) {
                     sb.append(stammdaten.getNachname());
                 }
-                abwesenheitDto.setFullName(sb.toString());
+                fullName = sb.toString();
             }
         }
+        return mapZeitausgleichToAbwesenheitDto(zeitausgleich, fullName);
+    }
+
+    private AbwesenheitDto mapZeitausgleichToAbwesenheitDto(Zeitausgleich zeitausgleich, String fullName) {
+        AbwesenheitDto abwesenheitDto = new AbwesenheitDto();
+        abwesenheitDto.setType(AbwesenheitType.ZEITAUSGLEICH);
+        if (zeitausgleich.getId() != null) {
+            abwesenheitDto.setId(zeitausgleich.getId());
+        }
+        if (zeitausgleich.getPersonalnummer() != null) {
+            abwesenheitDto.setPersonalnummerId(zeitausgleich.getPersonalnummer().getId());
+            abwesenheitDto.setFullName(fullName);
+        }
         abwesenheitDto.setId(zeitausgleich.getId());
         if (zeitausgleich.getDatum() != null) {
             abwesenheitDto.setStartDate(zeitausgleich.getDatum());
@@ -197,7 +206,16 @@ public class ZeitausgleichServiceImpl implements ZeitausgleichService {
 
     @Override
     public List<AbwesenheitDto> mapListZeitausgleichToListAbwesenheitDto(List<Zeitausgleich> zeitausgleichList) {
-        List<AbwesenheitDto> sortedList = zeitausgleichList.stream().map(this::mapZeitausgleichToAbwesenheitDto)
+        return mergeAbwesenheitDtos(zeitausgleichList.stream().map(this::mapZeitausgleichToAbwesenheitDto));
+    }
+
+    @Override
+    public List<AbwesenheitDto> mapListZeitausgleichToListAbwesenheitDto(List<Zeitausgleich> zeitausgleichList, String fullName) {
+        return mergeAbwesenheitDtos(zeitausgleichList.stream().map(zeitausgleich -> mapZeitausgleichToAbwesenheitDto(zeitausgleich, fullName)));
+    }
+
+    private static List<AbwesenheitDto> mergeAbwesenheitDtos(Stream<AbwesenheitDto> abwesenheitDtos) {
+        List<AbwesenheitDto> sortedList = abwesenheitDtos
                 .sorted(
                         Comparator
                                 .comparing(AbwesenheitDto::getPersonalnummerId, Comparator.nullsFirst(Comparator.naturalOrder()))
@@ -1,6 +1,7 @@
 package com.ibosng.dbservice.services.impl.lhr;
 
 import com.ibosng.dbservice.dtos.mitarbeiter.AbwesenheitDto;
+import com.ibosng.dbservice.dtos.mitarbeiter.AbwesenheitListEntryDto;
 import com.ibosng.dbservice.dtos.urlaubsdaten.AbwesenheitDetailedDto;
 import com.ibosng.dbservice.dtos.urlaubsdaten.AbwesenheitOverviewDto;
 import com.ibosng.dbservice.entities.lhr.Abwesenheit;
@@ -21,7 +22,9 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.EnumUtils;
+import org.hibernate.Hibernate;
 import org.hibernate.Session;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -30,6 +33,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -63,6 +67,8 @@ public class AbwesenheitServiceImpl implements AbwesenheitService {
 
     private void refresh(Abwesenheit entity) {
         entityManager.unwrap(Session.class).refresh(entity);
+        // the refreshed entity is returned detached, its lazy Führungskräfte have to be loaded here
+        Hibernate.initialize(entity.getFuehrungskraefte());
     }
 
     @Override
@@ -109,14 +115,8 @@ public class AbwesenheitServiceImpl implements AbwesenheitService {
         if (abwesenheit == null) {
             return null;
         }
-        AbwesenheitDto dto = new AbwesenheitDto();
-        dto.setId(abwesenheit.getId());
-        if (!isNullOrBlank(abwesenheit.getGrund())) {
-            dto.setType(EnumUtils.getEnum(AbwesenheitType.class, abwesenheit.getGrund()));
-        }
-        dto.setComment(abwesenheit.getKommentar());
+        String fullName = null;
         if (abwesenheit.getPersonalnummer() != null) {
-            dto.setPersonalnummerId(abwesenheit.getPersonalnummer().getId());
             Stammdaten stammdaten = stammdatenService.findByPersonalnummerId(abwesenheit.getPersonalnummer().getId());
             if (stammdaten != null) {
                 StringBuilder sb = new StringBuilder();
@@ -129,9 +129,27 @@ public class AbwesenheitServiceImpl implements AbwesenheitService {
                 if (!isNullOrBlank(stammdaten.getNachname())) {
                     sb.append(stammdaten.getNachname());
                 }
-                dto.setFullName(sb.toString());
+                fullName = sb.toString();
             }
         }
+        return mapToAbwesenheitDto(abwesenheit, fullName);
+    }
+
+    @Override
+    public AbwesenheitDto mapToAbwesenheitDto(Abwesenheit abwesenheit, String fullName) {
+        if (abwesenheit == null) {
+            return null;
+        }
+        AbwesenheitDto dto = new AbwesenheitDto();
+        dto.setId(abwesenheit.getId());
+        if (!isNullOrBlank(abwesenheit.getGrund())) {
+            dto.setType(EnumUtils.getEnum(AbwesenheitType.class, abwesenheit.getGrund()));
+        }
+        dto.setComment(abwesenheit.getKommentar());
+        if (abwesenheit.getPersonalnummer() != null) {
+            dto.setPersonalnummerId(abwesenheit.getPersonalnummer().getId());
+            dto.setFullName(fullName);
+        }
 
         if (abwesenheit.getTage() != null && abwesenheit.getTage() != 0) {
             dto.setDurationInDays(String.valueOf(Math.round(abwesenheit.getTage())));
@@ -174,7 +192,7 @@ public class AbwesenheitServiceImpl implements AbwesenheitService {
 
     @Override
     public Abwesenheit findByPersonalnummerVonAndBis(Integer personalnummerId, LocalDate von, LocalDate bis) {
-        return abwesenheitRespository.findFirstByPersonalnummer_IdAndVonAndBis(personalnummerId, von, bis);
+        return abwesenheitRespository.findAllByPersonalnummer_IdAndVonAndBis(personalnummerId, von, bis).stream().findFirst().orElse(null);
     }
 
 
@@ -300,6 +318,21 @@ public class AbwesenheitServiceImpl implements AbwesenheitService {
         return abwesenheitRespository.findAllByFuehrungskraefte_IdAndStatusIn(id, statusList);
     }
 
+    @Override
+    public List<Integer> findPersonalnummerIdsByFuehrungskraefteIdAndStatusIn(Integer id, List<AbwesenheitStatus> statusList) {
+        return abwesenheitRespository.findPersonalnummerIdsByFuehrungskraefteIdAndStatusIn(id, statusList);
+    }
+
+    @Override
+    public List<Abwesenheit> findAllByIdIn(List<Integer> ids) {
+        return abwesenheitRespository.findAllByIdIn(ids);
+    }
+
+    @Override
+    public Page<AbwesenheitListEntryDto> findAbwesenheitList(Integer personalnummerId, Integer fuehrungskraftId, List<AbwesenheitStatus> statuses, Integer year, Pageable pageable) {
+        return abwesenheitRespository.findAbwesenheitList(personalnummerId, fuehrungskraftId, statuses, year, pageable);
+    }
+
     @Override
     public List<Abwesenheit> findFilteredAbwesenheitenByStatusAndYear(Integer personalnummerId, String status, Integer year) {
         if (isNullOrBlank(status) && year == null) {
@@ -360,4 +393,22 @@ public class AbwesenheitServiceImpl implements AbwesenheitService {
         return abwesenheitRespository.findAbwesenheitPersonalnummerFromDateAndStatusesIn(date, statuses);
     }
 
+    @Override
+    public List<Abwesenheit> findAllAbwesenheitenBetweenDatesAndStatuses(LocalDate vonDate, LocalDate bisDate, List<AbwesenheitStatus> abwesenheitStatuses) {
+        return abwesenheitRespository.findAllAbwesenheitenBetweenDatesAndStatusesIn(vonDate, bisDate, abwesenheitStatuses);
+    }
+
+    @Override
+    public int updateStatusByIds(Collection<Integer> ids, AbwesenheitStatus status, String changedBy) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        return abwesenheitRespository.updateStatusByIdIn(ids, status, Parsers.getLocalDateNow(), changedBy);
+    }
+
+    @Override
+    public int markUsedInLockedMonths(LocalDate startDate, LocalDate endDate, List<AbwesenheitStatus> statuses, String changedBy) {
+        return abwesenheitRespository.markUsedInLockedMonths(startDate, endDate, statuses, changedBy, Parsers.getLocalDateNow());
+    }
+
 }
@@ -9,6 +9,7 @@ import com.ibosng.dbservice.repositories.seminar.SeminarPruefungRepository;
 import com.ibosng.dbservice.services.SeminarPruefungService;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -64,6 +65,11 @@ public class SeminarPruefungServiceImpl implements SeminarPruefungService {
         }
     }
 
+    @Override
+    public List<SeminarPruefung> findAllByTeilnehmer2SeminarIdIn(Collection<Integer> teilnehmer2SeminarIds) {
+        return seminarPruefungRepository.findByTeilnehmer2Seminar_IdIn(teilnehmer2SeminarIds);
+    }
+
     public SeminarPruefungDto mapSeminarPruefungToDto(SeminarPruefung seminarPruefung) {
         SeminarPruefungDto seminarPruefungDto = new SeminarPruefungDto();
         if (seminarPruefung != null) {
@@ -10,6 +10,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -57,6 +58,11 @@ public class ArbeitszeitenInfoServiceImpl implements ArbeitszeitenInfoService {
         return arbeitszeitenInfoRepository.findByVertragsdatenId(vertragsdatenId);
     }
 
+    @Override
+    public List<ArbeitszeitenInfo> findAllByVertragsdatenIdIn(Collection<Integer> vertragsdatenIds) {
+        return arbeitszeitenInfoRepository.findAllByVertragsdatenIdIn(vertragsdatenIds);
+    }
+
     @Override
     public ArbeitszeitenInfo createNewArbeitszeitInfo(Vertragsdaten vertragsdaten, String createdBy) {
         ArbeitszeitenInfo arbeitszeitenInfo = new ArbeitszeitenInfo();
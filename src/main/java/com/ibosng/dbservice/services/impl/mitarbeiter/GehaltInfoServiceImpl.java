@@ -5,6 +5,7 @@ import com.ibosng.dbservice.repositories.mitarbeiter.GehaltInfoRepository;
 import com.ibosng.dbservice.services.mitarbeiter.GehaltInfoService;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -51,4 +52,9 @@ public class GehaltInfoServiceImpl implements GehaltInfoService {
     public GehaltInfo findByVertragsdatenId(Integer vertragsdatenId) {
         return gehaltInfoRepository.findByVertragsdaten_Id(vertragsdatenId);
     }
+
+    @Override
+    public List<GehaltInfo> findAllByVertragsdatenIdIn(Collection<Integer> vertragsdatenIds) {
+        return gehaltInfoRepository.findAllByVertragsdaten_IdIn(vertragsdatenIds);
+    }
 }
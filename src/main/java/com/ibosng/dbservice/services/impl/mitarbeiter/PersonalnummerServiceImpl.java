@@ -1,6 +1,7 @@
 package com.ibosng.dbservice.services.impl.mitarbeiter;
 
 
+import com.ibosng.dbservice.dtos.mitarbeiter.MitarbeiterIdentityDto;
 import com.ibosng.dbservice.entities.Status;
 import com.ibosng.dbservice.entities.masterdata.IbisFirma;
 import com.ibosng.dbservice.entities.masterdata.Personalnummer;
@@ -109,4 +110,14 @@ public class PersonalnummerServiceImpl implements PersonalnummerService {
     public List<Personalnummer> findAllByMitarbeiterTypeAndIsIbosngOnboarded(MitarbeiterType mitarbeiterType, Boolean isIbosngOnboarded) {
         return personalnummerRepository.findAllByMitarbeiterTypeAndIsIbosngOnboarded(mitarbeiterType, isIbosngOnboarded);
     }
+
+    @Override
+    public boolean existsByPersonalnummerAndLhrNr(String personalnummer, Integer lhrNr) {
+        return personalnummerRepository.existsByPersonalnummerAndFirma_LhrNr(personalnummer, lhrNr);
+    }
+
+    @Override
+    public List<MitarbeiterIdentityDto> findIdentitiesByFirmaId(Integer firmaId) {
+        return personalnummerRepository.findIdentitiesByFirmaId(firmaId);
+    }
 }
@@ -19,6 +19,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -135,6 +136,11 @@ public class StammdatenServiceImpl implements StammdatenService {
         return stammdatenRepository.findByPersonalnummerAndStatusIn(personalnummer, status);
     }
 
+    @Override
+    public List<Stammdaten> findAllByPersonalnummerInAndStatusIn(Collection<Personalnummer> personalnummers, List<MitarbeiterStatus> status) {
+        return stammdatenRepository.findAllByPersonalnummerInAndStatusIn(personalnummers, status);
+    }
+
     @Override
     public Page<MAFilteredResultDto> findMAByCriteria(MASearchCriteriaDto maSearchCriteriaDto, Pageable pageable) {
         return stammdatenRepository.findMAByCriteria(maSearchCriteriaDto, pageable);
@@ -19,6 +19,7 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -673,6 +674,11 @@ public class VertragsdatenServiceImpl implements VertragsdatenService {
         return vertragsdatenRepository.findAllByPNAndStatusesNotInVertragsdatenaenderungen(personalnummer, statuses);
     }
 
+    @Override
+    public List<Vertragsdaten> findAllByPNsAndStatusesNotInVertragsdatenaenderungen(Collection<Personalnummer> personalnummers, List<MitarbeiterStatus> statuses) {
+        return vertragsdatenRepository.findAllByPNsAndStatusesNotInVertragsdatenaenderungen(personalnummers, statuses);
+    }
+
     @Override
     public List<Vertragsdaten> findAllByPersonalnummer(Personalnummer personalnummer) {
         return vertragsdatenRepository.findAllByPersonalnummer(personalnummer);
@@ -1,5 +1,6 @@
 package com.ibosng.dbservice.services.impl.zeitbuchung;
 
+import com.ibosng.dbservice.dtos.zeiterfassung.MonthCloseCandidateDto;
 import com.ibosng.dbservice.entities.masterdata.Personalnummer;
 import com.ibosng.dbservice.entities.zeitbuchung.Leistungserfassung;
 import com.ibosng.dbservice.entities.zeitbuchung.Leistungstyp;
@@ -12,10 +13,12 @@ import org.springframework.stereotype.Service;
 import java.sql.Date;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import static com.ibosng.dbservice.utils.Parsers.getLocalDateNow;
 import static com.ibosng.dbservice.utils.Parsers.isNullOrBlank;
 import static com.ibosng.dbservice.utils.Parsers.parseDate;
 
@@ -154,4 +157,18 @@ public class LeistungserfassungServiceImpl implements LeistungserfassungService
     public List<Leistungserfassung> findAllNotSyncedWithLhr() {
         return leistungserfassungRepository.findByIsSyncedWithLhrNullOrIsSyncedWithLhrFalse();
     }
+
+    @Override
+    public List<MonthCloseCandidateDto> findMonthCloseCandidates(LocalDate month) {
+        LocalDate startDate = month.withDayOfMonth(1);
+        LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
+        return leistungserfassungRepository.findMonthCloseCandidates(startDate, endDate);
+    }
+
+    @Override
+    public int lockMonth(Collection<Integer> personalnummerIds, LocalDate month, String changedBy) {
+        LocalDate startDate = month.withDayOfMonth(1);
+        LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
+        return leistungserfassungRepository.lockLeistungserfassungen(personalnummerIds, startDate, endDate, changedBy, getLocalDateNow());
+    }
 }
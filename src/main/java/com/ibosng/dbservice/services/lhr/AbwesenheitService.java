@@ -1,15 +1,18 @@
 package com.ibosng.dbservice.services.lhr;
 
 import com.ibosng.dbservice.dtos.mitarbeiter.AbwesenheitDto;
+import com.ibosng.dbservice.dtos.mitarbeiter.AbwesenheitListEntryDto;
 import com.ibosng.dbservice.dtos.urlaubsdaten.AbwesenheitDetailedDto;
 import com.ibosng.dbservice.dtos.urlaubsdaten.AbwesenheitOverviewDto;
 import com.ibosng.dbservice.entities.lhr.Abwesenheit;
 import com.ibosng.dbservice.entities.lhr.AbwesenheitStatus;
 import com.ibosng.dbservice.entities.masterdata.Personalnummer;
 import com.ibosng.dbservice.services.BaseService;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +21,11 @@ public interface AbwesenheitService extends BaseService<Abwesenheit> {
 
     AbwesenheitDto mapToAbwesenheitDto(Abwesenheit abwesenheit);
 
+    /**
+     * Maps with the given full name of the employee instead of looking up the Stammdaten, for lists that selected it.
+     */
+    AbwesenheitDto mapToAbwesenheitDto(Abwesenheit abwesenheit, String fullName);
+
     List<Abwesenheit> findAllByPersonalnummer(Integer personalnummerId);
 
     List<Abwesenheit> findAllByFuehrungskraefteId(Integer benutzerId);
@@ -40,6 +48,12 @@ public interface AbwesenheitService extends BaseService<Abwesenheit> {
 
     List<Abwesenheit> findAllByFuehrungskraefteIdAndStatusIn(Integer id, List<AbwesenheitStatus> statusList);
 
+    List<Integer> findPersonalnummerIdsByFuehrungskraefteIdAndStatusIn(Integer id, List<AbwesenheitStatus> statusList);
+
+    List<Abwesenheit> findAllByIdIn(List<Integer> ids);
+
+    Page<AbwesenheitListEntryDto> findAbwesenheitList(Integer personalnummerId, Integer fuehrungskraftId, List<AbwesenheitStatus> statuses, Integer year, Pageable pageable);
+
     List<Abwesenheit> findFilteredAbwesenheitenByStatusAndYear(Integer personalnummerId, String status, Integer year);
 
     List<Abwesenheit> findFilteredAbwesenheitenByStatusInPeriod(Integer personalnummerId, List<AbwesenheitStatus> excludedStatuses, String startDate, String endDate);
@@ -55,4 +69,14 @@ public interface AbwesenheitService extends BaseService<Abwesenheit> {
     List<Abwesenheit> findAbwesenheitBetweenDatesAndStatuses(Integer personalnummer, LocalDate vonDate, LocalDate bisDate, List<AbwesenheitStatus> abwesenheitStatuses);
 
     List<Personalnummer> findAbwesenheitPersonalnummerFromDateAndStatusesIn(LocalDate date, List<AbwesenheitStatus> statuses);
+
+    List<Abwesenheit> findAllAbwesenheitenBetweenDatesAndStatuses(LocalDate vonDate, LocalDate bisDate, List<AbwesenheitStatus> abwesenheitStatuses);
+
+    int updateStatusByIds(Collection<Integer> ids, AbwesenheitStatus status, String changedBy);
+
+    /**
+     * Sets the Abwesenheiten in one of the statuses overlapping the dates to USED once the months of their start and
+     * end are closed, in one statement for all employees.
+     */
+    int markUsedInLockedMonths(LocalDate startDate, LocalDate endDate, List<AbwesenheitStatus> statuses, String changedBy);
 }
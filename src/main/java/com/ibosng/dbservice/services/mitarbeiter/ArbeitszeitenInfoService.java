@@ -4,8 +4,13 @@ import com.ibosng.dbservice.entities.mitarbeiter.ArbeitszeitenInfo;
 import com.ibosng.dbservice.entities.mitarbeiter.Vertragsdaten;
 import com.ibosng.dbservice.services.BaseService;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface ArbeitszeitenInfoService extends BaseService<ArbeitszeitenInfo> {
     ArbeitszeitenInfo findByVertragsdatenId(Integer vertragsdatenId);
 
+    List<ArbeitszeitenInfo> findAllByVertragsdatenIdIn(Collection<Integer> vertragsdatenIds);
+
     ArbeitszeitenInfo createNewArbeitszeitInfo(Vertragsdaten vertragsdaten, String createdBy);
 }
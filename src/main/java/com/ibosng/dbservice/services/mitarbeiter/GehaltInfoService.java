@@ -3,6 +3,11 @@ package com.ibosng.dbservice.services.mitarbeiter;
 import com.ibosng.dbservice.entities.mitarbeiter.GehaltInfo;
 import com.ibosng.dbservice.services.BaseService;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface GehaltInfoService extends BaseService<GehaltInfo> {
     GehaltInfo findByVertragsdatenId(Integer vertragsdatenId);
+
+    List<GehaltInfo> findAllByVertragsdatenIdIn(Collection<Integer> vertragsdatenIds);
 }
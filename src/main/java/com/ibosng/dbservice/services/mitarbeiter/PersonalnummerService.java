@@ -1,5 +1,6 @@
 package com.ibosng.dbservice.services.mitarbeiter;
 
+import com.ibosng.dbservice.dtos.mitarbeiter.MitarbeiterIdentityDto;
 import com.ibosng.dbservice.entities.masterdata.Personalnummer;
 import com.ibosng.dbservice.entities.mitarbeiter.MitarbeiterType;
 import com.ibosng.dbservice.services.BaseService;
@@ -22,4 +23,11 @@ public interface PersonalnummerService extends BaseService<Personalnummer> {
     List<Personalnummer> findAllByMitarbeiterType(MitarbeiterType mitarbeiterType);
 
     List<Personalnummer> findAllByMitarbeiterTypeAndIsIbosngOnboarded(MitarbeiterType mitarbeiterType, Boolean isIbosngOnboarded);
+
+    boolean existsByPersonalnummerAndLhrNr(String personalnummer, Integer lhrNr);
+
+    /**
+     * The Personalnummern of the Firma with the names and the Benutzer of the employees, in one query.
+     */
+    List<MitarbeiterIdentityDto> findIdentitiesByFirmaId(Integer firmaId);
 }
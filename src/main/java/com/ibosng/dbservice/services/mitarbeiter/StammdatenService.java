@@ -12,6 +12,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface StammdatenService extends BaseService<Stammdaten> {
@@ -25,6 +26,8 @@ public interface StammdatenService extends BaseService<Stammdaten> {
 
     Stammdaten findByPersonalnummerAndStatusIn(Personalnummer personalnummer, List<MitarbeiterStatus> status);
 
+    List<Stammdaten> findAllByPersonalnummerInAndStatusIn(Collection<Personalnummer> personalnummers, List<MitarbeiterStatus> status);
+
     Page<MAFilteredResultDto> findMAByCriteria(MASearchCriteriaDto maSearchCriteriaDto, Pageable pageable);
 
     StammdatenDto mapStammdatenToDto(Stammdaten stammdaten);
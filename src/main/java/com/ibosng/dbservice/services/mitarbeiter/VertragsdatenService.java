@@ -10,6 +10,7 @@ import com.ibosng.dbservice.services.BaseService;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface VertragsdatenService extends BaseService<Vertragsdaten> {
@@ -38,5 +39,7 @@ public interface VertragsdatenService extends BaseService<Vertragsdaten> {
 
     List<Vertragsdaten> findAllByPNAndStatusesNotInVertragsdatenaenderungen(Personalnummer personalnummer, List<MitarbeiterStatus> statuses);
 
+    List<Vertragsdaten> findAllByPNsAndStatusesNotInVertragsdatenaenderungen(Collection<Personalnummer> personalnummers, List<MitarbeiterStatus> statuses);
+
     List<Vertragsdaten> findAllByPersonalnummer(Personalnummer personalnummer);
 }
@@ -1,11 +1,13 @@
 package com.ibosng.dbservice.services.zeitbuchung;
 
+import com.ibosng.dbservice.dtos.zeiterfassung.MonthCloseCandidateDto;
 import com.ibosng.dbservice.entities.masterdata.Personalnummer;
 import com.ibosng.dbservice.entities.zeitbuchung.Leistungserfassung;
 import com.ibosng.dbservice.entities.zeitbuchung.Leistungstyp;
 import com.ibosng.dbservice.services.BaseService;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface LeistungserfassungService extends BaseService<Leistungserfassung> {
@@ -34,4 +36,14 @@ public interface LeistungserfassungService extends BaseService<Leistungserfassun
     boolean isLeistungserfassungMonthClosedMoxis(Integer personalnummerId, Integer bmdClient, LocalDate localDate);
 
     List<Leistungserfassung> findAllNotSyncedWithLhr();
+
+    /**
+     * The employees whose month can be reported to LHR as finished, found in one query for all employees.
+     */
+    List<MonthCloseCandidateDto> findMonthCloseCandidates(LocalDate month);
+
+    /**
+     * Locks the Leistungserfassungen of the employees in the month, returns the number of locked rows.
+     */
+    int lockMonth(Collection<Integer> personalnummerIds, LocalDate month, String changedBy);
 }
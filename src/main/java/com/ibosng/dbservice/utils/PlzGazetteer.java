@@ -0,0 +1,157 @@
+package com.ibosng.dbservice.utils;
+
+import com.ibosng.dbservice.entities.Plz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Immutable in-memory index over the PLZ table.
+ * <p>
+ * PLZ lookups go through a sorted {@code int[]} of the distinct PLZ values with the entries of each PLZ in a parallel
+ * array. Ort lookups go through a sorted array of all Ort name suffixes that start at a word boundary, so finding an
+ * Ort containing the keyword as a whole word or word prefix is a binary search over the suffixes starting with it.
+ * <p>
+ * Matching follows the former regex {@code \b<keyword>(\b|[^a-zA-Z])}: the keyword starts at a word boundary and is
+ * followed by a word boundary or by a character that is not an ASCII letter; comparison is case sensitive.
+ */
+public final class PlzGazetteer {
+
+    public static final PlzGazetteer EMPTY = of(List.of());
+
+    private final int[] plzKeys;
+    private final Plz[][] plzEntries;
+    private final String[] orte;
+    private final String[] ortSuffixes;
+
+    private PlzGazetteer(int[] plzKeys, Plz[][] plzEntries, String[] orte, String[] ortSuffixes) {
+        this.plzKeys = plzKeys;
+        this.plzEntries = plzEntries;
+        this.orte = orte;
+        this.ortSuffixes = ortSuffixes;
+    }
+
+    public static PlzGazetteer of(Collection<Plz> plzs) {
+        Map<Integer, List<Plz>> byPlz = new TreeMap<>();
+        Set<String> orte = new LinkedHashSet<>();
+        for (Plz plz : plzs) {
+            if (plz.getPlz() != null) {
+                byPlz.computeIfAbsent(plz.getPlz(), key -> new ArrayList<>()).add(plz);
+            }
+            if (plz.getOrt() != null) {
+                orte.add(plz.getOrt());
+            }
+        }
+
+        int[] plzKeys = new int[byPlz.size()];
+        Plz[][] plzEntries = new Plz[byPlz.size()][];
+        int index = 0;
+        for (Map.Entry<Integer, List<Plz>> entry : byPlz.entrySet()) {
+            plzKeys[index] = entry.getKey();
+            plzEntries[index] = entry.getValue().toArray(new Plz[0]);
+            index++;
+        }
+
+        Set<String> suffixes = new TreeSet<>();
+        for (String ort : orte) {
+            for (int i = 0; i < ort.length(); i++) {
+                if (isBoundary(ort, i)) {
+                    suffixes.add(ort.substring(i));
+                }
+            }
+        }
+        return new PlzGazetteer(plzKeys, plzEntries, orte.toArray(new String[0]), suffixes.toArray(new String[0]));
+    }
+
+    public int size() {
+        return plzKeys.length;
+    }
+
+    public List<Plz> findByPlz(int plz) {
+        int index = Arrays.binarySearch(plzKeys, plz);
+        return index < 0 ? List.of() : List.of(plzEntries[index]);
+    }
+
+    public List<String> findOrtByPlz(int plz) {
+        int index = Arrays.binarySearch(plzKeys, plz);
+        if (index < 0) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>(plzEntries[index].length);
+        for (Plz entry : plzEntries[index]) {
+            result.add(entry.getOrt());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the Orte of the given PLZ matching the keyword, in the order they were loaded.
+     */
+    public List<String> findMatchingOrts(int plz, String keyword) {
+        return findMatchingOrts(findOrtByPlz(plz), keyword);
+    }
+
+    /**
+     * Whether any Ort contains the keyword as a whole word or word prefix.
+     */
+    public boolean containsMatchingOrt(String keyword) {
+        if (keyword == null || keyword.isEmpty()) {
+            return Arrays.stream(orte).anyMatch(ort -> matchesOrt(ort, ""));
+        }
+        int index = Arrays.binarySearch(ortSuffixes, keyword);
+        for (int i = index < 0 ? -index - 1 : index; i < ortSuffixes.length && ortSuffixes[i].startsWith(keyword); i++) {
+            if (isKeywordEnd(ortSuffixes[i], keyword.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static List<String> findMatchingOrts(List<String> orte, String keyword) {
+        String searched = keyword != null ? keyword : "";
+        List<String> matches = new ArrayList<>();
+        for (String ort : orte) {
+            if (ort != null && matchesOrt(ort, searched)) {
+                matches.add(ort);
+            }
+        }
+        return matches;
+    }
+
+    static boolean matchesOrt(String ort, String keyword) {
+        for (int start = 0; start + keyword.length() <= ort.length(); start++) {
+            if (ort.startsWith(keyword, start) && isBoundary(ort, start) && isKeywordEnd(ort, start + keyword.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isKeywordEnd(String text, int end) {
+        return isBoundary(text, end) || (end < text.length() && !isAsciiLetter(text.charAt(end)));
+    }
+
+    /**
+     * Same definition as the {@code \b} of {@link java.util.regex.Pattern} without UNICODE_CHARACTER_CLASS.
+     */
+    private static boolean isBoundary(String text, int index) {
+        boolean left = index > 0 && isWordChar(text.charAt(index - 1));
+        boolean right = index < text.length() && isWordChar(text.charAt(index));
+        return left ^ right;
+    }
+
+    private static boolean isWordChar(char c) {
+        return c == '_' || Character.isLetterOrDigit(c) || Character.getType(c) == Character.NON_SPACING_MARK;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+}
@@ -2,6 +2,7 @@ package com.ibosng.fileimportservice.services.fileservices;
 
 import com.ibosng.dbservice.entities.FileType;
 import com.ibosng.fileimportservice.exceptions.ParserException;
+import com.ibosng.fileimportservice.utils.fileparsers.XlsxStreamingReader;
 
 import java.io.File;
 import java.util.List;
@@ -9,4 +10,10 @@ import java.util.Map;
 
 public interface ExcelFileParserHelper {
     List<Map<String, Object>> parseExcelFileAndValidateHeaders(File file, FileType fileType) throws ParserException;
+
+    /**
+     * Streams the rows of every sheet to the given listener after validating the header row of the sheet against the
+     * headers of the file type. Nothing but the current row is kept in memory.
+     */
+    void streamExcelFileAndValidateHeaders(File file, FileType fileType, XlsxStreamingReader.RowListener rowListener) throws ParserException;
 }
@@ -11,27 +11,30 @@ import com.ibosng.fileimportservice.exceptions.FieldTypeException;
 import com.ibosng.fileimportservice.exceptions.ParserException;
 import com.ibosng.fileimportservice.services.fileservices.CsvService;
 import com.ibosng.fileimportservice.services.fileservices.ExcelFileParserHelper;
+import com.ibosng.fileimportservice.utils.fileparsers.ParticipantCsvRowMapper;
+import com.ibosng.fileimportservice.utils.fileparsers.XlsxStreamingReader;
 import com.ibosng.microsoftgraphservice.dtos.FileDetails;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FilenameUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.File;
-import java.io.Reader;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 import static com.ibosng.fileimportservice.utils.Constants.CSV_EXTENSION;
 import static com.ibosng.fileimportservice.utils.Constants.EXCEL_EXTENSION;
 import static com.ibosng.fileimportservice.utils.Constants.FILE_IMPORT_SERVICE;
+import static com.ibosng.fileimportservice.utils.fileparsers.CsvFileParserHelper.createCsvReader;
 import static com.ibosng.fileimportservice.utils.fileparsers.CsvFileParserHelper.createFileReader;
-import static com.ibosng.fileimportservice.utils.fileparsers.CsvFileParserHelper.mapDataRows;
-import static com.ibosng.fileimportservice.utils.fileparsers.CsvFileParserHelper.mapParticipantDTOS;
-import static com.ibosng.fileimportservice.utils.fileparsers.CsvFileParserHelper.parseFile;
 import static com.ibosng.fileimportservice.utils.fileparsers.HeadersValidator.csvHeadersValidator;
 
 @Service
@@ -47,26 +50,116 @@ public class CsvServiceImpl implements CsvService {
     @Setter
     private TeilnehmerSource source;
 
+    @Getter
+    @Value("${fileImportBatchSize:500}")
+    private Integer fileImportBatchSize;
+
+    /**
+     * Streams the eAMS file row by row into the staging table. Rows are mapped into a reused DTO and written with
+     * JDBC batch inserts of <b>fileImportBatchSize</b> rows; the reader only advances once the previous chunk is
+     * written, so at most one chunk is held in memory. All chunks are written in one transaction, a file that fails
+     * halfway leaves no rows behind.
+     */
     @Override
+    @Transactional(value = "postgresTransactionManager", rollbackFor = Exception.class)
     public void readFile(FileDetails file) throws ParserException {
-        try {
-            List<ParticipantCsvDto> participants = parseAnyFileToParticipantDTOS(file.getFile());
-            List<TeilnehmerStaging> teilnehmerStagingList = new ArrayList<>();
+        StagingChunkWriter writer = new StagingChunkWriter(file.getFilename());
+        String extension = FilenameUtils.getExtension(file.getFile().getName());
+        if (extension.equals(CSV_EXTENSION)) {
+            streamCsvFile(file.getFile(), writer);
+        } else if (extension.equals(EXCEL_EXTENSION)) {
+            streamExcelFile(file.getFile(), writer);
+        } else {
+            throw new ParserException("Wrong eAMS exctention for %s-file".formatted(file.getFile().getName()));
+        }
+        writer.flush();
+        if (writer.getWritten() == 0) {
+            log.warn("Malformed file : {}", file.getFilename());
+            throw new ParserException(String.format("Malformed file : %s", file.getFilename()));
+        }
+        log.info("Imported {} participants from file {}", writer.getWritten(), file.getFilename());
+    }
 
-            for (ParticipantCsvDto participant : participants) {
-                teilnehmerStagingList.add(saveParticipant(participant, file.getFilename()));
+    private void streamCsvFile(File file, StagingChunkWriter writer) throws ParserException {
+        try (CSVReader csvReader = createCsvReader(createFileReader(file))) {
+            String[] headers = csvReader.readNext();
+            if (headers == null) {
+                log.warn("CSV file is empty");
+                throw new CsvParserException("CSV file is empty");
+            }
+            try {
+                csvHeadersValidator(headers,
+                        headerService.getActiveHeadersNamesByFileType(FileType.EAMS),
+                        headerService.getInactiveHeadersNamesByFileType(FileType.EAMS));
+            } catch (FieldTypeException ex) {
+                log.warn("Invalid header in csv file: {}", ex.getMessage());
+                throw new CsvParserException("Exception while parsing headers: ", ex);
             }
-            if (teilnehmerStagingList.isEmpty()) {
-                log.warn("Malformed file : {}", file.getFilename());
-                throw new ParserException(String.format("Malformed file : %s", file.getFilename()));
+
+            ParticipantCsvRowMapper mapper = new ParticipantCsvRowMapper(headers);
+            String[] values;
+            while ((values = csvReader.readNext()) != null) {
+                if (values.length < headers.length) {
+                    log.error("Exception while parsing file: row {} has {} of {} columns", csvReader.getLinesRead(), values.length, headers.length);
+                    throw new CsvParserException("Exception while parsing file: ");
+                }
+                for (int i = 0; i < headers.length; i++) {
+                    values[i] = values[i].strip();
+                }
+                writer.add(mapper.map(values));
             }
-            teilnehmerStagingService.saveAll(teilnehmerStagingList);
-        } catch (FieldTypeException e) {
-            log.error("Error while reading csv file: " + e.getMessage());
-            throw new ParserException("Error while reading csv file: ", e);
+        } catch (IOException | CsvValidationException e) {
+            log.error("Exception while parsing file: " + e.getMessage());
+            throw new CsvParserException("Exception while parsing file: ", e);
         }
     }
 
+    private void streamExcelFile(File file, StagingChunkWriter writer) throws ParserException {
+        excelFileParserHelper.streamExcelFileAndValidateHeaders(file, FileType.EAMS, new XlsxStreamingReader.RowListener() {
+            private ParticipantCsvRowMapper mapper;
+
+            @Override
+            public void onHeader(String[] headers) {
+                mapper = new ParticipantCsvRowMapper(headers);
+            }
+
+            @Override
+            public void onRow(int rowIndex, Object[] values) {
+                writer.add(mapper.map(values));
+            }
+        });
+    }
+
+    /**
+     * Collects the staging rows of one file and writes them in chunks.
+     */
+    private final class StagingChunkWriter {
+        private final String filename;
+        private final List<TeilnehmerStaging> chunk;
+        @Getter
+        private int written;
+
+        private StagingChunkWriter(String filename) {
+            this.filename = filename;
+            this.chunk = new ArrayList<>(Math.max(1, getFileImportBatchSize()));
+        }
+
+        private void add(ParticipantCsvDto participant) {
+            chunk.add(saveParticipant(participant, filename));
+            if (chunk.size() >= getFileImportBatchSize()) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            teilnehmerStagingService.batchInsert(chunk);
+            written += chunk.size();
+            chunk.clear();
+        }
+    }
 
     private TeilnehmerStaging saveParticipant(ParticipantCsvDto participant, String filename) {
         TeilnehmerStaging teilnehmerStaging = new TeilnehmerStaging();
@@ -151,36 +244,4 @@ public class CsvServiceImpl implements CsvService {
 
         return teilnehmerStaging;
     }
-
-    private List<String[]> parseCsvFileAndValidateHeaders(File file) throws CsvParserException {
-        Reader fileReader = createFileReader(file);
-        List<String[]> parsedFile = parseFile(fileReader);
-        if (parsedFile.isEmpty()) {
-            log.warn("CSV file is empty");
-            throw new CsvParserException("CSV file is empty");
-        }
-        try {
-            csvHeadersValidator(parsedFile.get(0),
-                    headerService.getActiveHeadersNamesByFileType(FileType.EAMS),
-                    headerService.getInactiveHeadersNamesByFileType(FileType.EAMS));
-        } catch (FieldTypeException ex) {
-            log.warn("Invalid header in csv file: {}", ex.getMessage());
-            throw new CsvParserException("Exception while parsing headers: ", ex);
-        }
-
-        return parsedFile;
-    }
-
-    public List<ParticipantCsvDto> parseAnyFileToParticipantDTOS(File file) throws FieldTypeException, ParserException {
-        if (FilenameUtils.getExtension(file.getName()).equals(CSV_EXTENSION)) {
-            List<String[]> parsedFile = parseCsvFileAndValidateHeaders(file);
-            return mapDataRows(parsedFile);
-        }
-        if (FilenameUtils.getExtension(file.getName()).equals(EXCEL_EXTENSION)) {
-            List<Map<String, Object>> dataRows = excelFileParserHelper.parseExcelFileAndValidateHeaders(file, FileType.EAMS);
-            return mapParticipantDTOS(dataRows);
-        }
-        throw new ParserException("Wrong eAMS exctention for %s-file".formatted(file.getName()));
-    }
-
 }
@@ -6,16 +6,16 @@ import com.ibosng.fileimportservice.exceptions.FieldTypeException;
 import com.ibosng.fileimportservice.exceptions.ParserException;
 import com.ibosng.fileimportservice.services.fileservices.ExcelFileParserHelper;
 import com.ibosng.fileimportservice.utils.fileparsers.HeadersValidator;
+import com.ibosng.fileimportservice.utils.fileparsers.XlsxStreamingReader;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.EncryptedDocumentException;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.DateUtil;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.ooxml.POIXMLException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
 import org.springframework.stereotype.Service;
+import org.xml.sax.SAXException;
 
+import javax.xml.parsers.ParserConfigurationException;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -31,44 +31,47 @@ public class ExcelFileParserHelperImpl implements ExcelFileParserHelper {
 
     @Override
     public List<Map<String, Object>> parseExcelFileAndValidateHeaders(File file, FileType fileType) throws ParserException {
-        try (Workbook workbook = WorkbookFactory.create(file)) {
-            List<Map<String, Object>> dataRows = new ArrayList<>();
-            for (Sheet sheet : workbook) {
-                HeadersValidator.xlsxHeadersValidator(sheet.getRow(0),
-                        headerService.getActiveHeadersNamesByFileType(fileType),
-                        headerService.getInactiveHeadersNamesByFileType(fileType));
+        List<Map<String, Object>> dataRows = new ArrayList<>();
+        streamExcelFileAndValidateHeaders(file, fileType, new XlsxStreamingReader.RowListener() {
+            private String[] headers;
 
-                for (int i = 1; i < sheet.getLastRowNum() + 1; i++) {
-                    Map<String, Object> row = new HashMap<>();
-                    for (Cell cell : sheet.getRow(i)) {
-                        final String headerCell = sheet.getRow(0).getCell(cell.getColumnIndex()).getStringCellValue();
-                        switch (cell.getCellType()) {
-                            case NUMERIC -> {
-                                if (DateUtil.isCellDateFormatted(cell)) {
-                                    // Handle date
-                                    row.put(headerCell, cell.getDateCellValue());
-                                } else {
-                                    // Handle numeric value
-                                    double numericValue = cell.getNumericCellValue();
-                                    if (numericValue % 1 == 0) {
-                                        // If it's an integer value (no fractional part)
-                                        row.put(headerCell, (long) numericValue);
-                                    } else {
-                                        // If it has a fractional part, handle as double
-                                        row.put(headerCell, numericValue);
-                                    }
-                                }
-                            }
-                            case STRING -> row.put(headerCell, cell.getStringCellValue().strip());
-                            case BOOLEAN -> row.put(headerCell, cell.getBooleanCellValue());
-                            default -> row.put(headerCell, "");
-                        }
+            @Override
+            public void onHeader(String[] headers) {
+                this.headers = headers;
+            }
+
+            @Override
+            public void onRow(int rowIndex, Object[] values) {
+                Map<String, Object> row = new HashMap<>();
+                for (int i = 0; i < headers.length && i < values.length; i++) {
+                    if (headers[i] != null && values[i] != null) {
+                        row.put(headers[i], values[i]);
                     }
-                    dataRows.add(row);
                 }
+                dataRows.add(row);
             }
-            return dataRows;
-        } catch (IOException | EncryptedDocumentException | FieldTypeException ex) {
+        });
+        return dataRows;
+    }
+
+    @Override
+    public void streamExcelFileAndValidateHeaders(File file, FileType fileType, XlsxStreamingReader.RowListener rowListener) throws ParserException {
+        final List<String> activeHeaders = headerService.getActiveHeadersNamesByFileType(fileType);
+        final List<String> inactiveHeaders = headerService.getInactiveHeadersNamesByFileType(fileType);
+        try {
+            XlsxStreamingReader.read(file, new XlsxStreamingReader.RowListener() {
+                @Override
+                public void onHeader(String[] headers) throws FieldTypeException, ParserException {
+                    HeadersValidator.xlsxHeadersValidator(headers, activeHeaders, inactiveHeaders);
+                    rowListener.onHeader(headers);
+                }
+
+                @Override
+                public void onRow(int rowIndex, Object[] values) throws FieldTypeException, ParserException {
+                    rowListener.onRow(rowIndex, values);
+                }
+            });
+        } catch (IOException | OpenXML4JException | POIXMLException | UnsupportedFileFormatException | SAXException | ParserConfigurationException | FieldTypeException ex) {
             log.warn("Cannot parse field in excel parser: {}", ex.getMessage());
             throw new ParserException("Cannot parse field in excel parser", ex);
         }
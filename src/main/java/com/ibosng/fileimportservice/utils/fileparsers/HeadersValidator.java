@@ -8,6 +8,7 @@ import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.Row;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
@@ -79,6 +80,40 @@ public class HeadersValidator {
         }
     }
 
+    /**
+     * Same checks as {@link #xlsxHeadersValidator(Row, List, List)} for a header row read by the
+     * {@link XlsxStreamingReader}, where non-string cells are {@code null}.
+     */
+    public static void xlsxHeadersValidator(String[] headerRow,
+                                            List<String> expectedHeaders,
+                                            List<String> inactiveHeaders) throws FieldTypeException {
+        inactiveHeaders = new ArrayList<>(inactiveHeaders);
+        expectedHeaders = new ArrayList<>(expectedHeaders);
+        if (headerRow == null) {
+            log.warn("Header row is missing in VHS file");
+            throw new FieldTypeException("Header row is missing in VHS file");
+        }
+
+        if (Arrays.stream(headerRow).filter(Objects::nonNull).count() < expectedHeaders.size()) {
+            log.warn("Header count mismatch in xlsx file parser");
+            throw new FieldTypeException("Header count mismatch in xlsx file parser");
+        }
+
+        for (int cellIndex = 0; (cellIndex < headerRow.length) && (headerRow[cellIndex] != null); cellIndex++) {
+            String header = headerRow[cellIndex];
+            if (!isInHeadersList(expectedHeaders, header.trim()) && !isInHeadersList(inactiveHeaders, header)) {
+                log.warn(String.format(INVALID_HEADER_ERROR_MESSAGE, header.trim()));
+                throw new FieldTypeException(String.format(INVALID_HEADER_ERROR_MESSAGE, header.trim()));
+            }
+        }
+
+        //are all expected headers present
+        if (!expectedHeaders.isEmpty()) {
+            log.warn("Expected header count mismatch in xlsx file parser");
+            throw new FieldTypeException("Expected header count mismatch in xlsx file parser");
+        }
+    }
+
     private boolean isInHeadersList(List<String> headersList, String headerToCheck) {
         for (String header : headersList) {
             if (headerToCheck.strip().trim().equalsIgnoreCase(header.strip().trim())) {
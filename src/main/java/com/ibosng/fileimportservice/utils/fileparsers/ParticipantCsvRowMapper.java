@@ -0,0 +1,98 @@
+package com.ibosng.fileimportservice.utils.fileparsers;
+
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.ibosng.fileimportservice.config.DateToStringDeserializer;
+import com.ibosng.fileimportservice.dtos.ParticipantCsvDto;
+
+import java.lang.reflect.Field;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.ibosng.fileimportservice.utils.Helpers.isNullOrBlank;
+
+/**
+ * Maps eAMS rows to a {@link ParticipantCsvDto} without building a map per row.
+ * <p>
+ * The header row is resolved once into a column index array of the {@link JsonSetter} annotated fields of the DTO,
+ * and values are converted the way the Jackson based mapping did it (dates of {@link DateToStringDeserializer}
+ * fields become {@code dd-MM-yyyy}, other values their string representation). The returned DTO instance is
+ * reused for every row of the same mapper, so callers must copy its values before mapping the next row.
+ */
+public class ParticipantCsvRowMapper {
+
+    private static final Map<String, ParticipantField> FIELDS_BY_HEADER = resolveFields();
+
+    private record ParticipantField(Field field, boolean date) {
+    }
+
+    private final ParticipantField[] fieldsByColumn;
+    private final ParticipantCsvDto participant = new ParticipantCsvDto();
+    private final DateFormat dateFormat = new SimpleDateFormat("dd-MM-yyyy");
+
+    public ParticipantCsvRowMapper(String[] headers) {
+        fieldsByColumn = new ParticipantField[headers.length];
+        for (int i = 0; i < headers.length; i++) {
+            if (headers[i] != null) {
+                fieldsByColumn[i] = FIELDS_BY_HEADER.get(headers[i].strip());
+            }
+        }
+    }
+
+    public ParticipantCsvDto map(Object[] values) {
+        for (int i = 0; i < fieldsByColumn.length; i++) {
+            ParticipantField participantField = fieldsByColumn[i];
+            if (participantField != null) {
+                Object value = i < values.length ? values[i] : null;
+                set(participantField.field(), asText(value, participantField.date()));
+            }
+        }
+        if (!isNullOrBlank(participant.getSvNummer())) {
+            participant.setSvNummer(participant.getSvNummer().replaceAll("\\s+", ""));
+        }
+        return participant;
+    }
+
+    private String asText(Object value, boolean date) {
+        if (value == null || value instanceof String) {
+            return (String) value;
+        }
+        if (date && value instanceof Date dateValue) {
+            return dateFormat.format(dateValue);
+        }
+        if (date && value instanceof Number number) {
+            return dateFormat.format(new Date(number.longValue()));
+        }
+        if (value instanceof Date dateValue) {
+            return String.valueOf(dateValue.getTime());
+        }
+        return String.valueOf(value);
+    }
+
+    private void set(Field field, String value) {
+        try {
+            field.set(participant, value);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot set participant field " + field.getName(), e);
+        }
+    }
+
+    private static Map<String, ParticipantField> resolveFields() {
+        Map<String, ParticipantField> fields = new HashMap<>();
+        for (Field field : ParticipantCsvDto.class.getDeclaredFields()) {
+            JsonSetter jsonSetter = field.getAnnotation(JsonSetter.class);
+            if (jsonSetter == null || field.getType() != String.class) {
+                continue;
+            }
+            JsonDeserialize jsonDeserialize = field.getAnnotation(JsonDeserialize.class);
+            field.setAccessible(true);
+            fields.put(jsonSetter.value(), new ParticipantField(field,
+                    jsonDeserialize != null && jsonDeserialize.using() == DateToStringDeserializer.class));
+        }
+        return Collections.unmodifiableMap(fields);
+    }
+}
@@ -0,0 +1,267 @@
+package com.ibosng.fileimportservice.utils.fileparsers;
+
+import com.ibosng.fileimportservice.exceptions.FieldTypeException;
+import com.ibosng.fileimportservice.exceptions.ParserException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Event based (SAX) reader for XLSX files.
+ * <p>
+ * Sheets are streamed row by row instead of loading the workbook DOM, so the heap usage is bounded by the widest
+ * row rather than by the file size. Cell values are converted with the same rules the DOM based parser used:
+ * date formatted numbers become {@link java.util.Date}, whole numbers {@link Long}, other numbers {@link Double},
+ * strings are stripped, booleans stay {@link Boolean} and blank, formula and error cells become an empty string.
+ * <p>
+ * The value array handed to the {@link RowListener} is reused for every row of a sheet; listeners must copy what
+ * they want to keep.
+ */
+public class XlsxStreamingReader {
+
+    public interface RowListener {
+        /**
+         * Called once per sheet with the header row; non-empty string cells keep their text, other cells are {@code null}.
+         * The header row is {@code null} if the first row of the sheet is missing.
+         */
+        void onHeader(String[] headers) throws FieldTypeException, ParserException;
+
+        /**
+         * Called for every data row; {@code values} is indexed by column and {@code null} for cells not present.
+         */
+        void onRow(int rowIndex, Object[] values) throws FieldTypeException, ParserException;
+    }
+
+    private XlsxStreamingReader() {
+    }
+
+    public static void read(File file, RowListener listener)
+            throws IOException, OpenXML4JException, SAXException, ParserConfigurationException, FieldTypeException, ParserException {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+            StylesTable styles = reader.getStylesTable();
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream sheet = sheets.next()) {
+                    readSheet(sheet, new SheetHandler(sharedStrings, styles, listener));
+                }
+            }
+        } catch (SheetListenerException ex) {
+            if (ex.getException() instanceof FieldTypeException fieldTypeException) {
+                throw fieldTypeException;
+            }
+            if (ex.getException() instanceof ParserException parserException) {
+                throw parserException;
+            }
+            throw ex;
+        }
+    }
+
+    private static void readSheet(InputStream sheet, SheetHandler handler) throws IOException, SAXException, ParserConfigurationException {
+        XMLReader xmlReader = XMLHelper.newXMLReader();
+        xmlReader.setContentHandler(handler);
+        xmlReader.parse(new InputSource(sheet));
+        handler.endSheet();
+    }
+
+    /**
+     * Converts an A1 style cell reference to its zero based column index.
+     */
+    static int columnIndex(String cellReference) {
+        int column = 0;
+        for (int i = 0; i < cellReference.length(); i++) {
+            char c = cellReference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    private static final class SheetListenerException extends SAXException {
+        private SheetListenerException(Exception cause) {
+            super(cause);
+        }
+    }
+
+    private static final class SheetHandler extends DefaultHandler {
+        private final ReadOnlySharedStringsTable sharedStrings;
+        private final StylesTable styles;
+        private final RowListener listener;
+        private final Map<Integer, Boolean> dateStyles = new HashMap<>();
+        private final StringBuilder text = new StringBuilder();
+
+        private Object[] values = new Object[16];
+        private boolean headerHandled;
+        private int rowIndex = -1;
+        private int maxColumn = -1;
+
+        private int column;
+        private String cellType;
+        private String cellStyle;
+        private boolean hasFormula;
+        private boolean hasValue;
+        private boolean collectText;
+
+        private SheetHandler(ReadOnlySharedStringsTable sharedStrings, StylesTable styles, RowListener listener) {
+            this.sharedStrings = sharedStrings;
+            this.styles = styles;
+            this.listener = listener;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row" -> {
+                    String reference = attributes.getValue("r");
+                    rowIndex = reference != null ? Integer.parseInt(reference) - 1 : rowIndex + 1;
+                    column = -1;
+                    maxColumn = -1;
+                    Arrays.fill(values, null);
+                }
+                case "c" -> {
+                    String reference = attributes.getValue("r");
+                    column = reference != null ? columnIndex(reference) : column + 1;
+                    cellType = attributes.getValue("t");
+                    cellStyle = attributes.getValue("s");
+                    hasFormula = false;
+                    hasValue = false;
+                    text.setLength(0);
+                }
+                case "f" -> hasFormula = true;
+                case "v", "t" -> {
+                    collectText = true;
+                    hasValue = true;
+                }
+                default -> {
+                    // other elements carry no cell content
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collectText) {
+                text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            switch (localName) {
+                case "v", "t" -> collectText = false;
+                case "c" -> setValue(column, cellValue());
+                case "row" -> endRow();
+                default -> {
+                    // other elements carry no cell content
+                }
+            }
+        }
+
+        private void setValue(int index, Object value) {
+            if (index < 0) {
+                return;
+            }
+            if (index >= values.length) {
+                values = Arrays.copyOf(values, Math.max(index + 1, values.length * 2));
+            }
+            values[index] = value;
+            maxColumn = Math.max(maxColumn, index);
+        }
+
+        private Object cellValue() {
+            if (hasFormula || !hasValue) {
+                return "";
+            }
+            String raw = text.toString();
+            if (cellType == null || "n".equals(cellType)) {
+                double numericValue = Double.parseDouble(raw);
+                if (isDateFormatted(numericValue)) {
+                    return DateUtil.getJavaDate(numericValue);
+                }
+                return numericValue % 1 == 0 ? (Object) (long) numericValue : (Object) numericValue;
+            }
+            return switch (cellType) {
+                case "s" -> sharedStrings.getItemAt(Integer.parseInt(raw)).getString().strip();
+                case "inlineStr", "str" -> raw.strip();
+                case "b" -> "1".equals(raw) || "true".equalsIgnoreCase(raw);
+                default -> "";
+            };
+        }
+
+        private boolean isDateFormatted(double numericValue) {
+            if (cellStyle == null || !DateUtil.isValidExcelDate(numericValue)) {
+                return false;
+            }
+            int styleIndex = Integer.parseInt(cellStyle);
+            return dateStyles.computeIfAbsent(styleIndex, index -> {
+                XSSFCellStyle style = styles.getStyleAt(index);
+                if (style == null) {
+                    return false;
+                }
+                String format = style.getDataFormatString();
+                if (format == null) {
+                    format = BuiltinFormats.getBuiltinFormat(style.getDataFormat());
+                }
+                return format != null && DateUtil.isADateFormat(style.getDataFormat(), format);
+            });
+        }
+
+        private void endRow() throws SAXException {
+            try {
+                if (!headerHandled) {
+                    headerHandled = true;
+                    if (rowIndex == 0) {
+                        listener.onHeader(toHeaderRow());
+                        return;
+                    }
+                    listener.onHeader(null);
+                }
+                listener.onRow(rowIndex, values);
+            } catch (FieldTypeException | ParserException ex) {
+                throw new SheetListenerException(ex);
+            }
+        }
+
+        private String[] toHeaderRow() {
+            String[] headers = new String[maxColumn + 1];
+            for (int i = 0; i <= maxColumn; i++) {
+                headers[i] = values[i] instanceof String header && !header.isEmpty() ? header : null;
+            }
+            return headers;
+        }
+
+        private void endSheet() throws SAXException {
+            if (!headerHandled) {
+                try {
+                    listener.onHeader(null);
+                } catch (FieldTypeException | ParserException ex) {
+                    throw new SheetListenerException(ex);
+                }
+            }
+        }
+    }
+}
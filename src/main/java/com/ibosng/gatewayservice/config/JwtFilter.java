@@ -1,6 +1,9 @@
 package com.ibosng.gatewayservice.config;
 
+import com.ibosng.gatewayservice.security.AuthContextHolder;
+import com.ibosng.gatewayservice.services.BenutzerDetailsService;
 import com.ibosng.gatewayservice.services.TokenValidatorService;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import jakarta.servlet.*;
@@ -23,9 +26,14 @@ import static com.ibosng.gatewayservice.utils.Helpers.getTokenFromRequest;
 public class JwtFilter implements Filter {
 
     private final TokenValidatorService tokenValidatorService;
+    private final BenutzerDetailsService benutzerDetailsService;
+    private final AuthContextHolder authContextHolder;
 
-    public JwtFilter(TokenValidatorService tokenValidatorService) {
+    public JwtFilter(TokenValidatorService tokenValidatorService, BenutzerDetailsService benutzerDetailsService,
+                     AuthContextHolder authContextHolder) {
         this.tokenValidatorService = tokenValidatorService;
+        this.benutzerDetailsService = benutzerDetailsService;
+        this.authContextHolder = authContextHolder;
     }
 
     @Override
@@ -44,7 +52,10 @@ public class JwtFilter implements Filter {
             }
 
             String token = getTokenFromRequest(request);
-            if (tokenValidatorService.isTokenValid(token)) {
+            Claims claims = token != null ? tokenValidatorService.validateSession(token) : null;
+            if (claims != null) {
+                // Resolved once here, read by the interceptor, the role checks and the services of this request
+                authContextHolder.set(request, benutzerDetailsService.createAuthContext(token, claims));
                 filterChain.doFilter(servletRequest, servletResponse);
             } else {
                 response.setStatus(HttpStatus.UNAUTHORIZED.value());
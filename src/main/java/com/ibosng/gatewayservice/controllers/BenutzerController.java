@@ -1,9 +1,14 @@
 package com.ibosng.gatewayservice.controllers;
 
 
+import com.ibosng.dbservice.entities.Benutzer;
+import com.ibosng.dbservice.entities.UserSession;
 import com.ibosng.dbservice.services.impl.UserSessionServiceImpl;
 import com.ibosng.gatewayservice.dtos.user.UserDetailsDto;
+import com.ibosng.gatewayservice.security.RequiredRoles;
 import com.ibosng.gatewayservice.services.BenutzerDetailsService;
+import com.ibosng.gatewayservice.services.impl.GroupMembershipCache;
+import com.ibosng.gatewayservice.services.impl.VerifiedTokenCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,10 +17,16 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.ibosng.gatewayservice.utils.Constants.FN_BERECHTIGUNGEN_VERWALTEN;
 import static com.ibosng.gatewayservice.utils.Helpers.getTokenFromAuthorizationHeader;
 
 @Slf4j
@@ -28,9 +39,16 @@ public class BenutzerController {
 
     private final UserSessionServiceImpl userSessionService;
 
-    public BenutzerController(BenutzerDetailsService benutzerDetailsService, UserSessionServiceImpl userSessionService) {
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private final GroupMembershipCache groupMembershipCache;
+
+    public BenutzerController(BenutzerDetailsService benutzerDetailsService, UserSessionServiceImpl userSessionService,
+                              VerifiedTokenCache verifiedTokenCache, GroupMembershipCache groupMembershipCache) {
         this.benutzerDetailsService = benutzerDetailsService;
         this.userSessionService = userSessionService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.groupMembershipCache = groupMembershipCache;
     }
 
     @Operation(
@@ -60,7 +78,9 @@ public class BenutzerController {
     @GetMapping("/logout")
     public ResponseEntity<Void> logoutUser(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorizationHeader){
         String token = getTokenFromAuthorizationHeader(authorizationHeader);
-        if(userSessionService.killActiveSession(token)){
+        boolean killed = userSessionService.killActiveSession(token);
+        verifiedTokenCache.invalidate(List.of(token));
+        if(killed){
             return ResponseEntity.status(HttpStatus.OK).build();
         }
         return ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).build();
@@ -77,9 +97,51 @@ public class BenutzerController {
             })
     public ResponseEntity<Void> logoutAllUserSessions(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorizationHeader){
         String token = getTokenFromAuthorizationHeader(authorizationHeader);
-        if(userSessionService.killAllUserSessions(token)){
+        List<String> tokens = new ArrayList<>(List.of(token));
+        userSessionService.getUserSessions(token, true).stream().map(UserSession::getToken).forEach(tokens::add);
+        boolean killed = userSessionService.killAllUserSessions(token);
+        verifiedTokenCache.invalidate(tokens);
+        if(killed){
             return ResponseEntity.status(HttpStatus.OK).build();
         }
         return ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).build();
     }
+
+    @PostMapping("/functions/refresh")
+    @Operation(
+            summary = "This method is used to reload the functions of the user.",
+            description = "Drops the cached Azure group memberships of the user, so that changed groups apply immediately.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Success"),
+                    @ApiResponse(responseCode = "401", description = "Token expired"),
+                    @ApiResponse(responseCode = "404", description = "User not found")
+            })
+    public ResponseEntity<Void> refreshFunctions(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorizationHeader) {
+        Benutzer benutzer = benutzerDetailsService.getUserFromToken(getTokenFromAuthorizationHeader(authorizationHeader));
+        if (benutzer == null || benutzer.getAzureId() == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        groupMembershipCache.invalidate(benutzer.getAzureId());
+        return ResponseEntity.status(HttpStatus.OK).build();
+    }
+
+    @PostMapping("/functions/invalidate")
+    @RequiredRoles(FN_BERECHTIGUNGEN_VERWALTEN)
+    @Operation(
+            summary = "This method is used to invalidate cached functions.",
+            description = "Drops the cached Azure group memberships of the given user, or of all users if no azureId is given.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Success"),
+                    @ApiResponse(responseCode = "401", description = "Token expired"),
+                    @ApiResponse(responseCode = "403", description = "Forbidden: The user is not authorized to access this endpoint.")
+            })
+    public ResponseEntity<Void> invalidateFunctions(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorizationHeader,
+                                                    @RequestParam(required = false) String azureId) {
+        if (azureId == null) {
+            groupMembershipCache.invalidateAll();
+        } else {
+            groupMembershipCache.invalidate(azureId);
+        }
+        return ResponseEntity.status(HttpStatus.OK).build();
+    }
 }
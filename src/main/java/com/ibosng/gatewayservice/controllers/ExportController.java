@@ -3,7 +3,6 @@ package com.ibosng.gatewayservice.controllers;
 import com.ibosng.dbservice.dtos.zeiterfassung.export.PruefungCsvDto;
 import com.ibosng.dbservice.dtos.zeiterfassung.export.PruefungXlsxDto;
 import com.ibosng.gatewayservice.dtos.response.PayloadResponse;
-import com.ibosng.gatewayservice.dtos.response.ReportResponse;
 import com.ibosng.gatewayservice.services.BenutzerDetailsService;
 import com.ibosng.gatewayservice.services.FileExportService;
 import com.ibosng.gatewayservice.services.Teilnehmerservice;
@@ -16,11 +15,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Collections;
-import java.util.List;
 
 import static com.ibosng.gatewayservice.utils.Helpers.checkResultIfNull;
 import static com.ibosng.gatewayservice.utils.Helpers.getTokenFromAuthorizationHeader;
@@ -55,43 +54,43 @@ public class ExportController {
 
 //        log.info("Received request to generate pruefung export for: {}", reportRequestDto);
 
-        ReportResponse reportResponse = null;
-        if(outputFormat.equalsIgnoreCase("CSV")){
-            List<PruefungCsvDto> pruefungTeilnehmer = teilnehmerservice.getTeilnehmerPruefungListCsv(identifiersString, seminarName, projectName, isActive, isUebaTeilnehmer, isAngemeldet, geschlecht, sortProperty, sortDirection);
-            if(pruefungTeilnehmer.isEmpty()){
+        MediaType mediaType;
+        String fileName;
+        StreamingResponseBody body;
+        if ("CSV".equalsIgnoreCase(outputFormat)) {
+            PruefungCsvDto firstRow = teilnehmerservice.findFirstTeilnehmerPruefungCsv(identifiersString, seminarName, projectName, isActive, isUebaTeilnehmer, isAngemeldet, geschlecht, sortProperty, sortDirection);
+            if (firstRow == null) {
                 log.error("No Teilnehmers found");
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("No Teilnehmers found for request.");
             }
-            reportResponse = fileExportService.exportToCsv(pruefungTeilnehmer);
-        } else if(outputFormat.equalsIgnoreCase("XLSX")){
-            List<PruefungXlsxDto> pruefungTeilnehmer = teilnehmerservice.getTeilnehmerPruefungListXlsx(identifiersString, seminarName, projectName, isActive, isUebaTeilnehmer, isAngemeldet, geschlecht, sortProperty, sortDirection);
-            if(pruefungTeilnehmer.isEmpty()){
+            mediaType = MediaType.TEXT_PLAIN;
+            fileName = fileExportService.getCsvFileName(firstRow) + ".csv";
+            body = outputStream -> {
+                try (FileExportService.RowWriter<PruefungCsvDto> writer = fileExportService.createCsvWriter(outputStream)) {
+                    teilnehmerservice.streamTeilnehmerPruefungListCsv(identifiersString, seminarName, projectName, isActive, isUebaTeilnehmer, isAngemeldet, geschlecht, sortProperty, sortDirection, row -> write(writer, row));
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            };
+        } else if ("XLSX".equalsIgnoreCase(outputFormat)) {
+            PruefungXlsxDto firstRow = teilnehmerservice.findFirstTeilnehmerPruefungXlsx(identifiersString, seminarName, projectName, isActive, isUebaTeilnehmer, isAngemeldet, geschlecht, sortProperty, sortDirection);
+            if (firstRow == null) {
                 log.error("No Teilnehmers found");
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("No Teilnehmers found for request.");
             }
-            reportResponse = fileExportService.exportToXlsx(pruefungTeilnehmer);
-        }
-
-        if (reportResponse == null) {
-            log.error("CSV Export failed");
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("CSV Export generation failed.");
-        }
-
-
-        // Set Media Type for FE
-        MediaType mediaType;
-        switch (reportResponse.getOutputFormat()) {
-            case CSV:
-                mediaType = MediaType.TEXT_PLAIN;
-                break;
-            case XLSX:
-                mediaType = MediaType.parseMediaType("application/vnd.ms-excel");
-                break;
-            default:
-                log.warn("Unsupported Export format requested: {}", reportResponse.getOutputFormat());
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body("Unsupported Export format: " + reportResponse.getOutputFormat());
+            mediaType = MediaType.parseMediaType("application/vnd.ms-excel");
+            fileName = fileExportService.getXlsxFileName(firstRow) + ".xlsx";
+            body = outputStream -> {
+                try (FileExportService.RowWriter<PruefungXlsxDto> writer = fileExportService.createXlsxWriter(outputStream)) {
+                    teilnehmerservice.streamTeilnehmerPruefungListXlsx(identifiersString, seminarName, projectName, isActive, isUebaTeilnehmer, isAngemeldet, geschlecht, sortProperty, sortDirection, row -> write(writer, row));
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            };
+        } else {
+            log.warn("Unsupported Export format requested: {}", outputFormat);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Unsupported Export format: " + outputFormat);
         }
 
         log.info("Export format determined: {}", mediaType);
@@ -99,16 +98,22 @@ public class ExportController {
         // Set the HTTP headers for the response
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(mediaType);
-        //TODO Set proper name
-        headers.setContentDispositionFormData("filename", reportResponse.getReportName() + "." + reportResponse.getOutputFormat().getValue());
+        headers.setContentDispositionFormData("filename", fileName);
 
         log.info("Returning export response with headers: {}", headers);
 
+        // The rows are written into the response as they are read instead of being collected first
         return ResponseEntity
                 .ok()
                 .headers(headers)
-                .body(reportResponse.getReportBytes());
-
+                .body(body);
+    }
 
+    private static <T> void write(FileExportService.RowWriter<T> writer, T row) {
+        try {
+            writer.write(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
@@ -4,24 +4,37 @@ import com.ibosng.dbservice.dtos.ReportDto;
 import com.ibosng.dbservice.dtos.ReportParameterDto;
 import com.ibosng.dbservice.entities.Benutzer;
 import com.ibosng.dbservice.entities.reports.ReportType;
+import com.ibosng.gatewayservice.dtos.ReportJobDto;
 import com.ibosng.gatewayservice.dtos.ReportRequestDto;
+import com.ibosng.gatewayservice.dtos.response.FilledReport;
 import com.ibosng.gatewayservice.dtos.response.PayloadResponse;
-import com.ibosng.gatewayservice.dtos.response.ReportResponse;
+import com.ibosng.gatewayservice.enums.ReportJobStatus;
+import com.ibosng.gatewayservice.enums.ReportOutputFormat;
 import com.ibosng.gatewayservice.services.BenutzerDetailsService;
 import com.ibosng.gatewayservice.services.JasperReportService;
+import com.ibosng.gatewayservice.services.ReportJobService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import net.sf.jasperreports.engine.JRException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
 
 import static com.ibosng.gatewayservice.utils.Constants.FN_REPORTS;
 import static com.ibosng.gatewayservice.utils.Helpers.checkResultIfNull;
@@ -35,11 +48,14 @@ public class JasperController {
 
     private final JasperReportService jasperReportService;
     private final BenutzerDetailsService benutzerDetailsService;
+    private final ReportJobService reportJobService;
 
 
-    public JasperController(JasperReportService jasperReportService, BenutzerDetailsService benutzerDetailsService) {
+    public JasperController(JasperReportService jasperReportService, BenutzerDetailsService benutzerDetailsService,
+                            ReportJobService reportJobService) {
         this.jasperReportService = jasperReportService;
         this.benutzerDetailsService = benutzerDetailsService;
+        this.reportJobService = reportJobService;
     }
 
     @PostMapping(value = "/uploadTemplate")
@@ -110,7 +126,8 @@ public class JasperController {
                     @ApiResponse(responseCode = "200", description = "Success"),
                     @ApiResponse(responseCode = "500", description = "Internal server error")
             })
-    public ResponseEntity generateReport(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorizationHeader, @RequestBody ReportRequestDto reportRequestDto) {
+    public ResponseEntity generateReport(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorizationHeader, @RequestBody ReportRequestDto reportRequestDto,
+                                         HttpServletRequest request) {
         log.info("Received request to generate report: {}", reportRequestDto);
         //TODO Check for correct permissions
         String token = getTokenFromAuthorizationHeader(authorizationHeader);
@@ -122,48 +139,131 @@ public class JasperController {
         Benutzer benutzer = benutzerDetailsService.getUserFromToken(token);
         reportRequestDto.setCreatedBy(benutzerDetailsService != null ? benutzer.getEmail() : null);
 
-        ReportResponse reportResponse = jasperReportService.generateReport(reportRequestDto);
+        FilledReport filledReport = jasperReportService.fillReport(reportRequestDto);
 
-        if (reportResponse == null) {
+        if (filledReport == null) {
             log.error("Report generation failed: jasperReportService returned null.");
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Report generation failed.");
         }
 
-        log.info("Report generated successfully: {}", reportResponse.getReportName());
-
-        // Set Media Type for FE
-        MediaType mediaType;
-        switch (reportResponse.getOutputFormat()) {
-            case PDF:
-                mediaType = MediaType.APPLICATION_PDF;
-                break;
-            case XLS:
-            case XLSX:
-                mediaType = MediaType.parseMediaType("application/vnd.ms-excel");
-                break;
-            case CSV:
-                mediaType = MediaType.TEXT_PLAIN;
-                break;
-            default:
-                log.warn("Unsupported report format requested: {}", reportResponse.getOutputFormat());
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body("Unsupported report format: " + reportResponse.getOutputFormat());
-        }
-
-        log.info("Report format determined: {}", mediaType);
+        log.info("Report filled successfully: {}", filledReport.getReportName());
 
         // Set the HTTP headers for the response
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(mediaType);
-        headers.setContentDispositionFormData("filename", reportResponse.getReportName() + "." + reportResponse.getOutputFormat().getValue());
+        headers.setContentType(getMediaType(filledReport.getOutputFormat()));
+        headers.setContentDispositionFormData("filename", filledReport.getFileName());
 
         log.info("Returning report response with headers: {}", headers);
 
+        // The swap file and the template are also released if the client disconnects before the body is written
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(filledReport, new CallableProcessingInterceptor() {
+            @Override
+            public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                filledReport.close();
+            }
+        });
+        // The report is exported straight into the response instead of being buffered
+        StreamingResponseBody body = outputStream -> {
+            try (filledReport) {
+                filledReport.writeTo(outputStream);
+            } catch (JRException e) {
+                throw new IOException("Exporting report " + filledReport.getReportName() + " failed", e);
+            }
+        };
+        return ResponseEntity
+                .ok()
+                .headers(headers)
+                .body(body);
+    }
+
+    @PostMapping("/jobs")
+    @Operation(
+            summary = "Queue the generation of a report.",
+            description = "This endpoint queues the generation of a large report and returns the job, whose status can be polled.",
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Accepted"),
+                    @ApiResponse(responseCode = "400", description = "Missing or unknown output format"),
+                    @ApiResponse(responseCode = "403", description = "Forbidden"),
+                    @ApiResponse(responseCode = "503", description = "Too many queued reports")
+            })
+    public ResponseEntity<ReportJobDto> submitReportJob(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorizationHeader, @RequestBody ReportRequestDto reportRequestDto) {
+        String token = getTokenFromAuthorizationHeader(authorizationHeader);
+        if (!benutzerDetailsService.isUserEligible(token, List.of(FN_REPORTS))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        // the download of the job needs the output format, so a job is only queued with a valid one
+        try {
+            reportRequestDto.setOutputFormat(ReportOutputFormat.fromValue(reportRequestDto.getOutputFormat()).getValue());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        reportRequestDto.setCreatedBy(benutzerDetailsService.getUserFromToken(token).getEmail());
+        ReportJobDto job = reportJobService.submit(reportRequestDto);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @Operation(
+            summary = "Get the status of a report job.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Success"),
+                    @ApiResponse(responseCode = "404", description = "Unknown or expired job")
+            })
+    public ResponseEntity<ReportJobDto> getReportJob(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorizationHeader, @PathVariable String jobId) {
+        ReportJobDto job = getOwnReportJob(authorizationHeader, jobId);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.ok(job);
+    }
+
+    @GetMapping("/jobs/{jobId}/download")
+    @Operation(
+            summary = "Download the report of a finished report job.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Success"),
+                    @ApiResponse(responseCode = "404", description = "Unknown, expired or unfinished job")
+            })
+    public ResponseEntity<StreamingResponseBody> downloadReportJob(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorizationHeader, @PathVariable String jobId) {
+        ReportJobDto job = getOwnReportJob(authorizationHeader, jobId);
+        if (job == null || job.getStatus() != ReportJobStatus.DONE) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        ReportOutputFormat outputFormat = ReportOutputFormat.fromValue(job.getOutputFormat());
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(getMediaType(outputFormat));
+        headers.setContentDispositionFormData("filename", job.getReportName() + "." + outputFormat.getValue());
+        StreamingResponseBody body = outputStream -> {
+            try (InputStream inputStream = reportJobService.download(job)) {
+                inputStream.transferTo(outputStream);
+            }
+        };
         return ResponseEntity
                 .ok()
                 .headers(headers)
-                .body(reportResponse.getReportBytes());
+                .body(body);
+    }
+
+    private ReportJobDto getOwnReportJob(String authorizationHeader, String jobId) {
+        ReportJobDto job = reportJobService.getJob(jobId);
+        if (job == null) {
+            return null;
+        }
+        Benutzer benutzer = benutzerDetailsService.getUserFromToken(getTokenFromAuthorizationHeader(authorizationHeader));
+        return benutzer != null && Objects.equals(benutzer.getEmail(), job.getCreatedBy()) ? job : null;
+    }
+
+    // Set Media Type for FE
+    private static MediaType getMediaType(ReportOutputFormat outputFormat) {
+        return switch (outputFormat) {
+            case PDF -> MediaType.APPLICATION_PDF;
+            case XLS, XLSX -> MediaType.parseMediaType("application/vnd.ms-excel");
+            case CSV -> MediaType.TEXT_PLAIN;
+        };
     }
 
     /*@PostMapping("/generate/dvtest")
@@ -0,0 +1,22 @@
+package com.ibosng.gatewayservice.dtos;
+
+import com.ibosng.gatewayservice.enums.ReportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReportJobDto {
+
+    String id;
+    String reportName;
+    String outputFormat;
+    ReportJobStatus status;
+    String fileName;
+    String message;
+    String createdBy;
+    // epoch millis of the last sign of life of the instance generating the report
+    long heartbeatAt;
+}
@@ -0,0 +1,99 @@
+package com.ibosng.gatewayservice.dtos.response;
+
+import com.ibosng.gatewayservice.enums.ReportOutputFormat;
+import lombok.AccessLevel;
+import lombok.Getter;
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JRVirtualizer;
+import net.sf.jasperreports.engine.JasperExportManager;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.engine.export.JRCsvExporter;
+import net.sf.jasperreports.engine.export.ooxml.JRXlsxExporter;
+import net.sf.jasperreports.export.SimpleExporterInput;
+import net.sf.jasperreports.export.SimpleOutputStreamExporterOutput;
+import net.sf.jasperreports.export.SimpleWriterExporterOutput;
+
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A filled report, whose pages may be swapped out to disk by its virtualizer. It is exported straight into the target
+ * stream, with the class loader of its template, and has to be closed afterwards to remove the swap file and hand the
+ * template back. Closing it more than once has no further effect.
+ */
+@Getter
+public class FilledReport implements AutoCloseable {
+
+    private final String reportName;
+    private final ReportOutputFormat outputFormat;
+    private final JasperPrint jasperPrint;
+    @Getter(AccessLevel.NONE)
+    private final JRVirtualizer virtualizer;
+    @Getter(AccessLevel.NONE)
+    private final ClassLoader classLoader;
+    @Getter(AccessLevel.NONE)
+    private final Runnable onClose;
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    public FilledReport(String reportName, ReportOutputFormat outputFormat, JasperPrint jasperPrint, JRVirtualizer virtualizer,
+                        ClassLoader classLoader, Runnable onClose) {
+        this.reportName = reportName;
+        this.outputFormat = outputFormat;
+        this.jasperPrint = jasperPrint;
+        this.virtualizer = virtualizer;
+        this.classLoader = classLoader;
+        this.onClose = onClose;
+    }
+
+    public String getFileName() {
+        return reportName + "." + outputFormat.getValue();
+    }
+
+    public void writeTo(OutputStream outputStream) throws JRException {
+        ClassLoader originalClassLoader = Thread.currentThread().getContextClassLoader();
+        try {
+            // images and fonts of the template are resolved while exporting
+            if (classLoader != null) {
+                Thread.currentThread().setContextClassLoader(classLoader);
+            }
+            export(outputStream);
+        } finally {
+            Thread.currentThread().setContextClassLoader(originalClassLoader);
+        }
+    }
+
+    private void export(OutputStream outputStream) throws JRException {
+        switch (outputFormat) {
+            case PDF -> JasperExportManager.exportReportToPdfStream(jasperPrint, outputStream);
+            case XLS, XLSX -> {
+                JRXlsxExporter exporter = new JRXlsxExporter();
+                exporter.setExporterInput(new SimpleExporterInput(jasperPrint));
+                exporter.setExporterOutput(new SimpleOutputStreamExporterOutput(outputStream));
+                exporter.exportReport();
+            }
+            case CSV -> {
+                JRCsvExporter exporter = new JRCsvExporter();
+                exporter.setExporterInput(new SimpleExporterInput(jasperPrint));
+                exporter.setExporterOutput(new SimpleWriterExporterOutput(outputStream));
+                exporter.exportReport();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (virtualizer != null) {
+                virtualizer.cleanup();
+            }
+        } finally {
+            if (onClose != null) {
+                onClose.run();
+            }
+        }
+    }
+}
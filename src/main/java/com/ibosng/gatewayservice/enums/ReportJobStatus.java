@@ -0,0 +1,5 @@
+package com.ibosng.gatewayservice.enums;
+
+public enum ReportJobStatus {
+    QUEUED, RUNNING, DONE, FAILED
+}
@@ -0,0 +1,50 @@
+package com.ibosng.gatewayservice.security;
+
+import com.ibosng.dbservice.entities.Benutzer;
+import io.jsonwebtoken.Claims;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The authenticated caller of one HTTP request, resolved once by the {@link com.ibosng.gatewayservice.config.JwtFilter}
+ * from the verified bearer token. The functions are only resolved when first asked for.
+ */
+@Getter
+public final class AuthContext {
+
+    private final String token;
+    private final Claims claims;
+    private final Benutzer benutzer;
+    private final Integer benutzerId;
+    private final String personalnummer;
+    @Getter(AccessLevel.NONE)
+    private final Supplier<List<String>> functionsLoader;
+    @Getter(AccessLevel.NONE)
+    private volatile List<String> functions;
+
+    public AuthContext(String token, Claims claims, Benutzer benutzer, Supplier<List<String>> functionsLoader) {
+        this.token = token;
+        this.claims = claims;
+        this.benutzer = benutzer;
+        this.benutzerId = benutzer != null ? benutzer.getId() : null;
+        this.personalnummer = benutzer != null && benutzer.getPersonalnummer() != null
+                ? benutzer.getPersonalnummer().getPersonalnummer() : null;
+        this.functionsLoader = functionsLoader;
+    }
+
+    public List<String> getFunctions() {
+        List<String> loaded = functions;
+        if (loaded == null) {
+            loaded = List.copyOf(functionsLoader.get());
+            functions = loaded;
+        }
+        return loaded;
+    }
+
+    public boolean isFor(String token) {
+        return this.token.equals(token);
+    }
+}
@@ -0,0 +1,39 @@
+package com.ibosng.gatewayservice.security;
+
+import jakarta.servlet.ServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Keeps the {@link AuthContext} as attribute of the current request, so it lives exactly as long as the request and
+ * is carried into async tasks together with the request attributes by the {@code contextCopyingDecorator}.
+ */
+@Component
+public class AuthContextHolder {
+
+    private static final String ATTRIBUTE = AuthContext.class.getName();
+
+    public void set(ServletRequest request, AuthContext authContext) {
+        request.setAttribute(ATTRIBUTE, authContext);
+    }
+
+    /**
+     * Returns the context of the current request, or null outside of a request or for unauthenticated requests.
+     */
+    public AuthContext current() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+        return (AuthContext) requestAttributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /**
+     * Returns the context of the current request if it was resolved from the token.
+     */
+    public AuthContext currentFor(String token) {
+        AuthContext authContext = current();
+        return authContext != null && token != null && authContext.isFor(token) ? authContext : null;
+    }
+}
@@ -2,6 +2,7 @@ package com.ibosng.gatewayservice.services;
 
 import com.ibosng.dbservice.entities.Benutzer;
 import com.ibosng.gatewayservice.dtos.user.UserDetailsDto;
+import com.ibosng.gatewayservice.security.AuthContext;
 import io.jsonwebtoken.Claims;
 import org.springframework.http.ResponseEntity;
 
@@ -10,6 +11,7 @@ import java.util.List;
 public interface BenutzerDetailsService {
     ResponseEntity<UserDetailsDto> getUserDetailsReponse(String token);
     Benutzer getUserFromToken(String token);
+    AuthContext createAuthContext(String token, Claims claims);
     boolean isUserEligible(String token, List<String> functions);
     boolean isUserEligible(Benutzer benutzer, List<String> functions);
 
@@ -2,12 +2,29 @@ package com.ibosng.gatewayservice.services;
 
 import com.ibosng.dbservice.dtos.zeiterfassung.export.PruefungCsvDto;
 import com.ibosng.dbservice.dtos.zeiterfassung.export.PruefungXlsxDto;
-import com.ibosng.gatewayservice.dtos.response.ReportResponse;
 
-import java.util.List;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
 
 public interface FileExportService {
 
-    ReportResponse exportToCsv(List<PruefungCsvDto> pruefungCsvDtos);
-    ReportResponse exportToXlsx(List<PruefungXlsxDto> pruefungCsvDtos);
+    /**
+     * Writes the rows of an export straight to an output stream. Closing the writer finishes the file, the output
+     * stream itself is left open.
+     */
+    interface RowWriter<T> extends Closeable {
+        void write(T row) throws IOException;
+    }
+
+    String getCsvFileName(PruefungCsvDto firstRow);
+
+    String getXlsxFileName(PruefungXlsxDto firstRow);
+
+    RowWriter<PruefungCsvDto> createCsvWriter(OutputStream outputStream) throws IOException;
+
+    /**
+     * The rows are kept on disk while writing, only a small window of them is held in memory.
+     */
+    RowWriter<PruefungXlsxDto> createXlsxWriter(OutputStream outputStream);
 }
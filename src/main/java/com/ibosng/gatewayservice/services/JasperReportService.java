@@ -3,6 +3,7 @@ package com.ibosng.gatewayservice.services;
 import com.ibosng.dbservice.dtos.ReportDto;
 import com.ibosng.dbservice.entities.reports.ReportType;
 import com.ibosng.gatewayservice.dtos.ReportRequestDto;
+import com.ibosng.gatewayservice.dtos.response.FilledReport;
 import com.ibosng.gatewayservice.dtos.response.PayloadResponse;
 import com.ibosng.gatewayservice.dtos.response.ReportResponse;
 import org.springframework.web.multipart.MultipartFile;
@@ -16,6 +17,12 @@ public interface JasperReportService {
 
     ReportResponse generateReport(ReportRequestDto reportRequestDto);
 
+    /**
+     * Fills the report without exporting it, returns null if it could not be filled. The caller writes the report
+     * into its target stream and closes it.
+     */
+    FilledReport fillReport(ReportRequestDto reportRequestDto);
+
     PayloadResponse getReportParameters(String reportName);
 
     PayloadResponse createReport(ReportDto reportDto, String createdBy);
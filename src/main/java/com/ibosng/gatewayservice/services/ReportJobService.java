@@ -0,0 +1,24 @@
+package com.ibosng.gatewayservice.services;
+
+import com.ibosng.gatewayservice.dtos.ReportJobDto;
+import com.ibosng.gatewayservice.dtos.ReportRequestDto;
+
+import java.io.InputStream;
+
+public interface ReportJobService {
+
+    /**
+     * Queues the generation of the report, returns null if the queue is full.
+     */
+    ReportJobDto submit(ReportRequestDto reportRequestDto);
+
+    /**
+     * Returns the job, or null if it is unknown or expired.
+     */
+    ReportJobDto getJob(String jobId);
+
+    /**
+     * Returns the generated report of a {@link com.ibosng.gatewayservice.enums.ReportJobStatus#DONE} job.
+     */
+    InputStream download(ReportJobDto job);
+}
@@ -18,12 +18,23 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface Teilnehmerservice {
 
-    List<PruefungCsvDto> getTeilnehmerPruefungListCsv(String identifiersString, String seminarName, String projektName, boolean isActive, Boolean isUebaTeilnehmer, boolean isAngemeldet, String geschlecht, String sortProperty, String sortDirection);
+    /**
+     * The first row of the Prüfungsliste, {@code null} if no Teilnehmer matches the filters.
+     */
+    PruefungCsvDto findFirstTeilnehmerPruefungCsv(String identifiersString, String seminarName, String projektName, boolean isActive, Boolean isUebaTeilnehmer, boolean isAngemeldet, String geschlecht, String sortProperty, String sortDirection);
 
-    List<PruefungXlsxDto> getTeilnehmerPruefungListXlsx(String identifiersString, String seminarName, String projektName, boolean isActive, Boolean isUebaTeilnehmer, boolean isAngemeldet, String geschlecht, String sortProperty, String sortDirection);
+    /**
+     * Passes the rows of the Prüfungsliste to the consumer as they are read, without collecting them.
+     */
+    void streamTeilnehmerPruefungListCsv(String identifiersString, String seminarName, String projektName, boolean isActive, Boolean isUebaTeilnehmer, boolean isAngemeldet, String geschlecht, String sortProperty, String sortDirection, Consumer<PruefungCsvDto> consumer);
+
+    PruefungXlsxDto findFirstTeilnehmerPruefungXlsx(String identifiersString, String seminarName, String projektName, boolean isActive, Boolean isUebaTeilnehmer, boolean isAngemeldet, String geschlecht, String sortProperty, String sortDirection);
+
+    void streamTeilnehmerPruefungListXlsx(String identifiersString, String seminarName, String projektName, boolean isActive, Boolean isUebaTeilnehmer, boolean isAngemeldet, String geschlecht, String sortProperty, String sortDirection, Consumer<PruefungXlsxDto> consumer);
 
     PayloadResponse getTeilnehmerFilterSummaryDto(String identifiersString, String seminarName, String projektName, Boolean isActive, Boolean isUebaTeilnehmer, Boolean isAngemeldet, String geschlecht, Boolean isFehlerhaft, String massnahmennummer, Integer benutzerId, String sortProperty, String sortDirection, int page, int size);
 
@@ -6,6 +6,7 @@ import io.jsonwebtoken.JwtException;
 
 public interface TokenValidatorService {
     boolean isTokenValid(String token) throws JwtException;
+    Claims validateSession(String token) throws JwtException;
     Claims getClaimsFromJwt(String jwt);
     Benutzer createUserIfNotExists(Claims tokenClaims);
 }
@@ -5,9 +5,10 @@ import com.ibosng.dbservice.entities.masterdata.Personalnummer;
 import com.ibosng.dbservice.entities.mitarbeiter.MitarbeiterType;
 import com.ibosng.dbservice.services.mitarbeiter.PersonalnummerService;
 import com.ibosng.gatewayservice.dtos.user.UserDetailsDto;
+import com.ibosng.gatewayservice.security.AuthContext;
+import com.ibosng.gatewayservice.security.AuthContextHolder;
 import com.ibosng.gatewayservice.services.BenutzerDetailsService;
 import com.ibosng.gatewayservice.services.TokenValidatorService;
-import com.ibosng.microsoftgraphservice.services.AzureSSOService;
 import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,8 +34,10 @@ public class BenutzerDetailsServiceImpl implements BenutzerDetailsService {
 
     private final com.ibosng.dbservice.services.BenutzerService benutzerService;
     private final TokenValidatorService tokenValidatorService;
-    private final AzureSSOService azureSSOService;
+    private final GroupMembershipCache groupMembershipCache;
     private final PersonalnummerService personalnummerService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AuthContextHolder authContextHolder;
 
     @Override
     public ResponseEntity<UserDetailsDto> getUserDetailsReponse(String token) {
@@ -55,20 +58,50 @@ public class BenutzerDetailsServiceImpl implements BenutzerDetailsService {
 
     @Override
     public Benutzer getUserFromToken(String token) {
-        Claims userClaims = tokenValidatorService.getClaimsFromJwt(token);
-        return benutzerService.getBenutzerByAzureId((String) userClaims.get(OID));
+        AuthContext authContext = authContextHolder.currentFor(token);
+        if (authContext != null && authContext.getBenutzer() != null) {
+            return authContext.getBenutzer();
+        }
+        return resolveBenutzer(token, tokenValidatorService.getClaimsFromJwt(token));
+    }
+
+    @Override
+    public AuthContext createAuthContext(String token, Claims claims) {
+        Benutzer benutzer = resolveBenutzer(token, claims);
+        return new AuthContext(token, claims, benutzer, () -> getUserFunctions(benutzer));
+    }
+
+    private Benutzer resolveBenutzer(String token, Claims userClaims) {
+        VerifiedTokenCache.VerifiedToken verifiedToken = verifiedTokenCache.get(token);
+        if (verifiedToken != null && verifiedToken.benutzerId() != null) {
+            Optional<Benutzer> benutzer = benutzerService.findById(verifiedToken.benutzerId());
+            if (benutzer.isPresent()) {
+                return benutzer.get();
+            }
+        }
+        Benutzer benutzer = benutzerService.getBenutzerByAzureId((String) userClaims.get(OID));
+        if (benutzer != null) {
+            verifiedTokenCache.putBenutzerId(token, benutzer.getId());
+        }
+        return benutzer;
     }
 
     @Override
     public boolean isUserEligible(String token, List<String> functions) {
-        List<String> funktionen = getUserFunctions(getUserFromToken(token));
-        return !Collections.disjoint(funktionen, functions);
+        AuthContext authContext = authContextHolder.currentFor(token);
+        if (authContext != null && authContext.getBenutzer() != null) {
+            return !Collections.disjoint(authContext.getFunctions(), functions);
+        }
+        Benutzer benutzer = getUserFromToken(token);
+        return hasAzureId(benutzer) && groupMembershipCache.hasAny(benutzer.getAzureId(), functions);
     }
 
     @Override
     public boolean isUserEligible(Benutzer benutzer, List<String> functions) {
-        List<String> benutzerFunktionen = getUserFunctions(benutzer);
-        return benutzerFunktionen.containsAll(functions);
+        if (!hasAzureId(benutzer)) {
+            return functions.isEmpty();
+        }
+        return groupMembershipCache.hasAll(benutzer.getAzureId(), functions);
     }
 
     private UserDetailsDto getUserDetails(String token) {
@@ -81,12 +114,16 @@ public class BenutzerDetailsServiceImpl implements BenutzerDetailsService {
     }
 
     private List<String> getUserFunctions(Benutzer user) {
-        if (user != null && !isNullOrBlank(user.getAzureId())) {
-            return azureSSOService.getNestedGroups(user.getAzureId());
+        if (hasAzureId(user)) {
+            return groupMembershipCache.getFunctions(user.getAzureId());
         }
         return new ArrayList<>();
     }
 
+    private static boolean hasAzureId(Benutzer user) {
+        return user != null && !isNullOrBlank(user.getAzureId());
+    }
+
     @Override
     public boolean checkIfUserIsEligibleForMAOrTN(String personalnummerString, String authorizationHeader) {
         Personalnummer personalnummer = personalnummerService.findByPersonalnummer(personalnummerString);
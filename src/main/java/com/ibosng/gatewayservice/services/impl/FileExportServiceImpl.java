@@ -2,111 +2,116 @@ package com.ibosng.gatewayservice.services.impl;
 
 import com.ibosng.dbservice.dtos.zeiterfassung.export.PruefungCsvDto;
 import com.ibosng.dbservice.dtos.zeiterfassung.export.PruefungXlsxDto;
-import com.ibosng.gatewayservice.dtos.response.ReportResponse;
-import com.ibosng.gatewayservice.enums.ReportOutputFormat;
 import com.ibosng.gatewayservice.services.FileExportService;
 import com.opencsv.CSVWriter;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.StringWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 
 @Slf4j
 @Service
 public class FileExportServiceImpl implements FileExportService {
-    @Override
-    public ReportResponse exportToCsv(List<PruefungCsvDto> pruefungCsvDtos) {
-        String currentDate = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy_MM_dd"));
 
-        // CSV header
-        String[] headers = {
-                "Geschlecht", "Nachname", "Vorname", "Strasse", "PLZ", "Ort",
-                "Geburtsdatum", "Telefon", "Email", "Staat", "Herkunft", "Art", "Abrechnung"
-        };
+    private static final String[] CSV_HEADERS = {
+            "Geschlecht", "Nachname", "Vorname", "Strasse", "PLZ", "Ort",
+            "Geburtsdatum", "Telefon", "Email", "Staat", "Herkunft", "Art", "Abrechnung"
+    };
 
-        StringWriter stringWriter = new StringWriter();
-        try (CSVWriter writer = new CSVWriter(stringWriter,
-                ';',
-                CSVWriter.NO_QUOTE_CHARACTER,
-                CSVWriter.DEFAULT_ESCAPE_CHARACTER,
-                CSVWriter.DEFAULT_LINE_END)) {
-
-            // Write header
-            writer.writeNext(headers);
-
-            // Write rows
-            for (PruefungCsvDto dto : pruefungCsvDtos) {
-                String[] row = {
-                        dto.getGeschlecht() != null ? dto.getGeschlecht() : "",
-                        dto.getNachname() != null ? dto.getNachname() : "",
-                        dto.getVorname() != null ? dto.getVorname() : "",
-                        dto.getStrasse() != null ? dto.getStrasse() : "",
-                        dto.getPlz() != null ? dto.getPlz() : "",
-                        dto.getOrt() != null ? dto.getOrt() : "",
-                        dto.getGeburtsdatum() != null ? dto.getGeburtsdatum() : "",
-                        dto.getTelefon() != null ? dto.getTelefon() : "",
-                        dto.getEmail() != null ? dto.getEmail() : "",
-                        dto.getStaat() != null ? dto.getStaat() : "",
-                        dto.getHerkunft() != null ? dto.getHerkunft() : "",
-                        dto.getArt() != null ? dto.getArt() : "",
-                        dto.getAbrechnung() != null ? dto.getAbrechnung() : ""
-                };
-                writer.writeNext(row);
-            }
-        } catch (IOException e) {
-            throw new RuntimeException("Error generating CSV", e);
-        }
+    private static final String[] XLSX_HEADERS = {
+            "Prüfungsstufe", "Titel Vor", "Vorname", "Familienname", "Titel Nach", "Geschlecht",
+            "Geburts-Ort", "Geburts-Land", "Nationalität", "Geburts-Datum",
+            "Prüfer/In Nr 1 schriftlich", "Prüfer/In Nr 2 schriftlich",
+            "Prüfer/In Nr 1 mündlich", "Prüfer/In Nr 2 mündlich",
+            "Modul Lesen", "Modul Hören", "Modul Schreiben", "Modul Sprechen"
+    };
 
-        // Use Byte Order Mark to ensure MS Excel interprets contents as UTF-8 instead of ISO-8859-1
-        final String BOM_CHARACTER = "\uFEFF";
+    // Use Byte Order Mark to ensure MS Excel interprets contents as UTF-8 instead of ISO-8859-1
+    private static final String BOM_CHARACTER = "\uFEFF";
 
-        byte[] csvBytes = (BOM_CHARACTER + stringWriter.toString()).getBytes(StandardCharsets.UTF_8);
+    // rows kept in memory by the XLSX writer, older rows are flushed to a temporary file
+    private static final int XLSX_ROW_WINDOW = 100;
 
-        String fileName =  currentDate + "_PAL_ÖIF_" +pruefungCsvDtos.get(0).getNiveauAndSeminar() ;                  //TODO Set file name properly
+    @Override
+    public String getCsvFileName(PruefungCsvDto firstRow) {
+        return currentDate() + "_PAL_ÖIF_" + firstRow.getNiveauAndSeminar();                  //TODO Set file name properly
+    }
 
-        return new ReportResponse(
-                csvBytes,
-                fileName,
-                ReportOutputFormat.CSV
-        );
+    @Override
+    public String getXlsxFileName(PruefungXlsxDto firstRow) {
+        return currentDate() + "_PAL_ÖSD_" + firstRow.getNiveauAndSeminar();                 //TODO Set file name properly
     }
 
     @Override
-    public ReportResponse exportToXlsx(List<PruefungXlsxDto> pruefungCsvDtos) {
-        String[] HEADERS = {
-                "Prüfungsstufe", "Titel Vor", "Vorname", "Familienname", "Titel Nach", "Geschlecht",
-                "Geburts-Ort", "Geburts-Land", "Nationalität", "Geburts-Datum",
-                "Prüfer/In Nr 1 schriftlich", "Prüfer/In Nr 2 schriftlich",
-                "Prüfer/In Nr 1 mündlich", "Prüfer/In Nr 2 mündlich",
-                "Modul Lesen", "Modul Hören", "Modul Schreiben", "Modul Sprechen"
+    public RowWriter<PruefungCsvDto> createCsvWriter(OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(BOM_CHARACTER);
+        CSVWriter csvWriter = new CSVWriter(writer,
+                ';',
+                CSVWriter.NO_QUOTE_CHARACTER,
+                CSVWriter.DEFAULT_ESCAPE_CHARACTER,
+                CSVWriter.DEFAULT_LINE_END);
+        csvWriter.writeNext(CSV_HEADERS);
+
+        return new RowWriter<>() {
+            @Override
+            public void write(PruefungCsvDto dto) throws IOException {
+                csvWriter.writeNext(new String[]{
+                        valueOrEmpty(dto.getGeschlecht()),
+                        valueOrEmpty(dto.getNachname()),
+                        valueOrEmpty(dto.getVorname()),
+                        valueOrEmpty(dto.getStrasse()),
+                        valueOrEmpty(dto.getPlz()),
+                        valueOrEmpty(dto.getOrt()),
+                        valueOrEmpty(dto.getGeburtsdatum()),
+                        valueOrEmpty(dto.getTelefon()),
+                        valueOrEmpty(dto.getEmail()),
+                        valueOrEmpty(dto.getStaat()),
+                        valueOrEmpty(dto.getHerkunft()),
+                        valueOrEmpty(dto.getArt()),
+                        valueOrEmpty(dto.getAbrechnung())
+                });
+                // the writer does not throw, a closed connection would only show when finishing the file
+                if (csvWriter.getException() != null) {
+                    throw new IOException("Error writing CSV", csvWriter.getException());
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                csvWriter.flush();
+            }
         };
+    }
 
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Pruefungen");
+    @Override
+    public RowWriter<PruefungXlsxDto> createXlsxWriter(OutputStream outputStream) {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW);
+        SXSSFSheet sheet = workbook.createSheet("Pruefungen");
+        // the column widths are tracked while the rows are flushed, so the columns can still be autosized
+        sheet.trackAllColumnsForAutoSizing();
+
+        Row headerRow = sheet.createRow(0);
+        for (int i = 0; i < XLSX_HEADERS.length; i++) {
+            headerRow.createCell(i).setCellValue(XLSX_HEADERS[i]);
+        }
 
-            // Create header row
-            Row headerRow = sheet.createRow(0);
-            for (int i = 0; i < HEADERS.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(HEADERS[i]);
-            }
+        return new RowWriter<>() {
+            private int rowIdx = 1;
 
-            // Populate data rows
-            int rowIdx = 1;
-            for (PruefungXlsxDto dto : pruefungCsvDtos) {
+            @Override
+            public void write(PruefungXlsxDto dto) {
                 Row row = sheet.createRow(rowIdx++);
-
                 row.createCell(0).setCellValue(dto.getPruefungsstufe());
                 row.createCell(1).setCellValue(dto.getTitelVor());
                 row.createCell(2).setCellValue(dto.getVorname());
@@ -127,23 +132,26 @@ public class FileExportServiceImpl implements FileExportService {
                 row.createCell(17).setCellValue(dto.getModulSprechen());
             }
 
-            // Autosize columns
-            for (int i = 0; i < HEADERS.length; i++) {
-                sheet.autoSizeColumn(i);
+            @Override
+            public void close() throws IOException {
+                try {
+                    for (int i = 0; i < XLSX_HEADERS.length; i++) {
+                        sheet.autoSizeColumn(i);
+                    }
+                    workbook.write(outputStream);
+                } finally {
+                    workbook.close();
+                    workbook.dispose();
+                }
             }
-            String currentDate = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy_MM_dd"));
-
-            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-            workbook.write(byteArrayOutputStream);
-            byte[] xlsxBytes = byteArrayOutputStream.toByteArray();
-            String fileName =  currentDate + "_PAL_ÖSD_" + pruefungCsvDtos.get(0).getNiveauAndSeminar();                 //TODO Set file name properly
-            return new ReportResponse(
-                    xlsxBytes,
-                    fileName,
-                    ReportOutputFormat.XLSX
-            );
-        } catch (IOException e) {
-            throw new RuntimeException("Error generating XLSX", e);
-        }
+        };
+    }
+
+    private static String currentDate() {
+        return LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy_MM_dd"));
+    }
+
+    private static String valueOrEmpty(String value) {
+        return value != null ? value : "";
     }
 }
@@ -0,0 +1,258 @@
+package com.ibosng.gatewayservice.services.impl;
+
+import com.ibosng.microsoftgraphservice.services.AzureSSOService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The {@code FN_*} functions of the users, as resolved from their nested Azure groups, so that role checks do not
+ * page through {@code transitiveMemberOf} on every request.
+ * <p>
+ * Each user's functions are kept as a bitset over the function names seen so far. Memberships are shared through
+ * Redis for <b>groupMembershipTtlSeconds</b>. Once older than <b>groupMembershipRefreshSeconds</b> they are reloaded
+ * in the background while the known functions are still used. An invalidation drops the memberships in Redis and,
+ * through a Redis topic, on every instance.
+ */
+@Slf4j
+@Component
+public class GroupMembershipCache {
+
+    static final String KEY_PREFIX = "gateway:groupMembership:";
+    static final String INVALIDATION_TOPIC = "gateway:groupMembershipInvalidations";
+    private static final String ALL_USERS = "*";
+
+    private record Membership(BitSet functions, Instant loadedAt) {
+    }
+
+    private final Map<String, Integer> functionIndexes = new ConcurrentHashMap<>();
+    private final List<String> functionNames = new CopyOnWriteArrayList<>();
+    private final Map<String, Membership> memberships = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final AzureSSOService azureSSOService;
+    private final RedissonClient redissonClient;
+    private final Duration ttl;
+    private final Duration refreshAfter;
+    private final Clock clock;
+    private final Executor refreshExecutor;
+
+    public GroupMembershipCache(AzureSSOService azureSSOService,
+                                RedissonClient redissonClient,
+                                @Value("${groupMembershipTtlSeconds:900}") long ttlSeconds,
+                                @Value("${groupMembershipRefreshSeconds:600}") long refreshSeconds) {
+        this(azureSSOService, redissonClient, ttlSeconds, refreshSeconds, Clock.systemUTC(),
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "group-membership-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    GroupMembershipCache(AzureSSOService azureSSOService, RedissonClient redissonClient, long ttlSeconds,
+                         long refreshSeconds, Clock clock, Executor refreshExecutor) {
+        this.azureSSOService = azureSSOService;
+        this.redissonClient = redissonClient;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.refreshAfter = Duration.ofSeconds(Math.min(refreshSeconds, ttlSeconds));
+        this.clock = clock;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        try {
+            redissonClient.getTopic(INVALIDATION_TOPIC).addListener(String.class, (channel, azureId) -> removeLocal(azureId));
+        } catch (Exception e) {
+            log.error("Subscribing to group membership invalidations failed, memberships invalidated on other instances stay cached until they expire", e);
+        }
+    }
+
+    @PreDestroy
+    public void stopRefreshExecutor() {
+        if (refreshExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    public List<String> getFunctions(String azureId) {
+        BitSet functions = lookup(azureId);
+        List<String> names = new ArrayList<>(functions.cardinality());
+        functions.stream().forEach(index -> names.add(functionNames.get(index)));
+        return names;
+    }
+
+    /**
+     * Whether the user has at least one of the functions.
+     */
+    public boolean hasAny(String azureId, Collection<String> functions) {
+        BitSet granted = lookup(azureId);
+        for (String function : functions) {
+            Integer index = functionIndexes.get(function);
+            if (index != null && granted.get(index)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether the user has all of the functions.
+     */
+    public boolean hasAll(String azureId, Collection<String> functions) {
+        BitSet granted = lookup(azureId);
+        for (String function : functions) {
+            Integer index = functionIndexes.get(function);
+            if (index == null || !granted.get(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Drops the memberships of the user on all instances, so that changed groups apply on the next request.
+     */
+    public void invalidate(String azureId) {
+        removeLocal(azureId);
+        try {
+            redissonClient.getBucket(KEY_PREFIX + azureId).delete();
+            redissonClient.getTopic(INVALIDATION_TOPIC).publish(azureId);
+        } catch (Exception e) {
+            log.error("Invalidating the group memberships of {} failed", azureId, e);
+        }
+    }
+
+    /**
+     * Drops the memberships of all users on all instances.
+     */
+    public void invalidateAll() {
+        removeLocal(ALL_USERS);
+        try {
+            redissonClient.getKeys().deleteByPattern(KEY_PREFIX + "*");
+            redissonClient.getTopic(INVALIDATION_TOPIC).publish(ALL_USERS);
+        } catch (Exception e) {
+            log.error("Invalidating all group memberships failed", e);
+        }
+    }
+
+    private BitSet lookup(String azureId) {
+        Instant now = clock.instant();
+        Membership membership = memberships.get(azureId);
+        if (membership == null || isExpired(membership, now)) {
+            membership = loadShared(azureId, now);
+        }
+        if (membership == null) {
+            membership = loadFromAzure(azureId);
+        } else if (!now.isBefore(membership.loadedAt().plus(refreshAfter))) {
+            refreshInBackground(azureId);
+        }
+        return membership.functions();
+    }
+
+    private void refreshInBackground(String azureId) {
+        if (!refreshing.add(azureId)) {
+            return;
+        }
+        refreshExecutor.execute(() -> {
+            try {
+                // another instance may have refreshed the membership already
+                Membership shared = loadShared(azureId, clock.instant());
+                if (shared == null || !clock.instant().isBefore(shared.loadedAt().plus(refreshAfter))) {
+                    loadFromAzure(azureId);
+                }
+            } catch (Exception e) {
+                log.warn("Refreshing the group memberships of {} failed, keeping the known ones: {}", azureId, e.getMessage());
+            } finally {
+                refreshing.remove(azureId);
+            }
+        });
+    }
+
+    private Membership loadShared(String azureId, Instant now) {
+        String value;
+        try {
+            RBucket<String> bucket = redissonClient.getBucket(KEY_PREFIX + azureId);
+            value = bucket.get();
+        } catch (Exception e) {
+            log.warn("Reading the group memberships of {} from Redis failed: {}", azureId, e.getMessage());
+            return null;
+        }
+        if (value == null) {
+            return null;
+        }
+        int separator = value.indexOf(';');
+        Instant loadedAt = Instant.ofEpochMilli(Long.parseLong(value.substring(0, separator)));
+        String names = value.substring(separator + 1);
+        Membership membership = new Membership(encode(names.isEmpty() ? List.of() : List.of(names.split(","))), loadedAt);
+        if (isExpired(membership, now)) {
+            return null;
+        }
+        memberships.put(azureId, membership);
+        return membership;
+    }
+
+    private Membership loadFromAzure(String azureId) {
+        List<String> functions = azureSSOService.getNestedGroups(azureId);
+        Membership membership = new Membership(encode(functions), clock.instant());
+        memberships.put(azureId, membership);
+        try {
+            RBucket<String> bucket = redissonClient.getBucket(KEY_PREFIX + azureId);
+            bucket.set(membership.loadedAt().toEpochMilli() + ";" + String.join(",", functions), ttl);
+        } catch (Exception e) {
+            log.warn("Sharing the group memberships of {} through Redis failed: {}", azureId, e.getMessage());
+        }
+        return membership;
+    }
+
+    private BitSet encode(Collection<String> functions) {
+        BitSet bits = new BitSet();
+        for (String function : functions) {
+            bits.set(indexOf(function));
+        }
+        return bits;
+    }
+
+    private int indexOf(String function) {
+        Integer index = functionIndexes.get(function);
+        if (index != null) {
+            return index;
+        }
+        synchronized (functionNames) {
+            return functionIndexes.computeIfAbsent(function, name -> {
+                functionNames.add(name);
+                return functionNames.size() - 1;
+            });
+        }
+    }
+
+    private boolean isExpired(Membership membership, Instant now) {
+        return !now.isBefore(membership.loadedAt().plus(ttl));
+    }
+
+    private void removeLocal(String azureId) {
+        if (ALL_USERS.equals(azureId)) {
+            memberships.clear();
+        } else {
+            memberships.remove(azureId);
+        }
+    }
+}
@@ -24,6 +24,7 @@ import com.ibosng.dbservice.services.mitarbeiter.StammdatenService;
 import com.ibosng.dbservice.services.mitarbeiter.VertragsdatenService;
 import com.ibosng.dbservice.utils.Mappers;
 import com.ibosng.gatewayservice.dtos.ReportRequestDto;
+import com.ibosng.gatewayservice.dtos.response.FilledReport;
 import com.ibosng.gatewayservice.dtos.response.PayloadResponse;
 import com.ibosng.gatewayservice.dtos.response.PayloadTypeList;
 import com.ibosng.gatewayservice.dtos.response.ReportResponse;
@@ -41,11 +42,8 @@ import com.ibosng.workflowservice.services.WFStartService;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.jasperreports.engine.*;
-import net.sf.jasperreports.engine.export.JRCsvExporter;
-import net.sf.jasperreports.engine.export.ooxml.JRXlsxExporter;
-import net.sf.jasperreports.export.SimpleExporterInput;
-import net.sf.jasperreports.export.SimpleOutputStreamExporterOutput;
-import net.sf.jasperreports.export.SimpleWriterExporterOutput;
+import net.sf.jasperreports.engine.fill.JRSwapFileVirtualizer;
+import net.sf.jasperreports.engine.util.JRSwapFile;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.datasource.DataSourceUtils;
@@ -115,6 +113,15 @@ public class JasperReportServiceImpl implements JasperReportService {
 
     private final WFStartService wfStartService;
 
+    private final JasperTemplateStore jasperTemplateStore;
+
+    @Value("${jasperVirtualizerMaxPages:100}")
+    private int jasperVirtualizerMaxPages;
+
+    @Getter
+    @Value("${jasperSwapDirectory:${java.io.tmpdir}}")
+    private String jasperSwapDirectory;
+
     public JasperReportServiceImpl(@Qualifier("mariaDbDataSource") DataSource mariaDbDataSource,
                                    @Qualifier("postgresDataSource") DataSource postgresDataSource,
                                    @Qualifier("lhrDataSource") DataSource lhrDataSource,
@@ -132,7 +139,8 @@ public class JasperReportServiceImpl implements JasperReportService {
                                    WorkflowHelperService workflowHelperService,
                                    ManageWFItemsService manageWFItemsService,
                                    BenutzerDetailsService benutzerDetailsService,
-                                   WFStartService wfStartService) {
+                                   WFStartService wfStartService,
+                                   JasperTemplateStore jasperTemplateStore) {
         this.mariaDbDataSource = mariaDbDataSource;
         this.postgresDataSource = postgresDataSource;
         this.lhrDataSource = lhrDataSource;
@@ -151,6 +159,7 @@ public class JasperReportServiceImpl implements JasperReportService {
         this.manageWFItemsService = manageWFItemsService;
         this.benutzerDetailsService = benutzerDetailsService;
         this.wfStartService = wfStartService;
+        this.jasperTemplateStore = jasperTemplateStore;
     }
 
     @Override
@@ -164,6 +173,7 @@ public class JasperReportServiceImpl implements JasperReportService {
             report.setSourcePath(blobName);
             report.setReportName(reportName);
             reportService.save(report);
+            jasperTemplateStore.invalidate(reportName);
         }
     }
 
@@ -282,6 +292,30 @@ public class JasperReportServiceImpl implements JasperReportService {
 
     @Override
     public ReportResponse generateReport(ReportRequestDto reportRequestDto) {
+        try (FilledReport filledReport = fillReport(reportRequestDto)) {
+            if (filledReport == null) {
+                return null;
+            }
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            filledReport.writeTo(outputStream);
+            log.debug("Report exported to {}.", filledReport.getOutputFormat());
+
+            byte[] reportBytes = outputStream.toByteArray();
+            log.info("Report generation successful. Report size: {} bytes", reportBytes.length);
+
+            ReportResponse reportResponse = new ReportResponse();
+            reportResponse.setReportBytes(reportBytes);
+            reportResponse.setReportName(reportRequestDto.getReportName());
+            reportResponse.setOutputFormat(filledReport.getOutputFormat());
+            return reportResponse;
+        } catch (Exception e) {
+            log.error("Error generating report: " + e.getMessage(), e);
+        }
+        return null;
+    }
+
+    @Override
+    public FilledReport fillReport(ReportRequestDto reportRequestDto) {
         log.info("Generating report: {}", reportRequestDto.getReportName());
 
         Report report = reportService.findByReportName(reportRequestDto.getReportName());
@@ -306,32 +340,17 @@ public class JasperReportServiceImpl implements JasperReportService {
 
         log.debug("Report output format: {}", outputFormat);
 
-        String shareName = "reports";
-        String remoteDirectory = report.getSourcePath();
-        Path tempDir;
-        Connection connection = DataSourceUtils.getConnection(selectedDataSource);
-        log.debug("Database connection established.");
-
+        JasperTemplateStore.CompiledTemplate template;
+        try {
+            template = jasperTemplateStore.acquire(report);
+        } catch (Exception e) {
+            log.error("Error loading report template: " + e.getMessage(), e);
+            return null;
+        }
+        log.debug("Jasper report {} ready ({}).", report.getReportName(), template.contentHash());
+        // on success the template is handed back when the filled report is closed, after it was exported
+        boolean filled = false;
         try {
-
-            tempDir = Files.createTempDirectory("jasperReports");
-            log.debug("Temporary directory created: {}", tempDir);
-
-            fileShareService.downloadFiles(remoteDirectory, tempDir, shareName);
-            log.debug("Report files downloaded from remote directory: {}", remoteDirectory);
-
-            ClassLoader originalClassLoader = Thread.currentThread().getContextClassLoader();
-            ClassLoader newClassLoader = addFolderToClasspath(Thread.currentThread().getContextClassLoader(), tempDir);
-            Thread.currentThread().setContextClassLoader(newClassLoader);
-            log.debug("ClassLoader updated for report compilation.");
-
-            Path reportFile = tempDir.resolve(report.getMainReportFile());
-            InputStream inputStream = Files.newInputStream(reportFile);
-            log.debug("Report file loaded: {}", reportFile);
-
-            JasperReport jasperReport = JasperCompileManager.compileReport(inputStream);
-            log.debug("Jasper report compiled successfully.");
-
             Map<String, Object> parameters = new HashMap<>();
             if (reportRequestDto.getReportParameters() != null) {
                 for (ReportParameterDto param : reportRequestDto.getReportParameters()) {
@@ -339,52 +358,37 @@ public class JasperReportServiceImpl implements JasperReportService {
                 }
                 log.debug("Report parameters mapped: {}", parameters.keySet());
             }
+            // Keeps at most jasperVirtualizerMaxPages pages in memory and swaps the others out to disk
+            JRSwapFileVirtualizer virtualizer = new JRSwapFileVirtualizer(jasperVirtualizerMaxPages,
+                    new JRSwapFile(getJasperSwapDirectory(), 4096, 100), true);
+            parameters.put(JRParameter.REPORT_VIRTUALIZER, virtualizer);
 
-            JasperPrint jasperPrint = JasperFillManager.fillReport(jasperReport, parameters, connection);
-            log.debug("Jasper report filled with data.");
+            Connection connection = DataSourceUtils.getConnection(selectedDataSource);
+            log.debug("Database connection established.");
 
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            switch (outputFormat) {
-                case PDF -> {
-                    JasperExportManager.exportReportToPdfStream(jasperPrint, outputStream);
-                    log.debug("Report exported to PDF.");
-                }
-                case XLS, XLSX -> {
-                    JRXlsxExporter exporter = new JRXlsxExporter();
-                    exporter.setExporterInput(new SimpleExporterInput(jasperPrint));
-                    exporter.setExporterOutput(new SimpleOutputStreamExporterOutput(outputStream));
-                    exporter.exportReport();
-                    log.debug("Report exported to Excel.");
-                }
-                case CSV -> {
-                    JRCsvExporter exporter = new JRCsvExporter();
-                    exporter.setExporterInput(new SimpleExporterInput(jasperPrint));
-                    exporter.setExporterOutput(new SimpleWriterExporterOutput(outputStream));
-                    exporter.exportReport();
-                    log.debug("Report exported to CSV.");
-                }
+            ClassLoader originalClassLoader = Thread.currentThread().getContextClassLoader();
+            try {
+                // Subreports and resources are loaded from the report's files
+                Thread.currentThread().setContextClassLoader(template.classLoader());
+                JasperPrint jasperPrint = JasperFillManager.fillReport(template.jasperReport(), parameters, connection);
+                virtualizer.setReadOnly(true);
+                log.debug("Jasper report filled with data.");
+                FilledReport filledReport = new FilledReport(reportRequestDto.getReportName(), outputFormat, jasperPrint, virtualizer,
+                        template.classLoader(), () -> jasperTemplateStore.release(template));
+                filled = true;
+                return filledReport;
+            } catch (Exception e) {
+                log.error("Error generating report: " + e.getMessage(), e);
+                virtualizer.cleanup();
+            } finally {
+                Thread.currentThread().setContextClassLoader(originalClassLoader);
+                DataSourceUtils.releaseConnection(connection, selectedDataSource);
+                log.debug("Database connection released.");
             }
-
-            Thread.currentThread().setContextClassLoader(originalClassLoader);
-            cleanUp(tempDir);
-            log.debug("Cleaned up temporary files.");
-
-            byte[] reportBytes = outputStream.toByteArray();
-            log.info("Report generation successful. Report size: {} bytes", reportBytes.length);
-
-            ReportResponse reportResponse = new ReportResponse();
-            reportResponse.setReportBytes(reportBytes);
-            reportResponse.setReportName(reportRequestDto.getReportName());
-            reportResponse.setOutputFormat(outputFormat);
-
-
-            return reportResponse;
-
-        } catch (Exception e) {
-            log.error("Error generating report: " + e.getMessage(), e);
         } finally {
-            DataSourceUtils.releaseConnection(connection, selectedDataSource);
-            log.debug("Database connection released.");
+            if (!filled) {
+                jasperTemplateStore.release(template);
+            }
         }
         return null;
     }
@@ -459,6 +463,7 @@ public class JasperReportServiceImpl implements JasperReportService {
 
         // Save the Report object
         report = reportService.save(report);
+        jasperTemplateStore.invalidate(report.getReportName());
         PayloadTypeList<ReportDto> reportDtoPayloadType = new PayloadTypeList<>(PayloadTypes.REPORT.getValue());
 
         reportDtoPayloadType.setAttributes(Collections.singletonList(mapReportToDto(report)));
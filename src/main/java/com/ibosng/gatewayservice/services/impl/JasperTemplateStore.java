@@ -0,0 +1,411 @@
+package com.ibosng.gatewayservice.services.impl;
+
+import com.ibosng.dbservice.entities.reports.Report;
+import com.ibosng.microsoftgraphservice.services.FileShareService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.util.JRLoader;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Compiled Jasper reports, so that a report is only downloaded from the {@code reports} file share and compiled when
+ * its files changed.
+ * <p>
+ * The files of a report are kept in <b>jasperTemplateDirectory</b> under the SHA-256 of their content, together with
+ * the compiled main report, and stay on the class path of the report while it is filled, so subreports and resources
+ * are found as before. The files are downloaded again at most every <b>jasperTemplateCheckSeconds</b> and the report
+ * is only recompiled if their hash changed. After a restart, a report whose files did not change is loaded from the
+ * stored {@code .jasper} file instead of being compiled.
+ * <p>
+ * An invalidation makes the next request check the files again, on every instance through a Redis topic. Fills hold
+ * their template between {@link #acquire} and {@link #release}. The fills are counted per version, and the class
+ * loader and files of a replaced version are only removed once no fill uses it anymore, however many versions
+ * replaced it in the meantime.
+ */
+@Slf4j
+@Component
+public class JasperTemplateStore {
+
+    static final String SHARE_NAME = "reports";
+    static final String INVALIDATION_TOPIC = "gateway:jasperTemplateInvalidations";
+
+    public record CompiledTemplate(String contentHash, JasperReport jasperReport, ClassLoader classLoader,
+                                   Instant checkedAt) {
+    }
+
+    /**
+     * The fills using the class loader of a version and whether the version was replaced.
+     */
+    private static final class Usage {
+        private final String reportName;
+        private final String contentHash;
+        private int fills;
+        private boolean replaced;
+
+        private Usage(String reportName, String contentHash) {
+            this.reportName = reportName;
+            this.contentHash = contentHash;
+        }
+    }
+
+    private final Map<String, CompiledTemplate> templates = new ConcurrentHashMap<>();
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+    // guarded by itself
+    private final Map<ClassLoader, Usage> usages = new HashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final FileShareService fileShareService;
+    private final RedissonClient redissonClient;
+    private final Path baseDirectory;
+    private final Duration checkInterval;
+    private final Clock clock;
+
+    public JasperTemplateStore(FileShareService fileShareService,
+                               RedissonClient redissonClient,
+                               @Value("${jasperTemplateDirectory:#{null}}") String jasperTemplateDirectory,
+                               @Value("${jasperTemplateCheckSeconds:600}") long checkSeconds) {
+        this(fileShareService, redissonClient,
+                jasperTemplateDirectory != null
+                        ? Path.of(jasperTemplateDirectory)
+                        : Path.of(System.getProperty("java.io.tmpdir"), "jasperTemplates"),
+                Duration.ofSeconds(checkSeconds), Clock.systemUTC());
+    }
+
+    JasperTemplateStore(FileShareService fileShareService, RedissonClient redissonClient, Path baseDirectory,
+                        Duration checkInterval, Clock clock) {
+        this.fileShareService = fileShareService;
+        this.redissonClient = redissonClient;
+        this.baseDirectory = baseDirectory;
+        this.checkInterval = checkInterval;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        try {
+            redissonClient.getTopic(INVALIDATION_TOPIC).addListener(String.class, (channel, reportName) -> markStale(reportName));
+        } catch (Exception e) {
+            log.error("Subscribing to Jasper template invalidations failed, templates changed on other instances are used until jasperTemplateCheckSeconds passed", e);
+        }
+    }
+
+    /**
+     * Returns the compiled main report of the report for a fill, downloading and compiling it only if its files
+     * changed. The template must be handed back with {@link #release} once the fill is done.
+     */
+    public CompiledTemplate acquire(Report report) throws IOException, JRException {
+        while (true) {
+            CompiledTemplate template = get(report);
+            synchronized (usages) {
+                Usage usage = usages.get(template.classLoader());
+                // the version may have been replaced and closed since it was looked up
+                if (usage != null) {
+                    usage.fills++;
+                    return template;
+                }
+            }
+        }
+    }
+
+    public void release(CompiledTemplate template) {
+        Usage closed = null;
+        synchronized (usages) {
+            Usage usage = usages.get(template.classLoader());
+            if (usage != null) {
+                usage.fills--;
+                closed = closeIfUnused(template.classLoader(), usage) ? usage : null;
+            }
+        }
+        // outside of the usages lock, removing the files takes the lock of the report
+        if (closed != null) {
+            removeVersionFiles(closed.reportName, closed.contentHash);
+        }
+    }
+
+    CompiledTemplate get(Report report) throws IOException, JRException {
+        String reportName = report.getReportName();
+        CompiledTemplate template = templates.get(reportName);
+        if (template != null && isFresh(template)) {
+            return template;
+        }
+        synchronized (locks.computeIfAbsent(reportName, name -> new Object())) {
+            CompiledTemplate previous = templates.get(reportName);
+            if (previous != null && isFresh(previous)) {
+                return previous;
+            }
+            long invalidationsBeforeLoad = invalidations.get();
+            template = load(report, previous);
+            if (invalidations.get() != invalidationsBeforeLoad) {
+                // the files may have been downloaded before they were changed
+                template = new CompiledTemplate(template.contentHash(), template.jasperReport(), template.classLoader(), Instant.EPOCH);
+            }
+            if (previous == null || previous.classLoader() != template.classLoader()) {
+                synchronized (usages) {
+                    usages.put(template.classLoader(), new Usage(reportName, template.contentHash()));
+                }
+            }
+            templates.put(reportName, template);
+            if (previous != null && previous.classLoader() != template.classLoader()) {
+                replaced(previous.classLoader());
+            }
+            return template;
+        }
+    }
+
+    /**
+     * Makes the next request of the report check its files again, on all instances.
+     */
+    public void invalidate(String reportName) {
+        if (reportName == null) {
+            return;
+        }
+        markStale(reportName);
+        try {
+            redissonClient.getTopic(INVALIDATION_TOPIC).publish(reportName);
+        } catch (Exception e) {
+            log.error("Publishing the invalidation of Jasper template {} failed", reportName, e);
+        }
+    }
+
+    /**
+     * Keeps the template, so that its files are only compiled again and its class loader only replaced if they changed.
+     */
+    private void markStale(String reportName) {
+        invalidations.incrementAndGet();
+        templates.computeIfPresent(reportName, (name, template) ->
+                new CompiledTemplate(template.contentHash(), template.jasperReport(), template.classLoader(), Instant.EPOCH));
+    }
+
+    /**
+     * Called with the lock of the report held.
+     */
+    private void replaced(ClassLoader classLoader) {
+        Usage closed = null;
+        synchronized (usages) {
+            Usage usage = usages.get(classLoader);
+            if (usage != null) {
+                usage.replaced = true;
+                closed = closeIfUnused(classLoader, usage) ? usage : null;
+            }
+        }
+        if (closed != null) {
+            removeVersionFiles(closed.reportName, closed.contentHash);
+        }
+    }
+
+    private boolean closeIfUnused(ClassLoader classLoader, Usage usage) {
+        if (!usage.replaced || usage.fills > 0) {
+            return false;
+        }
+        usages.remove(classLoader);
+        close(classLoader);
+        return true;
+    }
+
+    /**
+     * Content hashes of the report whose class loaders are still open.
+     */
+    private Set<String> versionsInUse(String reportName) {
+        synchronized (usages) {
+            Set<String> hashes = new HashSet<>();
+            for (Usage usage : usages.values()) {
+                if (usage.reportName.equals(reportName)) {
+                    hashes.add(usage.contentHash);
+                }
+            }
+            return hashes;
+        }
+    }
+
+    /**
+     * Deletes the files of a closed version, unless it is the current one or was loaded again in the meantime. Takes
+     * the lock of the report, so no load can pick up the files while they are deleted.
+     */
+    private void removeVersionFiles(String reportName, String contentHash) {
+        synchronized (locks.computeIfAbsent(reportName, name -> new Object())) {
+            CompiledTemplate current = templates.get(reportName);
+            if ((current != null && current.contentHash().equals(contentHash)) || versionsInUse(reportName).contains(contentHash)) {
+                return;
+            }
+            Path reportDirectory = baseDirectory.resolve(directoryName(reportName));
+            try {
+                Path templateDirectory = reportDirectory.resolve(contentHash);
+                if (Files.isDirectory(templateDirectory)) {
+                    JasperReportServiceImpl.cleanUp(templateDirectory);
+                }
+                Files.deleteIfExists(reportDirectory.resolve(contentHash + ".jasper"));
+            } catch (IOException e) {
+                log.warn("Failed to remove version {} of report {}: {}", contentHash, reportName, e.getMessage());
+            }
+        }
+    }
+
+    private static void close(ClassLoader classLoader) {
+        if (classLoader instanceof URLClassLoader urlClassLoader) {
+            try {
+                urlClassLoader.close();
+            } catch (IOException e) {
+                log.warn("Failed to close the class loader of a Jasper template: {}", e.getMessage());
+            }
+        }
+    }
+
+    private boolean isFresh(CompiledTemplate template) {
+        return clock.instant().isBefore(template.checkedAt().plus(checkInterval));
+    }
+
+    private CompiledTemplate load(Report report, CompiledTemplate previous) throws IOException, JRException {
+        Path reportDirectory = baseDirectory.resolve(directoryName(report.getReportName()));
+        Files.createDirectories(reportDirectory);
+        Path download = Files.createTempDirectory(reportDirectory, "download");
+        try {
+            fileShareService.downloadFiles(report.getSourcePath(), download, SHARE_NAME);
+            String contentHash = contentHash(download);
+            if (previous != null && previous.contentHash().equals(contentHash)) {
+                log.debug("Files of report {} unchanged", report.getReportName());
+                return new CompiledTemplate(contentHash, previous.jasperReport(), previous.classLoader(), clock.instant());
+            }
+
+            Path templateDirectory = reportDirectory.resolve(contentHash);
+            Path compiledReport = reportDirectory.resolve(contentHash + ".jasper");
+            if (!Files.exists(compiledReport) || !Files.isDirectory(templateDirectory)) {
+                if (Files.exists(templateDirectory)) {
+                    JasperReportServiceImpl.cleanUp(templateDirectory);
+                }
+                Files.move(download, templateDirectory);
+            }
+            ClassLoader classLoader = classLoader(templateDirectory);
+
+            JasperReport jasperReport;
+            try {
+                if (Files.exists(compiledReport)) {
+                    jasperReport = (JasperReport) JRLoader.loadObject(compiledReport.toFile());
+                    log.info("Loaded compiled report {} ({})", report.getReportName(), contentHash);
+                } else {
+                    jasperReport = compile(templateDirectory.resolve(report.getMainReportFile()), classLoader);
+                    Path compiling = Files.createTempFile(reportDirectory, contentHash, ".compiling");
+                    JRLoader.saveObject(jasperReport, compiling.toFile());
+                    Files.move(compiling, compiledReport, StandardCopyOption.REPLACE_EXISTING);
+                    log.info("Compiled report {} ({})", report.getReportName(), contentHash);
+                }
+            } catch (IOException | JRException | RuntimeException e) {
+                close(classLoader);
+                throw e;
+            }
+            removeUnusedVersions(reportDirectory, contentHash, versionsInUse(report.getReportName()));
+            return new CompiledTemplate(contentHash, jasperReport, classLoader, clock.instant());
+        } finally {
+            if (Files.exists(download)) {
+                JasperReportServiceImpl.cleanUp(download);
+            }
+        }
+    }
+
+    private static JasperReport compile(Path mainReportFile, ClassLoader classLoader) throws IOException, JRException {
+        Thread thread = Thread.currentThread();
+        ClassLoader originalClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try (InputStream inputStream = Files.newInputStream(mainReportFile)) {
+            return JasperCompileManager.compileReport(inputStream);
+        } finally {
+            thread.setContextClassLoader(originalClassLoader);
+        }
+    }
+
+    private static ClassLoader classLoader(Path templateDirectory) throws IOException {
+        try {
+            return JasperReportServiceImpl.addFolderToClasspath(JasperTemplateStore.class.getClassLoader(), templateDirectory);
+        } catch (Exception e) {
+            throw new IOException("Failed to add " + templateDirectory + " to the class path", e);
+        }
+    }
+
+    /**
+     * Removes the versions left over from earlier runs, keeping the current one and all versions whose class loader
+     * is still open.
+     */
+    private static void removeUnusedVersions(Path reportDirectory, String contentHash, Set<String> hashesInUse) {
+        Set<String> kept = new HashSet<>();
+        for (String hash : hashesInUse) {
+            kept.add(hash);
+            kept.add(hash + ".jasper");
+        }
+        kept.add(contentHash);
+        kept.add(contentHash + ".jasper");
+        try (Stream<Path> entries = Files.list(reportDirectory)) {
+            for (Path entry : entries.toList()) {
+                String name = entry.getFileName().toString();
+                if (kept.contains(name) || name.startsWith("download")) {
+                    continue;
+                }
+                if (Files.isDirectory(entry)) {
+                    JasperReportServiceImpl.cleanUp(entry);
+                } else {
+                    Files.deleteIfExists(entry);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to remove old versions in {}: {}", reportDirectory, e.getMessage());
+        }
+    }
+
+    /**
+     * SHA-256 over the relative paths and contents of all files in the directory.
+     */
+    static String contentHash(Path directory) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            files = paths.filter(Files::isRegularFile).sorted().toList();
+        }
+        for (Path file : files) {
+            digest.update(directory.relativize(file).toString().replace('\\', '/').getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String directoryName(String reportName) {
+        // names only differing in replaced characters must not share a directory
+        return reportName.replaceAll("[^A-Za-z0-9._-]", "_") + "-" + Integer.toHexString(reportName.hashCode());
+    }
+}
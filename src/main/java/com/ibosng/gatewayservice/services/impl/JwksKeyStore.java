@@ -0,0 +1,153 @@
+package com.ibosng.gatewayservice.services.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.ibosng.gatewayservice.dtos.JwkResponseDto;
+import com.ibosng.gatewayservice.dtos.OpenIdConfigurationDto;
+import com.ibosng.gatewayservice.services.JwkService;
+import com.ibosng.gatewayservice.services.OpenIdConfigurationService;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Signing keys of the Azure tenant, indexed by their {@code kid}, each with a ready-made parser verifying tokens
+ * signed with it.
+ * <p>
+ * The OpenID configuration and the JWKS are loaded on first use and reloaded every <b>jwksRefreshMillis</b> in the
+ * background. A failed reload keeps the known keys, so a throttled or unreachable Azure does not fail the
+ * validation of tokens. A token with an unknown {@code kid} triggers an immediate reload, shared by all concurrent
+ * callers and done at most once per <b>jwksMinReloadSeconds</b>, so rotated keys are picked up without unknown ids
+ * causing a request to Azure each.
+ */
+@Slf4j
+@Component
+public class JwksKeyStore {
+
+    private record Keys(Map<String, JwtParser> parsers) {
+    }
+
+    private final OpenIdConfigurationService openIdConfigurationService;
+    private final JwkService jwkService;
+    private final String ssoTenantId;
+    private final long clockSkewSeconds;
+    private final long minReloadSeconds;
+    private final Clock clock;
+    private final Object reloadLock = new Object();
+
+    private volatile Keys keys;
+    private Instant lastReload;
+
+    public JwksKeyStore(OpenIdConfigurationService openIdConfigurationService,
+                        JwkService jwkService,
+                        @Value("${ssoTenantId:#{null}}") String ssoTenantId,
+                        @Value("${clockSkewInMilliseconds:5000}") int clockSkewInMilliseconds,
+                        @Value("${jwksMinReloadSeconds:30}") long minReloadSeconds) {
+        this(openIdConfigurationService, jwkService, ssoTenantId, clockSkewInMilliseconds, minReloadSeconds, Clock.systemUTC());
+    }
+
+    JwksKeyStore(OpenIdConfigurationService openIdConfigurationService, JwkService jwkService, String ssoTenantId,
+                 int clockSkewInMilliseconds, long minReloadSeconds, Clock clock) {
+        this.openIdConfigurationService = openIdConfigurationService;
+        this.jwkService = jwkService;
+        this.ssoTenantId = ssoTenantId;
+        this.clockSkewSeconds = clockSkewInMilliseconds / 1000;
+        this.minReloadSeconds = minReloadSeconds;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the parser for tokens signed with the key, or null if the tenant has no such key.
+     */
+    public JwtParser getParser(String kid) {
+        Keys current = keys;
+        if (current == null || !current.parsers().containsKey(kid)) {
+            current = reload(current);
+        }
+        return current.parsers().get(kid);
+    }
+
+    @Scheduled(fixedDelayString = "${jwksRefreshMillis:3600000}", initialDelayString = "${jwksRefreshMillis:3600000}")
+    public void refresh() {
+        synchronized (reloadLock) {
+            try {
+                keys = load();
+                lastReload = clock.instant();
+            } catch (RuntimeException e) {
+                log.warn("Refreshing the JWKS failed, keeping the known keys: {}", e.getMessage());
+            }
+        }
+    }
+
+    private Keys reload(Keys seen) {
+        synchronized (reloadLock) {
+            Keys current = keys;
+            // reloaded by another caller while waiting for the lock
+            if (current != seen) {
+                return current;
+            }
+            Instant now = clock.instant();
+            if (current != null && lastReload != null && now.isBefore(lastReload.plusSeconds(minReloadSeconds))) {
+                return current;
+            }
+            try {
+                current = load();
+                keys = current;
+            } catch (RuntimeException e) {
+                if (current == null) {
+                    throw e;
+                }
+                log.warn("Reloading the JWKS failed, keeping the known keys: {}", e.getMessage());
+            }
+            lastReload = now;
+            return current;
+        }
+    }
+
+    private Keys load() {
+        String metadataUrl = "https://login.microsoftonline.com/" + ssoTenantId + "/v2.0/.well-known/openid-configuration";
+        JwkResponseDto jwkResponseDto;
+        try {
+            OpenIdConfigurationDto openIdConfigurationDto = openIdConfigurationService.getOpenIdConfiguration(metadataUrl);
+            jwkResponseDto = jwkService.getJwk(openIdConfigurationDto.getJwksUri());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to load the JWKS from " + metadataUrl, e);
+        }
+        if (jwkResponseDto == null || jwkResponseDto.getKeys() == null) {
+            throw new RuntimeException("No JWKS returned for " + metadataUrl);
+        }
+
+        Map<String, JwtParser> parsers = new HashMap<>();
+        for (JwkResponseDto.JwkKey jwkKey : jwkResponseDto.getKeys()) {
+            if (jwkKey.getKid() == null) {
+                continue;
+            }
+            try {
+                PublicKey publicKey = computePublicKey(jwkKey);
+                parsers.put(jwkKey.getKid(), Jwts.parser().clockSkewSeconds(clockSkewSeconds).verifyWith(publicKey).build());
+            } catch (Exception e) {
+                log.warn("Skipping JWK with kid {}: {}", jwkKey.getKid(), e.getMessage());
+            }
+        }
+        log.info("Loaded {} signing keys from the JWKS", parsers.size());
+        return new Keys(Map.copyOf(parsers));
+    }
+
+    static PublicKey computePublicKey(JwkResponseDto.JwkKey jwkKey) throws Exception {
+        BigInteger modulus = new BigInteger(1, Base64.getUrlDecoder().decode(jwkKey.getN()));
+        BigInteger exponent = new BigInteger(1, Base64.getUrlDecoder().decode(jwkKey.getE()));
+        return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(modulus, exponent));
+    }
+}
@@ -0,0 +1,239 @@
+package com.ibosng.gatewayservice.services.impl;
+
+import com.ibosng.gatewayservice.dtos.ReportJobDto;
+import com.ibosng.gatewayservice.dtos.ReportRequestDto;
+import com.ibosng.gatewayservice.dtos.response.FilledReport;
+import com.ibosng.gatewayservice.enums.ReportJobStatus;
+import com.ibosng.gatewayservice.services.JasperReportService;
+import com.ibosng.gatewayservice.services.ReportJobService;
+import com.ibosng.microsoftgraphservice.services.BlobStorageService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates reports in the background on <b>reportJobThreads</b> workers, with at most <b>reportJobQueueCapacity</b>
+ * jobs waiting. The report is exported into a temporary file and uploaded to the <b>storageContainerReportJobs</b>
+ * container, the jobs are kept in Redis for <b>reportJobRetentionHours</b>, so any instance can answer for them.
+ * <p>
+ * The instance generating a job renews its heartbeat every <b>reportJobHeartbeatSeconds</b>. A queued or running job
+ * whose heartbeat is older than three intervals belonged to an instance that died and is reported as failed.
+ */
+@Slf4j
+@Service
+public class ReportJobServiceImpl implements ReportJobService {
+
+    static final String KEY_PREFIX = "gateway:reportJob:";
+    static final String INTERRUPTED_MESSAGE = "Report generation was interrupted.";
+    private static final int MISSED_HEARTBEATS = 3;
+
+    private final JasperReportService jasperReportService;
+    private final BlobStorageService blobStorageService;
+    private final RedissonClient redissonClient;
+    private final String container;
+    private final Duration retention;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService heartbeatScheduler;
+    private final Duration heartbeatInterval;
+    private final Clock clock;
+    // the queued and running jobs of this instance by id
+    private final Map<String, ReportJobDto> activeJobs = new ConcurrentHashMap<>();
+
+    public ReportJobServiceImpl(JasperReportService jasperReportService,
+                                BlobStorageService blobStorageService,
+                                RedissonClient redissonClient,
+                                @Value("${storageContainerReportJobs:report-jobs}") String container,
+                                @Value("${reportJobRetentionHours:24}") long retentionHours,
+                                @Value("${reportJobThreads:2}") int threads,
+                                @Value("${reportJobQueueCapacity:20}") int queueCapacity,
+                                @Value("${reportJobHeartbeatSeconds:30}") long heartbeatSeconds) {
+        this(jasperReportService, blobStorageService, redissonClient, container, Duration.ofHours(retentionHours),
+                newExecutor(threads, queueCapacity), Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "report-job-heartbeat");
+                    thread.setDaemon(true);
+                    return thread;
+                }), Duration.ofSeconds(heartbeatSeconds), Clock.systemUTC());
+    }
+
+    ReportJobServiceImpl(JasperReportService jasperReportService, BlobStorageService blobStorageService,
+                         RedissonClient redissonClient, String container, Duration retention, ExecutorService executor,
+                         ScheduledExecutorService heartbeatScheduler, Duration heartbeatInterval, Clock clock) {
+        this.jasperReportService = jasperReportService;
+        this.blobStorageService = blobStorageService;
+        this.redissonClient = redissonClient;
+        this.container = container;
+        this.retention = retention;
+        this.executor = executor;
+        this.heartbeatScheduler = heartbeatScheduler;
+        this.heartbeatInterval = heartbeatInterval;
+        this.clock = clock;
+        long intervalMillis = heartbeatInterval.toMillis();
+        heartbeatScheduler.scheduleWithFixedDelay(this::renewHeartbeats, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static ExecutorService newExecutor(int threads, int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+            Thread thread = new Thread(runnable, "report-job-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Stops the workers and marks the jobs they did not finish as failed, so that clients polling them get an answer.
+     */
+    @PreDestroy
+    public void stopExecutor() {
+        heartbeatScheduler.shutdownNow();
+        executor.shutdownNow();
+        for (ReportJobDto job : activeJobs.values()) {
+            finish(job, ReportJobStatus.FAILED, INTERRUPTED_MESSAGE);
+        }
+    }
+
+    @Override
+    public ReportJobDto submit(ReportRequestDto reportRequestDto) {
+        ReportJobDto job = new ReportJobDto();
+        job.setId(UUID.randomUUID().toString());
+        job.setReportName(reportRequestDto.getReportName());
+        job.setOutputFormat(reportRequestDto.getOutputFormat());
+        job.setCreatedBy(reportRequestDto.getCreatedBy());
+        job.setStatus(ReportJobStatus.QUEUED);
+        activeJobs.put(job.getId(), job);
+        save(job);
+        try {
+            executor.execute(() -> run(job, reportRequestDto));
+        } catch (RejectedExecutionException e) {
+            log.warn("Report job queue is full, rejecting report {}", reportRequestDto.getReportName());
+            activeJobs.remove(job.getId());
+            bucket(job.getId()).delete();
+            return null;
+        }
+        return job;
+    }
+
+    @Override
+    public ReportJobDto getJob(String jobId) {
+        ReportJobDto job = bucket(jobId).get();
+        if (job != null && isActive(job.getStatus())
+                && job.getHeartbeatAt() < clock.millis() - heartbeatInterval.multipliedBy(MISSED_HEARTBEATS).toMillis()) {
+            log.warn("Report job {} for {} lost its instance, marking it failed", job.getId(), job.getReportName());
+            job.setStatus(ReportJobStatus.FAILED);
+            job.setMessage(INTERRUPTED_MESSAGE);
+            bucket(jobId).set(job, retention);
+        }
+        return job;
+    }
+
+    @Override
+    public InputStream download(ReportJobDto job) {
+        return blobStorageService.downloadBlob(job.getFileName(), container);
+    }
+
+    private void run(ReportJobDto job, ReportRequestDto reportRequestDto) {
+        synchronized (job) {
+            if (!activeJobs.containsKey(job.getId())) {
+                return;
+            }
+            job.setStatus(ReportJobStatus.RUNNING);
+            save(job);
+        }
+        ReportJobStatus status;
+        String message = null;
+        Path file = null;
+        try (FilledReport filledReport = jasperReportService.fillReport(reportRequestDto)) {
+            if (filledReport == null) {
+                throw new IllegalStateException("Report could not be filled");
+            }
+            file = Files.createTempFile("reportJob", "." + filledReport.getOutputFormat().getValue());
+            try (OutputStream outputStream = Files.newOutputStream(file)) {
+                filledReport.writeTo(outputStream);
+            }
+            String blobName = job.getId() + "." + filledReport.getOutputFormat().getValue();
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                blobStorageService.uploadOrReplaceFile(container, blobName, inputStream, Files.size(file));
+            }
+            job.setFileName(blobName);
+            status = ReportJobStatus.DONE;
+            log.info("Report job {} for {} done", job.getId(), job.getReportName());
+        } catch (Exception e) {
+            log.error("Report job {} for {} failed: {}", job.getId(), job.getReportName(), e.getMessage(), e);
+            status = ReportJobStatus.FAILED;
+            message = "Report generation failed.";
+        } finally {
+            if (file != null) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (Exception e) {
+                    log.warn("Failed to delete {}: {}", file, e.getMessage());
+                }
+            }
+        }
+        finish(job, status, message);
+    }
+
+    private void finish(ReportJobDto job, ReportJobStatus status, String message) {
+        synchronized (job) {
+            if (activeJobs.remove(job.getId()) == null) {
+                return;
+            }
+            job.setStatus(status);
+            job.setMessage(message);
+            try {
+                save(job);
+            } catch (Exception e) {
+                log.error("Saving report job {} as {} failed: {}", job.getId(), status, e.getMessage());
+            }
+        }
+    }
+
+    private void renewHeartbeats() {
+        for (ReportJobDto job : activeJobs.values()) {
+            synchronized (job) {
+                if (activeJobs.containsKey(job.getId())) {
+                    try {
+                        save(job);
+                    } catch (Exception e) {
+                        log.warn("Renewing the heartbeat of report job {} failed: {}", job.getId(), e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isActive(ReportJobStatus status) {
+        return status == ReportJobStatus.QUEUED || status == ReportJobStatus.RUNNING;
+    }
+
+    private void save(ReportJobDto job) {
+        job.setHeartbeatAt(clock.millis());
+        bucket(job.getId()).set(job, retention);
+    }
+
+    private RBucket<ReportJobDto> bucket(String jobId) {
+        return redissonClient.getBucket(KEY_PREFIX + jobId);
+    }
+}
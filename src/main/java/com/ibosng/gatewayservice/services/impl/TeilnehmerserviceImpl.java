@@ -73,6 +73,8 @@ import static com.ibosng.microsoftgraphservice.utils.Helpers.toObjectArray;
 @Slf4j
 @RequiredArgsConstructor
 public class TeilnehmerserviceImpl implements Teilnehmerservice {
+    private static final int PRUEFUNG_FIRST_PAGE_SIZE = 1;
+
     private final TeilnehmerService teilnehmerService;
     private final Gateway2Validation gateway2Validation;
     private final ZeiterfassungTransferService zeiterfassungTransferService;
@@ -100,55 +102,37 @@ public class TeilnehmerserviceImpl implements Teilnehmerservice {
     private final NatifService natifService;
 
     @Override
-    public List<PruefungCsvDto> getTeilnehmerPruefungListCsv(String identifiersString, String seminarName, String projektName, boolean isActive, Boolean isUebaTeilnehmer, boolean isAngemeldet, String geschlecht, String sortProperty, String sortDirection) {
+    public PruefungCsvDto findFirstTeilnehmerPruefungCsv(String identifiersString, String seminarName, String projektName, boolean isActive, Boolean isUebaTeilnehmer, boolean isAngemeldet, String geschlecht, String sortProperty, String sortDirection) {
         if (isNullOrBlank(sortProperty)) {
             sortProperty = "nachname";
         }
+        List<PruefungCsvDto> firstPage = teilnehmerService.findTeilnehmerForPruefungCsv(
+                identifiersString, seminarName, projektName, isActive, isUebaTeilnehmer,
+                isAngemeldet, geschlecht, sortProperty, getSortDirection(sortDirection), 0, PRUEFUNG_FIRST_PAGE_SIZE);
+        return firstPage.isEmpty() ? null : firstPage.get(0);
+    }
 
-        Sort.Direction direction = getSortDirection(sortDirection);
-        int page = 0;
-        int size = 200;
-        List<PruefungCsvDto> allResults = new ArrayList<>();
-
-        List<PruefungCsvDto> currentPage;
-        do {
-            currentPage = teilnehmerService.findTeilnehmerForPruefungCsv(
-                    identifiersString, seminarName, projektName, isActive, isUebaTeilnehmer,
-                    isAngemeldet, geschlecht, sortProperty, direction, page, size
-            );
-            allResults.addAll(currentPage);
-            page++;
-        } while (currentPage.size() == size);
-
-        return allResults;
-
-
+    @Override
+    public void streamTeilnehmerPruefungListCsv(String identifiersString, String seminarName, String projektName, boolean isActive, Boolean isUebaTeilnehmer, boolean isAngemeldet, String geschlecht, String sortProperty, String sortDirection, Consumer<PruefungCsvDto> consumer) {
+        teilnehmerService.streamTeilnehmerForPruefungCsv(identifiersString, seminarName, projektName, isActive, isUebaTeilnehmer,
+                isAngemeldet, geschlecht, sortProperty, getSortDirection(sortDirection), consumer);
     }
 
     @Override
-    public List<PruefungXlsxDto> getTeilnehmerPruefungListXlsx(String identifiersString, String seminarName, String projektName, boolean isActive, Boolean isUebaTeilnehmer, boolean isAngemeldet, String geschlecht, String sortProperty, String sortDirection) {
+    public PruefungXlsxDto findFirstTeilnehmerPruefungXlsx(String identifiersString, String seminarName, String projektName, boolean isActive, Boolean isUebaTeilnehmer, boolean isAngemeldet, String geschlecht, String sortProperty, String sortDirection) {
         if (isNullOrBlank(sortProperty)) {
             sortProperty = "nachname";
         }
+        List<PruefungXlsxDto> firstPage = teilnehmerService.findTeilnehmerForPruefungXlsx(
+                identifiersString, seminarName, projektName, isActive, isUebaTeilnehmer,
+                isAngemeldet, geschlecht, sortProperty, getSortDirection(sortDirection), 0, PRUEFUNG_FIRST_PAGE_SIZE);
+        return firstPage.isEmpty() ? null : firstPage.get(0);
+    }
 
-        Sort.Direction direction = getSortDirection(sortDirection);
-        int page = 0;
-        int size = 200;
-        List<PruefungXlsxDto> allResults = new ArrayList<>();
-
-        List<PruefungXlsxDto> currentPage;
-        do {
-            currentPage = teilnehmerService.findTeilnehmerForPruefungXlsx(
-                    identifiersString, seminarName, projektName, isActive, isUebaTeilnehmer,
-                    isAngemeldet, geschlecht, sortProperty, direction, page, size
-            );
-            allResults.addAll(currentPage);
-            page++;
-        } while (currentPage.size() == size);
-
-        return allResults;
-
-
+    @Override
+    public void streamTeilnehmerPruefungListXlsx(String identifiersString, String seminarName, String projektName, boolean isActive, Boolean isUebaTeilnehmer, boolean isAngemeldet, String geschlecht, String sortProperty, String sortDirection, Consumer<PruefungXlsxDto> consumer) {
+        teilnehmerService.streamTeilnehmerForPruefungXlsx(identifiersString, seminarName, projektName, isActive, isUebaTeilnehmer,
+                isAngemeldet, geschlecht, sortProperty, getSortDirection(sortDirection), consumer);
     }
 
     @Override
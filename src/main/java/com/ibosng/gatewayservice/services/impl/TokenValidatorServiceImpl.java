@@ -1,6 +1,5 @@
 package com.ibosng.gatewayservice.services.impl;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ibosng.dbservice.entities.Benutzer;
@@ -8,28 +7,18 @@ import com.ibosng.dbservice.entities.Status;
 import com.ibosng.dbservice.entities.UserSession;
 import com.ibosng.dbservice.services.BenutzerService;
 import com.ibosng.dbservice.services.impl.UserSessionServiceImpl;
-import com.ibosng.gatewayservice.dtos.JwkResponseDto;
-import com.ibosng.gatewayservice.dtos.OpenIdConfigurationDto;
 import com.ibosng.gatewayservice.services.Gateway2Validation;
-import com.ibosng.gatewayservice.services.JwkService;
-import com.ibosng.gatewayservice.services.OpenIdConfigurationService;
 import com.ibosng.gatewayservice.services.TokenValidatorService;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.JwtParser;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
-import java.math.BigInteger;
-import java.security.KeyFactory;
-import java.security.NoSuchAlgorithmException;
-import java.security.PublicKey;
-import java.security.spec.InvalidKeySpecException;
-import java.security.spec.RSAPublicKeySpec;
 import java.time.LocalDateTime;
 import java.util.Base64;
 import java.util.Date;
@@ -41,9 +30,7 @@ import static com.ibosng.dbservice.utils.Parsers.isNullOrBlank;
 @Service
 public class TokenValidatorServiceImpl implements TokenValidatorService {
 
-    @Getter
-    @Value("${ssoTenantId:#{null}}")
-    private String ssoTenantId;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
     @Getter
     @Value("${clockSkewInMilliseconds:5000}")
@@ -51,21 +38,21 @@ public class TokenValidatorServiceImpl implements TokenValidatorService {
 
     private final Integer MAX_TOKEN_AGE_SECONDS;
 
-    private final OpenIdConfigurationService openIdConfigurationService;
-    private final JwkService jwkService;
+    private final JwksKeyStore jwksKeyStore;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final UserSessionServiceImpl userSessionService;
     private final BenutzerService benutzerService;
     private final Gateway2Validation gateway2Validation;
 
-    public TokenValidatorServiceImpl(OpenIdConfigurationService openIdConfigurationService,
-                                     JwkService jwkService,
+    public TokenValidatorServiceImpl(JwksKeyStore jwksKeyStore,
+                                     VerifiedTokenCache verifiedTokenCache,
                                      UserSessionServiceImpl userSessionService,
                                      BenutzerService benutzerService,
                                      @Value("${login.maxTokenAge:1000}") final Integer MAX_TOKEN_AGE_SECONDS,
                                      Gateway2Validation gateway2Validation
     ) {
-        this.openIdConfigurationService = openIdConfigurationService;
-        this.jwkService = jwkService;
+        this.jwksKeyStore = jwksKeyStore;
+        this.verifiedTokenCache = verifiedTokenCache;
         this.userSessionService = userSessionService;
         this.benutzerService = benutzerService;
         this.MAX_TOKEN_AGE_SECONDS = MAX_TOKEN_AGE_SECONDS;
@@ -73,17 +60,24 @@ public class TokenValidatorServiceImpl implements TokenValidatorService {
     }
 
     public Claims validateSession(String token) throws JwtException {
+        VerifiedTokenCache.VerifiedToken verifiedToken = verifiedTokenCache.get(token);
+        if (verifiedToken != null && verifiedToken.sessionActive() != null) {
+            return verifiedToken.sessionActive() ? verifiedToken.claims() : null;
+        }
         Claims tokenClaims = getClaimsFromJwt(token);
         // Check token validity
         if (tokenClaims != null) {
+            long generation = verifiedTokenCache.generation();
             UserSession userSession = userSessionService.getSessionByToken(token);
             // Session found and active, return claims
             if (userSession != null && userSession.getActive()) {
+                verifiedTokenCache.putSession(token, tokenClaims, true, generation);
                 return tokenClaims;
             } else if (userSession != null && !userSession.getActive()) {
                 // Session found but is invalid
                 log.error("Expired session for token: " + token);
                 log.error("Session expired at: " + userSession.getInvalidatedOn());
+                verifiedTokenCache.putSession(token, tokenClaims, false, generation);
                 return null;
             } else {
                 // Create new session
@@ -97,6 +91,7 @@ public class TokenValidatorServiceImpl implements TokenValidatorService {
                         newSession.setCreatedOn(LocalDateTime.now());
                         newSession.setActive(true);
                         userSessionService.save(newSession);
+                        verifiedTokenCache.putSession(token, tokenClaims, true, generation);
                         return tokenClaims;
                     }
                 }
@@ -128,54 +123,23 @@ public class TokenValidatorServiceImpl implements TokenValidatorService {
     // Parses and verifies the JWT Token, returns the claims contained in the Token
     @Override
     public Claims getClaimsFromJwt(String jwt) throws JwtException {
-        Jws<Claims> jws = null;
-        String META_DATA_URL = "https://login.microsoftonline.com/" + getSsoTenantId() + "/v2.0/.well-known/openid-configuration";
-        log.info("META_DATA_URL: {}", META_DATA_URL);
-        try {
-            OpenIdConfigurationDto openIdConfigurationDto = openIdConfigurationService.getOpenIdConfiguration(META_DATA_URL);
-            JwkResponseDto jwkResponseDto = jwkService.getJwk(openIdConfigurationDto.getJwksUri());
-
-            // Step 2: Extract the `kid` from the JWT header
-            String kid = extractKid(jwt);
-            //log.info("Extracted kid: {}", kid);
-
-            // Step 3: Find the matching JWK for the `kid`
-            JwkResponseDto.JwkKey matchingKey = findMatchingKey(kid, jwkResponseDto);
-            //log.info("Matching JWK Key: {}", matchingKey);
-
-            // Step 4: Compute the public key from the matching JWK
-            PublicKey publicKey = computePublicKey(matchingKey);
-            jws = parseAndVerifyToken(publicKey, jwt);
-        } catch (NoSuchAlgorithmException | InvalidKeySpecException | JsonProcessingException ex) {
-            log.error("Token validation failed for token: " + jwt);
+        VerifiedTokenCache.VerifiedToken verifiedToken = verifiedTokenCache.get(jwt);
+        if (verifiedToken != null) {
+            return verifiedToken.claims();
         }
-        return jws != null ? jws.getPayload() : null;
-    }
-
-    protected Jws<Claims> parseAndVerifyToken(PublicKey publicKey, String jwt) throws JwtException {
-        return (Jws<Claims>) Jwts.parser().clockSkewSeconds(getClockSkewInMilliseconds() / 1000).verifyWith(publicKey).build().parse(jwt);
+        String kid = extractKid(jwt);
+        JwtParser parser = jwksKeyStore.getParser(kid);
+        if (parser == null) {
+            throw new RuntimeException("No matching JWK found for kid: " + kid);
+        }
+        Jws<Claims> jws = parseAndVerifyToken(parser, jwt);
+        Claims claims = jws != null ? jws.getPayload() : null;
+        verifiedTokenCache.putClaims(jwt, claims);
+        return claims;
     }
 
-
-    protected PublicKey computePublicKey(JwkResponseDto.JwkKey jwkKey) throws NoSuchAlgorithmException, InvalidKeySpecException {
-        try {
-            String modulusBase64Url = jwkKey.getN();
-            String exponentBase64Url = jwkKey.getE();
-
-            BigInteger modulus = new BigInteger(1, Base64.getUrlDecoder().decode(modulusBase64Url));
-            BigInteger exponent = new BigInteger(1, Base64.getUrlDecoder().decode(exponentBase64Url));
-
-            RSAPublicKeySpec spec = new RSAPublicKeySpec(modulus, exponent);
-            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
-
-            PublicKey publicKey = keyFactory.generatePublic(spec);
-/*            log.info("Modulus (n): {}", modulusBase64Url);
-            log.info("Exponent (e): {}", exponentBase64Url);
-            log.info("Computed Public Key: {}", publicKey);*/
-            return publicKey;
-        } catch (Exception ex) {
-            throw new RuntimeException("Failed to compute public key from JWK", ex);
-        }
+    protected Jws<Claims> parseAndVerifyToken(JwtParser parser, String jwt) throws JwtException {
+        return (Jws<Claims>) parser.parse(jwt);
     }
 
     private String extractKid(String jwt) {
@@ -184,8 +148,7 @@ public class TokenValidatorServiceImpl implements TokenValidatorService {
             String headerEncoded = jwt.split("\\.")[0];
             String decodedHeader = new String(Base64.getUrlDecoder().decode(headerEncoded));
 
-            ObjectMapper objectMapper = new ObjectMapper();
-            JsonNode headerNode = objectMapper.readTree(decodedHeader);
+            JsonNode headerNode = OBJECT_MAPPER.readTree(decodedHeader);
 
             String algorithm = headerNode.get("alg").asText();
             if (!"RS256".equals(algorithm)) {
@@ -203,13 +166,6 @@ public class TokenValidatorServiceImpl implements TokenValidatorService {
         }
     }
 
-    private JwkResponseDto.JwkKey findMatchingKey(String kid, JwkResponseDto jwkResponseDto) {
-        return jwkResponseDto.getKeys().stream()
-                .filter(key -> key.getKid().equals(kid))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("No matching JWK found for kid: " + kid));
-    }
-
     public Benutzer createUserIfNotExists(Claims tokenClaims) {
         String azureId = (String) tokenClaims.get(OID);
         String email = (String) tokenClaims.get(EMAIL);
@@ -0,0 +1,166 @@
+package com.ibosng.gatewayservice.services.impl;
+
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tokens whose signature was already verified, with the state of their session and the id of their Benutzer, so
+ * that the many API calls of a screen do not verify the same token and look up its session again.
+ * <p>
+ * Entries are keyed by the SHA-256 of the token and expire with the token. At most
+ * <b>verifiedTokenCacheMaxEntries</b> tokens are kept per instance. Deactivated sessions are dropped on every
+ * instance through a Redis topic, which only carries the token hashes.
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    static final String INVALIDATION_TOPIC = "gateway:verifiedTokenInvalidations";
+
+    /**
+     * @param sessionActive null as long as the session was not looked up
+     * @param benutzerId    null as long as the Benutzer was not resolved
+     */
+    public record VerifiedToken(Claims claims, Boolean sessionActive, Integer benutzerId, Instant expiresAt) {
+    }
+
+    private final Map<String, VerifiedToken> tokens = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final RedissonClient redissonClient;
+    private final int maxEntries;
+    private final Clock clock;
+
+    public VerifiedTokenCache(RedissonClient redissonClient,
+                              @Value("${verifiedTokenCacheMaxEntries:10000}") int maxEntries) {
+        this(redissonClient, maxEntries, Clock.systemUTC());
+    }
+
+    VerifiedTokenCache(RedissonClient redissonClient, int maxEntries, Clock clock) {
+        this.redissonClient = redissonClient;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        try {
+            redissonClient.getTopic(INVALIDATION_TOPIC).addListener(String.class, (channel, tokenHash) -> remove(tokenHash));
+        } catch (Exception e) {
+            log.error("Subscribing to session invalidations failed, sessions deactivated on other instances stay cached until the token expires", e);
+        }
+    }
+
+    public VerifiedToken get(String token) {
+        if (token == null) {
+            return null;
+        }
+        String key = hash(token);
+        VerifiedToken verifiedToken = tokens.get(key);
+        if (verifiedToken != null && !verifiedToken.expiresAt().isAfter(clock.instant())) {
+            tokens.remove(key, verifiedToken);
+            return null;
+        }
+        return verifiedToken;
+    }
+
+    /**
+     * Counter of the invalidations seen so far. Taken before looking up a session, it keeps
+     * {@link #putSession} from caching a state that was deactivated during the lookup.
+     */
+    public long generation() {
+        return invalidations.get();
+    }
+
+    public void putClaims(String token, Claims claims) {
+        Instant expiresAt = expiresAt(claims);
+        if (token == null || expiresAt == null || !hasRoomFor(hash(token))) {
+            return;
+        }
+        tokens.putIfAbsent(hash(token), new VerifiedToken(claims, null, null, expiresAt));
+    }
+
+    public void putSession(String token, Claims claims, boolean sessionActive, long generation) {
+        Instant expiresAt = expiresAt(claims);
+        if (token == null || expiresAt == null || !hasRoomFor(hash(token))) {
+            return;
+        }
+        tokens.compute(hash(token), (key, cached) -> {
+            if (invalidations.get() != generation) {
+                return cached;
+            }
+            return new VerifiedToken(claims, sessionActive, cached != null ? cached.benutzerId() : null, expiresAt);
+        });
+    }
+
+    public void putBenutzerId(String token, Integer benutzerId) {
+        if (token == null) {
+            return;
+        }
+        tokens.computeIfPresent(hash(token), (key, cached) ->
+                new VerifiedToken(cached.claims(), cached.sessionActive(), benutzerId, cached.expiresAt()));
+    }
+
+    /**
+     * Drops the tokens on this and, through Redis, on all other instances.
+     */
+    public void invalidate(Collection<String> invalidatedTokens) {
+        for (String token : invalidatedTokens) {
+            if (token == null) {
+                continue;
+            }
+            String tokenHash = hash(token);
+            remove(tokenHash);
+            try {
+                redissonClient.getTopic(INVALIDATION_TOPIC).publish(tokenHash);
+            } catch (Exception e) {
+                log.error("Publishing the invalidation of a session failed", e);
+            }
+        }
+    }
+
+    private void remove(String tokenHash) {
+        invalidations.incrementAndGet();
+        tokens.remove(tokenHash);
+    }
+
+    private boolean hasRoomFor(String key) {
+        if (tokens.size() < maxEntries || tokens.containsKey(key)) {
+            return true;
+        }
+        Instant now = clock.instant();
+        tokens.values().removeIf(verifiedToken -> !verifiedToken.expiresAt().isAfter(now));
+        return tokens.size() < maxEntries;
+    }
+
+    private Instant expiresAt(Claims claims) {
+        if (claims == null || claims.getExpiration() == null) {
+            return null;
+        }
+        Instant expiresAt = claims.getExpiration().toInstant();
+        return expiresAt.isAfter(clock.instant()) ? expiresAt : null;
+    }
+
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
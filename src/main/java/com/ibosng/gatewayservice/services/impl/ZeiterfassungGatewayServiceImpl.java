@@ -8,6 +8,7 @@ import com.ibosng.dbservice.dtos.ZeitbuchungMetadataDto;
 import com.ibosng.dbservice.dtos.ZeitbuchungSyncRequestDto;
 import com.ibosng.dbservice.dtos.ZeitbuchungenDto;
 import com.ibosng.dbservice.dtos.mitarbeiter.AbwesenheitDto;
+import com.ibosng.dbservice.dtos.mitarbeiter.AbwesenheitListEntryDto;
 import com.ibosng.dbservice.dtos.urlaubsdaten.AbwesenheitOverviewDto;
 import com.ibosng.dbservice.dtos.zeiterfassung.umbuchung.UmbuchungDto;
 import com.ibosng.dbservice.entities.Benutzer;
@@ -590,34 +591,29 @@ public class ZeiterfassungGatewayServiceImpl implements ZeiterfassungGatewayServ
 
     @Override
     public PayloadResponse getAbwesenheitenList(String token, Boolean isPersonal, String status, Integer year, String sortProperty, String sortDirection, int page, int size) {
-        List<Abwesenheit> abwesenheitList;
-        List<Zeitausgleich> zeitausgleichList;
+        Sort sort = isNullOrBlank(sortProperty) ? Sort.unsorted() : Sort.by("desc".equalsIgnoreCase(sortDirection) ? Sort.Direction.DESC : Sort.Direction.ASC, sortProperty);
+        PageRequest pageRequest = PageRequest.of(page, size, sort);
+        Page<AbwesenheitListEntryDto> entries;
         Set<String> yearList = new HashSet<>();
         if (isPersonal) {
             Personalnummer personalnummer = environmentService.checkLoggedInUserAndGetPersonalnummer();
             asyncService.asyncExecutor(() -> lhrUrlaubService.syncUrlaubDetails(personalnummer.getId(), null, null));
-            abwesenheitList = abwesenheitService.findFilteredAbwesenheitenByStatusAndYear(personalnummer.getId(), status, year);
-            zeitausgleichList = zeitausgleichService.findFilteredZeitausgleichByStatusAndYear(personalnummer.getId(), status, year);
+            List<AbwesenheitStatus> abwStatuses = isNullOrBlank(status) ? null : List.of(AbwesenheitStatus.valueOf(status));
+            entries = abwesenheitService.findAbwesenheitList(personalnummer.getId(), null, abwStatuses, year, pageRequest);
             yearList.addAll(abwesenheitService.findDistinctYearsByPersonalnummer(personalnummer.getId()));
             yearList.addAll(zeitausgleichService.findDistinctYearsByPersonalnummer(personalnummer.getId()));
         } else {
             Benutzer loggedFuehrungskraft = benutzerDetailsService.getUserFromToken(token);
             List<AbwesenheitStatus> abwStatuses = isNullOrBlank(status) ? Arrays.asList(AbwesenheitStatus.values()) : List.of(AbwesenheitStatus.valueOf(status));
-            abwesenheitList = abwesenheitService.findAllByFuehrungskraefteIdAndStatusIn(loggedFuehrungskraft.getId(), abwStatuses);
+            entries = abwesenheitService.findAbwesenheitList(null, loggedFuehrungskraft.getId(), abwStatuses, null, pageRequest);
             asyncService.asyncExecutor(() -> {
-                abwesenheitList.stream().map(abw -> abw.getPersonalnummer().getId()).distinct().forEach(pn -> lhrUrlaubService.syncUrlaubDetails(pn, null, null));
+                abwesenheitService.findPersonalnummerIdsByFuehrungskraefteIdAndStatusIn(loggedFuehrungskraft.getId(), abwStatuses)
+                        .forEach(pn -> lhrUrlaubService.syncUrlaubDetails(pn, null, null));
                 return true;
             });
-            zeitausgleichList = zeitausgleichService.findAllByFuehrungskraefteIdAndStatusIn(loggedFuehrungskraft.getId(), abwStatuses);
         }
 
-        List<AbwesenheitDto> abwesenheitDtoList = new ArrayList<>();
-        for (Abwesenheit abwesenheit : abwesenheitList) {
-            abwesenheitDtoList.add(abwesenheitService.mapToAbwesenheitDto(abwesenheit));
-        }
-        abwesenheitDtoList.addAll(zeitausgleichService.mapListZeitausgleichToListAbwesenheitDto(zeitausgleichList));
-
-        Page<AbwesenheitDto> resultPage = getAbwesenheitenListPagionation(abwesenheitDtoList, sortProperty, sortDirection, page, size);
+        Page<AbwesenheitDto> resultPage = mapAbwesenheitListEntries(entries);
         PayloadTypeList<AbwesenheitDto> abwesenheitDtoPayloadType = new PayloadTypeList<>(PayloadTypes.ABWESENHEIT.getValue(), resultPage.getContent());
         PayloadTypeList<String> yearListPayloadType = new PayloadTypeList<>(PayloadTypes.ABWESENHEITEN_YEAR_LIST.getValue(), yearList.stream().toList());
 
@@ -628,32 +624,28 @@ public class ZeiterfassungGatewayServiceImpl implements ZeiterfassungGatewayServ
                 .build();
     }
 
-    public Page<AbwesenheitDto> getAbwesenheitenListPagionation(List<AbwesenheitDto> abwesenheitDtoList, String sortProperty, String sortDirection, int page, int size) {
-        // Apply sorting
-        Comparator<AbwesenheitDto> comparator;
-        if ("desc".equalsIgnoreCase(sortDirection)) {
-            comparator = Comparator.comparing(
-                    dto -> (Comparable<Object>) getSortPropertyForAbwesenheitDto(dto, sortProperty),
-                    Comparator.nullsFirst(Comparator.reverseOrder())
-            );
-        } else {
-            comparator = Comparator.comparing(
-                    dto -> (Comparable<Object>) getSortPropertyForAbwesenheitDto(dto, sortProperty),
-                    Comparator.nullsLast(Comparator.naturalOrder())
-            );
-        }
+    /**
+     * Loads and maps only the Abwesenheiten and Zeitausgleich days of the current page, keeping the order of the page.
+     * The full names come with the entries, so the number of statements does not grow with the page size.
+     */
+    private Page<AbwesenheitDto> mapAbwesenheitListEntries(Page<AbwesenheitListEntryDto> entries) {
+        List<Integer> abwesenheitIds = entries.stream().filter(entry -> !entry.isZeitausgleich()).map(entry -> entry.getIds().get(0)).toList();
+        List<Integer> zeitausgleichIds = entries.stream().filter(AbwesenheitListEntryDto::isZeitausgleich).flatMap(entry -> entry.getIds().stream()).toList();
+        Map<Integer, Abwesenheit> abwesenheiten = abwesenheitIds.isEmpty() ? Map.of() :
+                abwesenheitService.findAllByIdIn(abwesenheitIds).stream().collect(Collectors.toMap(Abwesenheit::getId, abwesenheit -> abwesenheit));
+        Map<Integer, Zeitausgleich> zeitausgleiche = zeitausgleichIds.isEmpty() ? Map.of() :
+                zeitausgleichService.findAllByIdIn(zeitausgleichIds).stream().collect(Collectors.toMap(Zeitausgleich::getId, zeitausgleich -> zeitausgleich));
 
-        if (!isNullOrBlank(sortProperty)) {
-            abwesenheitDtoList.sort(comparator);
+        List<AbwesenheitDto> abwesenheitDtoList = new ArrayList<>();
+        for (AbwesenheitListEntryDto entry : entries) {
+            if (entry.isZeitausgleich()) {
+                List<Zeitausgleich> days = entry.getIds().stream().map(zeitausgleiche::get).filter(Objects::nonNull).toList();
+                abwesenheitDtoList.addAll(zeitausgleichService.mapListZeitausgleichToListAbwesenheitDto(days, entry.getFullName()));
+            } else if (abwesenheiten.containsKey(entry.getIds().get(0))) {
+                abwesenheitDtoList.add(abwesenheitService.mapToAbwesenheitDto(abwesenheiten.get(entry.getIds().get(0)), entry.getFullName()));
+            }
         }
-
-        // Apply pagination
-        int start = Math.min(page * size, abwesenheitDtoList.size());
-        int end = Math.min(start + size, abwesenheitDtoList.size());
-        List<AbwesenheitDto> paginatedList = abwesenheitDtoList.subList(start, end);
-
-        // Return as Page
-        return new PageImpl<>(paginatedList, PageRequest.of(page, size), abwesenheitDtoList.size());
+        return new PageImpl<>(abwesenheitDtoList, entries.getPageable(), entries.getTotalElements());
     }
 
     @Override
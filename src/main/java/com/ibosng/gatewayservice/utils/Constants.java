@@ -48,6 +48,7 @@ public final class Constants {
     public static final String FN_TN_ABMELDEN = "FN_TN_ABMELDEN";
     public static final String FN_REPORTS =  "FN_REPORTS";
     public static final String FN_MA_PROJEKTE_SEMINARE_LESEN = "FN_MA_PROJEKTE_SEMINARE_LESEN";
+    public static final String FN_BERECHTIGUNGEN_VERWALTEN = "FN_BERECHTIGUNGEN_VERWALTEN";
     public static final String TEST_TENANT_UPN_PREFIX = "ibosng.";
 
 
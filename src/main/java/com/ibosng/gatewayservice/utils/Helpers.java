@@ -3,7 +3,6 @@ package com.ibosng.gatewayservice.utils;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.ibosng.dbservice.dtos.mitarbeiter.AbwesenheitDto;
 import com.ibosng.dbservice.entities.mitarbeiter.Stammdaten;
 import com.ibosng.dbservice.entities.teilnehmer.Teilnehmer;
 import com.ibosng.gatewayservice.dtos.response.Pagination;
@@ -215,24 +214,6 @@ public class Helpers {
         return url + "/mitarbeiter/erfassen/ " + personalnummer + "?wfi=10";
     }
 
-    @SuppressWarnings("unchecked")
-    public static Comparable<?> getSortPropertyForAbwesenheitDto(AbwesenheitDto dto, String sortBy) {
-        return switch (sortBy) {
-            case "personalnummer" -> dto.getPersonalnummerId();
-            case "startDate" -> dto.getStartDate();
-            case "endDate" -> dto.getEndDate();
-            case "type" -> dto.getType();
-            case "comment" -> dto.getComment();
-            case "changedOn" -> dto.getChangedOn();
-            case "durationInDays" ->
-                    isNullOrBlank(dto.getDurationInDays()) ? 0d : Double.parseDouble(dto.getDurationInDays());
-            case "status" -> dto.getStatus();
-            case "fullName" -> dto.getFullName();
-            case "commentFuehrungskraft" -> dto.getCommentFuehrungskraft();
-            default -> throw new IllegalArgumentException("Invalid sort property: " + sortBy);
-        };
-    }
-
     public static String getDateAndTimeInEmailFormat(LocalDateTime dateTime) {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern(DATE_TIME_EMAIL_FORMAT);
         return dateTime.format(formatter);
@@ -0,0 +1,257 @@
+package com.ibosng.lhrservice.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Asynchronous audit trail for LHR requests and error responses.
+ * <p>
+ * Callers only enqueue the already serialized payload into a bounded ring buffer; when the buffer is full the
+ * oldest record is dropped. A single writer thread drains the buffer and appends one JSON line per record to
+ * gzip-compressed segment files in <b>lhrAuditDirectory</b>. A segment is rolled when it exceeds
+ * <b>lhrAuditSegmentMaxBytes</b> (uncompressed) or the day changes; on every roll segments older than
+ * <b>lhrAuditRetentionDays</b> or beyond <b>lhrAuditMaxSegments</b> are deleted.
+ * <p>
+ * Request bodies are sampled with <b>lhrAuditRequestSampleRate</b> (0.0 - 1.0), error responses are always kept.
+ */
+@Slf4j
+@Component
+public class LHRAuditSink {
+
+    private static final String SEGMENT_PREFIX = "lhr-audit-";
+    private static final String SEGMENT_SUFFIX = ".jsonl.gz";
+    private static final DateTimeFormatter SEGMENT_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    public enum RecordType {REQUEST, ERROR_RESPONSE}
+
+    private record AuditRecord(Instant timestamp, RecordType type, String method, String path, Integer personalnummer,
+                               byte[] payload, boolean payloadIsJson) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Path directory;
+    private final long segmentMaxBytes;
+    private final int retentionDays;
+    private final int maxSegments;
+    private final double requestSampleRate;
+    private final ArrayBlockingQueue<AuditRecord> buffer;
+    private final AtomicLong dropped = new AtomicLong();
+
+    private Thread writerThread;
+    private volatile boolean running;
+
+    private OutputStream segment;
+    private long segmentBytes;
+    private LocalDateTime segmentOpenedAt;
+
+    public LHRAuditSink(ObjectMapper objectMapper,
+                        @Value("${lhrAuditEnabled:true}") boolean enabled,
+                        @Value("${lhrAuditDirectory:#{systemProperties['java.io.tmpdir'] + '/lhr-audit'}}") String directory,
+                        @Value("${lhrAuditQueueCapacity:4096}") int queueCapacity,
+                        @Value("${lhrAuditSegmentMaxBytes:16777216}") long segmentMaxBytes,
+                        @Value("${lhrAuditRetentionDays:14}") int retentionDays,
+                        @Value("${lhrAuditMaxSegments:100}") int maxSegments,
+                        @Value("${lhrAuditRequestSampleRate:1.0}") double requestSampleRate) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.segmentMaxBytes = segmentMaxBytes;
+        this.retentionDays = retentionDays;
+        this.maxSegments = maxSegments;
+        this.requestSampleRate = requestSampleRate;
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("LHR audit sink is disabled");
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::drainLoop, "lhr-audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writerThread != null) {
+            writerThread.interrupt();
+            try {
+                writerThread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Enqueues an outgoing request body, subject to sampling. Never blocks the caller.
+     */
+    public void recordRequest(String method, String path, Integer personalnummer, byte[] jsonBody) {
+        if (!enabled || jsonBody == null || ThreadLocalRandom.current().nextDouble() >= requestSampleRate) {
+            return;
+        }
+        enqueue(new AuditRecord(Instant.now(), RecordType.REQUEST, method, path, personalnummer, jsonBody, true));
+    }
+
+    /**
+     * Enqueues an error response body as received from LHR. Never blocks the caller.
+     */
+    public void recordError(String method, String path, Integer personalnummer, String errorBody) {
+        if (!enabled || errorBody == null) {
+            return;
+        }
+        enqueue(new AuditRecord(Instant.now(), RecordType.ERROR_RESPONSE, method, path, personalnummer,
+                errorBody.getBytes(StandardCharsets.UTF_8), false));
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void enqueue(AuditRecord auditRecord) {
+        while (!buffer.offer(auditRecord)) {
+            if (buffer.poll() != null) {
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    private void drainLoop() {
+        List<AuditRecord> batch = new ArrayList<>();
+        while (running || !buffer.isEmpty()) {
+            try {
+                AuditRecord first = buffer.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch);
+                for (AuditRecord auditRecord : batch) {
+                    write(auditRecord);
+                }
+                segment.flush();
+            } catch (InterruptedException e) {
+                if (running) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            } catch (Exception e) {
+                log.error("Exception caught while writing the LHR audit segment: {}", e.getMessage());
+                closeSegment();
+            } finally {
+                batch.clear();
+            }
+        }
+        closeSegment();
+    }
+
+    private void write(AuditRecord auditRecord) throws IOException {
+        ObjectNode header = objectMapper.createObjectNode();
+        header.put("ts", auditRecord.timestamp().toString());
+        header.put("type", auditRecord.type().name());
+        header.put("method", auditRecord.method());
+        header.put("path", auditRecord.path());
+        if (auditRecord.personalnummer() != null) {
+            header.put("dnNr", auditRecord.personalnummer());
+        }
+        byte[] body = auditRecord.payloadIsJson()
+                ? auditRecord.payload()
+                : objectMapper.writeValueAsBytes(new String(auditRecord.payload(), StandardCharsets.UTF_8));
+
+        // The header is written without its closing brace so that the payload bytes can be appended as-is.
+        byte[] headerBytes = objectMapper.writeValueAsBytes(header);
+        byte[] prefix = ",\"body\":".getBytes(StandardCharsets.UTF_8);
+        long recordLength = headerBytes.length + prefix.length + body.length + 1L;
+
+        rollIfNeeded(recordLength);
+        segment.write(headerBytes, 0, headerBytes.length - 1);
+        segment.write(prefix);
+        segment.write(body);
+        segment.write('}');
+        segment.write('\n');
+        segmentBytes += recordLength;
+    }
+
+    private void rollIfNeeded(long nextRecordLength) throws IOException {
+        LocalDateTime now = LocalDateTime.now();
+        boolean dayChanged = segmentOpenedAt != null && !segmentOpenedAt.toLocalDate().equals(now.toLocalDate());
+        if (segment != null && !dayChanged && segmentBytes + nextRecordLength <= segmentMaxBytes) {
+            return;
+        }
+        closeSegment();
+        Files.createDirectories(directory);
+        Path file = directory.resolve(SEGMENT_PREFIX + now.format(SEGMENT_TIMESTAMP) + SEGMENT_SUFFIX);
+        segment = new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(file), 8192, true));
+        segmentBytes = 0;
+        segmentOpenedAt = now;
+        log.info("LHR audit segment created: {}", file.toAbsolutePath());
+        purgeExpiredSegments();
+    }
+
+    private void closeSegment() {
+        if (segment == null) {
+            return;
+        }
+        try {
+            segment.close();
+        } catch (IOException e) {
+            log.warn("Could not close LHR audit segment: {}", e.getMessage());
+        }
+        segment = null;
+    }
+
+    private void purgeExpiredSegments() {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(segments::add);
+        } catch (IOException e) {
+            log.warn("Could not list LHR audit segments: {}", e.getMessage());
+            return;
+        }
+        // Segment names carry their creation timestamp, so lexical order is chronological; newest first.
+        segments.sort(Comparator.comparing((Path p) -> p.getFileName().toString()).reversed());
+        FileTime cutoff = FileTime.from(Instant.now().minus(retentionDays, ChronoUnit.DAYS));
+        for (int i = 0; i < segments.size(); i++) {
+            Path candidate = segments.get(i);
+            try {
+                if (i >= maxSegments || Files.getLastModifiedTime(candidate).compareTo(cutoff) < 0) {
+                    Files.deleteIfExists(candidate);
+                }
+            } catch (IOException e) {
+                log.warn("Could not delete LHR audit segment {}: {}", candidate, e.getMessage());
+            }
+        }
+    }
+}
@@ -23,6 +23,7 @@ import com.ibosng.lhrservice.exceptions.LHRWebClientException;
 import jakarta.annotation.Nullable;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
 
 import java.io.File;
 import java.util.List;
@@ -39,6 +40,11 @@ public interface LHRClient {
 
     File downloadDokument(String faKz, Integer faNr, Integer dnNr, Integer rubrikId, Integer docId) throws LHRWebClientException;
 
+    /**
+     * Downloads the document into memory instead of a temporary file.
+     */
+    byte[] downloadDokumentContent(String faKz, Integer faNr, Integer dnNr, Integer rubrikId, Integer docId) throws LHRWebClientException;
+
     ResponseEntity<DnZeitdatenDto[]> getDienstnehmerZeitDatenAllDienstnehmer(DienstnehmerRefDto dienstnehmerRef) throws LHRWebClientException;
 
     ResponseEntity<DnZeitdatenDto[]> getDienstnehmerZeitdaten(DienstnehmerRefDto dienstnehmerRef, String from, String to, List<String> zeitspeicherRefs) throws LHRWebClientException;
@@ -97,6 +103,8 @@ public interface LHRClient {
 
     ResponseEntity<DnEintritteDto> getEintritte(String faKz, Integer faNr, Integer dnNr, String effectiveDate, String[] art) throws LHRWebClientException;
 
+    Mono<ResponseEntity<DnEintritteDto>> getEintritteAsync(String faKz, Integer faNr, Integer dnNr, String effectiveDate, String[] art);
+
     ResponseEntity<DnEintrittDto> getEintritt(String faKz, Integer faNr, Integer dnNr, String grund, String day) throws LHRWebClientException;
 
     ResponseEntity<DnEintrittDto> putEintritt(String faKz, Integer faNr, Integer dnNr, String grund,
@@ -140,4 +148,16 @@ public interface LHRClient {
     File downloadFile(String path, HttpMethod method, Object body, Integer uriParameter, Map<String, String> queryParams, Integer personalnummer, String extension) throws LHRWebClientException;
 
     <T> ResponseEntity<T> buildResponse(String path, HttpMethod method, Object body, Integer uriParameter, Map<String, String> queryParams, Class<T> responseType, Integer personalnummer) throws LHRWebClientException;
+
+    /**
+     * Non-blocking variant of {@link #downloadFile}. The returned {@link Mono} emits the written temp file
+     * or errors with an {@link LHRWebClientException}.
+     */
+    Mono<File> downloadFileAsync(String path, HttpMethod method, Object body, Integer uriParameter, Map<String, String> queryParams, Integer personalnummer, String extension);
+
+    /**
+     * Non-blocking variant of {@link #buildResponse}. Completes empty on 404 and errors with an
+     * {@link LHRWebClientException} on any other non-2xx status.
+     */
+    <T> Mono<ResponseEntity<T>> buildResponseAsync(String path, HttpMethod method, Object body, Integer uriParameter, Map<String, String> queryParams, Class<T> responseType, Integer personalnummer);
 }
@@ -1,5 +1,6 @@
 package com.ibosng.lhrservice.client;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ibosng.lhrservice.dtos.*;
 import com.ibosng.lhrservice.dtos.dienstraeder.DienstraederSingleTopLevelDto;
@@ -31,17 +32,19 @@ import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.stereotype.Service;
-import org.springframework.util.FileCopyUtils;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.io.File;
-import java.io.FileOutputStream;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
@@ -58,7 +61,10 @@ import static com.ibosng.lhrservice.utils.Helpers.extractReasonFromErrorBody;
 public class LHRClientImpl implements LHRClient {
 
     private final WebClient webClient;
-    private final ObjectMapper objectMapper;
+    private final LHRConcurrencyLimiter concurrencyLimiter;
+    private final LHRAuditSink auditSink;
+    // Same configuration as the default Jackson2JsonEncoder of the WebClient, so the wire format is unchanged
+    private final ObjectMapper wireObjectMapper = Jackson2ObjectMapperBuilder.json().build();
     private static final String ZEIT = "/zeit";
     private static final String DIENSTNEHMERSTAMM = "/dienstnehmerstamm";
     private static final String BASE_PATH = "/lhr/firmengruppen/%s/firmen/%s/dienstnehmer";
@@ -90,9 +96,12 @@ public class LHRClientImpl implements LHRClient {
     private static final String STATUS = "/status";
     private static final String ZEITSPEICHERREFS = "9, 25,55,29,30,56";
 
-    public LHRClientImpl(@Qualifier("lhrservicewebclient") WebClient webClient, ObjectMapper objectMapper) {
+    public LHRClientImpl(@Qualifier("lhrservicewebclient") WebClient webClient,
+                         LHRConcurrencyLimiter concurrencyLimiter,
+                         LHRAuditSink auditSink) {
         this.webClient = webClient;
-        this.objectMapper = objectMapper;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.auditSink = auditSink;
     }
 
     @Override
@@ -131,6 +140,29 @@ public class LHRClientImpl implements LHRClient {
         return downloadFile(path, HttpMethod.GET, null, null, null, dnNr, ".pdf");
     }
 
+    @Override
+    public byte[] downloadDokumentContent(String faKz, Integer faNr, Integer dnNr, Integer rubrikId, Integer docId) throws LHRWebClientException {
+        final String path = BASE_PATH_DOCUMENT_DN_NR.formatted(faKz, faNr, dnNr) + RUBRIKEN + "/" + rubrikId + DOKUMENTE + "/" + docId;
+        Flux<DataBuffer> dataBuffer = webClient
+                .method(HttpMethod.GET)
+                .uri(uriBuilder -> buildUri(uriBuilder, path, null, null))
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .onErrorMap(error -> !(error instanceof LHRWebClientException), error -> {
+                    log.error("Error while downloading file from LHR: {}", error.getMessage());
+                    return new LHRWebClientException(error.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+                });
+        // join instead of bodyToMono(byte[].class), which is capped by the in-memory limit of the codecs
+        Mono<byte[]> content = DataBufferUtils.join(dataBuffer)
+                .map(joined -> {
+                    byte[] bytes = new byte[joined.readableByteCount()];
+                    joined.read(bytes);
+                    DataBufferUtils.release(joined);
+                    return bytes;
+                });
+        return concurrencyLimiter.limit(path, content).block();
+    }
+
     @Override
     public ResponseEntity<DnZeitdatenDto[]> getDienstnehmerZeitDatenAllDienstnehmer(DienstnehmerRefDto dienstnehmerRef) throws LHRWebClientException {
         String path = BASE_PATH_ZEITDATEN.formatted(dienstnehmerRef.getFaKz(), dienstnehmerRef.getFaNr()) + ZEITDATEN;
@@ -472,22 +504,33 @@ public class LHRClientImpl implements LHRClient {
     @Override
     public ResponseEntity<DnEintritteDto> getEintritte(String faKz, Integer faNr, Integer dnNr, String effectiveDate, String[] art) throws LHRWebClientException {
         try {
-            Map<String, String> queryParams = new HashMap<>();
-            if (!isNullOrBlank(effectiveDate)) {
-                queryParams.put("effectiveDate", effectiveDate);
-            }
-            if (art != null && art.length > 0) {
-                for (String artValue : art) {
-                    queryParams.put("art", artValue);
-                }
-            }
             String path = getBasePath(faKz, faNr) + "/{dnNr}" + EINTRITTE_PATH;
-            return buildResponse(path, HttpMethod.GET, null, dnNr, queryParams, DnEintritteDto.class, dnNr);
+            return buildResponse(path, HttpMethod.GET, null, dnNr, getEintritteQueryParams(effectiveDate, art), DnEintritteDto.class, dnNr);
         } catch (WebClientResponseException ex) {
             throw new LHRWebClientException(ex);
         }
     }
 
+    @Override
+    public Mono<ResponseEntity<DnEintritteDto>> getEintritteAsync(String faKz, Integer faNr, Integer dnNr, String effectiveDate, String[] art) {
+        String path = getBasePath(faKz, faNr) + "/{dnNr}" + EINTRITTE_PATH;
+        return buildResponseAsync(path, HttpMethod.GET, null, dnNr, getEintritteQueryParams(effectiveDate, art), DnEintritteDto.class, dnNr)
+                .onErrorMap(WebClientResponseException.class, LHRWebClientException::new);
+    }
+
+    private static Map<String, String> getEintritteQueryParams(String effectiveDate, String[] art) {
+        Map<String, String> queryParams = new HashMap<>();
+        if (!isNullOrBlank(effectiveDate)) {
+            queryParams.put("effectiveDate", effectiveDate);
+        }
+        if (art != null && art.length > 0) {
+            for (String artValue : art) {
+                queryParams.put("art", artValue);
+            }
+        }
+        return queryParams;
+    }
+
     @Override
     public ResponseEntity<DnEintrittDto> getEintritt(String faKz, Integer faNr, Integer dnNr, String grund, String day) throws LHRWebClientException {
         try {
@@ -608,17 +651,18 @@ public class LHRClientImpl implements LHRClient {
     public ResponseEntity<List<DnStammStandaloneDto>> findAllDienstnehmersFromLHR(String faKz, Integer faNr, Integer minDnNr, Integer maxDnNr,
                                                                                   String effectiveDate, String activeSince) throws LHRWebClientException {
         try {
-            return webClient
+            final String path = getBasePath(faKz, faNr);
+            return concurrencyLimiter.limit(path, webClient
                     .get()
                     .uri(uriBuilder -> uriBuilder
-                            .path(getBasePath(faKz, faNr))
+                            .path(path)
                             .queryParamIfPresent("minDnNr", Optional.ofNullable(minDnNr))
                             .queryParamIfPresent("maxDnNr", Optional.ofNullable(maxDnNr))
                             .queryParamIfPresent("effectiveDate", Optional.ofNullable(effectiveDate))
                             .queryParamIfPresent("activeSince", Optional.ofNullable(activeSince))
                             .build())
                     .retrieve()
-                    .toEntityList(DnStammStandaloneDto.class)
+                    .toEntityList(DnStammStandaloneDto.class))
                     .block();
         } catch (WebClientResponseException ex) {
             throw new LHRWebClientException(ex);
@@ -707,71 +751,67 @@ public class LHRClientImpl implements LHRClient {
 
     @Override
     public File downloadFile(String path, HttpMethod method, Object body, Integer uriParameter, Map<String, String> queryParams, Integer personalnummer, String extension) throws LHRWebClientException {
+        return downloadFileAsync(path, method, body, uriParameter, queryParams, personalnummer, extension).block();
+    }
+
+    @Override
+    public Mono<File> downloadFileAsync(String path, HttpMethod method, Object body, Integer uriParameter, Map<String, String> queryParams, Integer personalnummer, String extension) {
         if (body != null) {
-            saveBodyAsJsonToTempFile(body, personalnummer, false);
+            try {
+                auditSink.recordRequest(method.name(), path, personalnummer, serializeBody(body));
+            } catch (JsonProcessingException e) {
+                log.error("Exception caught while serializing the request body: {}", e.getMessage());
+            }
         }
 
         final File tempFile = new File(System.getProperty("java.io.tmpdir"), "file_" + personalnummer +
                 LocalDateTime.now().format(DateTimeFormatter.ofPattern("_yyyy-MM-dd_HH-mm-ss")) + extension);
         Flux<DataBuffer> dataBuffer = webClient
                 .method(method)
-                .uri(uriBuilder -> {
-                    if (queryParams != null) {
-                        queryParams.forEach(uriBuilder::queryParam);
-                    }
-
-                    if (uriParameter != null) {
-                        return uriBuilder
-                                .path(path)
-                                .build(uriParameter);
-                    } else {
-                        return uriBuilder
-                                .path(path)
-                                .build();
-                    }
-                })
+                .uri(uriBuilder -> buildUri(uriBuilder, path, uriParameter, queryParams))
                 .retrieve()
                 .bodyToFlux(DataBuffer.class)
-                .doOnError(error -> {
+                .onErrorMap(error -> !(error instanceof LHRWebClientException), error -> {
                     log.error("Error while downloading file from LHR: {}", error.getMessage());
-                    throw new LHRWebClientException(error.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+                    return new LHRWebClientException(error.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
                 });
 
-        DataBufferUtils.write(dataBuffer, tempFile.toPath(), StandardOpenOption.CREATE).share().block();
-        return tempFile;
+        return concurrencyLimiter.limit(path, DataBufferUtils.write(dataBuffer, tempFile.toPath(), StandardOpenOption.CREATE)
+                .then(Mono.just(tempFile)));
     }
 
     @Override
     public <T> ResponseEntity<T> buildResponse(String path, HttpMethod method, Object body, Integer uriParameter, Map<String, String> queryParams, Class<T> responseType, Integer personalnummer) throws LHRWebClientException {
+        return buildResponseAsync(path, method, body, uriParameter, queryParams, responseType, personalnummer)
+                .blockOptional()
+                // If blockOptional() returns empty (e.g., for 404), return ResponseEntity with 404 status
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    @Override
+    public <T> Mono<ResponseEntity<T>> buildResponseAsync(String path, HttpMethod method, Object body, Integer uriParameter, Map<String, String> queryParams, Class<T> responseType, Integer personalnummer) {
         WebClient.RequestBodySpec requestBodySpec = webClient
                 .method(method)
-                .uri(uriBuilder -> {
-                    if (queryParams != null) {
-                        queryParams.forEach(uriBuilder::queryParam);
-                    }
-
-                    if (uriParameter != null) {
-                        return uriBuilder
-                                .path(path)
-                                .build(uriParameter);
-                    } else {
-                        return uriBuilder
-                                .path(path)
-                                .build();
-                    }
-                });
+                .uri(uriBuilder -> buildUri(uriBuilder, path, uriParameter, queryParams));
+
+        // Serialize once: the same bytes go on the wire and into the audit trail
+        byte[] payload = null;
         if (body != null) {
-            saveBodyAsJsonToTempFile(body, personalnummer, false);
+            try {
+                payload = serializeBody(body);
+            } catch (JsonProcessingException e) {
+                return Mono.error(new LHRWebClientException("Request body could not be serialized: " + e.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY));
+            }
+            auditSink.recordRequest(method.name(), path, personalnummer, payload);
         }
 
         // Conditionally adding body if not null
-        WebClient.ResponseSpec responseSpec = body != null ?
-                requestBodySpec.body(BodyInserters.fromValue(body)).retrieve() :
+        WebClient.ResponseSpec responseSpec = payload != null ?
+                requestBodySpec.contentType(MediaType.APPLICATION_JSON).body(BodyInserters.fromValue(payload)).retrieve() :
                 requestBodySpec.retrieve();
 
-        //return responseSpec.toEntity(responseType).block();
         // Handle both success and error cases
-        return responseSpec
+        Mono<ResponseEntity<T>> response = responseSpec
                 .onStatus(HttpStatusCode::isError, clientResponse -> {
                     log.warn("Non-2xx response, status code: {}", clientResponse.statusCode());
 
@@ -779,7 +819,7 @@ public class LHRClientImpl implements LHRClient {
                             .defaultIfEmpty("No error body")
                             .flatMap(errorBody -> {
                                 if (errorBody != null && !errorBody.equals("No error body")) {
-                                    saveBodyAsJsonToTempFile(errorBody, personalnummer, true);
+                                    auditSink.recordError(method.name(), path, personalnummer, errorBody);
                                     String reason = extractReasonFromErrorBody(errorBody);
                                     log.warn("Reason for rejecting the request: {}", reason);
 
@@ -799,28 +839,34 @@ public class LHRClientImpl implements LHRClient {
                                 }
                             });
                 })
-                .toEntity(responseType)
-                .blockOptional()
-                // If blockOptional() returns empty (e.g., for 404), return ResponseEntity with 404 status
-                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+                .toEntity(responseType);
+        return concurrencyLimiter.limit(path, response);
     }
 
-    private void saveBodyAsJsonToTempFile(Object body, Integer identifier, boolean isError) {
-        try {
-            String jsonBody = objectMapper.writeValueAsString(body);
-            File tempFile;
-            if (!isError) {
-                tempFile = new File(System.getProperty("java.io.tmpdir"), "requestBody_" + identifier + ".json");
-            } else {
-                tempFile = new File(System.getProperty("java.io.tmpdir"), "errorResponse_" + identifier + ".json");
-            }
-            try (FileOutputStream fos = new FileOutputStream(tempFile)) {
-                FileCopyUtils.copy(jsonBody.getBytes(StandardCharsets.UTF_8), fos);
-            }
-            log.info("Temporary file created: {} , isError: {}", tempFile.getAbsolutePath(), isError);
-        } catch (Exception e) {
-            log.error("Exception caught while saving the json file: {}", e.getMessage());
+    private static URI buildUri(UriBuilder uriBuilder, String path, Integer uriParameter, Map<String, String> queryParams) {
+        if (queryParams != null) {
+            queryParams.forEach(uriBuilder::queryParam);
+        }
+
+        if (uriParameter != null) {
+            return uriBuilder
+                    .path(path)
+                    .build(uriParameter);
+        } else {
+            return uriBuilder
+                    .path(path)
+                    .build();
+        }
+    }
+
+    private byte[] serializeBody(Object body) throws JsonProcessingException {
+        if (body instanceof byte[] bytes) {
+            return bytes;
+        }
+        if (body instanceof CharSequence text) {
+            return text.toString().getBytes(StandardCharsets.UTF_8);
         }
+        return wireObjectMapper.writeValueAsBytes(body);
     }
 
     private String getBasePath(String faKz, Integer faNr) {
@@ -0,0 +1,151 @@
+package com.ibosng.lhrservice.client;
+
+import com.ibosng.lhrservice.exceptions.LHRWebClientException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Non-blocking bulkhead for the LHR API, keyed per Firma (faKz/faNr).
+ * <p>
+ * Requests above <b>lhrMaxConcurrentRequestsPerFirma</b> are parked in a queue without holding a thread and are
+ * subscribed as soon as a running request of the same Firma terminates. Requests whose path does not contain
+ * a Firma share the {@link #GLOBAL_KEY} bulkhead. At most <b>lhrMaxQueuedRequestsPerFirma</b> requests wait per Firma,
+ * further ones fail right away with a {@link LHRWebClientException} with status 429.
+ */
+@Slf4j
+@Component
+public class LHRConcurrencyLimiter {
+
+    static final String GLOBAL_KEY = "global";
+    private static final Pattern FIRMA_PATTERN = Pattern.compile("/firmengruppen/([^/]+)/firmen/([^/]+)");
+
+    private final int maxConcurrentRequestsPerFirma;
+    private final int maxQueuedRequestsPerFirma;
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public LHRConcurrencyLimiter(@Value("${lhrMaxConcurrentRequestsPerFirma:16}") int maxConcurrentRequestsPerFirma,
+                                 @Value("${lhrMaxQueuedRequestsPerFirma:512}") int maxQueuedRequestsPerFirma) {
+        this.maxConcurrentRequestsPerFirma = Math.max(1, maxConcurrentRequestsPerFirma);
+        this.maxQueuedRequestsPerFirma = Math.max(0, maxQueuedRequestsPerFirma);
+    }
+
+    public <T> Mono<T> limit(String path, Mono<T> call) {
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(resolveKey(path), key -> new Bulkhead(maxConcurrentRequestsPerFirma, maxQueuedRequestsPerFirma));
+        return Mono.create(sink -> {
+            AtomicBoolean released = new AtomicBoolean(false);
+            Runnable release = () -> {
+                if (released.compareAndSet(false, true)) {
+                    bulkhead.release();
+                }
+            };
+            // set by whichever comes first: the permit starting the call or the subscriber cancelling while queued
+            AtomicBoolean settled = new AtomicBoolean(false);
+            // disposes a subscription that is swapped in after the cancel
+            Disposable.Swap running = Disposables.swap();
+            Runnable onPermit = () -> {
+                if (!settled.compareAndSet(false, true)) {
+                    release.run();
+                    return;
+                }
+                running.update(call
+                        .doFinally(signal -> release.run())
+                        .subscribe(sink::success, sink::error, sink::success));
+            };
+            sink.onCancel(() -> {
+                if (settled.compareAndSet(false, true)) {
+                    bulkhead.remove(onPermit);
+                } else {
+                    running.dispose();
+                }
+            });
+            if (!bulkhead.acquire(onPermit)) {
+                settled.set(true);
+                sink.error(new LHRWebClientException("Too many queued LHR requests for " + resolveKey(path), HttpStatus.TOO_MANY_REQUESTS));
+            }
+        });
+    }
+
+    public int getActiveRequests(String path) {
+        Bulkhead bulkhead = bulkheads.get(resolveKey(path));
+        return bulkhead != null ? bulkhead.active.get() : 0;
+    }
+
+    static String resolveKey(String path) {
+        if (path == null) {
+            return GLOBAL_KEY;
+        }
+        Matcher matcher = FIRMA_PATTERN.matcher(path);
+        return matcher.find() ? matcher.group(1) + "/" + matcher.group(2) : GLOBAL_KEY;
+    }
+
+    private static final class Bulkhead {
+        private final int maxConcurrent;
+        private final int maxQueued;
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+
+        private Bulkhead(int maxConcurrent, int maxQueued) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueued = maxQueued;
+        }
+
+        /**
+         * Queues the request, returns false without queueing it when all permits are taken and the queue is full.
+         * The bound is checked without a lock, so concurrent callers may overshoot it by a few entries.
+         */
+        private boolean acquire(Runnable onPermit) {
+            if (active.get() >= maxConcurrent && queued.get() >= maxQueued) {
+                return false;
+            }
+            queued.incrementAndGet();
+            waiting.add(onPermit);
+            drain();
+            return true;
+        }
+
+        private void remove(Runnable onPermit) {
+            if (waiting.remove(onPermit)) {
+                queued.decrementAndGet();
+            }
+        }
+
+        private void release() {
+            active.decrementAndGet();
+            drain();
+        }
+
+        private void drain() {
+            while (!waiting.isEmpty()) {
+                int current = active.get();
+                if (current >= maxConcurrent) {
+                    return;
+                }
+                if (!active.compareAndSet(current, current + 1)) {
+                    continue;
+                }
+                Runnable next = waiting.poll();
+                if (next == null) {
+                    active.decrementAndGet();
+                    continue;
+                }
+                queued.decrementAndGet();
+                next.run();
+            }
+        }
+    }
+}
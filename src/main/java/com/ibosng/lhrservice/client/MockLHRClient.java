@@ -26,6 +26,7 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.io.File;
 import java.util.Collections;
@@ -58,6 +59,12 @@ public class MockLHRClient implements LHRClient {
                 String.format("lhr-mock-%s-%s-%s.pdf", dnNr, rubrikId, docId));
     }
 
+    @Override
+    public byte[] downloadDokumentContent(String faKz, Integer faNr, Integer dnNr, Integer rubrikId, Integer docId) throws LHRWebClientException {
+        log.info("MOCK downloadDokumentContent({}, {}, {}, {}, {})", faKz, faNr, dnNr, rubrikId, docId);
+        return new byte[0];
+    }
+
     @Override
     public ResponseEntity<DnZeitdatenDto[]> getDienstnehmerZeitDatenAllDienstnehmer(DienstnehmerRefDto dienstnehmerRef) throws LHRWebClientException {
         log.info("MOCK getDienstnehmerZeitDatenAllDienstnehmer({})", dienstnehmerRef);
@@ -220,6 +227,11 @@ public class MockLHRClient implements LHRClient {
         return ResponseEntity.ok(new DnEintritteDto());
     }
 
+    @Override
+    public Mono<ResponseEntity<DnEintritteDto>> getEintritteAsync(String faKz, Integer faNr, Integer dnNr, String effectiveDate, String[] art) {
+        return Mono.fromCallable(() -> getEintritte(faKz, faNr, dnNr, effectiveDate, art));
+    }
+
     @Override
     public ResponseEntity<DnEintrittDto> getEintritt(String faKz, Integer faNr, Integer dnNr, String grund, String day) throws LHRWebClientException {
         log.info("MOCK getEintritt({}, {}, {}, {}, {})", faKz, faNr, dnNr, grund, day);
@@ -325,4 +337,14 @@ public class MockLHRClient implements LHRClient {
         // Return 200 OK with null body as a generic stub — simple and clearly a mock.
         return ResponseEntity.ok().build();
     }
-}
\ No newline at end of file
+
+    @Override
+    public Mono<File> downloadFileAsync(String path, HttpMethod method, Object body, Integer uriParameter, Map<String, String> queryParams, Integer personalnummer, String extension) {
+        return Mono.fromCallable(() -> downloadFile(path, method, body, uriParameter, queryParams, personalnummer, extension));
+    }
+
+    @Override
+    public <T> Mono<ResponseEntity<T>> buildResponseAsync(String path, HttpMethod method, Object body, Integer uriParameter, Map<String, String> queryParams, Class<T> responseType, Integer personalnummer) {
+        return Mono.fromCallable(() -> buildResponse(path, method, body, uriParameter, queryParams, responseType, personalnummer));
+    }
+}
@@ -1,12 +1,18 @@
 package com.ibosng.lhrservice.config;
 
 import com.ibosng.lhrservice.exceptions.LHRException;
+import io.netty.channel.ChannelOption;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Profile("!test")
 @Configuration
@@ -22,11 +28,50 @@ public class LhrServiceWebClientConfig {
     @Value("${lhrUrl:#{null}}")
     private String lhrUrl;
 
+    @Value("${lhrMaxConnections:50}")
+    private Integer lhrMaxConnections;
+
+    @Value("${lhrPendingAcquireMaxCount:1000}")
+    private Integer lhrPendingAcquireMaxCount;
+
+    @Value("${lhrPendingAcquireTimeoutSeconds:60}")
+    private Integer lhrPendingAcquireTimeoutSeconds;
+
+    @Value("${lhrMaxIdleTimeSeconds:30}")
+    private Integer lhrMaxIdleTimeSeconds;
+
+    @Value("${lhrConnectTimeoutMillis:10000}")
+    private Integer lhrConnectTimeoutMillis;
+
+    @Value("${lhrResponseTimeoutSeconds:120}")
+    private Integer lhrResponseTimeoutSeconds;
+
+    /**
+     * Dedicated connection pool for the LHR API. Connections are kept alive between calls so that a bulk
+     * sync does not pay a TLS handshake per request, and callers beyond <b>lhrMaxConnections</b> wait in
+     * a bounded pending-acquire queue instead of opening new sockets.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider lhrConnectionProvider() {
+        return ConnectionProvider.builder("lhr-pool")
+                .maxConnections(getLhrMaxConnections())
+                .pendingAcquireMaxCount(getLhrPendingAcquireMaxCount())
+                .pendingAcquireTimeout(Duration.ofSeconds(getLhrPendingAcquireTimeoutSeconds()))
+                .maxIdleTime(Duration.ofSeconds(getLhrMaxIdleTimeSeconds()))
+                .evictInBackground(Duration.ofSeconds(getLhrMaxIdleTimeSeconds()))
+                .build();
+    }
+
     @Bean("lhrservicewebclient")
-    public WebClient webClient() {
+    public WebClient webClient(ConnectionProvider lhrConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(lhrConnectionProvider)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, getLhrConnectTimeoutMillis())
+                .responseTimeout(Duration.ofSeconds(getLhrResponseTimeoutSeconds()));
         try {
             return WebClient.builder()
                     .baseUrl(getLhrUrl())
+                    .clientConnector(new ReactorClientHttpConnector(httpClient))
                     .defaultHeaders(httpHeaders -> httpHeaders.setBasicAuth(getLhrUsername(), getLhrPassword()))
                     .build();
         } catch (IllegalArgumentException e) {
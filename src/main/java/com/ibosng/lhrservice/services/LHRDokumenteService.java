@@ -2,6 +2,7 @@ package com.ibosng.lhrservice.services;
 
 import com.ibosng.dbservice.entities.masterdata.Personalnummer;
 import com.ibosng.lhrservice.dtos.dokumente.DnDokumenteDto;
+import com.ibosng.lhrservice.dtos.dokumente.DokumentDto;
 import com.ibosng.lhrservice.dtos.dokumente.DokumentRubrikenDto;
 import com.ibosng.lhrservice.enums.LhrDocuments;
 import org.springframework.http.ResponseEntity;
@@ -20,9 +21,18 @@ public interface LHRDokumenteService {
 
     List<File> getFiles(String personalnummer, String date, String regex);
 
+    DnDokumenteDto findDocuments(Personalnummer personalnummer, Integer rubrikId, LocalDate since);
+
+    /**
+     * Downloads the document into memory, null if LHR failed to deliver it.
+     */
+    byte[] downloadDocument(DnDokumenteDto dnDokumente, DokumentDto document);
+
     void processAndUploadFiles(String regex, String documentType, LhrDocuments docEnum, String identifier, String personalnummer, LocalDate lastSyncOfDocuments);
 
     boolean uploadToFileShare(File file, String personalnummer, String identifier, LhrDocuments type);
 
     boolean uploadToFileShare(File file, String personalnummer, String fullName, LhrDocuments type, String typeName);
+
+    boolean uploadToFileShare(Personalnummer personalnummer, byte[] content, String fullName, LhrDocuments type, String typeName, String documentName);
 }
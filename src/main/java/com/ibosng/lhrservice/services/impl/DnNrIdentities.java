@@ -0,0 +1,68 @@
+package com.ibosng.lhrservice.services.impl;
+
+import com.ibosng.dbservice.dtos.mitarbeiter.MitarbeiterIdentityDto;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+import static com.ibosng.lhrservice.utils.Parsers.parseStringToInteger;
+
+/**
+ * The employees of one Firma by their LHR DnNr. The DnNrs are kept as a sorted {@code int[]} and looked up by binary
+ * search, so neither the keys nor the lookups are boxed.
+ */
+@Slf4j
+public final class DnNrIdentities {
+
+    private final int[] dnNrs;
+    private final MitarbeiterIdentityDto[] identities;
+
+    private DnNrIdentities(int[] dnNrs, MitarbeiterIdentityDto[] identities) {
+        this.dnNrs = dnNrs;
+        this.identities = identities;
+    }
+
+    /**
+     * Personalnummern that are no number are left out, of a DnNr used twice the first is kept.
+     */
+    static DnNrIdentities of(List<MitarbeiterIdentityDto> identities) {
+        record Entry(int dnNr, MitarbeiterIdentityDto identity) {
+        }
+        Entry[] entries = identities.stream()
+                .map(identity -> {
+                    Integer dnNr = parseStringToInteger(identity.getPersonalnummer());
+                    return dnNr == null ? null : new Entry(dnNr, identity);
+                })
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingInt(Entry::dnNr))
+                .toArray(Entry[]::new);
+
+        int[] dnNrs = new int[entries.length];
+        MitarbeiterIdentityDto[] sorted = new MitarbeiterIdentityDto[entries.length];
+        int size = 0;
+        for (Entry entry : entries) {
+            if (size > 0 && dnNrs[size - 1] == entry.dnNr()) {
+                log.warn("Personalnummer {} has the same DnNr as {}, ignored", entry.identity().getPersonalnummer(), sorted[size - 1].getPersonalnummer());
+                continue;
+            }
+            dnNrs[size] = entry.dnNr();
+            sorted[size++] = entry.identity();
+        }
+        return new DnNrIdentities(Arrays.copyOf(dnNrs, size), Arrays.copyOf(sorted, size));
+    }
+
+    /**
+     * The employee with the DnNr, {@code null} if there is none.
+     */
+    public MitarbeiterIdentityDto get(int dnNr) {
+        int index = Arrays.binarySearch(dnNrs, dnNr);
+        return index >= 0 ? identities[index] : null;
+    }
+
+    public int size() {
+        return dnNrs.length;
+    }
+}
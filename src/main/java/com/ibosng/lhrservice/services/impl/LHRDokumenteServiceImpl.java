@@ -28,6 +28,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -212,12 +213,7 @@ public class LHRDokumenteServiceImpl implements LHRDokumenteService {
             } catch (LHRWebClientException e) {
                 log.error("LHR client error while downloading document ID {} for personalnummer {}: {}",
                         document.getId(), personalnummer, e.getMessage());
-                mailService.sendEmail("lhr-service.ma-schnittstelle-nicht-verfuegbar",
-                        "german",
-                        null,
-                        azureSSOService.getGroupMemberEmailsByName(IbosRole.HR.getValue()).toArray(new String[0]),
-                        toObjectArray(),
-                        toObjectArray());
+                notifyHrOfUnavailableInterface();
             }
         });
 
@@ -228,6 +224,50 @@ public class LHRDokumenteServiceImpl implements LHRDokumenteService {
         return downloadedFiles;
     }
 
+    @Override
+    public DnDokumenteDto findDocuments(Personalnummer personalnummer, Integer rubrikId, LocalDate since) {
+        if (personalnummer.getFirma() == null) {
+            log.error("No firma for personalnummer: {}", personalnummer.getPersonalnummer());
+            return null;
+        }
+        final Integer firmaNr = lhrEnvironmentService.getFaNr(personalnummer.getFirma());
+        final String firmaKz = lhrEnvironmentService.getFaKz(personalnummer.getFirma());
+        final String startMonth = since.withDayOfMonth(1).format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+
+        try {
+            return client.getDokumenteInfo(firmaKz, firmaNr, parseStringToInteger(personalnummer.getPersonalnummer()), rubrikId, startMonth).getBody();
+        } catch (LHRWebClientException e) {
+            log.error("LHR client returned error for getting document info for personalnummer: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public byte[] downloadDocument(DnDokumenteDto dnDokumente, DokumentDto document) {
+        try {
+            return client.downloadDokumentContent(
+                    dnDokumente.getDienstnehmer().getFaKz(),
+                    dnDokumente.getDienstnehmer().getFaNr(),
+                    dnDokumente.getDienstnehmer().getDnNr(),
+                    dnDokumente.getRubrik().getId(),
+                    document.getId());
+        } catch (LHRWebClientException e) {
+            log.error("LHR client error while downloading document ID {} for dnNr {}: {}",
+                    document.getId(), dnDokumente.getDienstnehmer().getDnNr(), e.getMessage());
+            notifyHrOfUnavailableInterface();
+            return null;
+        }
+    }
+
+    private void notifyHrOfUnavailableInterface() {
+        mailService.sendEmail("lhr-service.ma-schnittstelle-nicht-verfuegbar",
+                "german",
+                null,
+                azureSSOService.getGroupMemberEmailsByName(IbosRole.HR.getValue()).toArray(new String[0]),
+                toObjectArray(),
+                toObjectArray());
+    }
+
     @Override
     public void processAndUploadFiles(String regex, String documentType, LhrDocuments docEnum, String identifier, String personalnummer, LocalDate lastSyncOfDocuments) {
         try {
@@ -263,6 +303,27 @@ public class LHRDokumenteServiceImpl implements LHRDokumenteService {
             return false;
         }
 
+        try (InputStream data = Files.asByteSource(file).openStream()) {
+            return upload(personalnummerObject, fullName, type, typeName, file.getName(), Files.getFileExtension(file.getName()), data, file.length());
+        } catch (IOException e) {
+            log.error("Error while processing file {}: {}", file.getAbsoluteFile(), e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public boolean uploadToFileShare(Personalnummer personalnummer, byte[] content, String fullName, LhrDocuments type, String typeName, String documentName) {
+        try (InputStream data = new ByteArrayInputStream(content)) {
+            return upload(personalnummer, fullName, type, typeName, documentName, "pdf", data, content.length);
+        } catch (IOException e) {
+            log.error("Error while uploading document {} for {}: {}", documentName, personalnummer.getPersonalnummer(), e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean upload(Personalnummer personalnummerObject, String fullName, LhrDocuments type, String typeName,
+                           String oldName, String fileExtension, InputStream data, long length) throws IOException {
+        String personalnummer = personalnummerObject.getPersonalnummer();
         String firma = personalnummerObject.getFirma().getName();
 
         String subdirectory = Mappers.getSubdirectoryForDocument(type.getLhrDocument());
@@ -275,27 +336,15 @@ public class LHRDokumenteServiceImpl implements LHRDokumenteService {
             fileShareService.createStructureForNewMA(personalnummerFullName, getFileSharePersonalunterlagen(), firma);
         }
 
-        try {
-            String fileExtension = Files.getFileExtension(file.getName());
-            String filename = getFileName(fullName, personalnummer, typeName, type, file.getName()) + "." + fileExtension;
-
-            try (InputStream data = Files.asByteSource(file).openStream()) {
-                long length = file.length();
-
-                fileShareService.uploadOrReplaceInFileShare(
-                        getFileSharePersonalunterlagen(),
-                        directoryPath,
-                        filename,
-                        data,
-                        length
-                );
-                log.info("File {} uploaded successfully to {}", filename, directoryPath);
-            }
-
-            return true;
-        } catch (IOException e) {
-            log.error("Error while processing file {}: {}", file.getAbsoluteFile(), e.getMessage());
-            return false;
-        }
+        String filename = getFileName(fullName, personalnummer, typeName, type, oldName) + "." + fileExtension;
+        fileShareService.uploadOrReplaceInFileShare(
+                getFileSharePersonalunterlagen(),
+                directoryPath,
+                filename,
+                data,
+                length
+        );
+        log.info("File {} uploaded successfully to {}", filename, directoryPath);
+        return true;
     }
-}
\ No newline at end of file
+}
@@ -3,6 +3,7 @@ package com.ibosng.lhrservice.services.impl;
 import com.ibosng._service.AsyncService;
 import com.ibosng.dbservice.dtos.UrlaubsdatenDto;
 import com.ibosng.dbservice.dtos.mitarbeiter.AbwesenheitDto;
+import com.ibosng.dbservice.dtos.mitarbeiter.MitarbeiterIdentityDto;
 import com.ibosng.dbservice.entities.Benutzer;
 import com.ibosng.dbservice.entities.Zeitausgleich;
 import com.ibosng.dbservice.entities.lhr.Abwesenheit;
@@ -13,7 +14,6 @@ import com.ibosng.dbservice.entities.zeitbuchung.Leistungserfassung;
 import com.ibosng.dbservice.entities.zeitbuchung.Leistungstyp;
 import com.ibosng.dbservice.entities.zeitbuchung.Zeitbuchung;
 import com.ibosng.dbservice.entities.zeitbuchung.Zeitbuchungstyp;
-import com.ibosng.dbservice.services.BenutzerService;
 import com.ibosng.dbservice.services.ZeitausgleichService;
 import com.ibosng.dbservice.services.lhr.AbwesenheitService;
 import com.ibosng.dbservice.services.mitarbeiter.PersonalnummerService;
@@ -34,19 +34,25 @@ import com.ibosng.lhrservice.exceptions.LHRWebClientException;
 import com.ibosng.lhrservice.exceptions.TechnicalException;
 import com.ibosng.lhrservice.services.*;
 import com.ibosng.microsoftgraphservice.services.MailService;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.EnumUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -76,9 +82,19 @@ public class LHRUrlaubServiceImpl implements LHRUrlaubService {
     private final HelperService helperService;
     private final StammdatenService stammdatenService;
     private final MailService mailService;
-    private final BenutzerService benutzerService;
+    private final LhrIdentityResolver lhrIdentityResolver;
     private final AsyncService asyncService;
 
+    private static final int ABWESENHEIT_RECONCILIATION_UPDATE_CHUNK = 500;
+
+    @Getter
+    @Value("${lhrReconciliationConcurrency:10}")
+    private Integer lhrReconciliationConcurrency;
+
+    @Getter
+    @Value("${lhrReconciliationRequestsPerSecond:20}")
+    private Integer lhrReconciliationRequestsPerSecond;
+
     @Override
     public ResponseEntity<?> getAllUrlaubstand(Integer personalnummerId, String effectiveDate) {
         Personalnummer pn = personalnummerService.findById(personalnummerId).orElse(null);
@@ -945,68 +961,124 @@ public class LHRUrlaubServiceImpl implements LHRUrlaubService {
         }
     }
 
+    /**
+     * Reconciles all VALID / REQUEST_CANCELLATION Abwesenheiten from the current month onwards with the Eintritte in LHR.
+     * <p>
+     * The Abwesenheiten are loaded with a single query and grouped per Personalnummer. The Eintritte are fetched
+     * non-blocking with at most <b>lhrReconciliationConcurrency</b> requests in flight and at most
+     * <b>lhrReconciliationRequestsPerSecond</b> requests started per second. Matching is done on a hashed
+     * (start, end, type) key. Erroneous Abwesenheiten are set to ERROR in chunked bulk updates, and the
+     * notification mails are only sent once all updates are written.
+     */
     @Override
     public void compareAndUpdateErroneousUrlaube() {
         final LocalDate relevantData = LocalDate.now().withDayOfMonth(1);
         final List<AbwesenheitStatus> relevantStatuses = List.of(AbwesenheitStatus.VALID, AbwesenheitStatus.REQUEST_CANCELLATION);
 
-        List<Personalnummer> personalnummeren = abwesenheitService.findAbwesenheitPersonalnummerFromDateAndStatusesIn(relevantData, relevantStatuses);
-        for (Personalnummer personalnummer : personalnummeren) {
-            final String firma = lhrEnvironmentService.getFaKz(personalnummer.getFirma());
-            final Integer firmaNr = lhrEnvironmentService.getFaNr(personalnummer.getFirma());
-            List<Abwesenheit> abwesenheitenIbos = abwesenheitService.findAbwesenheitBetweenDatesAndStatuses(personalnummer.getId(), relevantData, LocalDate.of(2100, 1, 1), relevantStatuses);
-            ResponseEntity<DnEintritteDto> response = lhrClient.getEintritte(firma, firmaNr, parseStringToInteger(personalnummer.getPersonalnummer()), null, null);
-            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
-                log.debug("Personalnummer-{} urlaube processing skipped, lhr return erroneous response", personalnummer.getPersonalnummer());
-                continue;
-            }
-            List<AbwesenheitDto> abwesenheitenLhr = response.getBody().getEintritte().stream().map(lhrMapperService::mapDnEintrittDto).toList();
-            abwesenheitenLhr.forEach(abwesenheitDto -> abwesenheitDto.setPersonalnummerId(personalnummer.getId()));
-
-            for (Abwesenheit abwesenheit : abwesenheitenIbos) {
-                AbwesenheitDto abwesenheitDto = abwesenheitService.mapToAbwesenheitDto(abwesenheit);
-                if (abwesenheitenLhr.stream().noneMatch(aLhr -> compareAbwesenheitDtos(abwesenheitDto, aLhr))) {
-                    log.info("Erronous abwesenheit found, id-{}", abwesenheit.getId());
-
-                    abwesenheit.setStatus(AbwesenheitStatus.ERROR);
-                    abwesenheit.setChangedOn(getLocalDateNow());
-                    abwesenheit.setChangedBy(LHR_SERVICE);
+        Map<Integer, List<Abwesenheit>> abwesenheitenByPersonalnummer = abwesenheitService
+                .findAllAbwesenheitenBetweenDatesAndStatuses(relevantData, LocalDate.of(2100, 1, 1), relevantStatuses)
+                .stream()
+                .filter(abwesenheit -> abwesenheit.getPersonalnummer() != null)
+                .collect(Collectors.groupingBy(abwesenheit -> abwesenheit.getPersonalnummer().getId(), LinkedHashMap::new, Collectors.toList()));
+        // Only Personalnummern with at least one Abwesenheit starting after the relevant date are reconciled
+        abwesenheitenByPersonalnummer.values().removeIf(abwesenheiten -> abwesenheiten.stream()
+                .noneMatch(abwesenheit -> abwesenheit.getVon() != null && abwesenheit.getVon().isAfter(relevantData)));
+
+        log.info("Reconciling Abwesenheiten of {} personalnummern with LHR", abwesenheitenByPersonalnummer.size());
+        final int concurrency = Math.max(1, getLhrReconciliationConcurrency());
+        final int requestsPerSecond = getLhrReconciliationRequestsPerSecond();
+        Flux<List<Abwesenheit>> groups = Flux.fromIterable(abwesenheitenByPersonalnummer.values());
+        if (requestsPerSecond > 0) {
+            groups = groups.delayElements(Duration.ofMillis(Math.max(1, 1000L / requestsPerSecond)));
+        }
+        List<Abwesenheit> erroneousAbwesenheiten = groups
+                .flatMap(abwesenheiten -> findErroneousAbwesenheiten(abwesenheiten.get(0).getPersonalnummer(), abwesenheiten), concurrency)
+                .flatMapIterable(Function.identity())
+                .collectList()
+                .blockOptional()
+                .orElse(List.of());
+
+        if (erroneousAbwesenheiten.isEmpty()) {
+            log.info("No erroneous abwesenheiten found");
+            return;
+        }
 
-                    abwesenheitService.save(abwesenheit);
+        List<Integer> erroneousIds = erroneousAbwesenheiten.stream().map(Abwesenheit::getId).toList();
+        log.info("Erronous abwesenheiten found, ids-{}", erroneousIds);
+        for (int i = 0; i < erroneousIds.size(); i += ABWESENHEIT_RECONCILIATION_UPDATE_CHUNK) {
+            abwesenheitService.updateStatusByIds(erroneousIds.subList(i, Math.min(i + ABWESENHEIT_RECONCILIATION_UPDATE_CHUNK, erroneousIds.size())),
+                    AbwesenheitStatus.ERROR, LHR_SERVICE);
+        }
 
-                    //email sending
-                    final Benutzer ma = benutzerService.findByPersonalnummer(personalnummer);
-                    if (ma == null) {
-                        log.warn("No stammdaten found for personalnummer - {}, email sending skipped", personalnummer.getPersonalnummer());
-                        continue;
-                    }
+        //email sending, deferred until all status updates are written. The Benutzer of a firma are resolved in one query,
+        //only the one Benutzer linked to the personalnummer is notified
+        LhrIdentityResolver.Run identities = lhrIdentityResolver.startRun();
+        for (Abwesenheit abwesenheit : erroneousAbwesenheiten) {
+            final Personalnummer personalnummer = abwesenheit.getPersonalnummer();
+            final Integer dnNr = personalnummer.getFirma() != null ? parseStringToInteger(personalnummer.getPersonalnummer()) : null;
+            final MitarbeiterIdentityDto ma = dnNr != null ? identities.get(personalnummer.getFirma(), dnNr) : null;
+            if (ma == null || ma.getBenutzerId() == null) {
+                log.warn("No single benutzer found for personalnummer - {}, email sending skipped", personalnummer.getPersonalnummer());
+                continue;
+            }
+            sendAbwesenheitErrorMail(abwesenheit, ma);
+        }
+    }
 
+    private Mono<List<Abwesenheit>> findErroneousAbwesenheiten(Personalnummer personalnummer, List<Abwesenheit> abwesenheitenIbos) {
+        final String firma = lhrEnvironmentService.getFaKz(personalnummer.getFirma());
+        final Integer firmaNr = lhrEnvironmentService.getFaNr(personalnummer.getFirma());
+        return lhrClient.getEintritteAsync(firma, firmaNr, parseStringToInteger(personalnummer.getPersonalnummer()), null, null)
+                .filter(response -> response.getStatusCode().is2xxSuccessful() && response.getBody() != null)
+                .map(response -> {
+                    Set<AbwesenheitKey> abwesenheitenLhr = response.getBody().getEintritte().stream()
+                            .map(lhrMapperService::mapDnEintrittDto)
+                            .map(abwesenheitDto -> new AbwesenheitKey(abwesenheitDto.getStartDate(), abwesenheitDto.getEndDate(), abwesenheitDto.getType()))
+                            .collect(Collectors.toSet());
+                    return abwesenheitenIbos.stream()
+                            .filter(abwesenheit -> !abwesenheitenLhr.contains(AbwesenheitKey.of(abwesenheit)))
+                            .toList();
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    log.debug("Personalnummer-{} urlaube processing skipped, lhr return erroneous response", personalnummer.getPersonalnummer());
+                    return List.of();
+                }))
+                .onErrorResume(ex -> {
+                    log.warn("Personalnummer-{} urlaube processing skipped, lhr call failed: {}", personalnummer.getPersonalnummer(), ex.getMessage());
+                    return Mono.just(List.of());
+                });
+    }
 
-                    final String nameMitarbeiter = ma.getFirstName() + " " + ma.getLastName();
-                    final String fkEmail = abwesenheit.getFuehrungskraefte().stream().map(Benutzer::getEmail).findFirst().orElse(null);
+    private void sendAbwesenheitErrorMail(Abwesenheit abwesenheit, MitarbeiterIdentityDto ma) {
+        final String nameMitarbeiter = ma.getBenutzerFirstName() + " " + ma.getBenutzerLastName();
+        final String fkEmail = abwesenheit.getFuehrungskraefte().stream().map(Benutzer::getEmail).findFirst().orElse(null);
 
-                    String[] emails = Stream.of(ma.getEmail(), fkEmail).filter(Objects::nonNull).toArray(String[]::new);
+        String[] emails = Stream.of(ma.getEmail(), fkEmail).filter(Objects::nonNull).toArray(String[]::new);
 
-                    if (emails.length == 0) {
-                        log.warn("No emails found for abwesenheit - {}, email sending skipped", abwesenheit.getId());
-                        continue;
-                    }
+        if (emails.length == 0) {
+            log.warn("No emails found for abwesenheit - {}, email sending skipped", abwesenheit.getId());
+            return;
+        }
 
-                    mailService.sendEmail("lhr-service.abwesenheit.error",
-                            "german",
-                            null,
-                            emails,
-                            toObjectArray(abwesenheit.getVon().format(DateTimeFormatter.ofPattern(DATE_PATTERN_ABWESENHEIT_ERROR)), abwesenheit.getBis().format(DateTimeFormatter.ofPattern(DATE_PATTERN_ABWESENHEIT_ERROR))),
-                            toObjectArray(nameMitarbeiter, abwesenheit.getVon().format(DateTimeFormatter.ofPattern(DATE_PATTERN_ABWESENHEIT_ERROR)), abwesenheit.getBis().format(DateTimeFormatter.ofPattern(DATE_PATTERN_ABWESENHEIT_ERROR))));
-                }
-            }
+        try {
+            mailService.sendEmail("lhr-service.abwesenheit.error",
+                    "german",
+                    null,
+                    emails,
+                    toObjectArray(abwesenheit.getVon().format(DateTimeFormatter.ofPattern(DATE_PATTERN_ABWESENHEIT_ERROR)), abwesenheit.getBis().format(DateTimeFormatter.ofPattern(DATE_PATTERN_ABWESENHEIT_ERROR))),
+                    toObjectArray(nameMitarbeiter, abwesenheit.getVon().format(DateTimeFormatter.ofPattern(DATE_PATTERN_ABWESENHEIT_ERROR)), abwesenheit.getBis().format(DateTimeFormatter.ofPattern(DATE_PATTERN_ABWESENHEIT_ERROR))));
+        } catch (Exception e) {
+            log.error("Failed to send abwesenheit error email for abwesenheit - {}: {}", abwesenheit.getId(), e.getMessage());
         }
     }
 
-    private boolean compareAbwesenheitDtos(AbwesenheitDto fromLhr, AbwesenheitDto fromIbos) {
-        return Objects.equals(fromLhr.getPersonalnummerId(), fromIbos.getPersonalnummerId()) &&
-                Objects.equals(fromLhr.getStartDate(), fromIbos.getStartDate()) &&
-                Objects.equals(fromLhr.getEndDate(), fromIbos.getEndDate()) &&
-                Objects.equals(fromLhr.getType(), fromIbos.getType());
+    /**
+     * Identity of an Abwesenheit when comparing iBOS-NG with LHR. Both sides belong to the same Personalnummer.
+     */
+    private record AbwesenheitKey(LocalDate start, LocalDate end, AbwesenheitType type) {
+        static AbwesenheitKey of(Abwesenheit abwesenheit) {
+            AbwesenheitType type = isNullOrBlank(abwesenheit.getGrund()) ? null : EnumUtils.getEnum(AbwesenheitType.class, abwesenheit.getGrund());
+            return new AbwesenheitKey(abwesenheit.getVon(), abwesenheit.getBis(), type);
+        }
     }
 }
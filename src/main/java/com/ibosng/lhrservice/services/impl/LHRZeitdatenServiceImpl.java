@@ -5,33 +5,22 @@ import com.ibosng._service.AsyncService;
 import com.ibosng.dbservice.dtos.zeiterfassung.umbuchung.UmbuchungDto;
 import com.ibosng.dbservice.dtos.zeiterfassung.umbuchung.UmbuchungMetadataDto;
 import com.ibosng.dbservice.dtos.zeiterfassung.umbuchung.Zeitspeicher2ValueDto;
-import com.ibosng.dbservice.entities.Benutzer;
 import com.ibosng.dbservice.entities.Status;
-import com.ibosng.dbservice.entities.lhr.Abwesenheit;
-import com.ibosng.dbservice.entities.lhr.AbwesenheitStatus;
 import com.ibosng.dbservice.entities.masterdata.IbisFirma;
 import com.ibosng.dbservice.entities.masterdata.Personalnummer;
-import com.ibosng.dbservice.entities.mitarbeiter.Stammdaten;
-import com.ibosng.dbservice.entities.zeitbuchung.Leistungserfassung;
 import com.ibosng.dbservice.entities.zeiterfassung.Auszahlungsantrag;
 import com.ibosng.dbservice.entities.zeiterfassung.AuszahlungsantragStatus;
-import com.ibosng.dbservice.services.BenutzerService;
-import com.ibosng.dbservice.services.lhr.AbwesenheitService;
 import com.ibosng.dbservice.services.masterdata.IbisFirmaService;
 import com.ibosng.dbservice.services.mitarbeiter.PersonalnummerService;
-import com.ibosng.dbservice.services.mitarbeiter.StammdatenService;
 import com.ibosng.dbservice.services.zeitbuchung.LeistungserfassungService;
 import com.ibosng.dbservice.services.zeiterfassung.AuszahlungsantragService;
 import com.ibosng.dbservice.services.zeiterfassung.ZeitspeicherService;
 import com.ibosng.lhrservice.client.LHRClient;
 import com.ibosng.lhrservice.dtos.DienstnehmerRefDto;
-import com.ibosng.lhrservice.dtos.StatusAnfrage;
 import com.ibosng.lhrservice.dtos.zeitdaten.*;
 import com.ibosng.lhrservice.enums.Zeitspeicherrefs;
-import com.ibosng.lhrservice.exceptions.LHRWebClientException;
 import com.ibosng.lhrservice.services.LHREnvironmentService;
 import com.ibosng.lhrservice.services.LHRZeitdatenService;
-import com.ibosng.lhrservice.utils.Parsers;
 import com.ibosng.microsoftgraphservice.services.MailService;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -50,8 +39,6 @@ import java.util.stream.Collectors;
 
 import static com.ibosng.dbservice.utils.Parsers.getLocalDateNow;
 import static com.ibosng.dbservice.utils.Parsers.parseDate;
-import static com.ibosng.lhrservice.utils.Constants.LHR_SERVICE;
-import static com.ibosng.lhrservice.utils.Helpers.handleLHRWebClientException;
 import static com.ibosng.lhrservice.utils.Parsers.parseStringToInteger;
 import static com.ibosng.microsoftgraphservice.utils.Helpers.toObjectArray;
 
@@ -64,16 +51,15 @@ public class LHRZeitdatenServiceImpl implements LHRZeitdatenService {
     private final LHRClient lhrClient;
     private final LHREnvironmentService lhrEnvironmentService;
     private final PersonalnummerService personalnummerService;
-    private final StammdatenService stammdatenService;
-    private final BenutzerService benutzerService;
     private final MailService mailService;
     private final IbisFirmaService ibisFirmaService;
     private final LeistungserfassungService leistungserfassungService;
-    private final AbwesenheitService abwesenheitService;
     private final ZeitspeicherService zeitspeicherService;
     private final AuszahlungsantragService auszahlungsantragService;
     private final AsyncService asyncService;
     private final GlobalUserHolder globalUserHolder;
+    private final LhrMonthClose lhrMonthClose;
+    private final LhrIdentityResolver lhrIdentityResolver;
 
     @Getter
     @Value("${nextAuthUrl:#{null}}")
@@ -90,33 +76,32 @@ public class LHRZeitdatenServiceImpl implements LHRZeitdatenService {
             LHRClient lhrClient,
             LHREnvironmentService lhrEnvironmentService,
             PersonalnummerService personalnummerService,
-            StammdatenService stammdatenService,
-            BenutzerService benutzerService,
             MailService mailService,
             IbisFirmaService ibisFirmaService,
             LeistungserfassungService leistungserfassungService,
-            AbwesenheitService abwesenheitService,
             ZeitspeicherService zeitspeicherService,
             AuszahlungsantragService auszahlungsantragService,
             GlobalUserHolder globalUserHolder,
-            AsyncService asyncService) {
+            AsyncService asyncService,
+            LhrMonthClose lhrMonthClose,
+            LhrIdentityResolver lhrIdentityResolver) {
         this.lhrClient = lhrClient;
         this.lhrEnvironmentService = lhrEnvironmentService;
         this.personalnummerService = personalnummerService;
-        this.stammdatenService = stammdatenService;
-        this.benutzerService = benutzerService;
         this.mailService = mailService;
         this.ibisFirmaService = ibisFirmaService;
         this.leistungserfassungService = leistungserfassungService;
-        this.abwesenheitService = abwesenheitService;
         this.zeitspeicherService = zeitspeicherService;
         this.auszahlungsantragService = auszahlungsantragService;
         this.asyncService = asyncService;
         this.globalUserHolder = globalUserHolder;
+        this.lhrMonthClose = lhrMonthClose;
+        this.lhrIdentityResolver = lhrIdentityResolver;
     }
 
     @Override
     public void checkForAuszahlbareStunden() {
+        LhrIdentityResolver.Run identities = lhrIdentityResolver.startRun();
         List<IbisFirma> ibisFirmaList = ibisFirmaService.findAllByStatus(Status.ACTIVE);
         for (IbisFirma ibisFirma : ibisFirmaList) {
             DienstnehmerRefDto dnRef = DienstnehmerRefDto.builder()
@@ -135,22 +120,13 @@ public class LHRZeitdatenServiceImpl implements LHRZeitdatenService {
                             .anyMatch(zeitspeicher -> zeitspeicher.getValue() > 0))
                     .toList();
 
-            //Filter emails
+            //Filter emails, the employees of the firma are resolved in one query. Without a Benutzer linked to the
+            //Personalnummer the Benutzer with the names of the Stammdaten is notified, as before
+            DnNrIdentities dnNrIdentities = identities.forFirma(ibisFirma);
             String[] emailAddr = dnZeitdatenList.stream()
-                    .filter(dnZeitdaten -> dnZeitdaten.getDienstnehmer() != null && dnZeitdaten.getDienstnehmer().getDnNr() != null)
-                    .map(dnZeitdaten -> {
-                        Personalnummer personalnummer = personalnummerService.findByPersonalnummer(String.valueOf(dnZeitdaten.getDienstnehmer().getDnNr()));
-                        if (personalnummer != null) {
-                            Stammdaten stammdaten = stammdatenService.findByPersonalnummerString(personalnummer.getPersonalnummer());
-                            if (stammdaten != null) {
-                                Benutzer benutzer = benutzerService.findAllByFirstNameAndLastName(stammdaten.getVorname(), stammdaten.getNachname());
-                                if (benutzer != null) {
-                                    return benutzer.getEmail();
-                                }
-                            }
-                        }
-                        return null;
-                    })
+                    .map(dnZeitdaten -> dnNrIdentities.get(dnZeitdaten.getDienstnehmer().getDnNr()))
+                    .filter(Objects::nonNull)
+                    .map(identity -> identity.getEmail() != null ? identity.getEmail() : identity.getEmailByName())
                     .filter(Objects::nonNull)
                     .toArray(String[]::new);
 
@@ -171,79 +147,12 @@ public class LHRZeitdatenServiceImpl implements LHRZeitdatenService {
 
     @Override
     public void closeMonaten(LocalDate monthForSend) {
-        log.info("Closing monat {}", monthForSend);
-
-        List<Personalnummer> personalnummerList = personalnummerService.findAll();
-
-        for (Personalnummer personalnummer : personalnummerList) {
-            // this line account for a case when user have no leistungserfassung in monthForSend,
-            // but we should still 'use' abwesenheiten from period vonVerbauchtLocalDate - monthForSend
-            useMonth(personalnummer, monthForSend);
-
-            if ((personalnummer == null) || (personalnummer.getFirma() == null)) {
-                continue;
-            }
-            if (leistungserfassungService.isLeistungserfassungMonthClosed(personalnummer.getId(), personalnummer.getFirma().getBmdClient(), monthForSend)) {
-                log.warn("Month {} for personalnummer {} already closed", monthForSend, personalnummer.getPersonalnummer());
-                continue;
-            }
-            if (!leistungserfassungService.isLeistungserfassungMonthClosedMoxis(personalnummer.getId(), personalnummer.getFirma().getBmdClient(), monthForSend)) {
-                log.warn("Month {} for personalnummer {} in incorrectMoxisStatus", monthForSend, personalnummer.getPersonalnummer());
-                continue;
-            }
-
-            List<Leistungserfassung> leistungserfassungList = leistungserfassungService.findByPersonalnummerAndMonth(personalnummer, monthForSend);
-
-            if (leistungserfassungList.isEmpty()) {
-                log.warn("No Leistungserfassung for personalnummer {} and month {}. Closing month not possible", personalnummer.getPersonalnummer(), monthForSend);
-                continue;
-            }
-
-            try {
-                log.info("Personalnummer {} start to sync for monat: {}", personalnummer.getPersonalnummer(), monthForSend);
-                String firma = lhrEnvironmentService.getFaKz(personalnummer.getFirma());
-                Integer firmaNr = lhrEnvironmentService.getFaNr(personalnummer.getFirma());
-                Integer dnNr = Parsers.parseStringToInteger(personalnummer.getPersonalnummer());
-                lhrClient.postStatusanfrage(firma, firmaNr, dnNr,
-                        monthForSend.withDayOfMonth(10).format(DateTimeFormatter.ISO_DATE),
-                        StatusAnfrage.FERTIGMELDUNG);
-
-                leistungserfassungList.forEach(l -> {
-                    l.setIsLocked(true);
-                    l.setChangedOn(getLocalDateNow());
-                    l.setChangedBy(LHR_SERVICE);
-                });
-
-                leistungserfassungService.saveAll(leistungserfassungList);
-                useMonth(personalnummer, monthForSend);
-
-                log.info("Personalnummer {} successfully synced a monat: {}", personalnummer.getPersonalnummer(), monthForSend.withDayOfMonth(10));
-            } catch (LHRWebClientException ex) {
-                log.error("LHR client returned error for sending leistungerfassung personalnummer-{}: {}", personalnummer.getPersonalnummer(), ex.getMessage());
-                handleLHRWebClientException(ex, personalnummer.getPersonalnummer(), "closeMonaten");
-            }
-
+        try {
+            lhrMonthClose.close(monthForSend, getVonVerbauchtLocalDate());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Closing month {} was interrupted", monthForSend);
         }
-        log.info("Finishing close monat {}", monthForSend);
-    }
-
-    private void useMonth(Personalnummer personalnummer, LocalDate month) {
-        LocalDate start = getVonVerbauchtLocalDate() == null ? month.withDayOfMonth(1) : getVonVerbauchtLocalDate();
-        LocalDate end = month.withDayOfMonth(month.lengthOfMonth());
-        List<Abwesenheit> abwesenheitToBeUsed = abwesenheitService.findAbwesenheitBetweenDatesAndStatuses(personalnummer.getId(), start, end, List.of(AbwesenheitStatus.ACCEPTED, AbwesenheitStatus.ACCEPTED_FINAL))
-                .stream()
-                .filter(abwesenheit ->
-                        leistungserfassungService.isLeistungserfassungMonthClosed(personalnummer.getId(), personalnummer.getFirma().getBmdClient(), abwesenheit.getVon()) &&
-                                leistungserfassungService.isLeistungserfassungMonthClosed(personalnummer.getId(), personalnummer.getFirma().getBmdClient(), abwesenheit.getBis())
-                ).toList();
-
-        abwesenheitToBeUsed.forEach(abwesenheit -> {
-            abwesenheit.setStatus(AbwesenheitStatus.USED);
-            abwesenheit.setChangedBy(LHR_SERVICE);
-            abwesenheit.setChangedOn(getLocalDateNow());
-        });
-
-        abwesenheitService.saveAll(abwesenheitToBeUsed);
     }
 
     @Override
@@ -0,0 +1,191 @@
+package com.ibosng.lhrservice.services.impl;
+
+import com.ibosng._service.jobs.BoundedWorkers;
+import com.ibosng._service.jobs.JobContext;
+import com.ibosng.dbservice.dtos.mitarbeiter.MitarbeiterIdentityDto;
+import com.ibosng.dbservice.entities.masterdata.Personalnummer;
+import com.ibosng.lhrservice.dtos.dokumente.DnDokumenteDto;
+import com.ibosng.lhrservice.dtos.dokumente.DokumentDto;
+import com.ibosng.lhrservice.dtos.dokumente.DokumentRubrikenDto;
+import com.ibosng.lhrservice.enums.LhrDocuments;
+import com.ibosng.lhrservice.services.LHRDokumenteService;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.ibosng.lhrservice.utils.Constants.REGEX_ELDA;
+import static com.ibosng.lhrservice.utils.Constants.REGEX_GEHALTSZETTEL;
+import static com.ibosng.lhrservice.utils.Constants.REGEX_L16;
+import static com.ibosng.lhrservice.utils.Parsers.parseStringToInteger;
+
+/**
+ * Syncs the L16, ELDA and Gehaltszettel documents of the employees from LHR into the file share.
+ * <p>
+ * <b>lhrDocumentSyncThreads</b> workers take the next employee from a shared queue as soon as they are done with the
+ * previous one, so a few employees with many documents do not hold up the others. Documents are downloaded into memory
+ * and uploaded right away. For each employee and rubrik the highest synced document id is kept in Redis, documents up
+ * to that id are skipped on later runs.
+ */
+@Slf4j
+@Component
+public class LhrDocumentSync {
+
+    static final String HIGH_WATER_MARK_PREFIX = "lhrService:documentSync:";
+
+    private record DocumentType(String regex, String name, LhrDocuments lhrDocument) {
+    }
+
+    private static final List<DocumentType> DOCUMENT_TYPES = List.of(
+            new DocumentType(REGEX_L16, "L16", LhrDocuments.L16),
+            new DocumentType(REGEX_ELDA, "ELDA", LhrDocuments.ELDA),
+            new DocumentType(REGEX_GEHALTSZETTEL, "Gehaltszettel", LhrDocuments.NETTOZETTEL));
+
+    private final LHRDokumenteService lhrDokumenteService;
+    private final LhrIdentityResolver lhrIdentityResolver;
+    private final RedissonClient redissonClient;
+    private final int threads;
+
+    public LhrDocumentSync(LHRDokumenteService lhrDokumenteService,
+                           LhrIdentityResolver lhrIdentityResolver,
+                           RedissonClient redissonClient,
+                           @Value("${lhrDocumentSyncThreads:8}") int threads) {
+        this.lhrDokumenteService = lhrDokumenteService;
+        this.lhrIdentityResolver = lhrIdentityResolver;
+        this.redissonClient = redissonClient;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Syncs the documents of the employees, which have to be sorted by id. The checkpoint of the context is moved
+     * forward to the last employee up to which all employees are done.
+     */
+    public void sync(List<Personalnummer> personalnummern, int minusDaysLastSync, JobContext context) throws InterruptedException {
+        if (personalnummern.isEmpty()) {
+            return;
+        }
+        // the rubriken are the same for all employees of a Firma
+        Map<String, Optional<Integer>> rubrikIds = new ConcurrentHashMap<>();
+        // the names of the employees are loaded once per Firma
+        LhrIdentityResolver.Run identities = lhrIdentityResolver.startRun();
+        AtomicInteger uploaded = new AtomicInteger();
+        try {
+            BoundedWorkers.forEach("lhr-document-sync", threads, personalnummern, personalnummer -> {
+                uploaded.addAndGet(sync(personalnummer, lastSyncOfDocuments(personalnummer, minusDaysLastSync), rubrikIds, identities));
+                context.addItems(1);
+            }, doneUpTo -> context.checkpoint(String.valueOf(personalnummern.get(doneUpTo).getId())));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Document sync failed", e.getCause());
+        }
+        log.info("Synced documents of {} employees, {} documents uploaded", personalnummern.size(), uploaded.get());
+    }
+
+    private static LocalDate lastSyncOfDocuments(Personalnummer personalnummer, int minusDaysLastSync) {
+        if (personalnummer.getOnboardedOn() != null && LocalDateTime.now().withDayOfMonth(1).isBefore(personalnummer.getOnboardedOn())) {
+            return LocalDate.of(2025, 1, 1);
+        }
+        return LocalDate.now().minusDays(minusDaysLastSync).withDayOfMonth(1);
+    }
+
+    private int sync(Personalnummer personalnummer, LocalDate lastSyncOfDocuments, Map<String, Optional<Integer>> rubrikIds,
+                     LhrIdentityResolver.Run identities) {
+        int uploaded = 0;
+        try {
+            log.info("Sync documents for personalnummer: {} as of {}", personalnummer.getPersonalnummer(), lastSyncOfDocuments);
+            String identifier = getIdentifier(identity(personalnummer, identities));
+            RMap<String, Integer> highWaterMarks = redissonClient.getMap(HIGH_WATER_MARK_PREFIX + personalnummer.getPersonalnummer());
+            for (DocumentType documentType : DOCUMENT_TYPES) {
+                Integer rubrikId = rubrikId(personalnummer, documentType, rubrikIds);
+                if (rubrikId != null) {
+                    uploaded += sync(personalnummer, identifier, documentType, rubrikId, lastSyncOfDocuments, highWaterMarks);
+                }
+            }
+        } catch (Exception ex) {
+            log.error("Error occurred while syncing LHR documents for personalnummer: {}", personalnummer.getPersonalnummer(), ex);
+        }
+        return uploaded;
+    }
+
+    private int sync(Personalnummer personalnummer, String identifier, DocumentType documentType, Integer rubrikId,
+                     LocalDate lastSyncOfDocuments, RMap<String, Integer> highWaterMarks) {
+        DnDokumenteDto dnDokumente = lhrDokumenteService.findDocuments(personalnummer, rubrikId, lastSyncOfDocuments);
+        if (dnDokumente == null || dnDokumente.getDocuments() == null || dnDokumente.getDocuments().isEmpty()) {
+            log.info("No {}-document found for {}", documentType.name(), personalnummer.getPersonalnummer());
+            return 0;
+        }
+        String field = String.valueOf(rubrikId);
+        Integer highWaterMark = highWaterMarks.get(field);
+        List<DokumentDto> documents = dnDokumente.getDocuments().stream()
+                .filter(document -> document.getId() != null && (highWaterMark == null || document.getId() > highWaterMark))
+                .sorted(Comparator.comparing(DokumentDto::getId))
+                .toList();
+        int uploaded = 0;
+        for (DokumentDto document : documents) {
+            byte[] content = lhrDokumenteService.downloadDocument(dnDokumente, document);
+            if (content == null || !upload(personalnummer, identifier, documentType, document, content)) {
+                // the document is retried on the next run, so later ones must not move the mark past it
+                break;
+            }
+            highWaterMarks.fastPut(field, document.getId());
+            uploaded++;
+        }
+        if (documents.isEmpty()) {
+            log.debug("No new {}-document for {}", documentType.name(), personalnummer.getPersonalnummer());
+        }
+        return uploaded;
+    }
+
+    private boolean upload(Personalnummer personalnummer, String identifier, DocumentType documentType, DokumentDto document, byte[] content) {
+        String typeName = LhrDocuments.L16.equals(documentType.lhrDocument())
+                ? documentType.lhrDocument().getLhrDocument()
+                : documentType.name();
+        boolean uploaded = lhrDokumenteService.uploadToFileShare(personalnummer, content, identifier, documentType.lhrDocument(), typeName, document.getName());
+        if (uploaded) {
+            log.info("Uploaded {}-document: {} for {}", documentType.name(), document.getName(), personalnummer.getPersonalnummer());
+        }
+        return uploaded;
+    }
+
+    private Integer rubrikId(Personalnummer personalnummer, DocumentType documentType, Map<String, Optional<Integer>> rubrikIds) {
+        if (personalnummer.getFirma() == null) {
+            log.error("No firma for personalnummer: {}", personalnummer.getPersonalnummer());
+            return null;
+        }
+        String key = personalnummer.getFirma().getId() + ":" + documentType.regex();
+        return rubrikIds.computeIfAbsent(key, k -> {
+            DokumentRubrikenDto dokumentRubriken = lhrDokumenteService.findRubrik(personalnummer, documentType.regex());
+            if (dokumentRubriken == null || dokumentRubriken.getRubriken() == null || dokumentRubriken.getRubriken().size() != 1) {
+                log.error("No {} rubrik found for firma {}", documentType.name(), personalnummer.getFirma().getName());
+                return Optional.empty();
+            }
+            return Optional.ofNullable(dokumentRubriken.getRubriken().get(0).getId());
+        }).orElse(null);
+    }
+
+    private static MitarbeiterIdentityDto identity(Personalnummer personalnummer, LhrIdentityResolver.Run identities) {
+        Integer dnNr = parseStringToInteger(personalnummer.getPersonalnummer());
+        if (personalnummer.getFirma() == null || dnNr == null) {
+            return null;
+        }
+        return identities.get(personalnummer.getFirma(), dnNr);
+    }
+
+    static String getIdentifier(MitarbeiterIdentityDto identity) {
+        if (identity != null && identity.getVorname() != null && identity.getNachname() != null) {
+            return identity.getVorname().toUpperCase().replace(" ", "_") +
+                    "_" + identity.getNachname().toUpperCase().replace(" ", "_");
+        }
+        return "null";
+    }
+}
@@ -0,0 +1,57 @@
+package com.ibosng.lhrservice.services.impl;
+
+import com.ibosng.dbservice.dtos.mitarbeiter.MitarbeiterIdentityDto;
+import com.ibosng.dbservice.entities.masterdata.IbisFirma;
+import com.ibosng.dbservice.services.mitarbeiter.PersonalnummerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the DnNrs LHR reports to the employees and their Benutzer, loading Personalnummer, Stammdaten and Benutzer of
+ * a whole Firma in one query instead of three lookups per DnNr.
+ * <p>
+ * A scheduler run starts a {@link Run}, which loads each Firma once and keeps it for the rest of the run, so changes of
+ * the employees are picked up by the next run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LhrIdentityResolver {
+
+    private final PersonalnummerService personalnummerService;
+
+    public Run startRun() {
+        return new Run();
+    }
+
+    /**
+     * The identities loaded during one scheduler run, safe to use from several threads.
+     */
+    public class Run {
+        private final Map<Integer, DnNrIdentities> firmen = new ConcurrentHashMap<>();
+
+        private Run() {
+        }
+
+        public DnNrIdentities forFirma(IbisFirma firma) {
+            return firmen.computeIfAbsent(firma.getId(), firmaId -> {
+                List<MitarbeiterIdentityDto> identities = personalnummerService.findIdentitiesByFirmaId(firmaId);
+                DnNrIdentities dnNrIdentities = DnNrIdentities.of(identities);
+                log.info("Loaded {} identities of firma {}", dnNrIdentities.size(), firma.getName());
+                return dnNrIdentities;
+            });
+        }
+
+        /**
+         * The employee with the DnNr in the Firma, {@code null} if there is none.
+         */
+        public MitarbeiterIdentityDto get(IbisFirma firma, int dnNr) {
+            return forFirma(firma).get(dnNr);
+        }
+    }
+}
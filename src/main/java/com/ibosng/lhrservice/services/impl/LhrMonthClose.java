@@ -0,0 +1,153 @@
+package com.ibosng.lhrservice.services.impl;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.ibosng._service.jobs.BoundedWorkers;
+import com.ibosng.dbservice.dtos.zeiterfassung.MonthCloseCandidateDto;
+import com.ibosng.dbservice.entities.lhr.AbwesenheitStatus;
+import com.ibosng.dbservice.entities.masterdata.IbisFirma;
+import com.ibosng.dbservice.services.lhr.AbwesenheitService;
+import com.ibosng.dbservice.services.masterdata.IbisFirmaService;
+import com.ibosng.dbservice.services.zeitbuchung.LeistungserfassungService;
+import com.ibosng.lhrservice.client.LHRClient;
+import com.ibosng.lhrservice.dtos.StatusAnfrage;
+import com.ibosng.lhrservice.services.LHREnvironmentService;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.ibosng.lhrservice.utils.Constants.LHR_SERVICE;
+import static com.ibosng.lhrservice.utils.Parsers.parseStringToInteger;
+
+/**
+ * Closes a month: reports it to LHR as finished for every employee whose Leistungserfassungen are signed, locks them and
+ * marks the Abwesenheiten of closed months as used.
+ * <p>
+ * The employees are found with one query and the Leistungserfassungen and Abwesenheiten are updated in bulk. The
+ * Fertigmeldungen are sent by <b>lhrMonthCloseThreads</b> workers, at most <b>lhrMonthClosePermitsPerSecond</b> per
+ * second. The result of every employee is kept in Redis for the month, so a run interrupted after LHR accepted the
+ * Fertigmeldung only locks the month on the next run instead of sending it again. Failed employees are retried on the
+ * next run, as their month stays unlocked.
+ */
+@Slf4j
+@Component
+public class LhrMonthClose {
+
+    static final String RESULTS_PREFIX = "lhrService:closeMonaten:";
+    static final String SENT = "SENT";
+    static final String FAILED = "FAILED";
+
+    private static final List<AbwesenheitStatus> STATUSES_TO_USE = List.of(AbwesenheitStatus.ACCEPTED, AbwesenheitStatus.ACCEPTED_FINAL);
+    private static final Duration RESULTS_RETENTION = Duration.ofDays(62);
+
+    private final LHRClient lhrClient;
+    private final LHREnvironmentService lhrEnvironmentService;
+    private final LeistungserfassungService leistungserfassungService;
+    private final AbwesenheitService abwesenheitService;
+    private final IbisFirmaService ibisFirmaService;
+    private final RedissonClient redissonClient;
+    private final int threads;
+    private final double permitsPerSecond;
+
+    public LhrMonthClose(LHRClient lhrClient,
+                         LHREnvironmentService lhrEnvironmentService,
+                         LeistungserfassungService leistungserfassungService,
+                         AbwesenheitService abwesenheitService,
+                         IbisFirmaService ibisFirmaService,
+                         RedissonClient redissonClient,
+                         @Value("${lhrMonthCloseThreads:4}") int threads,
+                         @Value("${lhrMonthClosePermitsPerSecond:5}") double permitsPerSecond) {
+        this.lhrClient = lhrClient;
+        this.lhrEnvironmentService = lhrEnvironmentService;
+        this.leistungserfassungService = leistungserfassungService;
+        this.abwesenheitService = abwesenheitService;
+        this.ibisFirmaService = ibisFirmaService;
+        this.redissonClient = redissonClient;
+        this.threads = Math.max(1, threads);
+        this.permitsPerSecond = permitsPerSecond > 0 ? permitsPerSecond : Double.MAX_VALUE;
+    }
+
+    /**
+     * Closes the month, Abwesenheiten are used from {@code usedFrom} on, from the start of the month if it is
+     * {@code null}. Returns the number of employees whose month was closed.
+     */
+    public int close(LocalDate month, LocalDate usedFrom) throws InterruptedException {
+        LocalDate start = usedFrom == null ? month.withDayOfMonth(1) : usedFrom;
+        LocalDate end = month.withDayOfMonth(month.lengthOfMonth());
+
+        // employees without Leistungserfassung in the month still use the Abwesenheiten of earlier closed months
+        int used = abwesenheitService.markUsedInLockedMonths(start, end, STATUSES_TO_USE, LHR_SERVICE);
+
+        List<MonthCloseCandidateDto> candidates = leistungserfassungService.findMonthCloseCandidates(month);
+        log.info("Closing month {} for {} employees", month, candidates.size());
+        if (candidates.isEmpty()) {
+            log.info("Finishing close month {}, {} Abwesenheiten used", month, used);
+            return 0;
+        }
+
+        RMap<Integer, String> results = redissonClient.getMap(RESULTS_PREFIX + month.withDayOfMonth(1));
+        Queue<Integer> closed = new ConcurrentLinkedQueue<>();
+        sendFertigmeldungen(candidates, month, results, closed);
+        results.expire(RESULTS_RETENTION);
+
+        List<Integer> closedIds = List.copyOf(closed);
+        int locked = leistungserfassungService.lockMonth(closedIds, month, LHR_SERVICE);
+        used += abwesenheitService.markUsedInLockedMonths(start, end, STATUSES_TO_USE, LHR_SERVICE);
+        log.info("Finishing close month {}: {} of {} employees closed, {} Leistungserfassungen locked, {} Abwesenheiten used",
+                month, closedIds.size(), candidates.size(), locked, used);
+        return closedIds.size();
+    }
+
+    private void sendFertigmeldungen(List<MonthCloseCandidateDto> candidates, LocalDate month, RMap<Integer, String> results,
+                                     Queue<Integer> closed) throws InterruptedException {
+        Map<Integer, IbisFirma> firmen = ibisFirmaService.findAll().stream()
+                .collect(Collectors.toMap(IbisFirma::getId, Function.identity()));
+        Map<Integer, String> previousResults = results.readAllMap();
+        String day = month.withDayOfMonth(10).format(DateTimeFormatter.ISO_DATE);
+        RateLimiter rateLimiter = RateLimiter.create(permitsPerSecond);
+        try {
+            BoundedWorkers.forEach("lhr-month-close", threads, candidates, candidate -> {
+                if (SENT.equals(previousResults.get(candidate.getPersonalnummerId()))) {
+                    log.info("Fertigmeldung for personalnummer {} already sent, locking month {}", candidate.getPersonalnummer(), month);
+                    closed.add(candidate.getPersonalnummerId());
+                    return;
+                }
+                rateLimiter.acquire();
+                if (sendFertigmeldung(candidate, firmen.get(candidate.getFirmaId()), day)) {
+                    results.fastPut(candidate.getPersonalnummerId(), SENT);
+                    closed.add(candidate.getPersonalnummerId());
+                } else {
+                    results.fastPut(candidate.getPersonalnummerId(), FAILED);
+                }
+            });
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Closing month " + month + " failed", e.getCause());
+        }
+    }
+
+    private boolean sendFertigmeldung(MonthCloseCandidateDto candidate, IbisFirma firma, String day) {
+        try {
+            log.info("Personalnummer {} start to sync for monat: {}", candidate.getPersonalnummer(), day);
+            lhrClient.postStatusanfrage(lhrEnvironmentService.getFaKz(firma), lhrEnvironmentService.getFaNr(firma),
+                    parseStringToInteger(candidate.getPersonalnummer()), day, StatusAnfrage.FERTIGMELDUNG);
+            log.info("Personalnummer {} successfully synced a monat: {}", candidate.getPersonalnummer(), day);
+            return true;
+        } catch (RuntimeException ex) {
+            // the other employees are still reported, this one is retried on the next run
+            log.error("LHR client returned error for sending leistungerfassung personalnummer-{}: {}", candidate.getPersonalnummer(), ex.getMessage());
+            return false;
+        }
+    }
+}
@@ -1,11 +1,11 @@
 package com.ibosng.lhrservice.services.impl;
 
-import com.ibosng._service.AsyncService;
+import com.ibosng._service.jobs.DistributedJobRunner;
+import com.ibosng._service.jobs.JobDefinition;
 import com.ibosng.dbservice.entities.lhr.LhrJob;
 import com.ibosng.dbservice.entities.lhr.LhrJobStatus;
 import com.ibosng.dbservice.entities.masterdata.Personalnummer;
 import com.ibosng.dbservice.entities.mitarbeiter.MitarbeiterType;
-import com.ibosng.dbservice.entities.mitarbeiter.Stammdaten;
 import com.ibosng.dbservice.entities.zeitbuchung.Leistungserfassung;
 import com.ibosng.dbservice.entities.zeiterfassung.Auszahlungsantrag;
 import com.ibosng.dbservice.entities.zeiterfassung.AuszahlungsantragStatus;
@@ -13,36 +13,41 @@ import com.ibosng.dbservice.entities.zeiterfassung.ZeiterfassungStatus;
 import com.ibosng.dbservice.entities.zeiterfassung.ZeiterfassungTransfer;
 import com.ibosng.dbservice.services.lhr.LhrJobService;
 import com.ibosng.dbservice.services.mitarbeiter.PersonalnummerService;
-import com.ibosng.dbservice.services.mitarbeiter.StammdatenService;
 import com.ibosng.dbservice.services.zeitbuchung.LeistungserfassungService;
 import com.ibosng.dbservice.services.zeiterfassung.AuszahlungsantragService;
 import com.ibosng.dbservice.services.zeiterfassung.ZeiterfassungTransferService;
 import com.ibosng.lhrservice.dtos.zeitdaten.AnfrageSuccessDto;
-import com.ibosng.lhrservice.enums.LhrDocuments;
 import com.ibosng.lhrservice.services.*;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import org.jetbrains.annotations.NotNull;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
 
 import static com.ibosng.dbservice.utils.Parsers.isNullOrBlank;
-import static com.ibosng.lhrservice.utils.Constants.*;
 
 @Service
 @Slf4j
 public class LhrSchedulerServiceImpl implements SchedulerService {
+
+    static final JobDefinition CHECK_INCOMING_JOBS = job("checkIncomingJobs", "lhrService:CheckIncomingJobsLock");
+    static final JobDefinition CHECK_INCOMING_ZEITERFASSUNG_TRANSFER = job("checkIncomingZeiterfassungTransfer", "lhrService:CheckIncomingZeiterfassungTransferLock");
+    static final JobDefinition CHECK_PENDING_AUSZAHLUNGSANTRAEGE = job("checkPendingAuszahlungsantraege", "lhrService:CheckPendingAuszahlungsantraegeLock");
+    static final JobDefinition CHECK_AUSZAHLBARE_UEBERSTUNDEN = job("checkAuszahlbareUeberstunden", "lhrService:CheckAuszahlbareUeberstundenLock");
+    static final JobDefinition CLOSE_MONATEN = job("closeMonaten", "lhrService:CloseMonatenLock");
+    static final JobDefinition SYNC_MA_ABWESENHEITEN_DATA = job("syncMAAbwesenheitenData", "lhrService:SyncMAAbwesenheitenDataLock");
+    static final JobDefinition RESYNC_LEISTUNGSERFASSUNG_DATA = job("resyncLeistungserfassungData", "lhrService:syncLeistungserfassung");
+    static final JobDefinition ABWESENHEITEN_CHECK = job("abwesenheitenCheck", "lhrService:abwesenheitenComparingCron");
+
     @Getter
     @Value("${lhrPreEintrittDataSubmissionPeriod:#{null}}")
     private Integer preEintrittDataSubmissionPeriod;
@@ -55,6 +60,10 @@ public class LhrSchedulerServiceImpl implements SchedulerService {
     @Value("${lhrMinusMontsCloseMonths:#{null}}")
     private Integer lhrMinusMontsCloseMonths;
 
+    @Getter
+    @Value("${lhrResyncConcurrency:25}")
+    private Integer lhrResyncConcurrency;
+
 
     private final LHRUpdateJobsService lhrUpdateJobsService;
     private final LhrJobService lhrJobService;
@@ -63,12 +72,11 @@ public class LhrSchedulerServiceImpl implements SchedulerService {
     private final LHRAuszahlungsService lhrAuszahlungsService;
     private final LHRUrlaubService lhrUrlaubService;
     private final ZeiterfassungTransferService zeiterfassungTransferService;
-    private final LHRDokumenteService lhrDokumenteService;
+    private final LhrDocumentSync lhrDocumentSync;
     private final PersonalnummerService personalnummerService;
-    private final StammdatenService stammdatenService;
-    private final RedissonClient redissonClient;
+    private final DistributedJobRunner jobRunner;
     private final LeistungserfassungService leistungserfassungService;
-    private final AsyncService asyncService;
+    private final JobDefinition syncLhrDocumentsJob;
 
     public LhrSchedulerServiceImpl(LHRUpdateJobsService lhrUpdateJobsService,
                                    LhrJobService lhrJobService,
@@ -77,12 +85,12 @@ public class LhrSchedulerServiceImpl implements SchedulerService {
                                    LHRAuszahlungsService lhrAuszahlungsService,
                                    LHRUrlaubService lhrUrlaubService,
                                    ZeiterfassungTransferService zeiterfassungTransferService,
-                                   LHRDokumenteService lhrDokumenteService,
+                                   LhrDocumentSync lhrDocumentSync,
                                    PersonalnummerService personalnummerService,
-                                   StammdatenService stammdatenService,
-                                   RedissonClient redissonClient,
+                                   DistributedJobRunner jobRunner,
                                    LeistungserfassungService leistungserfassungService,
-                                   AsyncService asyncService) {
+                                   @Value("${lhrDocumentSyncShards:1}") int lhrDocumentSyncShards,
+                                   @Value("${cronExpressionSyncLhrDocuments:0 0 18 * * ?}") String syncLhrDocumentsCron) {
         this.lhrUpdateJobsService = lhrUpdateJobsService;
         this.lhrJobService = lhrJobService;
         this.lhrZeitdatenService = lhrZeitdatenService;
@@ -90,262 +98,153 @@ public class LhrSchedulerServiceImpl implements SchedulerService {
         this.lhrAuszahlungsService = lhrAuszahlungsService;
         this.lhrUrlaubService = lhrUrlaubService;
         this.zeiterfassungTransferService = zeiterfassungTransferService;
-        this.lhrDokumenteService = lhrDokumenteService;
+        this.lhrDocumentSync = lhrDocumentSync;
         this.personalnummerService = personalnummerService;
-        this.stammdatenService = stammdatenService;
-        this.redissonClient = redissonClient;
+        this.jobRunner = jobRunner;
         this.leistungserfassungService = leistungserfassungService;
-        this.asyncService = asyncService;
+        this.syncLhrDocumentsJob = JobDefinition.builder()
+                .name("lhrService:syncLhrDocuments")
+                .lockKey("lhrService:SyncLhrDocumentsLock")
+                .shards(lhrDocumentSyncShards)
+                .cron(syncLhrDocumentsCron)
+                .build();
+    }
+
+    private static JobDefinition job(String name, String lockKey) {
+        return JobDefinition.builder()
+                .name("lhrService:" + name)
+                .lockKey(lockKey)
+                .build();
     }
 
     public void checkIncomingJobs() {
-        RLock lock = redissonClient.getLock("lhrService:CheckIncomingJobsLock");  // Distributed lock with Redis
-        try {
-            if (lock.tryLock(0, 10, TimeUnit.MINUTES)) {  // Attempt to acquire the lock
-                try {
-                    log.info("Getting pending jobs for LHR");
-                    List<LhrJob> jobs = lhrJobService.findAllByStatusAndEintrittLessThanEqual(LhrJobStatus.PENDING, LocalDate.now().plusDays(getPreEintrittDataSubmissionPeriod()));
-                    lhrUpdateJobsService.executeLhrJobs(jobs);
-                } catch (Exception ex) {
-                    log.error("Error occurred while getting pending jobs", ex);
-                } finally {
-                    lock.unlock();  // Always release the lock in the finally block
-                }
-            } else {
-                log.info("Another instance is already processing this task.");
-            }
-        } catch (InterruptedException e) {
-            log.error("Failed to acquire lock", e);
-            Thread.currentThread().interrupt();  // Restore interrupted state
-        }
+        jobRunner.run(CHECK_INCOMING_JOBS, context -> {
+            log.info("Getting pending jobs for LHR");
+            List<LhrJob> jobs = lhrJobService.findAllByStatusAndEintrittLessThanEqual(LhrJobStatus.PENDING, LocalDate.now().plusDays(getPreEintrittDataSubmissionPeriod()));
+            lhrUpdateJobsService.executeLhrJobs(jobs);
+            context.addItems(jobs.size());
+        });
     }
 
 
     public void checkIncomingZeiterfassungTransfer() {
-        RLock lock = redissonClient.getLock("lhrService:CheckIncomingZeiterfassungTransferLock");  // Distributed lock with Redis
-        try {
-            if (lock.tryLock(0, 10, TimeUnit.MINUTES)) {  // Attempt to acquire the lock
-                try {
-                    log.info("Getting pending zeittransfer for LHR");
-                    List<ZeiterfassungTransfer> zeiterfassungTransfers = zeiterfassungTransferService.findAllByStatus(ZeiterfassungStatus.VALID);
-                    lhrUpdateJobsService.executeZeiterfassungTransfers(zeiterfassungTransfers);
-                } catch (Exception ex) {
-                    log.error("Error occurred while getting pending zeittransfer for LHR", ex);
-                } finally {
-                    lock.unlock();  // Always release the lock in the finally block
-                }
-            } else {
-                log.info("Another instance is already processing this task.");
-            }
-        } catch (InterruptedException e) {
-            log.error("Failed to acquire lock", e);
-            Thread.currentThread().interrupt();  // Restore interrupted state
-        }
+        jobRunner.run(CHECK_INCOMING_ZEITERFASSUNG_TRANSFER, context -> {
+            log.info("Getting pending zeittransfer for LHR");
+            List<ZeiterfassungTransfer> zeiterfassungTransfers = zeiterfassungTransferService.findAllByStatus(ZeiterfassungStatus.VALID);
+            lhrUpdateJobsService.executeZeiterfassungTransfers(zeiterfassungTransfers);
+            context.addItems(zeiterfassungTransfers.size());
+        });
     }
 
     public void checkPendingAuszahlungsantraege() {
-        RLock lock = redissonClient.getLock("lhrService:CheckPendingAuszahlungsantraegeLock");  // Distributed lock with Redis
-        try {
-            if (lock.tryLock(0, 10, TimeUnit.MINUTES)) {  // Attempt to acquire the lock
-                try {
-                    log.info("Updating WAITING Auszahlungsantraege");
-                    List<Auszahlungsantrag> waitingAntraege = auszahlungsantragService.findByStatus(AuszahlungsantragStatus.WAITING);
-                    for (Auszahlungsantrag auszahlungsantrag : waitingAntraege) {
-                        ResponseEntity<AnfrageSuccessDto> fetchedAntrag = lhrAuszahlungsService.getAuszahlungsanfrage(auszahlungsantrag.getPersonalnummer().getPersonalnummer(), auszahlungsantrag.getAnfrageNr());
-                        if (fetchedAntrag != null && fetchedAntrag.getBody() != null && !isNullOrBlank(fetchedAntrag.getBody().getStatus())) {
-                            auszahlungsantrag.setStatus(AuszahlungsantragStatus.fromValue(fetchedAntrag.getBody().getStatus()));
-                            auszahlungsantragService.save(auszahlungsantrag);
-                        }
-                    }
-                } catch (Exception ex) {
-                    log.error("Error occurred while updating WAITING Auszahlungsantraege {}", ex.getMessage());
-                } finally {
-                    lock.unlock();  // Always release the lock in the finally block
+        jobRunner.run(CHECK_PENDING_AUSZAHLUNGSANTRAEGE, context -> {
+            log.info("Updating WAITING Auszahlungsantraege");
+            List<Auszahlungsantrag> waitingAntraege = auszahlungsantragService.findByStatus(AuszahlungsantragStatus.WAITING);
+            for (Auszahlungsantrag auszahlungsantrag : waitingAntraege) {
+                ResponseEntity<AnfrageSuccessDto> fetchedAntrag = lhrAuszahlungsService.getAuszahlungsanfrage(auszahlungsantrag.getPersonalnummer().getPersonalnummer(), auszahlungsantrag.getAnfrageNr());
+                if (fetchedAntrag != null && fetchedAntrag.getBody() != null && !isNullOrBlank(fetchedAntrag.getBody().getStatus())) {
+                    auszahlungsantrag.setStatus(AuszahlungsantragStatus.fromValue(fetchedAntrag.getBody().getStatus()));
+                    auszahlungsantragService.save(auszahlungsantrag);
                 }
-            } else {
-                log.info("Another instance is already processing this task.");
+                context.addItems(1);
             }
-        } catch (InterruptedException e) {
-            log.error("Failed to acquire lock", e);
-            Thread.currentThread().interrupt();  // Restore interrupted state
-        }
+        });
     }
 
 
     public void checkAuszahlbareUeberstunden() {
-        RLock lock = redissonClient.getLock("lhrService:CheckAuszahlbareUeberstundenLock");  // Distributed lock with Redis
-        try {
-            if (lock.tryLock(0, 10, TimeUnit.MINUTES)) {  // Attempt to acquire the lock
-                try {
-                    log.info("Checking for Auszahlbarestunden");
-                    lhrZeitdatenService.checkForAuszahlbareStunden();
-                } catch (Exception ex) {
-                    log.error("Error while checking for Auszahlbarestunden", ex);
-                } finally {
-                    lock.unlock();  // Always release the lock in the finally block
-                }
-            } else {
-                log.info("Another instance is already processing this task.");
-            }
-        } catch (InterruptedException e) {
-            log.error("Failed to acquire lock", e);
-            Thread.currentThread().interrupt();  // Restore interrupted state
-        }
+        jobRunner.run(CHECK_AUSZAHLBARE_UEBERSTUNDEN, context -> {
+            log.info("Checking for Auszahlbarestunden");
+            lhrZeitdatenService.checkForAuszahlbareStunden();
+        });
     }
 
 
     @Override
     public void closeMonaten() {
-        RLock lock = redissonClient.getLock("lhrService:CloseMonatenLock");  // Distributed lock with Redis
-        try {
-            if (lock.tryLock(0, 10, TimeUnit.MINUTES)) {  // Attempt to acquire the lock
-                try {
-                    LocalDate lastSyncMonth = LocalDate.now().minusMonths(getLhrMinusMontsCloseMonths());
-                    lhrZeitdatenService.closeMonaten(lastSyncMonth);
-                } catch (Exception ex) {
-                    log.error("Error occured while closing monat {}", ex.getMessage());
-                } finally {
-                    lock.unlock();  // Always release the lock in the finally block
-                }
-            } else {
-                log.info("Another instance is already processing this task.");
-            }
-        } catch (InterruptedException e) {
-            log.error("Failed to acquire lock", e);
-            Thread.currentThread().interrupt();  // Restore interrupted state
-        }
+        jobRunner.run(CLOSE_MONATEN, context -> {
+            LocalDate lastSyncMonth = LocalDate.now().minusMonths(getLhrMinusMontsCloseMonths());
+            lhrZeitdatenService.closeMonaten(lastSyncMonth);
+        });
     }
 
+    /**
+     * Split into <b>lhrDocumentSyncShards</b> shards by Personalnummer id, each shard remembers the last synced
+     * Personalnummer so that a restarted sync does not start over. A finished shard is not synced again before the next
+     * fire time of <b>cronExpressionSyncLhrDocuments</b>.
+     */
     @Override
     public void syncLhrDocuments() {
-        LocalDate lastSyncOfDocuments;
-        List<Personalnummer> personalnummerList = personalnummerService.findAllByMitarbeiterType(MitarbeiterType.MITARBEITER);
-        for (Personalnummer personalnummer : personalnummerList) {
-            if (personalnummer.getOnboardedOn() != null && LocalDateTime.now().withDayOfMonth(1).isBefore(personalnummer.getOnboardedOn())) {
-                lastSyncOfDocuments = LocalDate.of(2025, 1, 1);
-            } else {
-                lastSyncOfDocuments = LocalDate.now().minusDays(lhrMinusDaysLastSyncOfDocuments).withDayOfMonth(1);
-            }
-            log.info("Syncing documents as of {}", lastSyncOfDocuments);
-            RLock lock = redissonClient.getLock("lhrService:SyncLhrDocumentsLock:" + personalnummer.getPersonalnummer());
-
-            try {
-                if (lock.tryLock(0, 10, TimeUnit.MINUTES)) {  // Try to acquire the lock for 10 minutes
-                    try {
-                        log.info("Sync documents for personalnummer: {}", personalnummer.getPersonalnummer());
-                        Stammdaten stammdaten = stammdatenService.findByPersonalnummerString(personalnummer.getPersonalnummer());
-                        final String identifier = getIdentifier(stammdaten);
-
-                        lhrDokumenteService.processAndUploadFiles(REGEX_L16, "L16", LhrDocuments.L16, identifier, personalnummer.getPersonalnummer(), lastSyncOfDocuments);
-                        lhrDokumenteService.processAndUploadFiles(REGEX_ELDA, "ELDA", LhrDocuments.ELDA, identifier, personalnummer.getPersonalnummer(), lastSyncOfDocuments);
-                        lhrDokumenteService.processAndUploadFiles(REGEX_GEHALTSZETTEL, "Gehaltszettel", LhrDocuments.NETTOZETTEL, identifier, personalnummer.getPersonalnummer(), lastSyncOfDocuments);
-                    } catch (Exception ex) {
-                        log.error("Error occured while syncLhrDocuments {}", ex.getMessage());
-                    } finally {
-                        lock.unlock();  // Ensure the lock is always released
-                    }
-                } else {
-                    log.info("Another instance is already processing sync for personalnummer: {}", personalnummer.getPersonalnummer());
-                }
-            } catch (Exception ex) {
-                log.error("Error occurred while syncing LHR documents for personalnummer: {}", personalnummer.getPersonalnummer(), ex);
+        jobRunner.run(syncLhrDocumentsJob, context -> {
+            String checkpoint = context.getCheckpoint();
+            int lastSyncedId = checkpoint != null ? Integer.parseInt(checkpoint) : Integer.MIN_VALUE;
+            if (checkpoint != null) {
+                log.info("Continuing document sync after personalnummer id {}", lastSyncedId);
             }
-        }
-    }
-
-    @NotNull
-    private static String getIdentifier(Stammdaten stammdaten) {
-        if (stammdaten != null) {
-            return stammdaten.getVorname().toUpperCase().replace(" ", "_") +
-                    "_" + stammdaten.getNachname().toUpperCase().replace(" ", "_");
-        }
-        return "null";
+            List<Personalnummer> personalnummerList = personalnummerService.findAllByMitarbeiterType(MitarbeiterType.MITARBEITER).stream()
+                    .filter(personalnummer -> personalnummer.getId() > lastSyncedId && context.owns(personalnummer.getId()))
+                    .sorted(Comparator.comparing(Personalnummer::getId))
+                    .toList();
+            lhrDocumentSync.sync(personalnummerList, getLhrMinusDaysLastSyncOfDocuments(), context);
+        });
     }
 
     @Override
     public void syncMAAbwesenheitenData() {
-        RLock lock = redissonClient.getLock("lhrService:SyncMAAbwesenheitenDataLock");  // Distributed lock for MA-Abwesenheiten
-
-        try {
-            if (lock.tryLock(0, 10, TimeUnit.MINUTES)) {  // Try to acquire the lock for up to 10 minutes
-                try {
-                    log.info("Syncing MA-Abwesenheiten data");
-                    lhrUrlaubService.calculateAbwesenheiten();
-                } catch (Exception ex) {
-                    log.error("Error occured while syncMAAbwesenheitenData {}", ex.getMessage());
-                } finally {
-                    lock.unlock();  // Always release the lock
-                }
-            } else {
-                log.info("Another instance is already processing MA-Abwesenheiten data.");
-            }
-        } catch (Exception ex) {
-            log.error("Failed to acquire lock", ex);
-        }
+        jobRunner.run(SYNC_MA_ABWESENHEITEN_DATA, context -> {
+            log.info("Syncing MA-Abwesenheiten data");
+            lhrUrlaubService.calculateAbwesenheiten();
+        });
     }
 
     @Override
     public void resyncLeistungserfassungData() {
         final String originalName = Thread.currentThread().getName();
         Thread.currentThread().setName("leistung-sync");
-
-        RLock lock = redissonClient.getLock("lhrService:syncLeistungserfassung");
-
         try {
-            if (lock.tryLock(0, 10, TimeUnit.MINUTES)) {  // Try to acquire the lock for up to 10 minutes
-                List<CompletableFuture<ResponseEntity<?>>> futures = new ArrayList<>();
-                List<Leistungserfassung> leistungserfassungs = leistungserfassungService.findAllNotSyncedWithLhr();
+            jobRunner.run(RESYNC_LEISTUNGSERFASSUNG_DATA, context -> {
+                // Dedicated, bounded workers so that the resync never competes with the shared executorWithTaskDecorator pool.
+                // The number of parallel HTTP calls per Firma is additionally capped by the LHRConcurrencyLimiter.
+                final int concurrency = getLhrResyncConcurrency();
+                Scheduler scheduler = Schedulers.newBoundedElastic(concurrency, concurrency * 4, "leistung-sync-worker");
                 try {
-                    log.info("Syncing Leistungserfassung with LHR");
-                    for (Leistungserfassung leistungserfassung : leistungserfassungs) {
-                        if (futures.size() >= 25) {
-                            log.info("Waiting for threads to be finished");
-                            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join(); //avoid overloading thread pool executor
-                            futures.clear();
-                            log.info("Threads finished");
-                        }
-
-                        futures.add(asyncService.asyncExecutor(() -> lhrUrlaubService.sendLeistungsdatumToLhr(
-                                leistungserfassung.getPersonalnummer().getId(),
-                                leistungserfassung.getLeistungsdatum().format(DateTimeFormatter.ISO_LOCAL_DATE)))
-                        );
-                    }
-                } catch (Exception ex) {
-                    log.error("Error occured while Leistungserfassung-sync {}", ex.getMessage());
+                    List<Leistungserfassung> leistungserfassungs = leistungserfassungService.findAllNotSyncedWithLhr();
+                    log.info("Syncing {} Leistungserfassungen with LHR, concurrency {}", leistungserfassungs.size(), concurrency);
+                    Long succeeded = Flux.fromIterable(leistungserfassungs)
+                            .flatMap(leistungserfassung -> Mono.fromCallable(() -> lhrUrlaubService.sendLeistungsdatumToLhr(
+                                                    leistungserfassung.getPersonalnummer().getId(),
+                                                    leistungserfassung.getLeistungsdatum().format(DateTimeFormatter.ISO_LOCAL_DATE)))
+                                            .subscribeOn(scheduler)
+                                            .filter(response -> response.getStatusCode().is2xxSuccessful())
+                                            .onErrorResume(ex -> {
+                                                log.error("Error occured while Leistungserfassung-sync for id {}: {}", leistungserfassung.getId(), ex.getMessage());
+                                                return Mono.empty();
+                                            }),
+                                    concurrency)
+                            .count()
+                            .block();
+                    context.addItems(leistungserfassungs.size());
+                    log.info("Leistungserfassung sync with LHR, finished for {} entities, {} successful", leistungserfassungs.size(), succeeded);
                 } finally {
-                    lock.unlock();  // Always release the lock
-                    log.info("Waiting for threads to be finished");
-                    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join(); //avoid overloading thread pool executor
-                    futures.clear();
-                    log.info("Leistungserfassung sync with LHR, finished for {} entities", leistungserfassungs.size());
+                    scheduler.dispose();
                 }
-            } else {
-                log.info("Another instance is already processing Leistungserfassung data.");
-            }
-        } catch (Exception ex) {
-            log.error("Failed to acquire lock", ex);
+            });
+        } finally {
+            Thread.currentThread().setName(originalName);
         }
-        Thread.currentThread().setName(originalName);
     }
 
     public void abwesenheitenCheck() {
         final String originalName = Thread.currentThread().getName();
         Thread.currentThread().setName("abw-comparing");
-        RLock lock = redissonClient.getLock("lhrService:abwesenheitenComparingCron");
-
         try {
-            if (lock.tryLock(0, 10, TimeUnit.MINUTES)) {
+            jobRunner.run(ABWESENHEITEN_CHECK, context -> {
                 lhrUrlaubService.compareAndUpdateErroneousUrlaube();
                 //todo add compareAndUpdateErroneousZeitausgleich0
-            } else {
-                log.info("Another instance is already processing abwesenheiten data.");
-            }
-        } catch (Exception ex) {
-            log.error("Failed to acquire lock", ex);
+            });
         } finally {
             log.info("Abwesenheit processing finished");
-            lock.unlock();
+            Thread.currentThread().setName(originalName);
         }
-        Thread.currentThread().setName(originalName);
     }
 }
@@ -14,6 +14,13 @@ public interface FileShareService {
     InputStream downloadFromFileShare(String shareName, String directoryPath, String fileNamePrefix);
 
     InputStream downloadFileById(String shareName, String fileId);
+
+    /**
+     * Aligns the file index used by {@link #downloadFileById(String, String)} with the files actually stored in the
+     * shares, fixing entries missed by changes done outside this service.
+     */
+    void reconcileFileIndex();
+
     String getVereinbarungenDirectory(String personalnummer, Stammdaten stammdaten);
 
     void emptyFolderFromFileShare(String shareName, String directoryPath);
@@ -5,15 +5,24 @@ import com.azure.storage.file.share.ShareClient;
 import com.azure.storage.file.share.ShareDirectoryClient;
 import com.azure.storage.file.share.ShareFileClient;
 import com.azure.storage.file.share.ShareServiceClient;
+import com.azure.storage.file.share.models.ShareFileInfo;
 import com.azure.storage.file.share.models.ShareFileItem;
+import com.azure.storage.file.share.models.ShareFileProperties;
 import com.azure.storage.file.share.models.ShareStorageException;
+import com.azure.storage.file.share.options.ShareListFilesAndDirectoriesOptions;
+import com.ibosng._service.jobs.DistributedJobRunner;
+import com.ibosng._service.jobs.JobDefinition;
+import com.ibosng.dbservice.entities.FileShareIndex;
 import com.ibosng.dbservice.entities.mitarbeiter.Stammdaten;
+import com.ibosng.dbservice.services.FileShareIndexService;
 import com.ibosng.dbservice.services.mitarbeiter.StammdatenService;
 import com.ibosng.microsoftgraphservice.dtos.FileItem;
 import com.ibosng.microsoftgraphservice.dtos.TreeNode;
 import com.ibosng.microsoftgraphservice.services.FileShareService;
 import com.ibosng.microsoftgraphservice.services.MSEnvironmentService;
 import com.ibosng.microsoftgraphservice.utils.Helpers;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,7 +33,13 @@ import org.springframework.stereotype.Service;
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.ibosng.dbservice.enums.MimeTypeMapping.getMimeTypeForExtension;
 import static com.ibosng.dbservice.utils.Parsers.isNullOrBlank;
@@ -47,6 +62,11 @@ public class FileShareServiceImpl implements FileShareService {
     private static final String UNSIGNED = "Nicht unterschrieben";
     private static final String SIGNED = "Unterschrieben";
 
+    static final JobDefinition RECONCILE_FILE_INDEX = JobDefinition.builder()
+            .name("fileShareService:reconcileFileIndex")
+            .lockKey("fileShareService:ReconcileFileIndexLock")
+            .build();
+
     @Getter
     @Value("${fileSharePersonalunterlagen:#{null}}")
     private String fileSharePersonalunterlagen;
@@ -55,9 +75,50 @@ public class FileShareServiceImpl implements FileShareService {
     @Value("${fileShareTemp:#{null}}")
     private String fileShareTemp;
 
+    @Value("${fileShareTreeThreads:8}")
+    private Integer fileShareTreeThreads;
+
     private final ShareServiceClient shareServiceClient;
     private final MSEnvironmentService msEnvironmentService;
     private final StammdatenService stammdatenService;
+    private final FileShareTreeCache fileShareTreeCache;
+    private final FileShareIndexService fileShareIndexService;
+    private final DistributedJobRunner jobRunner;
+
+    private ExecutorService treeExecutor;
+
+    /**
+     * A directory of the tree whose content is listed in the next round of {@link #buildTreeNode}.
+     */
+    private record PendingDirectory(ShareDirectoryClient client, TreeNode node) {
+    }
+
+    /**
+     * A file node whose MIME type still needs the content type from the file properties.
+     */
+    private record PendingFile(ShareDirectoryClient parentDirectory, ShareFileItem item, TreeNode node) {
+    }
+
+    private record ListedDirectory(List<PendingDirectory> directories, List<PendingFile> files) {
+    }
+
+    private record ListedFileIds(List<ShareDirectoryClient> directories, List<FileShareIndex> files) {
+    }
+
+    @PostConstruct
+    public void startTreeExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        treeExecutor = Executors.newFixedThreadPool(Math.max(1, fileShareTreeThreads), runnable -> {
+            Thread thread = new Thread(runnable, "file-share-tree-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stopTreeExecutor() {
+        treeExecutor.shutdownNow();
+    }
 
     @Override
     public void uploadOrReplaceInFileShare(String shareName, String directoryPath, String fileName, InputStream data, long length) {
@@ -78,6 +139,7 @@ public class FileShareServiceImpl implements FileShareService {
                     ShareFileClient existingFileClient = targetDirectory.getFileClient(item.getName());
                     if (existingFileClient.exists()) {
                         existingFileClient.delete();
+                        updateFileIndex(() -> fileShareIndexService.removeFile(shareName, directoryPath, item.getName()));
                         fileDeleted = true;
                     }
                 }
@@ -89,8 +151,10 @@ public class FileShareServiceImpl implements FileShareService {
             ShareFileClient fileClient = targetDirectory.getFileClient(fileName);
             ParallelTransferOptions transferOptions = new ParallelTransferOptions().setBlockSizeLong(BLOCK_SIZE).setMaxConcurrency(MAX_CONCURENCY);
 
-            fileClient.create(length);
+            ShareFileInfo fileInfo = fileClient.create(length);
             fileClient.upload(data, length, transferOptions);
+            fileShareTreeCache.invalidate(shareName, directoryPath);
+            updateFileIndex(() -> fileShareIndexService.indexFile(shareName, getFileId(fileInfo), directoryPath, fileName));
 
             log.info("File '{}' uploaded to '{}'.", fileName, directoryPath);
         } catch (ShareStorageException e) {
@@ -110,6 +174,12 @@ public class FileShareServiceImpl implements FileShareService {
                 return null;
             }
 
+            ShareFileClient indexedFile = findIndexedFile(shareClient, shareName, fileId);
+            if (indexedFile != null) {
+                log.info("Downloading file '{}' with ID '{}' from the file index.", indexedFile.getFilePath(), fileId);
+                return indexedFile.openInputStream();
+            }
+
             // Search for the file globally in the share
             Queue<ShareDirectoryClient> directoriesToSearch = new LinkedList<>();
             directoriesToSearch.add(shareClient.getRootDirectoryClient());
@@ -129,6 +199,8 @@ public class FileShareServiceImpl implements FileShareService {
                         ShareFileClient fileClient = currentDirectory.getFileClient(item.getName());
                         if (fileClient.exists()) {
                             log.info("Downloading file '{}'.", item.getName());
+                            String directoryPath = currentDirectory.getDirectoryPath();
+                            updateFileIndex(() -> fileShareIndexService.indexFile(shareName, fileId, directoryPath, item.getName()));
                             return fileClient.openInputStream();
                         } else {
                             log.warn("File '{}' no longer exists.", item.getName());
@@ -144,6 +216,111 @@ public class FileShareServiceImpl implements FileShareService {
         return null;
     }
 
+    /**
+     * Resolves the file through the file index. Entries no longer pointing to the file with this ID are removed, so
+     * the caller falls back to searching the share.
+     */
+    private ShareFileClient findIndexedFile(ShareClient shareClient, String shareName, String fileId) {
+        Optional<FileShareIndex> entry;
+        try {
+            entry = fileShareIndexService.findByShareNameAndFileId(shareName, fileId);
+        } catch (Exception e) {
+            log.warn("Could not read the file index for ID '{}': exception: ", fileId, e);
+            return null;
+        }
+        if (entry.isEmpty()) {
+            return null;
+        }
+
+        ShareDirectoryClient directory = shareClient.getRootDirectoryClient();
+        if (!isNullOrBlank(entry.get().getDirectoryPath())) {
+            directory = directory.getSubdirectoryClient(entry.get().getDirectoryPath());
+        }
+        ShareFileClient fileClient = directory.getFileClient(entry.get().getFileName());
+        try {
+            ShareFileProperties properties = fileClient.getProperties();
+            if (properties.getSmbProperties() != null && fileId.equals(properties.getSmbProperties().getFileId())) {
+                return fileClient;
+            }
+        } catch (ShareStorageException e) {
+            log.debug("Indexed file '{}' does not exist anymore.", fileClient.getFilePath());
+        }
+        log.info("File index entry for ID '{}' is outdated, searching the share.", fileId);
+        updateFileIndex(() -> fileShareIndexService.removeFile(shareName, fileId));
+        return null;
+    }
+
+    /**
+     * Keeping the file index up to date must never fail a file operation, the reconciliation fixes missed updates.
+     */
+    private void updateFileIndex(Runnable update) {
+        try {
+            update.run();
+        } catch (Exception e) {
+            log.warn("Could not update the file index: exception: ", e);
+        }
+    }
+
+    private static String getFileId(ShareFileInfo fileInfo) {
+        return fileInfo != null && fileInfo.getSmbProperties() != null ? fileInfo.getSmbProperties().getFileId() : null;
+    }
+
+    @Override
+    public void reconcileFileIndex() {
+        jobRunner.run(RECONCILE_FILE_INDEX, context -> {
+            for (String shareName : Arrays.asList(getFileSharePersonalunterlagen(), getFileShareTemp())) {
+                if (!isNullOrBlank(shareName)) {
+                    context.addItems(reconcileFileIndex(shareName));
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the number of files found in the share
+     */
+    private int reconcileFileIndex(String shareName) {
+        ShareClient shareClient = shareServiceClient.getShareClient(shareName);
+        if (!shareClient.exists()) {
+            log.error("Share '{}' does not exist. Cannot reconcile the file index.", shareName);
+            return 0;
+        }
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<FileShareIndex> files = new ArrayList<>();
+        List<ShareDirectoryClient> level = List.of(shareClient.getRootDirectoryClient());
+        while (!level.isEmpty()) {
+            List<ListedFileIds> listedDirectories = joinAll(level.stream()
+                    .map(directory -> CompletableFuture.supplyAsync(() -> listFileIds(directory), treeExecutor))
+                    .toList());
+
+            List<ShareDirectoryClient> nextLevel = new ArrayList<>();
+            for (ListedFileIds listedDirectory : listedDirectories) {
+                nextLevel.addAll(listedDirectory.directories());
+                files.addAll(listedDirectory.files());
+            }
+            level = nextLevel;
+        }
+
+        int changes = fileShareIndexService.reconcile(shareName, files, startedAt);
+        log.info("Reconciled the file index of share '{}': {} files, {} changes.", shareName, files.size(), changes);
+        return files.size();
+    }
+
+    private ListedFileIds listFileIds(ShareDirectoryClient directoryClient) {
+        ShareListFilesAndDirectoriesOptions options = new ShareListFilesAndDirectoriesOptions().setIncludeExtendedInfo(true);
+        List<ShareDirectoryClient> directories = new ArrayList<>();
+        List<FileShareIndex> files = new ArrayList<>();
+        for (ShareFileItem item : directoryClient.listFilesAndDirectories(options, null, null)) {
+            if (item.isDirectory()) {
+                directories.add(directoryClient.getSubdirectoryClient(item.getName()));
+            } else if (item.getId() != null) {
+                files.add(new FileShareIndex(null, null, item.getId(), directoryClient.getDirectoryPath(), item.getName(), null));
+            }
+        }
+        return new ListedFileIds(directories, files);
+    }
+
     @Override
     public InputStream downloadFromFileShare(String shareName, String directoryPath, String fileNamePrefix) {
         try {
@@ -205,11 +382,13 @@ public class FileShareServiceImpl implements FileShareService {
                 if (fileClient.exists()) {
                     log.info("Deleting file '{}' in directory '{}'.", item.getName(), directoryPath);
                     fileClient.delete();
+                    updateFileIndex(() -> fileShareIndexService.removeFile(shareName, directoryPath, item.getName()));
                     log.info("File '{}' successfully deleted.", item.getName());
                 } else {
                     log.warn("File '{}' no longer exists. Skipping.", item.getName());
                 }
             }
+            fileShareTreeCache.invalidate(shareName, directoryPath);
 
         } catch (ShareStorageException e) {
             log.error("Failed to delete file(s) in directory '{}': exception: ", directoryPath, e);
@@ -251,6 +430,7 @@ public class FileShareServiceImpl implements FileShareService {
                         if (fileClient.exists()) {
                             log.info("Deleting file '{}' in directory '{}'.", item.getName(), directoryPath);
                             fileClient.delete();
+                            updateFileIndex(() -> fileShareIndexService.removeFile(shareName, directoryPath, item.getName()));
                             log.info("File '{}' successfully deleted.", item.getName());
                             fileFound = true; // Indicate at least one file was found and deleted
                         } else {
@@ -262,6 +442,8 @@ public class FileShareServiceImpl implements FileShareService {
 
             if (!fileFound) {
                 log.warn("No file found matching prefix '{}' in directory '{}'.", fileNamePrefix, directoryPath);
+            } else {
+                fileShareTreeCache.invalidate(shareName, directoryPath);
             }
         } catch (ShareStorageException e) {
             log.error("Failed to delete file(s) with prefix '{}' in directory '{}': exception: ", fileNamePrefix, directoryPath, e);
@@ -304,7 +486,9 @@ public class FileShareServiceImpl implements FileShareService {
                 return;
             }
             ShareDirectoryClient rootDirectoryClient = shareClient.getRootDirectoryClient();
+            fileShareTreeCache.invalidateShare(fileshare);
             deleteDirectoryRecursively(rootDirectoryClient);
+            updateFileIndex(() -> fileShareIndexService.removeDirectory(fileshare, ""));
         } catch (ShareStorageException e) {
             log.error("Failed to empty the fileshare {} with exception: ", fileshare, e);
         }
@@ -329,7 +513,9 @@ public class FileShareServiceImpl implements FileShareService {
             if (doesDirectoryExist(firmaDirectory, directoryName)) {
                 log.error("Directory with the same name already exists: {}", directoryName);
                 if (!msEnvironmentService.isProduction()) {
-                    deleteDirectoryRecursively(firmaDirectory.getSubdirectoryClient(directoryName));
+                    ShareDirectoryClient existingDirectory = firmaDirectory.getSubdirectoryClient(directoryName);
+                    deleteDirectoryRecursively(existingDirectory);
+                    updateFileIndex(() -> fileShareIndexService.removeDirectory(mainDirectory, existingDirectory.getDirectoryPath()));
                 }
             }
 
@@ -353,6 +539,7 @@ public class FileShareServiceImpl implements FileShareService {
 
             ShareDirectoryClient onboardingDirectory = ensureSubdirectoryExists(personalDirectory, ONBOARDING);
             ensureSubdirectoryExists(onboardingDirectory, "Beschäftigungs- & Stundennachweise");
+            fileShareTreeCache.invalidate(mainDirectory, firma);
 
         } catch (ShareStorageException e) {
             log.error("Failed to create a structure for personalnummer {} with exception: ", personalnummer, e);
@@ -407,6 +594,7 @@ public class FileShareServiceImpl implements FileShareService {
             }
 
             renameFilesInSubdirectories(personalnummerDirectory, vorname, nachname);
+            fileShareTreeCache.invalidate(getFileShareTemp(), personalnummerDirectory.getDirectoryPath());
 
             log.info("Successfully renamed all files in directory for personalnummer '{}'.", personalnummer);
         } catch (Exception e) {
@@ -427,9 +615,13 @@ public class FileShareServiceImpl implements FileShareService {
                 if (!updatedFileName.equals(item.getName())) {
                     try {
                         long fileSize = sourceFile.getProperties().getContentLength();
-                        targetFile.create(fileSize);
+                        ShareFileInfo fileInfo = targetFile.create(fileSize);
                         targetFile.uploadRange(sourceFile.openInputStream(), fileSize);
                         sourceFile.delete();
+                        updateFileIndex(() -> {
+                            fileShareIndexService.removeFile(getFileShareTemp(), directory.getDirectoryPath(), item.getName());
+                            fileShareIndexService.indexFile(getFileShareTemp(), getFileId(fileInfo), directory.getDirectoryPath(), updatedFileName);
+                        });
 
                         log.info("Renamed file '{}' to '{}'.", item.getName(), updatedFileName);
                     } catch (Exception ex) {
@@ -465,6 +657,9 @@ public class FileShareServiceImpl implements FileShareService {
             personalnummerDirectory.setMetadata(new HashMap<>());
             log.info("Existing metadata: {}", personalnummerDirectory.getProperties().getMetadata());
             personalnummerDirectory.rename(firmaDirectory.getDirectoryPath() + "/" + updatedDirectoryName);
+            fileShareTreeCache.invalidate(getFileShareTemp(), firmaDirectory.getDirectoryPath());
+            updateFileIndex(() -> fileShareIndexService.moveDirectory(getFileShareTemp(), personalnummerDirectory.getDirectoryPath(),
+                    firmaDirectory.getDirectoryPath() + "/" + updatedDirectoryName));
 
             log.info("Successfully renamed personalnummer directory '{}' to '{}'.", personalnummer, updatedDirectoryName);
         } catch (ShareStorageException e) {
@@ -526,6 +721,9 @@ public class FileShareServiceImpl implements FileShareService {
             deleteDirectoryContents(sourceDirectory);
 
             sourceDirectory.delete();
+            fileShareTreeCache.invalidate(getFileShareTemp(), sourceDirectory.getDirectoryPath());
+            updateFileIndex(() -> fileShareIndexService.removeDirectory(getFileShareTemp(), sourceDirectory.getDirectoryPath()));
+            fileShareTreeCache.invalidate(getFileSharePersonalunterlagen(), targetDirectory.getDirectoryPath());
             log.info("Successfully processed documents for personalnummer '{}' from temp to personalunterlagen.", personalnummer);
         } catch (Exception ex) {
             log.error("Error during document processing for personalnummer '{}': exception", personalnummer, ex);
@@ -568,9 +766,11 @@ public class FileShareServiceImpl implements FileShareService {
                 ShareFileClient targetFile = targetDirectory.getFileClient(item.getName());
 
                 long fileSize = sourceFile.getProperties().getContentLength();
-                targetFile.create(fileSize);
+                ShareFileInfo fileInfo = targetFile.create(fileSize);
                 targetFile.uploadRange(sourceFile.openInputStream(), fileSize);
                 sourceFile.delete();
+                updateFileIndex(() -> fileShareIndexService.indexFile(getFileSharePersonalunterlagen(), getFileId(fileInfo),
+                        targetDirectory.getDirectoryPath(), item.getName()));
 
                 log.info("Moved file '{}' to target directory '{}'.", item.getName(), targetDirectory.getDirectoryPath());
             }
@@ -596,6 +796,11 @@ public class FileShareServiceImpl implements FileShareService {
             String updatedDirectoryName = Helpers.updateSubdirectoryName(personalnummer, "", "");
             deleteDirectoryBasedOnType(firmaDirectory.getSubdirectoryClient(personalnummer), DIENSTVERTRAG);
             deleteDirectoryBasedOnType(firmaDirectory.getSubdirectoryClient(updatedDirectoryName), DIENSTVERTRAG);
+            fileShareTreeCache.invalidate(shareName, firma);
+            updateFileIndex(() -> {
+                fileShareIndexService.removeDirectory(shareName, firmaDirectory.getSubdirectoryClient(personalnummer).getDirectoryPath());
+                fileShareIndexService.removeDirectory(shareName, firmaDirectory.getSubdirectoryClient(updatedDirectoryName).getDirectoryPath());
+            });
 
             log.info("Deleted directories for personalnummer '{}' under firma '{}'.", personalnummer, firma);
         } catch (Exception e) {
@@ -692,6 +897,10 @@ public class FileShareServiceImpl implements FileShareService {
 
     @Override
     public TreeNode getDirectoryStructure(String shareName, String rootDirectoryPath) {
+        return fileShareTreeCache.get(shareName, rootDirectoryPath, () -> loadDirectoryStructure(shareName, rootDirectoryPath));
+    }
+
+    private TreeNode loadDirectoryStructure(String shareName, String rootDirectoryPath) {
         try {
             ShareClient shareClient = shareServiceClient.getShareClient(shareName);
             if (!shareClient.exists()) {
@@ -729,57 +938,113 @@ public class FileShareServiceImpl implements FileShareService {
         }
     }
 
-    private TreeNode buildTreeNode(ShareDirectoryClient directoryClient) {
-        TreeNode node = new TreeNode();
-        node.setId(directoryClient.getDirectoryPath());
-        node.setPath(directoryClient.getDirectoryPath());
-        node.setTitle(extractName(directoryClient.getDirectoryPath()));
-        node.setCreatedAt(directoryClient.getProperties().getLastModified().toString());
+    /**
+     * Builds the tree level by level: the directories of one level are listed in parallel on the tree executor, then
+     * the content types of the files found on that level are fetched in parallel. Timestamps come from the listing,
+     * so a file costs one properties call.
+     */
+    private TreeNode buildTreeNode(ShareDirectoryClient rootDirectory) {
+        TreeNode root = createDirectoryNode(rootDirectory.getDirectoryPath(), rootDirectory.getProperties().getLastModified());
+        List<PendingDirectory> level = List.of(new PendingDirectory(rootDirectory, root));
+        while (!level.isEmpty()) {
+            List<ListedDirectory> listedDirectories = joinAll(level.stream()
+                    .map(directory -> CompletableFuture.supplyAsync(() -> listDirectory(directory), treeExecutor))
+                    .toList());
+
+            List<PendingDirectory> nextLevel = new ArrayList<>();
+            List<PendingFile> files = new ArrayList<>();
+            for (ListedDirectory listedDirectory : listedDirectories) {
+                nextLevel.addAll(listedDirectory.directories());
+                files.addAll(listedDirectory.files());
+            }
+            joinAll(files.stream()
+                    .map(file -> CompletableFuture.runAsync(() -> completeFileNode(file), treeExecutor))
+                    .toList());
+            level = nextLevel;
+        }
+        return root;
+    }
 
-        // Always initialize the content list for folders
-        List<TreeNode> content = new ArrayList<>();
-        node.setContent(new ArrayList<>());
+    private ListedDirectory listDirectory(PendingDirectory directory) {
+        ShareDirectoryClient directoryClient = directory.client();
+        ShareListFilesAndDirectoriesOptions options = new ShareListFilesAndDirectoriesOptions()
+                .setIncludeTimestamps(true)
+                .setIncludeExtendedInfo(true);
 
-        for (ShareFileItem item : directoryClient.listFilesAndDirectories()) {
+        List<TreeNode> content = new ArrayList<>();
+        List<PendingDirectory> directories = new ArrayList<>();
+        List<PendingFile> files = new ArrayList<>();
+        for (ShareFileItem item : directoryClient.listFilesAndDirectories(options, null, null)) {
+            OffsetDateTime lastModified = item.getProperties() != null ? item.getProperties().getLastModified() : null;
             if (item.isDirectory()) {
                 ShareDirectoryClient subDirectory = directoryClient.getSubdirectoryClient(item.getName());
-                content.add(buildTreeNode(subDirectory)); // RECURSIVE CALL
+                if (lastModified == null) {
+                    lastModified = subDirectory.getProperties().getLastModified();
+                }
+                TreeNode subNode = createDirectoryNode(subDirectory.getDirectoryPath(), lastModified);
+                content.add(subNode);
+                directories.add(new PendingDirectory(subDirectory, subNode));
             } else {
-                content.add(buildFileNode(item, directoryClient)); // Add file to folder
+                TreeNode fileNode = buildFileNode(item, directoryClient, lastModified);
+                content.add(fileNode);
+                files.add(new PendingFile(directoryClient, item, fileNode));
             }
         }
+        directory.node().setContent(content);
+        return new ListedDirectory(directories, files);
+    }
 
-        // Set the content to an empty list if no files or directories were found
-        node.setContent(content);
+    private TreeNode createDirectoryNode(String directoryPath, OffsetDateTime lastModified) {
+        TreeNode node = new TreeNode();
+        node.setId(directoryPath);
+        node.setPath(directoryPath);
+        node.setTitle(extractName(directoryPath));
+        node.setCreatedAt(lastModified != null ? lastModified.toString() : null);
+        node.setContent(new ArrayList<>());
         node.setMimeType(null);
         return node;
     }
 
-    private TreeNode buildFileNode(ShareFileItem fileItem, ShareDirectoryClient parentDirectory) {
+    private TreeNode buildFileNode(ShareFileItem fileItem, ShareDirectoryClient parentDirectory, OffsetDateTime lastModified) {
         FileItem fileNode = new FileItem();
         fileNode.setId(fileItem.getId());
         fileNode.setTitle(fileItem.getName());
         fileNode.setPath(parentDirectory.getDirectoryPath());
-        fileNode.setCreatedAt(parentDirectory.getFileClient(fileItem.getName()).getProperties().getLastModified().toString());
-        fileNode.setMimeType(deriveMimeType(fileItem, parentDirectory));
+        fileNode.setCreatedAt(lastModified != null ? lastModified.toString() : null);
         return fileNode;
     }
 
-    private String deriveMimeType(ShareFileItem fileItem, ShareDirectoryClient parentDirectory) {
+    private void completeFileNode(PendingFile file) {
+        ShareFileItem fileItem = file.item();
+        ShareFileProperties properties = null;
         try {
-            ShareFileClient fileClient = parentDirectory.getFileClient(fileItem.getName());
-            String contentType = fileClient.getProperties().getContentType(); // Fetch from Azure SDK metadata
-            if (!isNullOrBlank(contentType) && !contentType.equals("application/octet-stream")) {
-                return contentType;
-            }
+            properties = file.parentDirectory().getFileClient(fileItem.getName()).getProperties();
         } catch (Exception e) {
             log.warn("Could not fetch MIME type for file '{}'. Falling back to file extension.", fileItem.getName());
         }
+        if (file.node().getCreatedAt() == null && properties != null && properties.getLastModified() != null) {
+            file.node().setCreatedAt(properties.getLastModified().toString());
+        }
+        file.node().setMimeType(deriveMimeType(fileItem, properties));
+    }
+
+    private String deriveMimeType(ShareFileItem fileItem, ShareFileProperties properties) {
+        String contentType = properties != null ? properties.getContentType() : null; // Fetch from Azure SDK metadata
+        if (!isNullOrBlank(contentType) && !contentType.equals("application/octet-stream")) {
+            return contentType;
+        }
 
         //FALLBACK in case the above doesnt work
         return getMimeTypeFromExtension(fileItem.getName());
     }
 
+    private static <T> List<T> joinAll(List<CompletableFuture<T>> futures) {
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
 
     private String getMimeTypeFromExtension(String fileName) {
         String extension = fileName.lastIndexOf('.') != -1 ? fileName.substring(fileName.lastIndexOf('.')) : "";
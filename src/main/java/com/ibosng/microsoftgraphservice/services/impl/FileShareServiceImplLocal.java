@@ -246,6 +246,11 @@ public class FileShareServiceImplLocal implements FileShareService {
         }
     }
 
+    @Override
+    public void reconcileFileIndex() {
+        // local files are resolved by path, there is no file index to reconcile
+    }
+
     @Override
     public String getVereinbarungenDirectory(String personalnummer, Stammdaten stammdaten) {
         String firma = stammdaten.getPersonalnummer().getFirma().getName();
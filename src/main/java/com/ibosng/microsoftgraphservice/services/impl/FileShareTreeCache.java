@@ -0,0 +1,211 @@
+package com.ibosng.microsoftgraphservice.services.impl;
+
+import com.ibosng.microsoftgraphservice.dtos.FileItem;
+import com.ibosng.microsoftgraphservice.dtos.TreeNode;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Directory trees of the file shares, cached per share and path for <b>fileShareTreeCacheTtlSeconds</b>.
+ * <p>
+ * Changes done through the file share service invalidate every cached tree containing or contained in the changed
+ * path, on this instance and, through a Redis topic, on all others. Changes done directly on the share only become
+ * visible after the TTL. Callers always get a copy of the cached tree, so they may modify it freely.
+ * <p>
+ * Concurrent misses on the same tree share a single load: the first caller lists the share, the others wait for its
+ * result instead of starting their own listing.
+ */
+@Slf4j
+@Component
+public class FileShareTreeCache {
+
+    static final String INVALIDATION_TOPIC = "fileshare:treeInvalidations";
+
+    private record Key(String shareName, String path) {
+    }
+
+    private record Entry(TreeNode tree, Instant expiresAt) {
+    }
+
+    private final Map<Key, Entry> trees = new ConcurrentHashMap<>();
+    private final Map<Key, CompletableFuture<TreeNode>> loads = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final long ttlSeconds;
+    private final int maxEntries;
+    private final Clock clock;
+    private final RedissonClient redissonClient;
+
+    public FileShareTreeCache(RedissonClient redissonClient,
+                              @Value("${fileShareTreeCacheTtlSeconds:300}") long ttlSeconds,
+                              @Value("${fileShareTreeCacheMaxEntries:500}") int maxEntries) {
+        this(redissonClient, ttlSeconds, maxEntries, Clock.systemUTC());
+    }
+
+    FileShareTreeCache(RedissonClient redissonClient, long ttlSeconds, int maxEntries, Clock clock) {
+        this.redissonClient = redissonClient;
+        this.ttlSeconds = ttlSeconds;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        try {
+            redissonClient.getTopic(INVALIDATION_TOPIC).addListener(String.class, (channel, message) -> {
+                int separator = message.indexOf('/');
+                invalidateLocal(message.substring(0, separator), message.substring(separator + 1));
+            });
+        } catch (Exception e) {
+            log.error("Subscribing to file share tree invalidations failed, trees changed on other instances stay cached until they expire", e);
+        }
+    }
+
+    /**
+     * Returns the cached tree or builds it with the loader, joining a load of the same tree already running. Trees with
+     * an error message are not cached.
+     */
+    public TreeNode get(String shareName, String path, Supplier<TreeNode> loader) {
+        Key key = new Key(shareName, normalize(path));
+        TreeNode cached = getCached(key);
+        if (cached != null) {
+            return cached;
+        }
+        CompletableFuture<TreeNode> load = new CompletableFuture<>();
+        CompletableFuture<TreeNode> running = loads.putIfAbsent(key, load);
+        if (running != null) {
+            return join(running);
+        }
+        try {
+            // the load running before may have finished between the lookup and registering this one
+            cached = getCached(key);
+            TreeNode tree = cached != null ? cached : load(key, loader);
+            load.complete(tree != null ? copy(tree) : null);
+            return tree;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(key, load);
+        }
+    }
+
+    private TreeNode getCached(Key key) {
+        Entry entry = trees.get(key);
+        return entry != null && entry.expiresAt().isAfter(clock.instant()) ? copy(entry.tree()) : null;
+    }
+
+    private TreeNode load(Key key, Supplier<TreeNode> loader) {
+        long invalidationsBeforeLoad = invalidations.get();
+        TreeNode tree = loader.get();
+        // a tree loaded while something was invalidated may already be stale, so it is only returned
+        if (tree != null && tree.getErrorMessage() == null && ttlSeconds > 0 && invalidations.get() == invalidationsBeforeLoad) {
+            Instant now = clock.instant();
+            if (trees.size() >= maxEntries) {
+                evictExpired(now);
+            }
+            if (trees.size() < maxEntries) {
+                trees.put(key, new Entry(copy(tree), now.plusSeconds(ttlSeconds)));
+            }
+        }
+        return tree;
+    }
+
+    private static TreeNode join(CompletableFuture<TreeNode> load) {
+        try {
+            TreeNode tree = load.join();
+            return tree != null ? copy(tree) : null;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Drops the cached trees of the share which contain the path or are contained in it, on all instances. Loads of
+     * these trees already running are no longer joined by later callers.
+     */
+    public void invalidate(String shareName, String path) {
+        String changedPath = normalize(path);
+        invalidateLocal(shareName, changedPath);
+        try {
+            // share names cannot contain a slash, so the first one separates the share from the path
+            redissonClient.getTopic(INVALIDATION_TOPIC).publish(shareName + "/" + changedPath);
+        } catch (Exception e) {
+            log.error("Publishing the invalidation of {}/{} failed, other instances serve the old tree until it expires", shareName, changedPath, e);
+        }
+    }
+
+    public void invalidateShare(String shareName) {
+        invalidate(shareName, "");
+    }
+
+    private void invalidateLocal(String shareName, String changedPath) {
+        invalidations.incrementAndGet();
+        Predicate<Key> affected = key -> key.shareName().equals(shareName)
+                && (isSameOrBelow(changedPath, key.path()) || isSameOrBelow(key.path(), changedPath));
+        loads.keySet().removeIf(affected);
+        trees.keySet().removeIf(affected);
+    }
+
+    static String normalize(String path) {
+        if (path == null) {
+            return "";
+        }
+        String normalized = path.replace('\\', '/');
+        while (normalized.startsWith("/")) {
+            normalized = normalized.substring(1);
+        }
+        while (normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized;
+    }
+
+    private static boolean isSameOrBelow(String path, String ancestor) {
+        return ancestor.isEmpty() || path.equals(ancestor) || path.startsWith(ancestor + "/");
+    }
+
+    private void evictExpired(Instant now) {
+        trees.values().removeIf(entry -> !entry.expiresAt().isAfter(now));
+    }
+
+    static TreeNode copy(TreeNode node) {
+        TreeNode copy = node instanceof FileItem ? new FileItem() : new TreeNode();
+        copy.setId(node.getId());
+        copy.setTitle(node.getTitle());
+        copy.setPath(node.getPath());
+        copy.setCreatedAt(node.getCreatedAt());
+        copy.setErrorMessage(node.getErrorMessage());
+        copy.setMimeType(node.getMimeType());
+        if (node.getContent() != null) {
+            List<TreeNode> content = new ArrayList<>(node.getContent().size());
+            for (TreeNode child : node.getContent()) {
+                content.add(copy(child));
+            }
+            copy.setContent(content);
+        } else {
+            copy.setContent(null);
+        }
+        return copy;
+    }
+}
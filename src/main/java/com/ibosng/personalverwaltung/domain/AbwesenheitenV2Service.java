@@ -27,7 +27,8 @@ public class AbwesenheitenV2Service {
             var abwesenheitToBePersisted = mapper.map(req, fuehrungskraft);
             var abwesenheitPersisted = abwesenheitRepository.save(abwesenheitToBePersisted);
 
-            var outboxEntryToPersist = LhrOutboxEntry.forCreateAbwesenheitRequest(abwesenheitPersisted.getId());
+            var personalnummer = abwesenheitPersisted.getPersonalnummer();
+            var outboxEntryToPersist = LhrOutboxEntry.forCreateAbwesenheitRequest(abwesenheitPersisted.getId(), personalnummer != null ? personalnummer.getId() : null);
             lhrOutboxEntryRepository.save(outboxEntryToPersist);
 
             return mapper.map(abwesenheitPersisted);
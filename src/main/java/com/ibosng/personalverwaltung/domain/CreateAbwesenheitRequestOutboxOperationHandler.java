@@ -21,6 +21,7 @@ import com.ibosng.personalverwaltung.persistence.LhrOutboxEntry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.time.format.DateTimeFormatter;
@@ -57,7 +58,7 @@ public final class CreateAbwesenheitRequestOutboxOperationHandler extends Outbox
         var abwesenheit = abwesenheitRepository.findById(Integer.valueOf(idSavedInOutbox))
                 .orElseThrow(() -> LhrOutboxProcessingException.fromEntityNotFound(entry.getId(), "Abwesenheit", idSavedInOutbox));
 
-        tryCreateAbwesenheitInLhrOrSetAsInvalidAndThrow(abwesenheit, entry.getId());
+        tryCreateAbwesenheitInLhrOrSetAsInvalidAndThrow(abwesenheit, entry);
 
         try {
             sendMailToFuehrungskraft(abwesenheit, entry.getId());
@@ -68,20 +69,45 @@ public final class CreateAbwesenheitRequestOutboxOperationHandler extends Outbox
         }
     }
 
-    private void tryCreateAbwesenheitInLhrOrSetAsInvalidAndThrow(Abwesenheit abwesenheit, Integer outboxEntryId) {
+    @Override
+    public void onDeadLetter(LhrOutboxEntry entry, Exception exception) {
+        // Abwesenheiten rejected by LHR are already invalid, the ones given up after retries become invalid now
+        if (exception instanceof LhrResponseException lhrResponseException && lhrResponseException.isRetryable()) {
+            abwesenheitRepository.setStatusToInvalid(Integer.valueOf((String) entry.getData().get("entityId")));
+        }
+    }
+
+    /**
+     * Server errors and timeouts of LHR are retried by the outbox, the Abwesenheit only becomes invalid if LHR rejects
+     * the request itself.
+     */
+    private void tryCreateAbwesenheitInLhrOrSetAsInvalidAndThrow(Abwesenheit abwesenheit, LhrOutboxEntry entry) {
+        Integer outboxEntryId = entry.getId();
         try {
-            createAbwesenheitInLhr(abwesenheit, outboxEntryId);
+            createAbwesenheitInLhr(abwesenheit, outboxEntryId, entry.getAttempts() > 1);
         } catch (LHRWebClientException e) {
-            abwesenheitRepository.setStatusToInvalid(abwesenheit.getId());
+            boolean retryable = isTransient(e.getHttpStatus());
+            if (!retryable) {
+                abwesenheitRepository.setStatusToInvalid(abwesenheit.getId());
+            }
             log.error("Exception occurred when calling LHR for creation of Abwesenheit {} for LhrOutboxEntry {}", abwesenheit.getId(), outboxEntryId, e);
-            throw new LhrResponseException("Exception occurred when calling LHR for creation of Abwesenheit %d for LhrOutboxEntry %d".formatted(abwesenheit.getId(), outboxEntryId), e);
+            throw new LhrResponseException("Exception occurred when calling LHR for creation of Abwesenheit %d for LhrOutboxEntry %d".formatted(abwesenheit.getId(), outboxEntryId), e, retryable);
         }
     }
 
+    private static boolean isTransient(HttpStatus httpStatus) {
+        return httpStatus != null && (httpStatus.is5xxServerError()
+                || httpStatus == HttpStatus.TOO_MANY_REQUESTS
+                || httpStatus == HttpStatus.REQUEST_TIMEOUT);
+    }
+
     /**
      * Follows the original msg-plaut logic of executing the lhrClient.postEintritt call (added null-checks and catch);
+     * <p>
+     * The POST is not idempotent and LHR takes no idempotency key. An earlier attempt that timed out or failed with a
+     * server error may still have created the Eintritt, so a retry first looks it up and only posts if it is missing.
      */
-    private void createAbwesenheitInLhr(Abwesenheit abwesenheit, Integer outboxEntryId) {
+    private void createAbwesenheitInLhr(Abwesenheit abwesenheit, Integer outboxEntryId, boolean isRetry) {
         var lhrKz = getFaKz(abwesenheit, outboxEntryId);
         var lhrNr = getFaNr(abwesenheit, outboxEntryId);
         var dnNr = getPersonalnummer(abwesenheit, outboxEntryId);
@@ -93,9 +119,31 @@ public final class CreateAbwesenheitRequestOutboxOperationHandler extends Outbox
         var eintritt = createEintrittDtoFrom(abwesenheit, outboxEntryId);
         var dnEintritte = new DnEintritteDto(dnRef, List.of(eintritt));
 
+        if (isRetry && existsInLhr(lhrKz, lhrNr, dnNr, eintritt)) {
+            log.info("Eintritt of Abwesenheit {} (LhrOutboxEntry {}) was already created in LHR by an earlier attempt", abwesenheit.getId(), outboxEntryId);
+            return;
+        }
         lhrClient.postEintritt(lhrKz, lhrNr, dnNr, null, null, dnEintritte);
     }
 
+    /**
+     * Whether LHR has an Eintritt with the same grund and period. Transient failures of the lookup are thrown, so the
+     * entry is retried instead of posting blindly; any other failure means LHR does not know the Eintritt.
+     */
+    private boolean existsInLhr(String faKz, Integer faNr, Integer dnNr, EintrittDto eintritt) {
+        try {
+            var response = lhrClient.getEintritt(faKz, faNr, dnNr, eintritt.getGrund(), eintritt.getZeitangabe().getVon());
+            var existing = response.getStatusCode().is2xxSuccessful() && response.getBody() != null ? response.getBody().getEintritt() : null;
+            return existing != null && existing.getZeitangabe() != null
+                    && Objects.equals(existing.getZeitangabe().getBis(), eintritt.getZeitangabe().getBis());
+        } catch (LHRWebClientException e) {
+            if (isTransient(e.getHttpStatus())) {
+                throw e;
+            }
+            return false;
+        }
+    }
+
     /**
      * Abwesenheit might be associated with multiple fuehrungskraefte. This implementation follows the original of just sending an email to the first entry.
      */
@@ -0,0 +1,34 @@
+package com.ibosng.personalverwaltung.domain;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of the {@link LhrOutboxScheduler} since startup together with lag and throughput of the last run.
+ */
+@Getter
+public class LhrOutboxMetrics {
+
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+
+    /**
+     * Age of the oldest entry still waiting to be processed, measured after the last run.
+     */
+    private volatile Duration lag = Duration.ZERO;
+
+    /**
+     * Finished entries per second during the last run that found any entries.
+     */
+    private volatile double throughputPerSecond;
+
+    void recordRun(int finished, Duration runtime, Duration lag) {
+        this.lag = lag;
+        if (finished > 0) {
+            throughputPerSecond = finished * 1000.0 / Math.max(1, runtime.toMillis());
+        }
+    }
+}
@@ -3,55 +3,224 @@ package com.ibosng.personalverwaltung.domain;
 
 import com.ibosng.personalverwaltung.persistence.LhrOutboxEntry;
 import com.ibosng.personalverwaltung.persistence.LhrOutboxEntryRepository;
+import com.ibosng.personalverwaltung.persistence.LhrOutboxResult;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+/**
+ * Processes the {@link LhrOutboxEntry LHR outbox}.
+ * <p>
+ * Entries are claimed in pages of at most <b>jobs.lhrOutboxBatchSize</b> with {@code FOR UPDATE SKIP LOCKED}, so
+ * several instances share the work. Only the oldest pending entry of a partition (e.g. one employee) can be claimed,
+ * which keeps the entries of a partition in order while different partitions run in parallel on
+ * <b>jobs.lhrOutboxWorkerThreads</b> workers. Whenever workers finish, their results are written in one batch and
+ * the freed capacity is claimed again, so a slow LHR call only holds up its own partition.
+ * <p>
+ * Failed entries are retried with exponential backoff, starting at <b>jobs.lhrOutboxRetryBaseDelaySeconds</b> and
+ * capped at <b>jobs.lhrOutboxRetryMaxDelaySeconds</b>. Entries failing <b>jobs.lhrOutboxMaxAttempts</b> times or
+ * failing for a reason a retry cannot fix end up as {@link LhrOutboxEntry.Status#DEAD_LETTER}.
+ */
 @Service
 @Slf4j
 @ConditionalOnProperty(prefix = "jobs", name = "lhrOutboxSchedulerEnabled", havingValue = "true")
 public class LhrOutboxScheduler {
 
+    private static final String NO_HANDLER_MESSAGE = "No OperationHandler available for this entry's Operation";
+
+    private record Outcome(LhrOutboxEntry entry, OutboxOperationHandler handler, Exception exception) {
+    }
+
     private final LhrOutboxEntryRepository repository;
     private final Map<LhrOutboxEntry.Operation, OutboxOperationHandler> allHandlersBySupportedOperation;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBaseDelaySeconds;
+    private final long retryMaxDelaySeconds;
+    private final long leaseSeconds;
+    private final ExecutorService executor;
 
-    public LhrOutboxScheduler(LhrOutboxEntryRepository repository, List<OutboxOperationHandler> handlers) {
+    @Getter
+    private final LhrOutboxMetrics metrics = new LhrOutboxMetrics();
+
+    public LhrOutboxScheduler(LhrOutboxEntryRepository repository,
+                              List<OutboxOperationHandler> handlers,
+                              @Value("${jobs.lhrOutboxBatchSize:50}") int batchSize,
+                              @Value("${jobs.lhrOutboxWorkerThreads:4}") int workerThreads,
+                              @Value("${jobs.lhrOutboxMaxAttempts:5}") int maxAttempts,
+                              @Value("${jobs.lhrOutboxRetryBaseDelaySeconds:30}") long retryBaseDelaySeconds,
+                              @Value("${jobs.lhrOutboxRetryMaxDelaySeconds:3600}") long retryMaxDelaySeconds,
+                              @Value("${jobs.lhrOutboxLeaseSeconds:600}") long leaseSeconds) {
         this.repository = repository;
         this.allHandlersBySupportedOperation = handlers.stream()
                 .collect(Collectors.toUnmodifiableMap(OutboxOperationHandler::supports, h -> h));
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBaseDelaySeconds = Math.max(1, retryBaseDelaySeconds);
+        this.retryMaxDelaySeconds = Math.max(this.retryBaseDelaySeconds, retryMaxDelaySeconds);
+        this.leaseSeconds = leaseSeconds;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, workerThreads), runnable -> {
+            Thread thread = new Thread(runnable, "lhr-outbox-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
     }
 
     @Scheduled(fixedDelayString = "${jobs.lhrOutboxSchedulerDelayInMilliseconds}")
     public void process() {
-        var entries = repository.findByStatusOrderById(LhrOutboxEntry.Status.NEW);
-        entries.forEach(entry -> {
-            var appropriateHandler = allHandlersBySupportedOperation.get(entry.getOperation());
-            if (appropriateHandler == null) {
-                log.error("Processing LhrOutboxEntry with id {} failed. No OperationHandler available for this entry's Operation.", entry.getId());
-                markEntryAsErrorSinceNoOperationHandlerAvailable(entry);
-                return;
+        long start = System.nanoTime();
+        CompletionService<Outcome> completionService = new ExecutorCompletionService<>(executor);
+        int inFlight = 0;
+        int finished = 0;
+        boolean claimable = true;
+        try {
+            while (true) {
+                if (claimable && inFlight < batchSize) {
+                    List<LhrOutboxEntry> claimed = claim(batchSize - inFlight);
+                    for (LhrOutboxEntry entry : claimed) {
+                        completionService.submit(() -> handle(entry));
+                    }
+                    inFlight += claimed.size();
+                    claimable = !claimed.isEmpty();
+                }
+                if (inFlight == 0) {
+                    break;
+                }
+
+                List<Outcome> outcomes = new ArrayList<>();
+                outcomes.add(get(completionService.take()));
+                Future<Outcome> done;
+                while ((done = completionService.poll()) != null) {
+                    outcomes.add(get(done));
+                }
+                inFlight -= outcomes.size();
+                finished += outcomes.size();
+                writeResults(outcomes);
+                // finished entries may have unblocked the next entry of their partition
+                claimable = true;
+            }
+        } catch (InterruptedException e) {
+            log.warn("Processing the LhrOutbox was interrupted with {} entries in flight, their leases will expire.", inFlight);
+            Thread.currentThread().interrupt();
+        }
+        recordRun(finished, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private List<LhrOutboxEntry> claim(int limit) {
+        List<Integer> ids = repository.claim(limit, leaseSeconds);
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return repository.findByIdInOrderById(ids);
+    }
+
+    private Outcome handle(LhrOutboxEntry entry) {
+        var appropriateHandler = allHandlersBySupportedOperation.get(entry.getOperation());
+        if (appropriateHandler == null) {
+            log.error("Processing LhrOutboxEntry with id {} failed. No OperationHandler available for this entry's Operation.", entry.getId());
+            return new Outcome(entry, null, null);
+        }
+        try {
+            appropriateHandler.handle(entry);
+            return new Outcome(entry, appropriateHandler, null);
+        } catch (Exception exception) {
+            log.error("Could not process LhrOutboxEntry {} (attempt {})", entry.getId(), entry.getAttempts(), exception);
+            return new Outcome(entry, appropriateHandler, exception);
+        }
+    }
+
+    private void writeResults(List<Outcome> outcomes) {
+        List<LhrOutboxResult> results = new ArrayList<>(outcomes.size());
+        List<Outcome> deadLetters = new ArrayList<>();
+        for (Outcome outcome : outcomes) {
+            LhrOutboxEntry entry = outcome.entry();
+            if (outcome.handler() == null) {
+                results.add(LhrOutboxResult.deadLetter(entry.getId(), NO_HANDLER_MESSAGE));
+                metrics.getDeadLettered().incrementAndGet();
+            } else if (outcome.exception() == null) {
+                results.add(LhrOutboxResult.done(entry.getId()));
+                metrics.getProcessed().incrementAndGet();
+            } else if (entry.getAttempts() < maxAttempts && outcome.handler().isRetryable(outcome.exception())) {
+                results.add(LhrOutboxResult.retry(entry.getId(), errorMessageOf(outcome.exception()), retryDelaySeconds(entry.getAttempts())));
+                metrics.getRetried().incrementAndGet();
+            } else {
+                results.add(LhrOutboxResult.deadLetter(entry.getId(), errorMessageOf(outcome.exception())));
+                metrics.getDeadLettered().incrementAndGet();
+                deadLetters.add(outcome);
             }
+        }
+        repository.updateResults(results);
+
+        for (Outcome deadLetter : deadLetters) {
             try {
-                appropriateHandler.handle(entry);
-            } catch (Exception exception) {
-                log.error("Could not process LhrOutboxEntry {}", entry.getId(), exception);
-                markEntryAsError(entry, exception);
-                return;
+                deadLetter.handler().onDeadLetter(deadLetter.entry(), deadLetter.exception());
+            } catch (Exception e) {
+                log.error("Dead letter handling of LhrOutboxEntry {} failed", deadLetter.entry().getId(), e);
             }
-            repository.markAsProcessed(entry.getId());
-        });
+        }
+    }
+
+    /**
+     * Delay before the next attempt after {@code attempts} failed ones: the base delay, doubled with every further
+     * attempt, but never more than the maximum delay.
+     */
+    private long retryDelaySeconds(int attempts) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), 30);
+        return Math.min(retryMaxDelaySeconds, retryBaseDelaySeconds << doublings);
+    }
+
+    private void recordRun(int finished, Duration runtime) {
+        Duration lag = Duration.ZERO;
+        try {
+            LocalDateTime oldestPending = repository.findOldestPendingCreatedAt();
+            if (oldestPending != null) {
+                lag = Duration.between(oldestPending, LocalDateTime.now());
+            }
+        } catch (Exception e) {
+            log.warn("Could not determine the lag of the LhrOutbox: {}", e.getMessage());
+        }
+        metrics.recordRun(finished, runtime, lag);
+        if (finished > 0) {
+            log.info("Processed {} LhrOutbox entries in {} ms ({} done, {} retried, {} dead letters since startup), lag {} s",
+                    finished, runtime.toMillis(), metrics.getProcessed().get(), metrics.getRetried().get(),
+                    metrics.getDeadLettered().get(), lag.toSeconds());
+        }
     }
 
-    private void markEntryAsError(LhrOutboxEntry entry, Exception exception) {
-        repository.markAsError(entry.getId(), exception.getClass().getSimpleName() + ": " + exception.getMessage());
+    private static String errorMessageOf(Exception exception) {
+        return exception.getClass().getSimpleName() + ": " + exception.getMessage();
     }
 
-    private void markEntryAsErrorSinceNoOperationHandlerAvailable(LhrOutboxEntry entry) {
-        repository.markAsError(entry.getId(), "No OperationHandler available for this entry's Operation");
+    private static Outcome get(Future<Outcome> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            // handle() catches everything, so this only happens for errors
+            throw new IllegalStateException("Processing LhrOutboxEntry failed unexpectedly", e.getCause());
+        }
     }
 }
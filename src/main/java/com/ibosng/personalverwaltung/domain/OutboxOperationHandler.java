@@ -1,5 +1,7 @@
 package com.ibosng.personalverwaltung.domain;
 
+import com.ibosng.personalverwaltung.domain.exceptions.LhrOutboxProcessingException;
+import com.ibosng.personalverwaltung.domain.exceptions.LhrResponseException;
 import com.ibosng.personalverwaltung.persistence.LhrOutboxEntry;
 import jakarta.validation.constraints.NotNull;
 
@@ -8,4 +10,21 @@ public abstract class OutboxOperationHandler {
     public abstract @NotNull LhrOutboxEntry.Operation supports();
 
     public abstract void handle(LhrOutboxEntry entry);
+
+    /**
+     * Whether an entry whose {@link #handle} threw the exception should be retried later. Entries with invalid data
+     * and requests rejected by LHR fail the same way again, so they go to the dead letters right away.
+     */
+    public boolean isRetryable(Exception exception) {
+        if (exception instanceof LhrResponseException lhrResponseException) {
+            return lhrResponseException.isRetryable();
+        }
+        return !(exception instanceof LhrOutboxProcessingException);
+    }
+
+    /**
+     * Called once after the entry has been moved to {@link LhrOutboxEntry.Status#DEAD_LETTER}.
+     */
+    public void onDeadLetter(LhrOutboxEntry entry, Exception exception) {
+    }
 }
@@ -5,7 +5,17 @@ import lombok.Getter;
 @Getter
 public class LhrResponseException extends RuntimeException {
 
+    /**
+     * Whether LHR failed for a reason that may go away, e.g. an unavailable service, so the call is worth repeating.
+     */
+    private final boolean retryable;
+
     public LhrResponseException(String message, Throwable cause) {
+        this(message, cause, false);
+    }
+
+    public LhrResponseException(String message, Throwable cause, boolean retryable) {
         super(message, cause);
+        this.retryable = retryable;
     }
 }
@@ -47,6 +47,22 @@ public class LhrOutboxEntry {
     @Column(name = "error_message")
     private String errorMessage;
 
+    /**
+     * Entries with the same partition key are processed strictly in order of their id, e.g. all requests of one
+     * employee. Entries without a partition key have no ordering constraint.
+     */
+    @Column(name = "partition_key")
+    private String partitionKey;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
 
     public enum Operation {
         CREATE_ABWESENHEIT_REQUEST
@@ -54,12 +70,14 @@ public class LhrOutboxEntry {
 
     public enum Status {
         NEW,
+        IN_PROGRESS,
         DONE,
-        ERROR
+        DEAD_LETTER
     }
 
-    public static LhrOutboxEntry forCreateAbwesenheitRequest(@NotNull Integer abwesenheitId) {
-        return new LhrOutboxEntry(null, Operation.CREATE_ABWESENHEIT_REQUEST, Status.NEW, buildDataFieldFrom(String.valueOf(abwesenheitId)), null, null, null);
+    public static LhrOutboxEntry forCreateAbwesenheitRequest(@NotNull Integer abwesenheitId, Integer personalnummerId) {
+        var partitionKey = personalnummerId != null ? "personalnummer:" + personalnummerId : null;
+        return new LhrOutboxEntry(null, Operation.CREATE_ABWESENHEIT_REQUEST, Status.NEW, buildDataFieldFrom(String.valueOf(abwesenheitId)), null, null, null, partitionKey, 0, null, null);
     }
 
     private static Map<String, Object> buildDataFieldFrom(@NotNull String entityId) {
@@ -0,0 +1,18 @@
+package com.ibosng.personalverwaltung.persistence;
+
+import java.util.List;
+
+public interface LhrOutboxEntryRepositoryExtended {
+
+    /**
+     * Claims up to {@code limit} due entries for {@code leaseSeconds} and returns their ids. Only the oldest pending
+     * entry of every partition is claimable, and rows locked by a concurrent claim are skipped, so several instances
+     * can claim at the same time without processing an entry twice or out of order.
+     */
+    List<Integer> claim(int limit, long leaseSeconds);
+
+    /**
+     * Writes the results of processed entries in one JDBC batch. Results of entries no longer claimed are ignored.
+     */
+    int[] updateResults(List<LhrOutboxResult> results);
+}
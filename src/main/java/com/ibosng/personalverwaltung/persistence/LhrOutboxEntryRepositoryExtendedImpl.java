@@ -0,0 +1,70 @@
+package com.ibosng.personalverwaltung.persistence;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+
+public class LhrOutboxEntryRepositoryExtendedImpl implements LhrOutboxEntryRepositoryExtended {
+
+    private static final String CLAIM_SQL = """
+            update lhr_outbox
+            set status = 'IN_PROGRESS',
+                attempts = attempts + 1,
+                locked_until = now() + ? * interval '1 second'
+            where id in (
+                select e.id
+                from lhr_outbox e
+                where ((e.status = 'NEW' and (e.next_attempt_at is null or e.next_attempt_at <= now()))
+                        or (e.status = 'IN_PROGRESS' and e.locked_until < now()))
+                  and not exists (
+                        select 1
+                        from lhr_outbox p
+                        where p.partition_key = e.partition_key
+                          and p.id < e.id
+                          and p.status in ('NEW', 'IN_PROGRESS'))
+                order by e.id
+                limit ?
+                for update skip locked)
+            returning id
+            """;
+
+    private static final String UPDATE_RESULT_SQL = """
+            update lhr_outbox
+            set status = ?,
+                error_message = ?,
+                synced_at = now(),
+                next_attempt_at = now() + ? * interval '1 second',
+                locked_until = null
+            where id = ?
+              and status = 'IN_PROGRESS'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LhrOutboxEntryRepositoryExtendedImpl(@Qualifier("postgresDataSource") DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public List<Integer> claim(int limit, long leaseSeconds) {
+        return jdbcTemplate.queryForList(CLAIM_SQL, Integer.class, leaseSeconds, limit);
+    }
+
+    @Override
+    public int[] updateResults(List<LhrOutboxResult> results) {
+        if (results.isEmpty()) {
+            return new int[0];
+        }
+        int[][] updated = jdbcTemplate.batchUpdate(UPDATE_RESULT_SQL, results, results.size(), (ps, result) -> {
+            ps.setString(1, result.status().name());
+            ps.setString(2, result.errorMessage());
+            ps.setObject(3, result.retryDelaySeconds(), Types.BIGINT);
+            ps.setInt(4, result.id());
+        });
+        return Arrays.stream(updated).flatMapToInt(Arrays::stream).toArray();
+    }
+}
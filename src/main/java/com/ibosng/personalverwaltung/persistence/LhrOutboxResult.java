@@ -0,0 +1,20 @@
+package com.ibosng.personalverwaltung.persistence;
+
+/**
+ * Result of processing a claimed {@link LhrOutboxEntry}. Entries with a {@code retryDelaySeconds} go back to
+ * {@link LhrOutboxEntry.Status#NEW} and are claimable again after the delay.
+ */
+public record LhrOutboxResult(Integer id, LhrOutboxEntry.Status status, String errorMessage, Long retryDelaySeconds) {
+
+    public static LhrOutboxResult done(Integer id) {
+        return new LhrOutboxResult(id, LhrOutboxEntry.Status.DONE, null, null);
+    }
+
+    public static LhrOutboxResult retry(Integer id, String errorMessage, long retryDelaySeconds) {
+        return new LhrOutboxResult(id, LhrOutboxEntry.Status.NEW, errorMessage, retryDelaySeconds);
+    }
+
+    public static LhrOutboxResult deadLetter(Integer id, String errorMessage) {
+        return new LhrOutboxResult(id, LhrOutboxEntry.Status.DEAD_LETTER, errorMessage, null);
+    }
+}
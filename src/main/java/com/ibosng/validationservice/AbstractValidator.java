@@ -29,7 +29,7 @@ public abstract class AbstractValidator<T, V> {
 
     @Getter
     @Setter
-    protected Map<ValidationObjectPair<T, V>, Boolean> validationResults = new HashMap<>();
+    protected Map<ValidationObjectPair<T, V>, Boolean> validationResults = new LinkedHashMap<>();
 
     public AbstractValidator(BaseService<T> baseServiceT, BaseService<V> baseServiceV) {
         this.baseServiceT = baseServiceT;
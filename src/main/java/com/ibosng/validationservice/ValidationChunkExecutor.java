@@ -0,0 +1,174 @@
+package com.ibosng.validationservice;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs validations of large imports in chunks on a bounded worker pool.
+ * <p>
+ * Objects sharing an affinity key (e.g. the same person or the same seminar) always end up in the same chunk, so
+ * whatever a validation looks up or creates for one of them is visible to the others in input order. Whole affinity
+ * groups are packed into chunks of about <b>validationChunkSize</b> objects, which are processed by
+ * <b>validationWorkerThreads</b> workers. Every chunk gets its own worker from the factory, so validations keeping
+ * state per object are never shared between threads. Results are returned in input order, no matter which chunk
+ * finished first.
+ */
+@Slf4j
+@Component
+public class ValidationChunkExecutor {
+
+    @Getter
+    private final int chunkSize;
+    private final int workerThreads;
+
+    private ExecutorService executor;
+
+    public ValidationChunkExecutor(@Value("${validationChunkSize:200}") int chunkSize,
+                                   @Value("${validationWorkerThreads:4}") int workerThreads) {
+        this.chunkSize = Math.max(1, chunkSize);
+        this.workerThreads = Math.max(1, workerThreads);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (workerThreads > 1) {
+            AtomicInteger threadCount = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(workerThreads, runnable -> {
+                Thread thread = new Thread(runnable, "validation-worker-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Whether {@link #execute} would split the given number of objects over several workers.
+     */
+    public boolean shouldSplit(int size) {
+        return executor != null && size > chunkSize;
+    }
+
+    public <T, R> List<R> execute(List<T> objects,
+                                  Function<T, Collection<String>> affinityKeys,
+                                  Supplier<Function<List<T>, List<R>>> workerFactory) {
+        List<int[]> chunks = partition(objects, affinityKeys, chunkSize);
+        log.info("Validating {} objects in {} chunks", objects.size(), chunks.size());
+        List<CompletableFuture<List<R>>> futures = new ArrayList<>(chunks.size());
+        for (int[] chunk : chunks) {
+            List<T> chunkObjects = Arrays.stream(chunk).mapToObj(objects::get).toList();
+            if (executor == null) {
+                futures.add(CompletableFuture.completedFuture(workerFactory.get().apply(chunkObjects)));
+            } else {
+                futures.add(CompletableFuture.supplyAsync(() -> workerFactory.get().apply(chunkObjects), executor));
+            }
+        }
+
+        List<R> results = new ArrayList<>(objects.size());
+        for (int i = 0; i < objects.size(); i++) {
+            results.add(null);
+        }
+        for (int i = 0; i < chunks.size(); i++) {
+            List<R> chunkResults = join(futures.get(i));
+            int[] chunk = chunks.get(i);
+            for (int j = 0; j < chunk.length; j++) {
+                results.set(chunk[j], chunkResults.get(j));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Groups the indexes of the objects by shared affinity keys and packs the groups, in order of their first object,
+     * into chunks of at most {@code chunkSize} objects. A group larger than {@code chunkSize} forms a chunk of its
+     * own. The indexes of every chunk are sorted ascending.
+     */
+    static <T> List<int[]> partition(List<T> objects, Function<T, Collection<String>> affinityKeys, int chunkSize) {
+        int[] parents = new int[objects.size()];
+        Map<String, Integer> firstIndexByKey = new HashMap<>();
+        for (int i = 0; i < objects.size(); i++) {
+            parents[i] = i;
+            for (String key : affinityKeys.apply(objects.get(i))) {
+                Integer first = firstIndexByKey.putIfAbsent(key, i);
+                if (first != null) {
+                    union(parents, first, i);
+                }
+            }
+        }
+
+        Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < objects.size(); i++) {
+            groups.computeIfAbsent(find(parents, i), root -> new ArrayList<>()).add(i);
+        }
+
+        List<int[]> chunks = new ArrayList<>();
+        List<Integer> current = new ArrayList<>();
+        for (List<Integer> group : groups.values()) {
+            if (!current.isEmpty() && current.size() + group.size() > chunkSize) {
+                chunks.add(toSortedArray(current));
+                current = new ArrayList<>();
+            }
+            current.addAll(group);
+        }
+        if (!current.isEmpty()) {
+            chunks.add(toSortedArray(current));
+        }
+        return chunks;
+    }
+
+    private static int find(int[] parents, int index) {
+        while (parents[index] != index) {
+            parents[index] = parents[parents[index]];
+            index = parents[index];
+        }
+        return index;
+    }
+
+    private static void union(int[] parents, int first, int second) {
+        int firstRoot = find(parents, first);
+        int secondRoot = find(parents, second);
+        if (firstRoot != secondRoot) {
+            parents[Math.max(firstRoot, secondRoot)] = Math.min(firstRoot, secondRoot);
+        }
+    }
+
+    private static int[] toSortedArray(List<Integer> indexes) {
+        return indexes.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    private static <R> List<R> join(CompletableFuture<List<R>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+}
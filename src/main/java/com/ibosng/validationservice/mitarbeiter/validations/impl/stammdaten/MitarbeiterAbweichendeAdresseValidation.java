@@ -23,7 +23,6 @@ import java.util.Objects;
 
 import static com.ibosng.validationservice.utils.Constants.AUSTRIA_VORWAHL;
 import static com.ibosng.validationservice.utils.ValidationHelpers.createNewAdresse;
-import static com.ibosng.validationservice.utils.ValidationHelpers.findMatchingOrts;
 import static com.ibosng.dbservice.utils.Parsers.isNullOrBlank;
 
 /**
@@ -99,9 +98,9 @@ public class MitarbeiterAbweichendeAdresseValidation implements Validation<Stamm
             boolean isOrtValid = mitarbeiterAbweichendeOrtValidation.executeValidation(stammdatenDto, stammdaten);
             isOrtValid = isOrtValid || isNullOrBlank(stammdatenDto.getAOrt());
             if (isPlzValid && isOrtValid && Objects.nonNull(stammdaten.getAbweichendeAdresse().getPlz())) {
-                List<String> orts = plzService.findOrtByPlz(((Plz) stammdaten.getAbweichendeAdresse().getPlz()).getPlz());
-                if (!findMatchingOrts(orts, stammdaten.getAbweichendeAdresse().getOrt() != null ? stammdaten.getAbweichendeAdresse().getOrt() : null).isEmpty()) {
-                    String ort = orts.get(0);
+                List<String> matchingOrts = plzService.findMatchingOrtsByPlz(((Plz) stammdaten.getAbweichendeAdresse().getPlz()).getPlz(), stammdaten.getAbweichendeAdresse().getOrt());
+                if (!matchingOrts.isEmpty()) {
+                    String ort = matchingOrts.get(0);
                     stammdaten.getAbweichendeAdresse().setOrt(ort);
                     stammdatenDto.setAOrt(ort);
                     stammdaten.getErrors().removeIf(status -> status.getError().equals("aort"));
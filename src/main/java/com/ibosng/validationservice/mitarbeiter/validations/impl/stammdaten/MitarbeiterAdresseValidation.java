@@ -21,7 +21,6 @@ import java.util.List;
 
 import static com.ibosng.validationservice.utils.Constants.AUSTRIA_VORWAHL;
 import static com.ibosng.validationservice.utils.ValidationHelpers.createNewAdresse;
-import static com.ibosng.validationservice.utils.ValidationHelpers.findMatchingOrts;
 import static com.ibosng.dbservice.utils.Parsers.isNullOrBlank;
 
 /**
@@ -88,9 +87,9 @@ public class MitarbeiterAdresseValidation implements Validation<StammdatenDto, S
                     stammdaten.getAdresse().setLand(landService.findByTelefonvorwahl(AUSTRIA_VORWAHL).get(0));
                     stammdatenDto.setLand(stammdaten.getAdresse().getLand().getLandName());
                 }
-                List<String> orts = plzService.findOrtByPlz(((Plz) stammdaten.getAdresse().getPlz()).getPlz());
-                if (!findMatchingOrts(orts, stammdaten.getAdresse().getOrt() != null ? stammdaten.getAdresse().getOrt() : null).isEmpty()) {
-                    String ort = orts.get(0);
+                List<String> matchingOrts = plzService.findMatchingOrtsByPlz(((Plz) stammdaten.getAdresse().getPlz()).getPlz(), stammdaten.getAdresse().getOrt());
+                if (!matchingOrts.isEmpty()) {
+                    String ort = matchingOrts.get(0);
                     stammdaten.getAdresse().setOrt(ort);
                     stammdatenDto.setOrt(ort);
                     stammdaten.getErrors().removeIf(status -> status.getError().equals("ort"));
@@ -25,7 +25,6 @@ import java.util.List;
 
 import static com.ibosng.validationservice.utils.Constants.AUSTRIA_VORWAHL;
 import static com.ibosng.validationservice.utils.ValidationHelpers.createNewAdresse;
-import static com.ibosng.validationservice.utils.ValidationHelpers.findMatchingOrts;
 import static com.ibosng.dbservice.utils.Parsers.isNullOrBlank;
 
 @Component
@@ -114,9 +113,9 @@ public class MitarbeiterZusatzVereinbarungValidation extends AbstractValidation<
                     vertragsdaten.getAdresse().setLand(landService.findByTelefonvorwahl(AUSTRIA_VORWAHL).get(0));
                     vertragsdatenDto.setLand(vertragsdaten.getAdresse().getLand().getLandName());
                 }
-                List<String> orts = plzService.findOrtByPlz(((Plz) vertragsdaten.getAdresse().getPlz()).getPlz());
-                if (!findMatchingOrts(orts, vertragsdaten.getAdresse().getOrt() != null ? vertragsdaten.getAdresse().getOrt() : null).isEmpty()) {
-                    String ort = orts.get(0);
+                List<String> matchingOrts = plzService.findMatchingOrtsByPlz(((Plz) vertragsdaten.getAdresse().getPlz()).getPlz(), vertragsdaten.getAdresse().getOrt());
+                if (!matchingOrts.isEmpty()) {
+                    String ort = matchingOrts.get(0);
                     vertragsdaten.getAdresse().setOrt(ort);
                     vertragsdatenDto.setOrt(ort);
                     vertragsdaten.getErrors().removeIf(status -> status.getError().equals("ort"));
@@ -9,4 +9,9 @@ public interface ValidationImportService {
     void replaceIbosRefenceWithBenutzer();
 
     void importDataFromIbos();
+
+    /**
+     * Syncs all employees from ibos, for the changes the incremental {@link #importDataFromIbos} does not see.
+     */
+    void resyncDataFromIbos();
 }
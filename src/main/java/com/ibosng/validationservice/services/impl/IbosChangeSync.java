@@ -0,0 +1,174 @@
+package com.ibosng.validationservice.services.impl;
+
+import com.ibosng.dbibosservice.dtos.IbosChangeDto;
+import com.ibosng.dbibosservice.enums.IbosChangeTable;
+import com.ibosng.dbibosservice.services.AdresseIbosService;
+import com.ibosng.dbservice.entities.IbosSyncPending;
+import com.ibosng.dbservice.entities.IbosSyncState;
+import com.ibosng.dbservice.services.IbosSyncPendingService;
+import com.ibosng.dbservice.services.IbosSyncStateService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Finds the employees changed in ibos since the last run, instead of syncing all of them every run.
+ * <p>
+ * The tables of {@link IbosChangeTable} are read page by page in the order of their change timestamp and id, starting
+ * after the watermark stored in {@code ibos_sync_state}. The watermark is moved forward after each page, so a failed
+ * run resumes after the last complete page. The first run of a table starts at the beginning and so finds all
+ * employees. Changes without a new timestamp, such as a Zusatz becoming effective on its {@code datum_von}, are left
+ * to the nightly full resync of {@code ValidationImportService#resyncDataFromIbos}.
+ * <p>
+ * An employee whose sync failed or who has no personalnummer yet is kept in {@code ibos_sync_pending} before the
+ * watermark moves past it, and is retried at the start of every run until it is synced or older than
+ * {@code ibosSyncRetryDays}.
+ */
+@Slf4j
+@Component
+public class IbosChangeSync {
+
+    /**
+     * Result of syncing one employee, {@link #RETRY} keeps the employee for the next run.
+     */
+    public enum Outcome {
+        SYNCED,
+        SKIPPED,
+        RETRY
+    }
+
+    static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final AdresseIbosService adresseIbosService;
+    private final IbosSyncStateService ibosSyncStateService;
+    private final IbosSyncPendingService ibosSyncPendingService;
+    private final int pageSize;
+    private final long settleSeconds;
+    private final long retryDays;
+
+    public IbosChangeSync(AdresseIbosService adresseIbosService,
+                          IbosSyncStateService ibosSyncStateService,
+                          IbosSyncPendingService ibosSyncPendingService,
+                          @Value("${ibosSyncPageSize:1000}") int pageSize,
+                          @Value("${ibosSyncSettleSeconds:60}") long settleSeconds,
+                          @Value("${ibosSyncRetryDays:30}") long retryDays) {
+        this.adresseIbosService = adresseIbosService;
+        this.ibosSyncStateService = ibosSyncStateService;
+        this.ibosSyncPendingService = ibosSyncPendingService;
+        this.pageSize = Math.max(1, pageSize);
+        this.settleSeconds = settleSeconds;
+        this.retryDays = retryDays;
+    }
+
+    /**
+     * Passes the personalnummer and LHR firma of each pending employee and of each employee changed since the last
+     * run to {@code syncEmployee}, once per run even if several of its rows changed. An exception of
+     * {@code syncEmployee} is logged and counts as {@link Outcome#RETRY}.
+     *
+     * @return the number of employees passed.
+     */
+    public int syncChangedEmployees(BiFunction<String, Integer, Outcome> syncEmployee) {
+        LocalDateTime runAt = LocalDateTime.now();
+        Set<String> synced = new HashSet<>();
+        retryPending(synced, syncEmployee, runAt);
+        List<IbosSyncState> states = new ArrayList<>();
+        for (IbosChangeTable table : IbosChangeTable.values()) {
+            states.add(syncTable(table, synced, syncEmployee));
+        }
+        ibosSyncStateService.saveAll(states);
+        return synced.size();
+    }
+
+    private void retryPending(Set<String> synced, BiFunction<String, Integer, Outcome> syncEmployee, LocalDateTime runAt) {
+        List<IbosSyncPending> pending = new ArrayList<>();
+        List<IbosSyncPending> resolved = new ArrayList<>();
+        LocalDateTime expiredBefore = runAt.minusDays(retryDays);
+        for (IbosSyncPending entry : ibosSyncPendingService.findAll()) {
+            synced.add(key(entry.getPersonalnummer(), entry.getLhrNr()));
+            entry.setAttempts(entry.getAttempts() == null ? 1 : entry.getAttempts() + 1);
+            entry.setLastAttemptAt(runAt);
+            if (sync(entry.getPersonalnummer(), entry.getLhrNr(), syncEmployee) != Outcome.RETRY) {
+                resolved.add(entry);
+            } else if (entry.getFirstSeenAt().isBefore(expiredBefore)) {
+                log.warn("Giving up on syncing personalnummer {} of firma {} after {} attempts", entry.getPersonalnummer(), entry.getLhrNr(), entry.getAttempts());
+                resolved.add(entry);
+            } else {
+                pending.add(entry);
+            }
+        }
+        if (!resolved.isEmpty()) {
+            ibosSyncPendingService.deleteAll(resolved);
+        }
+        if (!pending.isEmpty()) {
+            ibosSyncPendingService.saveAll(pending);
+            log.info("Still {} employees pending in the ibos sync", pending.size());
+        }
+    }
+
+    private IbosSyncState syncTable(IbosChangeTable table, Set<String> synced, BiFunction<String, Integer, Outcome> syncEmployee) {
+        LocalDateTime runAt = LocalDateTime.now();
+        IbosSyncState state = ibosSyncStateService.findByTableName(table.name())
+                .orElseGet(() -> new IbosSyncState(null, table.name(), BEGINNING, 0, null, null, null, null));
+        int changedRows = 0;
+        int syncedBefore = synced.size();
+        LocalDateTime oldestChange = null;
+        long pageRows;
+        do {
+            List<IbosChangeDto> page = adresseIbosService.findChanges(table, state.getChangedAt(), state.getLastId(), pageSize, settleSeconds);
+            if (page.isEmpty()) {
+                break;
+            }
+            if (oldestChange == null) {
+                oldestChange = page.get(0).getChangedAt();
+            }
+            List<IbosSyncPending> newPending = new ArrayList<>();
+            for (IbosChangeDto change : page) {
+                if (change.getPersonalnummer() != null && change.getLhrNr() != null
+                        && synced.add(key(change.getPersonalnummer(), change.getLhrNr()))
+                        && sync(change.getPersonalnummer(), change.getLhrNr(), syncEmployee) == Outcome.RETRY) {
+                    newPending.add(new IbosSyncPending(null, change.getPersonalnummer(), change.getLhrNr(), runAt, runAt, 1));
+                }
+            }
+            // the employees to retry are stored before the watermark moves past their rows
+            if (!newPending.isEmpty()) {
+                ibosSyncPendingService.saveAll(newPending);
+            }
+            // a row is returned once per employee, the page is full if it holds pageSize rows of the table
+            pageRows = page.stream().map(IbosChangeDto::getId).distinct().count();
+            changedRows += (int) pageRows;
+            IbosChangeDto last = page.get(page.size() - 1);
+            state.setChangedAt(last.getChangedAt());
+            state.setLastId(last.getId());
+            state = ibosSyncStateService.save(state);
+        } while (pageRows >= pageSize);
+
+        state.setLastRunAt(runAt);
+        state.setLastChangedRows(changedRows);
+        state.setLastSynced(synced.size() - syncedBefore);
+        state.setLagSeconds(oldestChange == null ? 0 : Math.max(0, Duration.between(oldestChange, runAt).getSeconds()));
+        log.info("Read {} changed rows of {} up to {}, {} employees to sync, lag {}s", changedRows, table.getTableName(),
+                state.getChangedAt(), state.getLastSynced(), state.getLagSeconds());
+        return state;
+    }
+
+    private static Outcome sync(String personalnummer, Integer lhrNr, BiFunction<String, Integer, Outcome> syncEmployee) {
+        try {
+            return syncEmployee.apply(personalnummer, lhrNr);
+        } catch (Exception e) {
+            log.error("Error while syncing personalnummer {} of firma {} from ibos", personalnummer, lhrNr, e);
+            return Outcome.RETRY;
+        }
+    }
+
+    static String key(String personalnummer, Integer lhrNr) {
+        return personalnummer + ":" + lhrNr;
+    }
+}
@@ -77,6 +77,7 @@ public class ValidationImportServiceImpl implements ValidationImportService {
     private final AdresseIbosService adresseIbosService;
     private final PersonalnummerService personalnummerService;
     private final StammdatenService stammdatenService;
+    private final IbosChangeSync ibosChangeSync;
 
     @Override
     public void importUEBASeminars() {
@@ -310,22 +311,59 @@ public class ValidationImportServiceImpl implements ValidationImportService {
 
     @Override
     public void importDataFromIbos() {
-        List<Personalnummer> personalnummers = personalnummerService.findAllByMitarbeiterTypeAndIsIbosngOnboarded(MitarbeiterType.MITARBEITER, false);
+        Map<String, Personalnummer> personalnummers = personalnummerService.findAllByMitarbeiterTypeAndIsIbosngOnboarded(MitarbeiterType.MITARBEITER, false)
+                .stream()
+                .filter(personalnummer -> personalnummer.getFirma() != null && personalnummer.getFirma().getLhrNr() != null)
+                .collect(Collectors.toMap(
+                        personalnummer -> IbosChangeSync.key(personalnummer.getPersonalnummer(), personalnummer.getFirma().getLhrNr()),
+                        personalnummer -> personalnummer,
+                        (first, second) -> first));
+        int changed = ibosChangeSync.syncChangedEmployees((personalnummer, lhrNr) -> {
+            Personalnummer changedPersonalnummer = personalnummers.get(IbosChangeSync.key(personalnummer, lhrNr));
+            if (changedPersonalnummer != null) {
+                return updateMAData(changedPersonalnummer) ? IbosChangeSync.Outcome.SYNCED : IbosChangeSync.Outcome.RETRY;
+            }
+            // onboarded employees and Teilnehmer are not synced from ibos, employees without personalnummer are retried
+            return personalnummerService.existsByPersonalnummerAndLhrNr(personalnummer, lhrNr) ? IbosChangeSync.Outcome.SKIPPED : IbosChangeSync.Outcome.RETRY;
+        });
+        log.info("Found {} employees changed in ibos", changed);
+    }
+
+    @Override
+    public void resyncDataFromIbos() {
+        List<Personalnummer> personalnummers = personalnummerService.findAllByMitarbeiterTypeAndIsIbosngOnboarded(MitarbeiterType.MITARBEITER, false)
+                .stream()
+                .filter(personalnummer -> personalnummer.getFirma() != null && personalnummer.getFirma().getLhrNr() != null)
+                .toList();
+        int failed = 0;
         for (Personalnummer personalnummer : personalnummers) {
-            log.info("Starting to update MA data for personalnummer {}", personalnummer.getPersonalnummer());
-            IbisFirma firma = personalnummer.getFirma();
-            if (firma.getBmdClient() != null) {
-                log.info("Trying to get benutzer from personalnummer {} and bmdClient {}", personalnummer.getPersonalnummer(), firma.getBmdClient());
-                Benutzer benutzer = benutzerService.findByPersonalnummerAndFirmaBmdClient(personalnummer.getPersonalnummer(), personalnummer.getFirma().getBmdClient());
-                if (!isNullOrBlank(benutzer.getEmail())) {
-                    log.info("Trying to get sync MA data, calling the sync method with email {}, personalnummer {} and firma LhrNr {}", benutzer.getEmail(), personalnummer.getPersonalnummer(), personalnummer.getFirma().getLhrNr());
-                    mitarbeiterSyncService.syncMitarbeiterFromIbisacam(benutzer.getEmail(), personalnummer.getPersonalnummer(), personalnummer.getFirma().getLhrNr());
+            try {
+                if (!updateMAData(personalnummer)) {
+                    failed++;
                 }
-            } else if (firma.getLhrNr() != null) {
-                log.info("Trying to get sync MA data, calling the sync method with personalnummer {} and firma LhrNr {}", personalnummer.getPersonalnummer(), personalnummer.getFirma().getLhrNr());
-                mitarbeiterSyncService.syncMitarbeiterFromIbisacam(null, personalnummer.getPersonalnummer(), personalnummer.getFirma().getLhrNr());
+            } catch (Exception e) {
+                log.error("Error while resyncing personalnummer {} from ibos", personalnummer.getPersonalnummer(), e);
+                failed++;
+            }
+        }
+        log.info("Resynced {} employees from ibos, {} failed", personalnummers.size() - failed, failed);
+    }
+
+    private boolean updateMAData(Personalnummer personalnummer) {
+        log.info("Starting to update MA data for personalnummer {}", personalnummer.getPersonalnummer());
+        IbisFirma firma = personalnummer.getFirma();
+        if (firma.getBmdClient() != null) {
+            log.info("Trying to get benutzer from personalnummer {} and bmdClient {}", personalnummer.getPersonalnummer(), firma.getBmdClient());
+            Benutzer benutzer = benutzerService.findByPersonalnummerAndFirmaBmdClient(personalnummer.getPersonalnummer(), personalnummer.getFirma().getBmdClient());
+            if (benutzer == null || isNullOrBlank(benutzer.getEmail())) {
+                log.warn("No benutzer with email found for personalnummer {} and bmdClient {}", personalnummer.getPersonalnummer(), firma.getBmdClient());
+                return false;
             }
+            log.info("Trying to get sync MA data, calling the sync method with email {}, personalnummer {} and firma LhrNr {}", benutzer.getEmail(), personalnummer.getPersonalnummer(), personalnummer.getFirma().getLhrNr());
+            return mitarbeiterSyncService.syncMitarbeiterFromIbisacam(benutzer.getEmail(), personalnummer.getPersonalnummer(), personalnummer.getFirma().getLhrNr()).getStatusCode().is2xxSuccessful();
         }
+        log.info("Trying to get sync MA data, calling the sync method with personalnummer {} and firma LhrNr {}", personalnummer.getPersonalnummer(), personalnummer.getFirma().getLhrNr());
+        return mitarbeiterSyncService.syncMitarbeiterFromIbisacam(null, personalnummer.getPersonalnummer(), personalnummer.getFirma().getLhrNr()).getStatusCode().is2xxSuccessful();
     }
 
     private void importFuehrungskraefteAndStartcoaches(List<String> toBeImported, String reference) {
@@ -6,21 +6,28 @@ import com.ibosng.dbservice.services.ValidationsService;
 import com.ibosng.dbservice.services.impl.TeilnehmerStagingServiceImpl;
 import com.ibosng.validationservice.AbstractValidator;
 import com.ibosng.validationservice.Validation;
+import com.ibosng.validationservice.ValidationChunkExecutor;
 import com.ibosng.validationservice.ValidationObjectPair;
+import com.ibosng.validationservice.config.ValidationsConfig;
 import com.ibosng.validationservice.services.TeilnehmerValidatorService;
 import com.ibosng.validationservice.teilnehmer.validations.AbstractValidation;
 import com.ibosng.validationservice.teilnehmer.validations.imported.*;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.ibosng.dbservice.utils.Parsers.getLocalDateNow;
+import static com.ibosng.dbservice.utils.Parsers.isNullOrBlank;
 import static com.ibosng.validationservice.utils.Constants.VALIDATION_SERVICE;
 
 @Component
@@ -48,6 +55,9 @@ public class ImportedTeilnehmerValidator extends AbstractValidator<TeilnehmerSta
     private final VHSOptionalTelefonValidation vhsOptionalTelefonValidation;
     private final VHSOptionalVornameValidation vhsOptionalVornameValidation;
     private final TeilnehmerMutterspracheValidation teilnehmerMutterspracheValidation;
+    private final ValidationsConfig validationsConfig;
+    private final ValidationChunkExecutor validationChunkExecutor;
+    private final TransactionTemplate transactionTemplate;
 
     @Getter
     @Setter
@@ -78,7 +88,10 @@ public class ImportedTeilnehmerValidator extends AbstractValidator<TeilnehmerSta
                                        VHSOptionalSvnrValidation vhsOptionalSvnrValidation,
                                        VHSOptionalTelefonValidation vhsOptionalTelefonValidation,
                                        VHSOptionalVornameValidation vhsOptionalVornameValidation,
-                                       TeilnehmerTitel2Validation teilnehmerTitel2Validation, TeilnehmerMutterspracheValidation teilnehmerMutterspracheValidation) {
+                                       TeilnehmerTitel2Validation teilnehmerTitel2Validation, TeilnehmerMutterspracheValidation teilnehmerMutterspracheValidation,
+                                       ValidationsConfig validationsConfig,
+                                       ValidationChunkExecutor validationChunkExecutor,
+                                       @Qualifier("postgresTransactionManager") PlatformTransactionManager transactionManager) {
         super(baseServiceT, baseServiceV);
         this.validationsService = validationsService;
         this.teilnehmerValidatorService = teilnehmerValidatorService;
@@ -101,6 +114,9 @@ public class ImportedTeilnehmerValidator extends AbstractValidator<TeilnehmerSta
         this.zielValidation = zielValidation;
         this.teilnehmerTitel2Validation = teilnehmerTitel2Validation;
         this.teilnehmerMutterspracheValidation = teilnehmerMutterspracheValidation;
+        this.validationsConfig = validationsConfig;
+        this.validationChunkExecutor = validationChunkExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -109,6 +125,10 @@ public class ImportedTeilnehmerValidator extends AbstractValidator<TeilnehmerSta
         if (teilnehmerStaging == null || !teilnehmerStaging.getSource().equals(TeilnehmerSource.MANUAL)) {
             super.prepare();
         }
+        addValidations();
+    }
+
+    private void addValidations() {
         addValidation(teilnehmerEmailValidation);
         addValidation(teilnehmerTitelValidation);
         addValidation(vhsOptionalVornameValidation);
@@ -130,21 +150,89 @@ public class ImportedTeilnehmerValidator extends AbstractValidator<TeilnehmerSta
         addValidation(teilnehmerMutterspracheValidation);
     }
 
+    /**
+     * Large imports are split by {@link ValidationChunkExecutor} into chunks of stagings that cannot affect each other
+     * (see {@link #getAffinityKeys}), each validated by its own validator instance. The results keep the order of
+     * {@link #objectsToValidate}.
+     */
     @Override
     protected void executeValidations() {
-        for (TeilnehmerStaging object : this.objectsToValidate) {
+        List<ValidatedTeilnehmer> results;
+        if (validationChunkExecutor.shouldSplit(objectsToValidate.size())) {
+            results = validationChunkExecutor.execute(objectsToValidate, ImportedTeilnehmerValidator::getAffinityKeys, this::createWorker);
+        } else {
+            results = validateChunk(objectsToValidate);
+        }
+        for (ValidatedTeilnehmer result : results) {
+            if (result.teilnehmer != null) {
+                validationResults.put(new ValidationObjectPair<>(result.staging, result.teilnehmer), result.valid);
+            } else {
+                getInvalidTeilnehmerStaging().add(result.staging);
+            }
+        }
+    }
+
+    private Function<List<TeilnehmerStaging>, List<ValidatedTeilnehmer>> createWorker() {
+        ImportedTeilnehmerValidator worker = validationsConfig.getImportedTeilnehmerValidator();
+        worker.setIdentifier(getIdentifier());
+        worker.setChangedBy(getChangedBy());
+        worker.addValidations();
+        return worker::validateChunk;
+    }
+
+    /**
+     * Validates the stagings in order and saves each Teilnehmer together with its staging once. The saves are
+     * collected and flushed in one transaction every chunk size stagings, and before a staging which could resolve to
+     * a Teilnehmer that is not flushed yet.
+     */
+    private List<ValidatedTeilnehmer> validateChunk(List<TeilnehmerStaging> stagings) {
+        List<ValidatedTeilnehmer> results = new ArrayList<>(stagings.size());
+        List<ValidatedTeilnehmer> pending = new ArrayList<>();
+        Set<String> pendingKeys = new HashSet<>();
+        for (TeilnehmerStaging object : stagings) {
+            List<String> teilnehmerKeys = getTeilnehmerKeys(object);
+            if (teilnehmerKeys.stream().anyMatch(pendingKeys::contains)) {
+                flush(pending);
+                pendingKeys.clear();
+            }
             setSources(getAllSources(object));
             Teilnehmer validatedObject = teilnehmerValidatorService.getTeilnehmer(object);
-            if (validatedObject != null) {
-                log.info("Object - {}", validatedObject);
-                boolean validationsResult = executeValidationsForOneObject(object, validatedObject);
-                validatedObject = baseServiceV.save(validatedObject);
-                validationResults.put(new ValidationObjectPair<>(object, validatedObject), validationsResult);
-            } else {
-                getInvalidTeilnehmerStaging().add(object);
+            if (validatedObject == null) {
+                results.add(new ValidatedTeilnehmer(object, null, false));
+                continue;
             }
+            log.info("Object - {}", validatedObject);
+            boolean validationsResult = executeValidationsForOneObject(object, validatedObject);
+            TeilnehmerStatus status = validationsResult && validatedObject.getErrors().isEmpty() ? TeilnehmerStatus.VALID : TeilnehmerStatus.INVALID;
+            setStatus(validatedObject, object, status);
 
+            ValidatedTeilnehmer result = new ValidatedTeilnehmer(object, validatedObject, validationsResult);
+            results.add(result);
+            pending.add(result);
+            pendingKeys.addAll(teilnehmerKeys);
+            if (pending.size() >= validationChunkExecutor.getChunkSize()) {
+                flush(pending);
+                pendingKeys.clear();
+            }
         }
+        flush(pending);
+        return results;
+    }
+
+    private void flush(List<ValidatedTeilnehmer> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(transactionStatus -> {
+            List<Teilnehmer> savedTeilnehmer = baseServiceV.saveAll(pending.stream().map(result -> result.teilnehmer).toList());
+            for (int i = 0; i < pending.size(); i++) {
+                ValidatedTeilnehmer result = pending.get(i);
+                result.teilnehmer = savedTeilnehmer.get(i);
+                result.staging.setTeilnehmerId(result.teilnehmer.getId());
+            }
+            baseServiceT.saveAll(pending.stream().map(result -> result.staging).toList());
+        });
+        pending.clear();
     }
 
     @Override
@@ -153,16 +241,10 @@ public class ImportedTeilnehmerValidator extends AbstractValidator<TeilnehmerSta
         for (Map.Entry<ValidationObjectPair<TeilnehmerStaging, Teilnehmer>, Boolean> entry : validationResults.entrySet()) {
             Teilnehmer teilnehmer = entry.getKey().getSecond();
             TeilnehmerStaging teilnehmerStaging = entry.getKey().getFirst();
-            if (entry.getValue() && teilnehmer.getErrors().isEmpty()) {
-                Teilnehmer savedTeilnehmer = setStatusAndSavedTeilnehmer(teilnehmer, teilnehmerStaging, TeilnehmerStatus.VALID);
-                processedTeilnehmer.add(savedTeilnehmer);
-            } else {
-                Teilnehmer savedTeilnehmer = setStatusAndSavedTeilnehmer(teilnehmer, teilnehmerStaging, TeilnehmerStatus.INVALID);
-                processedTeilnehmer.add(savedTeilnehmer);
-                if (!teilnehmerStaging.getSource().equals(TeilnehmerSource.MANUAL)) {
-                    for (TeilnehmerDataStatus dataStatus : teilnehmer.getErrors()) {
-                        validationsService.createErrorValidation(getErrorMessageForTeilnehmer(teilnehmer, dataStatus.getCause()), getIdentifier(), savedTeilnehmer.getId(), VALIDATION_SERVICE);
-                    }
+            processedTeilnehmer.add(teilnehmer);
+            if (TeilnehmerStatus.INVALID.equals(teilnehmer.getStatus()) && !teilnehmerStaging.getSource().equals(TeilnehmerSource.MANUAL)) {
+                for (TeilnehmerDataStatus dataStatus : teilnehmer.getErrors()) {
+                    validationsService.createErrorValidation(getErrorMessageForTeilnehmer(teilnehmer, dataStatus.getCause()), getIdentifier(), teilnehmer.getId(), VALIDATION_SERVICE);
                 }
             }
         }
@@ -174,17 +256,13 @@ public class ImportedTeilnehmerValidator extends AbstractValidator<TeilnehmerSta
         return processedTeilnehmer;
     }
 
-    private Teilnehmer setStatusAndSavedTeilnehmer(Teilnehmer teilnehmer, TeilnehmerStaging teilnehmerStaging, TeilnehmerStatus status) {
+    private void setStatus(Teilnehmer teilnehmer, TeilnehmerStaging teilnehmerStaging, TeilnehmerStatus status) {
         teilnehmer.setStatus(status);
         teilnehmerStaging.setStatus(status);
         teilnehmerStaging.setChangedBy(getChangedBy());
         teilnehmer.setChangedBy(VALIDATION_SERVICE);
         teilnehmer.setChangedOn(getLocalDateNow());
         teilnehmer.setImportFilename(teilnehmerStaging.getImportFilename());
-        Teilnehmer savedTeilnehmer = baseServiceV.save(teilnehmer);
-        teilnehmerStaging.setTeilnehmerId(savedTeilnehmer.getId());
-        baseServiceT.save(teilnehmerStaging);
-        return savedTeilnehmer;
     }
 
     private String getErrorMessageForTeilnehmer(Teilnehmer teilnehmer, String errorMessage) {
@@ -233,4 +311,59 @@ public class ImportedTeilnehmerValidator extends AbstractValidator<TeilnehmerSta
         List<TeilnehmerStaging> teilnehmerStagings = ((TeilnehmerStagingServiceImpl) baseServiceT).findByTeilnehmerId(teilnehmerStaging.getTeilnehmerId());
         return teilnehmerStagings.stream().sorted(Comparator.comparing(TeilnehmerStaging::getCreatedOn).reversed()).map(TeilnehmerStaging::getSource).collect(Collectors.toCollection(LinkedHashSet::new));
     }
+
+    /**
+     * Keys of the existing Teilnehmer a staging could be resolved to by {@link TeilnehmerValidatorService#getTeilnehmer}.
+     * Names are used without the Geburtsdatum, so stagings sharing a key may still be different persons.
+     */
+    static List<String> getTeilnehmerKeys(TeilnehmerStaging teilnehmerStaging) {
+        List<String> keys = new ArrayList<>();
+        if (teilnehmerStaging.getTeilnehmerId() != 0) {
+            keys.add("id:" + teilnehmerStaging.getTeilnehmerId());
+        }
+        if (!isNullOrBlank(teilnehmerStaging.getSvNummer())) {
+            keys.add("svn:" + teilnehmerStaging.getSvNummer().replaceAll("\\s+", ""));
+        }
+        if (!isNullOrBlank(teilnehmerStaging.getVorname()) && !isNullOrBlank(teilnehmerStaging.getNachname())) {
+            keys.add("name:" + normalizeKey(teilnehmerStaging.getVorname()) + "|" + normalizeKey(teilnehmerStaging.getNachname()));
+        }
+        return keys;
+    }
+
+    /**
+     * Teilnehmer keys plus the keys of the seminar and Betreuer a staging refers to, as the seminar validation creates
+     * those when they are missing.
+     */
+    static List<String> getAffinityKeys(TeilnehmerStaging teilnehmerStaging) {
+        List<String> keys = getTeilnehmerKeys(teilnehmerStaging);
+        if (!isNullOrBlank(teilnehmerStaging.getSeminarIdentifier())) {
+            keys.add("seminar:" + normalizeKey(teilnehmerStaging.getSeminarIdentifier()));
+        }
+        if (!isNullOrBlank(teilnehmerStaging.getMassnahmennummer())) {
+            keys.add("massnahme:" + normalizeKey(teilnehmerStaging.getMassnahmennummer()));
+        }
+        if (!isNullOrBlank(teilnehmerStaging.getVeranstaltungsnummer())) {
+            keys.add("veranstaltung:" + normalizeKey(teilnehmerStaging.getVeranstaltungsnummer()));
+        }
+        if (!isNullOrBlank(teilnehmerStaging.getBetreuerVorname()) || !isNullOrBlank(teilnehmerStaging.getBetreuerNachname())) {
+            keys.add("betreuer:" + normalizeKey(Objects.toString(teilnehmerStaging.getBetreuerVorname(), "")) + "|" + normalizeKey(Objects.toString(teilnehmerStaging.getBetreuerNachname(), "")));
+        }
+        return keys;
+    }
+
+    private static String normalizeKey(String value) {
+        return value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class ValidatedTeilnehmer {
+        private final TeilnehmerStaging staging;
+        private Teilnehmer teilnehmer;
+        private final boolean valid;
+
+        private ValidatedTeilnehmer(TeilnehmerStaging staging, Teilnehmer teilnehmer, boolean valid) {
+            this.staging = staging;
+            this.teilnehmer = teilnehmer;
+            this.valid = valid;
+        }
+    }
 }
@@ -23,7 +23,6 @@ import java.util.List;
 import static com.ibosng.dbservice.utils.Parsers.isNullOrBlank;
 import static com.ibosng.dbservice.utils.Parsers.parseStringToInteger;
 import static com.ibosng.validationservice.utils.ValidationHelpers.createNewAdresse;
-import static com.ibosng.validationservice.utils.ValidationHelpers.findMatchingOrts;
 
 /**
  * Required for VHS, MDLC and eAMS
@@ -114,9 +113,8 @@ public class TeilnehmerAdresseValidation extends AbstractValidation<TeilnehmerSt
         boolean isOrtValid = new TeilnehmerOrtValidation(ortValidation).executeValidation(teilnehmerStaging, teilnehmer);
         isOrtValid = isOrtValid || isNullOrBlank(teilnehmerStaging.getOrt());
         if (isPlzValid && isOrtValid) {
-            List<String> orts = plzService.findOrtByPlz(parseStringToInteger(teilnehmerStaging.getPlz()));
-            if (!findMatchingOrts(orts, teilnehmerStaging.getOrt() != null ? teilnehmerStaging.getOrt() : null).isEmpty()) {
-                List<String> matchingOrts = findMatchingOrts(orts, teilnehmerStaging.getOrt() != null ? teilnehmerStaging.getOrt() : null);
+            List<String> matchingOrts = plzService.findMatchingOrtsByPlz(parseStringToInteger(teilnehmerStaging.getPlz()), teilnehmerStaging.getOrt());
+            if (!matchingOrts.isEmpty()) {
                 String ort = matchingOrts.get(0);
                 teilnehmer.getAdresse().setOrt(ort);
                 Plz plz = plzValidation.validatePlz(teilnehmerStaging.getPlz());
@@ -22,7 +22,6 @@ import java.util.List;
 
 import static com.ibosng.dbservice.utils.Parsers.isNullOrBlank;
 import static com.ibosng.validationservice.utils.ValidationHelpers.createNewAdresse;
-import static com.ibosng.validationservice.utils.ValidationHelpers.findMatchingOrts;
 
 @Component
 @RequiredArgsConstructor
@@ -77,9 +76,9 @@ public class TeilnehmerDtoAdresseValidation extends AbstractValidation<Teilnehme
             boolean isOrtValid = executeOrtValidation(teilnehmerDto.getOrt(), teilnehmer);
             isOrtValid = isOrtValid || isNullOrBlank(teilnehmerDto.getOrt());
             if (isPlzValid && isOrtValid && teilnehmer.getAdresse().getPlz() instanceof Plz) {
-                List<String> orts = plzService.findOrtByPlz(((Plz) teilnehmer.getAdresse().getPlz()).getPlz());
-                if (!findMatchingOrts(orts, teilnehmer.getAdresse().getOrt() != null ? teilnehmer.getAdresse().getOrt() : null).isEmpty()) {
-                    String ort = orts.get(0);
+                List<String> matchingOrts = plzService.findMatchingOrtsByPlz(((Plz) teilnehmer.getAdresse().getPlz()).getPlz(), teilnehmer.getAdresse().getOrt());
+                if (!matchingOrts.isEmpty()) {
+                    String ort = matchingOrts.get(0);
                     teilnehmer.getAdresse().setOrt(ort);
                     teilnehmerDto.setOrt(ort);
                     teilnehmer.getErrors().removeIf(error -> error.getError().equals("ort"));
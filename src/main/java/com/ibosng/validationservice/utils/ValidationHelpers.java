@@ -9,6 +9,7 @@ import com.ibosng.dbservice.entities.telefon.Telefon;
 import com.ibosng.dbservice.entities.telefon.TelefonStatus;
 import com.ibosng.dbservice.services.InternationalPlzService;
 import com.ibosng.dbservice.services.LandService;
+import com.ibosng.dbservice.utils.PlzGazetteer;
 import com.ibosng.validationservice.validations.OrtValidation;
 import com.ibosng.validationservice.validations.PLZValidation;
 import lombok.RequiredArgsConstructor;
@@ -17,7 +18,6 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -214,23 +214,6 @@ public class ValidationHelpers {
     }
 
     public static List<String> findMatchingOrts(List<String> list, String keyword) {
-        if (keyword == null) {
-            keyword = "";
-        }
-        List<String> matches = new ArrayList<>();
-
-        // Define a regex that matches the keyword as a whole word or as a prefix followed by a non-alphabetic character
-        String regex = "\\b" + Pattern.quote(keyword) + "(\\b|[^a-zA-Z])";
-        Pattern pattern = Pattern.compile(regex);
-
-        // Iterate through the list and find matches
-        for (String entry : list) {
-            Matcher matcher = pattern.matcher(entry);
-            if (matcher.find()) {
-                matches.add(entry); // Add the matching entry to the result list
-            }
-        }
-
-        return matches;
+        return PlzGazetteer.findMatchingOrts(list, keyword);
     }
 }
@@ -5,9 +5,6 @@ import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
-import static com.ibosng.validationservice.utils.ValidationHelpers.findMatchingOrts;
 import static com.ibosng.dbservice.utils.Parsers.isNullOrBlank;
 
 @Component
@@ -26,15 +23,15 @@ public class OrtValidation {
             if (!ortInput.matches("^[\\p{L},/\\s.\\-]+$")) {
                 return ort;
             } else {
-                return getValidOrt(plzService.getAllOrt(), ortInput);
+                return getValidOrt(ortInput);
             }
         }
         return ort;
     }
 
-    private String getValidOrt(List<String> allOrt, String ortToCheck) {
+    private String getValidOrt(String ortToCheck) {
         String cleanUpOrt = ortToCheck.trim();
-        if (!findMatchingOrts(allOrt, cleanUpOrt).isEmpty()) {
+        if (plzService.existsMatchingOrt(cleanUpOrt)) {
             return cleanUpOrt;
         }
         return null;
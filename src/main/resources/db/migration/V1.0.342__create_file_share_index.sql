@@ -0,0 +1,13 @@
+create table if not exists file_share_index
+(
+    id integer generated always as identity primary key,
+    share_name text not null,
+    file_id text not null,
+    directory_path text not null,
+    file_name text not null,
+    indexed_at timestamp default CURRENT_TIMESTAMP not null,
+    constraint uq_file_share_index_share_file unique (share_name, file_id)
+);
+
+create index if not exists idx_file_share_index_share_path
+    on file_share_index (share_name, directory_path text_pattern_ops);
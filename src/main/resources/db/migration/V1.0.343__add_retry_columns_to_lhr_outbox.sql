@@ -0,0 +1,20 @@
+alter table lhr_outbox
+    add column if not exists partition_key text,
+    add column if not exists attempts integer default 0 not null,
+    add column if not exists next_attempt_at timestamp,
+    add column if not exists locked_until timestamp;
+
+update lhr_outbox
+set status = 'DEAD_LETTER'
+where status = 'ERROR';
+
+update lhr_outbox o
+set partition_key = 'personalnummer:' || a.personalnummer
+from abwesenheit a
+where o.operation = 'CREATE_ABWESENHEIT_REQUEST'
+  and o.partition_key is null
+  and a.id = (o.data ->> 'entityId')::integer;
+
+create index if not exists idx_lhr_outbox_pending_partition
+    on lhr_outbox (partition_key, id)
+    where status in ('NEW', 'IN_PROGRESS');
@@ -0,0 +1,12 @@
+create table if not exists ibos_sync_state
+(
+    id integer generated always as identity primary key,
+    table_name text not null,
+    changed_at timestamp not null,
+    last_id integer not null,
+    last_run_at timestamp,
+    last_changed_rows integer,
+    last_synced integer,
+    lag_seconds bigint,
+    constraint uq_ibos_sync_state_table_name unique (table_name)
+);
@@ -0,0 +1,20 @@
+-- Hibernate allocates the ids of these tables from the identity sequence in blocks of 50 (pooled optimizer), so their
+-- inserts can be sent as JDBC batches. Inserts without an id still get one from the identity default, and the row
+-- level audit triggers fire as before.
+do
+$$
+    declare
+        table_name text;
+        sequence_name text;
+    begin
+        foreach table_name in array array ['teilnehmer_staging', 'leistungserfassung', 'zeitbuchung', 'abwesenheit']
+            loop
+                sequence_name := pg_get_serial_sequence(table_name, 'id');
+                if split_part(sequence_name, '.', 2) <> table_name || '_id_seq' then
+                    execute format('alter sequence %s rename to %I', sequence_name, table_name || '_id_seq');
+                end if;
+                execute format('alter table %I alter column id set generated by default', table_name);
+                execute format('alter table %I alter column id set increment by 50', table_name);
+            end loop;
+    end
+$$;
@@ -0,0 +1,2 @@
+INSERT INTO funktionen (name, description, created_by)
+VALUES ('FN_BERECHTIGUNGEN_VERWALTEN', 'Zwischengespeicherte Berechtigungen verwerfen', current_user);
\ No newline at end of file
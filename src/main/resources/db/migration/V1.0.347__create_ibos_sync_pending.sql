@@ -0,0 +1,10 @@
+create table if not exists ibos_sync_pending
+(
+    id integer generated always as identity primary key,
+    personalnummer text not null,
+    lhr_nr integer not null,
+    first_seen_at timestamp not null,
+    last_attempt_at timestamp,
+    attempts integer not null default 0,
+    constraint uq_ibos_sync_pending_personalnummer_lhr_nr unique (personalnummer, lhr_nr)
+);
@@ -0,0 +1,24 @@
+package com.ibosng;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Counts the JDBC statements Hibernate prepares while running an action, so a test can pin the fetch plan of a use case
+ * and an N+1 regression fails the build. Relies on {@code hibernate.generate_statistics} of the test persistence units.
+ */
+public class StatementCounter {
+
+    private final Statistics statistics;
+
+    public StatementCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public long count(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
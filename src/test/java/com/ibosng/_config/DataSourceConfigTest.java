@@ -74,6 +74,9 @@ public class DataSourceConfigTest {
         dataSource.setUrl(postgreSQLContainer.getJdbcUrl());
         dataSource.setUsername(postgreSQLContainer.getUsername());
         dataSource.setPassword(postgreSQLContainer.getPassword());
+        Properties connectionProperties = new Properties();
+        connectionProperties.setProperty("reWriteBatchedInserts", "true");
+        dataSource.setConnectionProperties(connectionProperties);
         return dataSource;
     }
 
@@ -102,6 +105,12 @@ public class DataSourceConfigTest {
         hibernateProperties.setProperty("hibernate.hbm2ddl.auto", "validate");
         hibernateProperties.setProperty("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
         hibernateProperties.setProperty("hibernate.show_sql", "true");
+        hibernateProperties.setProperty("hibernate.jdbc.batch_size", "50");
+        hibernateProperties.setProperty("hibernate.order_inserts", "true");
+        hibernateProperties.setProperty("hibernate.order_updates", "true");
+        hibernateProperties.setProperty("hibernate.jdbc.batch_versioned_data", "true");
+        hibernateProperties.setProperty("hibernate.default_batch_fetch_size", "50");
+        hibernateProperties.setProperty("hibernate.generate_statistics", "true");
         hibernateProperties.setProperty("hibernate.globally_quoted_identifiers", "true");
 
         return hibernateProperties;
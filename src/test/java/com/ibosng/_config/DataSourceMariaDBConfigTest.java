@@ -103,6 +103,12 @@ public class DataSourceMariaDBConfigTest {
         hibernateProperties.setProperty("hibernate.hbm2ddl.auto", "validate");
         hibernateProperties.setProperty("hibernate.dialect", "org.hibernate.dialect.MariaDBDialect");
         hibernateProperties.setProperty("hibernate.show_sql", "true");
+        hibernateProperties.setProperty("hibernate.jdbc.batch_size", "50");
+        hibernateProperties.setProperty("hibernate.order_inserts", "true");
+        hibernateProperties.setProperty("hibernate.order_updates", "true");
+        hibernateProperties.setProperty("hibernate.jdbc.batch_versioned_data", "true");
+        hibernateProperties.setProperty("hibernate.default_batch_fetch_size", "50");
+        hibernateProperties.setProperty("hibernate.generate_statistics", "true");
 
         return hibernateProperties;
     }
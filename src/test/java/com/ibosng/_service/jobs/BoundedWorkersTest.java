@@ -0,0 +1,69 @@
+package com.ibosng._service.jobs;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedWorkersTest {
+
+    @Test
+    void runsEveryItemOnTheBoundedThreads() throws Exception {
+        List<Integer> items = IntStream.range(0, 50).boxed().toList();
+        Set<Integer> done = ConcurrentHashMap.newKeySet();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        BoundedWorkers.forEach("test-worker", 3, items, item -> {
+            threads.add(Thread.currentThread().getName());
+            done.add(item);
+        });
+
+        assertEquals(50, done.size());
+        assertTrue(threads.size() <= 3);
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("test-worker-")));
+    }
+
+    @Test
+    void movesTheProgressOnlyOverItemsDoneWithoutGaps() throws Exception {
+        CountDownLatch firstMayFinish = new CountDownLatch(1);
+        List<Integer> progress = new ArrayList<>();
+
+        BoundedWorkers.forEach("test-worker", 2, List.of(0, 1, 2), item -> {
+            if (item == 0) {
+                assertTrue(firstMayFinish.await(5, TimeUnit.SECONDS));
+            } else if (item == 2) {
+                firstMayFinish.countDown();
+            }
+        }, doneUpTo -> {
+            synchronized (progress) {
+                progress.add(doneUpTo);
+            }
+        });
+
+        assertEquals(List.of(2), progress);
+    }
+
+    @Test
+    void throwsTheFirstFailureOfATask() {
+        IllegalStateException failure = new IllegalStateException("LHR unavailable");
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> BoundedWorkers.forEach("test-worker", 2, List.of(1, 2, 3), item -> {
+            if (item == 2) {
+                throw failure;
+            }
+        }));
+
+        assertSame(failure, e.getCause());
+    }
+}
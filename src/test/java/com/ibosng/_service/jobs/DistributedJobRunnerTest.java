@@ -0,0 +1,150 @@
+package com.ibosng._service.jobs;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RBucket;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DistributedJobRunnerTest {
+
+    private final RedissonClient redissonClient = mock(RedissonClient.class);
+    private final RBucket<Object> bucket = mock(RBucket.class);
+    private final DistributedJobRunner jobRunner = new DistributedJobRunner(redissonClient);
+
+    @BeforeEach
+    void setUp() {
+        when(redissonClient.getBucket(anyString())).thenReturn(bucket);
+    }
+
+    @Test
+    void takesTheLockWithoutFixedLeaseAndClearsTheCheckpoint() throws Exception {
+        RLock lock = lock("test:Lock", true);
+        JobDefinition job = JobDefinition.builder().name("test:job").lockKey("test:Lock").build();
+
+        assertTrue(jobRunner.run(job, context -> context.addItems(3)));
+
+        verify(lock).tryLock(0, TimeUnit.MILLISECONDS);
+        verify(lock).unlock();
+        verify(bucket).delete();
+        JobMetrics metrics = jobRunner.getMetrics("test:job");
+        assertEquals(1, metrics.getRuns().get());
+        assertEquals(3, metrics.getItems().get());
+        assertEquals(0, metrics.getFailures().get());
+    }
+
+    @Test
+    void countsOverlapsWhenAnotherInstanceHoldsTheLock() throws Exception {
+        lock("test:Lock", false);
+        JobDefinition job = JobDefinition.builder().name("test:job").lockKey("test:Lock").build();
+        List<JobContext> runs = new ArrayList<>();
+
+        assertFalse(jobRunner.run(job, runs::add));
+
+        assertTrue(runs.isEmpty());
+        assertEquals(1, jobRunner.getMetrics("test:job").getOverlaps().get());
+    }
+
+    @Test
+    void keepsTheCheckpointOfAFailedRun() throws Exception {
+        RLock lock = lock("test:Lock", true);
+        JobDefinition job = JobDefinition.builder().name("test:job").lockKey("test:Lock").build();
+
+        assertTrue(jobRunner.run(job, context -> {
+            context.checkpoint("41");
+            throw new IllegalStateException("LHR unavailable");
+        }));
+
+        verify(bucket).set("41");
+        verify(bucket, never()).delete();
+        verify(lock).unlock();
+        assertEquals(1, jobRunner.getMetrics("test:job").getFailures().get());
+    }
+
+    @Test
+    void runsTheShardsNotHeldByOtherInstances() throws Exception {
+        lock("test:Lock:0", false);
+        lock("test:Lock:1", true);
+        lock("test:Lock:2", true);
+        JobDefinition job = JobDefinition.builder().name("test:job").lockKey("test:Lock").shards(3).build();
+        List<Integer> shards = new ArrayList<>();
+
+        jobRunner.run(job, context -> {
+            shards.add(context.getShard());
+            assertTrue(context.owns(context.getShard() + 3L));
+        });
+
+        assertEquals(List.of(1, 2), shards);
+    }
+
+    @Test
+    void skipsDisabledJobs() {
+        when(bucket.get()).thenReturn(false);
+        JobDefinition job = JobDefinition.builder().name("test:job").lockKey("test:Lock").enabledFlagKey("test:enabled").build();
+
+        assertFalse(jobRunner.run(job, context -> {
+            throw new AssertionError("must not run");
+        }));
+        verify(redissonClient, never()).getLock(anyString());
+    }
+
+    @Test
+    void skipsShardsAlreadyFinishedForTheSameFireTime() throws Exception {
+        ZoneId vienna = ZoneId.of("Europe/Vienna");
+        Clock clock = Clock.fixed(Instant.parse("2026-10-18T16:03:00Z"), vienna);
+        DistributedJobRunner cronJobRunner = new DistributedJobRunner(redissonClient, clock);
+        lock("test:Lock:0", true);
+        lock("test:Lock:1", true);
+        RBucket<Object> shard0Done = mock(RBucket.class);
+        RBucket<Object> shard1Done = mock(RBucket.class);
+        when(shard0Done.isExists()).thenReturn(true);
+        when(redissonClient.getBucket("jobs:done:test:job:0:2026-10-18T16:00:00Z")).thenReturn(shard0Done);
+        when(redissonClient.getBucket("jobs:done:test:job:1:2026-10-18T16:00:00Z")).thenReturn(shard1Done);
+        JobDefinition job = JobDefinition.builder().name("test:job").lockKey("test:Lock").shards(2).cron("0 0 18 * * ?").build();
+        List<Integer> shards = new ArrayList<>();
+
+        assertTrue(cronJobRunner.run(job, context -> shards.add(context.getShard())));
+
+        assertEquals(List.of(1), shards);
+        verify(shard0Done, never()).set(any(), any(Duration.class));
+        verify(shard1Done).set(any(), any(Duration.class));
+    }
+
+    @Test
+    void findsTheLastFireTimeOfTheCron() {
+        ZonedDateTime now = ZonedDateTime.of(2026, 10, 18, 18, 3, 0, 0, ZoneId.of("Europe/Vienna"));
+
+        assertEquals(now.withMinute(0), DistributedJobRunner.lastFireTime(CronExpression.parse("0 0 18 * * ?"), now));
+        assertEquals(now.withMinute(3), DistributedJobRunner.lastFireTime(CronExpression.parse("0 * * * * *"), now));
+        assertEquals(ZonedDateTime.of(2026, 9, 30, 0, 0, 0, 0, now.getZone()),
+                DistributedJobRunner.lastFireTime(CronExpression.parse("0 0 0 L * ?"), now));
+    }
+
+    private RLock lock(String key, boolean available) throws InterruptedException {
+        RLock lock = mock(RLock.class);
+        when(redissonClient.getLock(key)).thenReturn(lock);
+        when(lock.tryLock(0, TimeUnit.MILLISECONDS)).thenReturn(available);
+        when(lock.isHeldByCurrentThread()).thenReturn(available);
+        return lock;
+    }
+}
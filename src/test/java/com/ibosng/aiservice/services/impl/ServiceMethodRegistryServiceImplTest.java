@@ -0,0 +1,88 @@
+package com.ibosng.aiservice.services.impl;
+
+import com.ibosng.aiservice.annotations.MethodDescription;
+import com.ibosng.aiservice.annotations.ParameterDescription;
+import com.ibosng.aiservice.annotations.ParameterDescription.Param;
+import com.ibosng.aiservice.dtos.tooldefiinition.ToolDefinitionDto;
+import com.ibosng.aiservice.enums.RequestType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class ServiceMethodRegistryServiceImplTest {
+
+    interface Tools {
+        @MethodDescription("Findet Trainer")
+        @ParameterDescription({
+                @Param(name = "voraussetzungen", description = "Liste von Voraussetzungen"),
+                @Param(name = "page", description = "Seitennummer")
+        })
+        String findTrainers(List<String> voraussetzungen, int page);
+
+        Integer countSeminars(Long projektId);
+
+        void refresh();
+    }
+
+    static class ToolsImpl implements Tools {
+        @Override
+        public String findTrainers(List<String> voraussetzungen, int page) {
+            return String.join(",", voraussetzungen) + "@" + page;
+        }
+
+        @Override
+        public Integer countSeminars(Long projektId) {
+            return projektId == null ? -1 : projektId.intValue();
+        }
+
+        @Override
+        public void refresh() {
+        }
+    }
+
+    private final ServiceMethodRegistryServiceImpl registry = new ServiceMethodRegistryServiceImpl(mock(ApplicationContext.class));
+
+    @BeforeEach
+    void setUp() {
+        registry.register(RequestType.SEMINAR_VERTRETUNG, Tools.class, new ToolsImpl());
+    }
+
+    @Test
+    void buildsTheToolDefinitionsOnce() {
+        List<ToolDefinitionDto> tools = registry.buildToolDefinitions(RequestType.SEMINAR_VERTRETUNG);
+
+        assertEquals(List.of("countSeminars", "findTrainers", "refresh"),
+                tools.stream().map(tool -> tool.getFunction().getName()).toList());
+        ToolDefinitionDto findTrainers = tools.get(1);
+        assertEquals("Findet Trainer", findTrainers.getFunction().getDescription());
+        assertEquals("array", findTrainers.getFunction().getParameters().getProperties().get("voraussetzungen").getType());
+        assertEquals("integer", findTrainers.getFunction().getParameters().getProperties().get("page").getType());
+        assertEquals(3, registry.getToolDefinitions(RequestType.SEMINAR_VERTRETUNG).size());
+        assertTrue(registry.getToolDefinitions(RequestType.CHAT).isEmpty());
+    }
+
+    @Test
+    void convertsTheArgumentsOfTheToolCall() {
+        Object result = registry.callServiceMethod("findTrainers",
+                Map.of("voraussetzungen", List.of("Deutsch", "DaF/DaZ"), "page", 2), RequestType.SEMINAR_VERTRETUNG);
+
+        assertEquals("Deutsch,DaF/DaZ@2", result);
+        assertEquals(7, registry.callServiceMethod("countSeminars", Map.of("projektId", 7), RequestType.SEMINAR_VERTRETUNG));
+        assertEquals(-1, registry.callServiceMethod("countSeminars", Map.of(), RequestType.SEMINAR_VERTRETUNG));
+        assertEquals("No response from service method.", registry.callServiceMethod("refresh", Map.of(), RequestType.SEMINAR_VERTRETUNG));
+    }
+
+    @Test
+    void failsForUnknownTools() {
+        assertThrows(RuntimeException.class,
+                () -> registry.callServiceMethod("deleteAll", Map.of(), RequestType.SEMINAR_VERTRETUNG));
+    }
+}
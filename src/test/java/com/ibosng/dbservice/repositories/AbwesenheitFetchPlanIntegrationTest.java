@@ -0,0 +1,123 @@
+package com.ibosng.dbservice.repositories;
+
+import com.ibosng.BaseIntegrationTest;
+import com.ibosng.StatementCounter;
+import com.ibosng.dbservice.entities.Benutzer;
+import com.ibosng.dbservice.entities.lhr.Abwesenheit;
+import com.ibosng.dbservice.entities.lhr.AbwesenheitStatus;
+import com.ibosng.dbservice.entities.masterdata.IbisFirma;
+import com.ibosng.dbservice.entities.masterdata.Personalnummer;
+import com.ibosng.dbservice.repositories.lhr.AbwesenheitRespository;
+import com.ibosng.dbservice.repositories.masterdata.IbisFirmaRepository;
+import com.ibosng.dbservice.repositories.mitarbeiter.PersonalnummerRepository;
+import com.ibosng.personalverwaltung.utils.BenutzerFactory;
+import com.ibosng.personalverwaltung.utils.IbisFirmaFactory;
+import com.ibosng.personalverwaltung.utils.PersonalnummerFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the fetch plan of the Abwesenheit list reads: the number of statements must not grow with the number of rows.
+ * The associations are read after the repository call returned, so a missing graph also fails with a lazy loading
+ * error.
+ */
+class AbwesenheitFetchPlanIntegrationTest extends BaseIntegrationTest {
+
+    private static final List<AbwesenheitStatus> STATUSES = List.of(AbwesenheitStatus.VALID, AbwesenheitStatus.ACCEPTED);
+
+    @Autowired
+    private AbwesenheitRespository abwesenheitRespository;
+    @Autowired
+    private PersonalnummerRepository personalnummerRepository;
+    @Autowired
+    private IbisFirmaRepository ibisFirmaRepository;
+    @Autowired
+    private BenutzerRepository benutzerRepository;
+    @Autowired
+    @Qualifier("postgresEntityManagerFactory")
+    private EntityManagerFactory entityManagerFactory;
+
+    private StatementCounter statementCounter;
+    private IbisFirma firma;
+    private Benutzer fewFuehrungskraft;
+    private Benutzer manyFuehrungskraft;
+
+    @BeforeEach
+    void setUp() {
+        statementCounter = new StatementCounter(entityManagerFactory);
+        firma = ibisFirmaRepository.save(IbisFirmaFactory.create());
+        fewFuehrungskraft = benutzerRepository.save(BenutzerFactory.createForEmail("fk.few@ibis-acam.at"));
+        manyFuehrungskraft = benutzerRepository.save(BenutzerFactory.createForEmail("fk.many@ibis-acam.at"));
+        createAbwesenheiten(fewFuehrungskraft, 2, 0);
+        createAbwesenheiten(manyFuehrungskraft, 20, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        abwesenheitRespository.deleteAll();
+        benutzerRepository.deleteAll(List.of(fewFuehrungskraft, manyFuehrungskraft));
+        personalnummerRepository.deleteAll(personalnummerRepository.findAll().stream()
+                .filter(personalnummer -> personalnummer.getFirma() != null && firma.getId().equals(personalnummer.getFirma().getId()))
+                .toList());
+        ibisFirmaRepository.delete(firma);
+    }
+
+    @Test
+    void listsTheAbwesenheitenOfAFuehrungskraftWithAConstantNumberOfStatements() {
+        long few = countReadingAll(() -> abwesenheitRespository.findAllByFuehrungskraefte_IdAndStatusIn(fewFuehrungskraft.getId(), STATUSES), 2);
+        long many = countReadingAll(() -> abwesenheitRespository.findAllByFuehrungskraefte_IdAndStatusIn(manyFuehrungskraft.getId(), STATUSES), 20);
+
+        assertThat(many).isEqualTo(few);
+    }
+
+    @Test
+    void loadsAPageOfAbwesenheitenWithAConstantNumberOfStatements() {
+        List<Integer> fewIds = abwesenheitRespository.findAllByFuehrungskraefte_Id(fewFuehrungskraft.getId()).stream().map(Abwesenheit::getId).toList();
+        List<Integer> manyIds = abwesenheitRespository.findAllByFuehrungskraefte_Id(manyFuehrungskraft.getId()).stream().map(Abwesenheit::getId).toList();
+
+        long few = countReadingAll(() -> abwesenheitRespository.findAllByIdIn(fewIds), 2);
+        long many = countReadingAll(() -> abwesenheitRespository.findAllByIdIn(manyIds), 20);
+
+        assertThat(many).isEqualTo(few);
+    }
+
+    private long countReadingAll(Supplier<List<Abwesenheit>> query, int expectedRows) {
+        return statementCounter.count(() -> {
+            List<Abwesenheit> abwesenheiten = query.get();
+            assertThat(abwesenheiten).hasSize(expectedRows).allSatisfy(abwesenheit -> {
+                assertThat(abwesenheit.getPersonalnummer().getFirma().getLhrKz()).isEqualTo("abc");
+                assertThat(abwesenheit.getFuehrungskraefte()).singleElement()
+                        .satisfies(fuehrungskraft -> assertThat(fuehrungskraft.getEmail()).endsWith("@ibis-acam.at"));
+            });
+        });
+    }
+
+    private void createAbwesenheiten(Benutzer fuehrungskraft, int count, int offset) {
+        for (int i = offset; i < offset + count; i++) {
+            Personalnummer personalnummer = PersonalnummerFactory.createIn(firma);
+            personalnummer.setPersonalnummer(String.valueOf(900000 + i));
+            personalnummer = personalnummerRepository.save(personalnummer);
+
+            Abwesenheit abwesenheit = new Abwesenheit();
+            abwesenheit.setPersonalnummer(personalnummer);
+            abwesenheit.setGrund("URLAU");
+            abwesenheit.setVon(LocalDate.of(2025, 7, 1));
+            abwesenheit.setBis(LocalDate.of(2025, 7, 11));
+            abwesenheit.setStatus(AbwesenheitStatus.VALID);
+            abwesenheit.setFuehrungskraefte(new HashSet<>(Set.of(fuehrungskraft)));
+            abwesenheitRespository.save(abwesenheit);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.ibosng.dbservice.repositories;
+
+import com.ibosng.BaseIntegrationTest;
+import com.ibosng.dbservice.dtos.mitarbeiter.AbwesenheitListEntryDto;
+import com.ibosng.dbservice.entities.Benutzer;
+import com.ibosng.dbservice.entities.Zeitausgleich;
+import com.ibosng.dbservice.entities.lhr.Abwesenheit;
+import com.ibosng.dbservice.entities.lhr.AbwesenheitStatus;
+import com.ibosng.dbservice.entities.masterdata.IbisFirma;
+import com.ibosng.dbservice.entities.masterdata.Personalnummer;
+import com.ibosng.dbservice.repositories.lhr.AbwesenheitRespository;
+import com.ibosng.dbservice.repositories.masterdata.IbisFirmaRepository;
+import com.ibosng.dbservice.repositories.mitarbeiter.PersonalnummerRepository;
+import com.ibosng.personalverwaltung.utils.BenutzerFactory;
+import com.ibosng.personalverwaltung.utils.IbisFirmaFactory;
+import com.ibosng.personalverwaltung.utils.PersonalnummerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the Abwesenheiten list query of {@link AbwesenheitRespository#findAbwesenheitList} against the database: the
+ * grouping of Zeitausgleich days into entries, every sortable property, paging and the total count.
+ */
+class AbwesenheitListIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private AbwesenheitRespository abwesenheitRespository;
+    @Autowired
+    private ZeitausgleichRepository zeitausgleichRepository;
+    @Autowired
+    private PersonalnummerRepository personalnummerRepository;
+    @Autowired
+    private IbisFirmaRepository ibisFirmaRepository;
+    @Autowired
+    private BenutzerRepository benutzerRepository;
+    @Autowired
+    @Qualifier("postgresDataSource")
+    private DataSource dataSource;
+
+    private IbisFirma firma;
+    private Personalnummer zoe;
+    private Personalnummer bernd;
+    private Benutzer fuehrungskraft;
+    private final List<Abwesenheit> abwesenheiten = new ArrayList<>();
+    private final List<Zeitausgleich> zeitausgleiche = new ArrayList<>();
+
+    // the entries of the Führungskraft: an Urlaub of Zoe, an unbezahlter Urlaub and two Zeitausgleich days of Bernd
+    private AbwesenheitListEntryDto urlaub;
+    private AbwesenheitListEntryDto unbezahlterUrlaub;
+    private AbwesenheitListEntryDto zeitausgleich;
+
+    @BeforeEach
+    void setUp() {
+        firma = ibisFirmaRepository.save(IbisFirmaFactory.create());
+        zoe = createPersonalnummer("910001", "Zoe", "Berger");
+        bernd = createPersonalnummer("910002", "Bernd", "Adler");
+        fuehrungskraft = benutzerRepository.save(BenutzerFactory.createForEmail("fk.liste@ibis-acam.at"));
+
+        urlaub = entry(false, "Zoe Berger", createAbwesenheit(zoe, "URLAU", LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 7), 0.0,
+                "b", AbwesenheitStatus.ACCEPTED, LocalDateTime.of(2025, 1, 10, 8, 0), "y"));
+        unbezahlterUrlaub = entry(false, "Bernd Adler", createAbwesenheit(bernd, "UNURL", LocalDate.of(2025, 5, 5), LocalDate.of(2025, 5, 5), 1.0,
+                "a", AbwesenheitStatus.VALID, LocalDateTime.of(2025, 1, 20, 8, 0), null));
+        zeitausgleich = entry(true, "Bernd Adler",
+                createZeitausgleich(bernd, LocalDate.of(2025, 4, 7), "c", AbwesenheitStatus.NEW, LocalDateTime.of(2025, 1, 15, 8, 0), "x", true),
+                createZeitausgleich(bernd, LocalDate.of(2025, 4, 8), "c", AbwesenheitStatus.NEW, LocalDateTime.of(2025, 1, 15, 8, 0), "x", true));
+    }
+
+    @AfterEach
+    void tearDown() {
+        zeitausgleichRepository.deleteAll(zeitausgleiche);
+        abwesenheitRespository.deleteAll(abwesenheiten);
+        new JdbcTemplate(dataSource).update("delete from stammdaten where personalnummer in (?, ?)", zoe.getId(), bernd.getId());
+        personalnummerRepository.deleteAll(List.of(zoe, bernd));
+        benutzerRepository.delete(fuehrungskraft);
+        ibisFirmaRepository.delete(firma);
+    }
+
+    @Test
+    void groupsConsecutiveZeitausgleichDaysWithTheSameCommentAndStatus() {
+        int first = createZeitausgleich(zoe, LocalDate.of(2025, 4, 14), "Zeitausgleich", AbwesenheitStatus.VALID, null, null, false);
+        int second = createZeitausgleich(zoe, LocalDate.of(2025, 4, 15), "Zeitausgleich", AbwesenheitStatus.VALID, null, null, false);
+        int third = createZeitausgleich(zoe, LocalDate.of(2025, 4, 16), "Zeitausgleich", AbwesenheitStatus.VALID, null, null, false);
+        int otherComment = createZeitausgleich(zoe, LocalDate.of(2025, 4, 17), "Arzt", AbwesenheitStatus.VALID, null, null, false);
+        int afterOtherComment = createZeitausgleich(zoe, LocalDate.of(2025, 4, 18), "Zeitausgleich", AbwesenheitStatus.VALID, null, null, false);
+        int otherStatus = createZeitausgleich(zoe, LocalDate.of(2025, 4, 21), "Zeitausgleich", AbwesenheitStatus.ACCEPTED, null, null, false);
+        int afterGap = createZeitausgleich(zoe, LocalDate.of(2025, 4, 23), "Zeitausgleich", AbwesenheitStatus.ACCEPTED, null, null, false);
+
+        Page<AbwesenheitListEntryDto> page = abwesenheitRespository.findAbwesenheitList(zoe.getId(), null, null, 2025,
+                PageRequest.of(0, 20, Sort.by("startDate")));
+
+        assertThat(page.getContent()).containsExactly(
+                urlaub,
+                entry(true, "Zoe Berger", first, second, third),
+                entry(true, "Zoe Berger", otherComment),
+                entry(true, "Zoe Berger", afterOtherComment),
+                entry(true, "Zoe Berger", otherStatus),
+                entry(true, "Zoe Berger", afterGap));
+        assertThat(page.getTotalElements()).isEqualTo(6);
+    }
+
+    @Test
+    void filtersByYearAndStatus() {
+        int lastYear = createZeitausgleich(zoe, LocalDate.of(2024, 12, 30), "Zeitausgleich", AbwesenheitStatus.VALID, null, null, false);
+
+        assertThat(abwesenheitRespository.findAbwesenheitList(zoe.getId(), null, null, 2024, PageRequest.of(0, 20)).getContent())
+                .containsExactly(entry(true, "Zoe Berger", lastYear));
+        assertThat(abwesenheitRespository.findAbwesenheitList(null, fuehrungskraft.getId(),
+                List.of(AbwesenheitStatus.VALID, AbwesenheitStatus.NEW), 2025, PageRequest.of(0, 20, Sort.by("startDate"))).getContent())
+                .containsExactly(zeitausgleich, unbezahlterUrlaub);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "personalnummer, U B Z, B Z U",
+            "startDate, U Z B, B Z U",
+            "endDate, U Z B, B Z U",
+            "type, Z U B, B U Z",
+            "comment, B U Z, Z U B",
+            "changedOn, U Z B, B Z U",
+            "durationInDays, B Z U, U Z B",
+            "status, Z B U, U B Z",
+            "fullName, B Z U, U B Z",
+            "commentFuehrungskraft, Z U B, B U Z"
+    })
+    void sortsByEveryListedProperty(String property, String ascending, String descending) {
+        assertThat(listOfFuehrungskraft(PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, property))).getContent())
+                .containsExactlyElementsOf(entries(ascending));
+        assertThat(listOfFuehrungskraft(PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, property))).getContent())
+                .containsExactlyElementsOf(entries(descending));
+    }
+
+    @Test
+    void pagesWithTheTotalCount() {
+        Page<AbwesenheitListEntryDto> first = listOfFuehrungskraft(PageRequest.of(0, 2, Sort.by("startDate")));
+        Page<AbwesenheitListEntryDto> second = listOfFuehrungskraft(PageRequest.of(1, 2, Sort.by("startDate")));
+
+        assertThat(first.getContent()).containsExactly(urlaub, zeitausgleich);
+        assertThat(first.getTotalElements()).isEqualTo(3);
+        assertThat(first.getTotalPages()).isEqualTo(2);
+        assertThat(second.getContent()).containsExactly(unbezahlterUrlaub);
+        assertThat(second.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void rejectsPropertiesThatCannotBeSorted() {
+        assertThatThrownBy(() -> listOfFuehrungskraft(PageRequest.of(0, 20, Sort.by("id; drop table abwesenheit"))))
+                .isInstanceOf(InvalidDataAccessApiUsageException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Page<AbwesenheitListEntryDto> listOfFuehrungskraft(PageRequest pageRequest) {
+        return abwesenheitRespository.findAbwesenheitList(null, fuehrungskraft.getId(), null, null, pageRequest);
+    }
+
+    /**
+     * Resolves the letters U (Urlaub), B (unbezahlter Urlaub) and Z (Zeitausgleich) to the entries.
+     */
+    private List<AbwesenheitListEntryDto> entries(String letters) {
+        Map<String, AbwesenheitListEntryDto> byLetter = Map.of("U", urlaub, "B", unbezahlterUrlaub, "Z", zeitausgleich);
+        return Arrays.stream(letters.split(" ")).map(byLetter::get).toList();
+    }
+
+    private static AbwesenheitListEntryDto entry(boolean zeitausgleich, String fullName, Integer... ids) {
+        return new AbwesenheitListEntryDto(zeitausgleich, List.of(ids), fullName);
+    }
+
+    private Personalnummer createPersonalnummer(String nummer, String vorname, String nachname) {
+        Personalnummer personalnummer = PersonalnummerFactory.createIn(firma);
+        personalnummer.setPersonalnummer(nummer);
+        personalnummer = personalnummerRepository.save(personalnummer);
+        new JdbcTemplate(dataSource).update("insert into stammdaten (personalnummer, vorname, nachname, created_by) values (?, ?, ?, ?)",
+                personalnummer.getId(), vorname, nachname, "test");
+        return personalnummer;
+    }
+
+    private int createAbwesenheit(Personalnummer personalnummer, String grund, LocalDate von, LocalDate bis, Double tage,
+                                  String kommentar, AbwesenheitStatus status, LocalDateTime changedOn, String commentFuehrungskraft) {
+        Abwesenheit abwesenheit = new Abwesenheit();
+        abwesenheit.setPersonalnummer(personalnummer);
+        abwesenheit.setGrund(grund);
+        abwesenheit.setVon(von);
+        abwesenheit.setBis(bis);
+        abwesenheit.setTage(tage);
+        abwesenheit.setKommentar(kommentar);
+        abwesenheit.setStatus(status);
+        abwesenheit.setChangedOn(changedOn);
+        abwesenheit.setCommentFuehrungskraft(commentFuehrungskraft);
+        abwesenheit.setFuehrungskraefte(new HashSet<>(Set.of(fuehrungskraft)));
+        abwesenheit = abwesenheitRespository.save(abwesenheit);
+        abwesenheiten.add(abwesenheit);
+        return abwesenheit.getId();
+    }
+
+    private int createZeitausgleich(Personalnummer personalnummer, LocalDate datum, String comment, AbwesenheitStatus status,
+                                    LocalDateTime changedOn, String commentFuehrungskraft, boolean withFuehrungskraft) {
+        Zeitausgleich zeitausgleichDay = Zeitausgleich.builder()
+                .personalnummer(personalnummer)
+                .datum(datum)
+                .comment(comment)
+                .status(status)
+                .changedOn(changedOn)
+                .commentFuehrungskraft(commentFuehrungskraft)
+                .fuehrungskraefte(withFuehrungskraft ? new HashSet<>(Set.of(fuehrungskraft)) : new HashSet<>())
+                .build();
+        zeitausgleichDay = zeitausgleichRepository.save(zeitausgleichDay);
+        zeitausgleiche.add(zeitausgleichDay);
+        return zeitausgleichDay.getId();
+    }
+}
@@ -0,0 +1,101 @@
+package com.ibosng.dbservice.repositories;
+
+import com.ibosng.BaseIntegrationTest;
+import com.ibosng.dbservice.dtos.mitarbeiter.MitarbeiterIdentityDto;
+import com.ibosng.dbservice.entities.Benutzer;
+import com.ibosng.dbservice.entities.masterdata.IbisFirma;
+import com.ibosng.dbservice.entities.masterdata.Personalnummer;
+import com.ibosng.dbservice.repositories.masterdata.IbisFirmaRepository;
+import com.ibosng.dbservice.repositories.mitarbeiter.PersonalnummerRepository;
+import com.ibosng.personalverwaltung.utils.BenutzerFactory;
+import com.ibosng.personalverwaltung.utils.IbisFirmaFactory;
+import com.ibosng.personalverwaltung.utils.PersonalnummerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link PersonalnummerRepository#findIdentitiesByFirmaId} against the database: only the one Benutzer linked to
+ * a Personalnummer is taken, the Benutzer with the names of the Stammdaten is only reported by its email.
+ */
+class PersonalnummerIdentitiesIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private PersonalnummerRepository personalnummerRepository;
+    @Autowired
+    private IbisFirmaRepository ibisFirmaRepository;
+    @Autowired
+    private BenutzerRepository benutzerRepository;
+    @Autowired
+    @Qualifier("postgresDataSource")
+    private DataSource dataSource;
+
+    private IbisFirma firma;
+    private Personalnummer zoe;
+    private Personalnummer bernd;
+    private final List<Benutzer> benutzer = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        firma = ibisFirmaRepository.save(IbisFirmaFactory.create());
+        zoe = createPersonalnummer("920001", "Zoe", "Berger");
+        bernd = createPersonalnummer("920002", "Bernd", "Adler");
+        createBenutzer(zoe, "zoe.berger@ibis-acam.at", null, null);
+        createBenutzer(bernd, "bernd.adler@ibis-acam.at", null, null);
+        createBenutzer(bernd, "bernd.adler2@ibis-acam.at", null, null);
+        createBenutzer(null, "b.adler@ibis-acam.at", "Bernd", "Adler");
+    }
+
+    @AfterEach
+    void tearDown() {
+        benutzerRepository.deleteAll(benutzer);
+        new JdbcTemplate(dataSource).update("delete from stammdaten where personalnummer in (?, ?)", zoe.getId(), bernd.getId());
+        personalnummerRepository.deleteAll(List.of(zoe, bernd));
+        ibisFirmaRepository.delete(firma);
+    }
+
+    @Test
+    void takesTheBenutzerOnlyIfItIsTheOnlyOneLinked() {
+        List<MitarbeiterIdentityDto> identities = personalnummerRepository.findIdentitiesByFirmaId(firma.getId());
+
+        assertThat(identities).hasSize(2);
+        MitarbeiterIdentityDto zoeIdentity = identities.get(0);
+        assertThat(zoeIdentity.getPersonalnummer()).isEqualTo("920001");
+        assertThat(zoeIdentity.getVorname()).isEqualTo("Zoe");
+        assertThat(zoeIdentity.getBenutzerId()).isEqualTo(benutzer.get(0).getId());
+        assertThat(zoeIdentity.getEmail()).isEqualTo("zoe.berger@ibis-acam.at");
+        assertThat(zoeIdentity.getEmailByName()).isNull();
+
+        MitarbeiterIdentityDto berndIdentity = identities.get(1);
+        assertThat(berndIdentity.getPersonalnummer()).isEqualTo("920002");
+        assertThat(berndIdentity.getBenutzerId()).isNull();
+        assertThat(berndIdentity.getEmail()).isNull();
+        assertThat(berndIdentity.getEmailByName()).isEqualTo("b.adler@ibis-acam.at");
+    }
+
+    private Personalnummer createPersonalnummer(String nummer, String vorname, String nachname) {
+        Personalnummer personalnummer = PersonalnummerFactory.createIn(firma);
+        personalnummer.setPersonalnummer(nummer);
+        personalnummer = personalnummerRepository.save(personalnummer);
+        new JdbcTemplate(dataSource).update("insert into stammdaten (personalnummer, vorname, nachname, created_by) values (?, ?, ?, ?)",
+                personalnummer.getId(), vorname, nachname, "test");
+        return personalnummer;
+    }
+
+    private void createBenutzer(Personalnummer personalnummer, String email, String firstName, String lastName) {
+        Benutzer created = BenutzerFactory.createForEmail(email);
+        created.setPersonalnummer(personalnummer);
+        created.setFirstName(firstName);
+        created.setLastName(lastName);
+        benutzer.add(benutzerRepository.save(created));
+    }
+}
@@ -0,0 +1,80 @@
+package com.ibosng.dbservice.repositories;
+
+import com.ibosng.BaseIntegrationTest;
+import com.ibosng.dbservice.entities.teilnehmer.Teilnehmer;
+import com.ibosng.dbservice.entities.teilnehmer.TeilnehmerStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reads all pages of the Prüfung export ids and checks that every Teilnehmer comes exactly once in the order of the
+ * offset query, also with equal and null sort values across page boundaries.
+ */
+class TeilnehmerKeysetIntegrationTest extends BaseIntegrationTest {
+
+    private static final String VORNAME = "Keysettest";
+
+    @Autowired
+    private TeilnehmerRepository teilnehmerRepository;
+
+    private List<Teilnehmer> teilnehmers;
+
+    @BeforeEach
+    void setUp() {
+        teilnehmers = teilnehmerRepository.saveAll(Arrays.stream(new String[]{"Berger", "Auer", null, "Berger", "Czerny", null, "Berger"})
+                .map(TeilnehmerKeysetIntegrationTest::teilnehmer)
+                .toList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        teilnehmerRepository.deleteAll(teilnehmers);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Sort.Direction.class)
+    void readsEveryTeilnehmerOnceInOrder(Sort.Direction direction) {
+        List<Integer> ids = new ArrayList<>();
+        Object afterSortValue = null;
+        Integer afterId = null;
+        List<Object[]> rows;
+        do {
+            rows = teilnehmerRepository.findTeilnehmerIdsFiltered(VORNAME, null, null, null, null, null, null, null, null, null, "nachname", direction, afterSortValue, afterId, 2);
+            rows.forEach(row -> ids.add((Integer) row[0]));
+            if (!rows.isEmpty()) {
+                afterId = (Integer) rows.get(rows.size() - 1)[0];
+                afterSortValue = rows.get(rows.size() - 1)[1];
+            }
+        } while (rows.size() == 2);
+
+        // postgres sorts null values last in ascending and first in descending order
+        Comparator<String> nachname = direction.isAscending()
+                ? Comparator.nullsLast(Comparator.<String>naturalOrder())
+                : Comparator.nullsFirst(Comparator.<String>reverseOrder());
+        List<Integer> expected = teilnehmers.stream()
+                .sorted(Comparator.comparing(Teilnehmer::getNachname, nachname).thenComparing(Teilnehmer::getId))
+                .map(Teilnehmer::getId)
+                .toList();
+        assertThat(ids).isEqualTo(expected);
+    }
+
+    private static Teilnehmer teilnehmer(String nachname) {
+        Teilnehmer teilnehmer = new Teilnehmer();
+        teilnehmer.setVorname(VORNAME);
+        teilnehmer.setNachname(nachname);
+        teilnehmer.setStatus(TeilnehmerStatus.VALID);
+        teilnehmer.setCreatedBy("test");
+        return teilnehmer;
+    }
+}
@@ -0,0 +1,123 @@
+package com.ibosng.dbservice.repositories;
+
+import com.ibosng.BaseIntegrationTest;
+import com.ibosng.dbservice.entities.teilnehmer.TeilnehmerSource;
+import com.ibosng.dbservice.entities.teilnehmer.TeilnehmerStaging;
+import com.ibosng.dbservice.entities.teilnehmer.TeilnehmerStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the throughput of the ways to write teilnehmer_staging rows: one INSERT per row as with identity ids, the
+ * batched {@code saveAll} with pooled sequence ids and the COPY of {@code batchInsert}. Only runs with
+ * {@code RUN_BENCHMARKS=true}, the rows per second are logged.
+ */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class TeilnehmerStagingBulkInsertBenchmarkTest extends BaseIntegrationTest {
+
+    private static final int ROWS = 5_000;
+    private static final String FILENAME_PREFIX = "bulk-insert-benchmark-";
+
+    private static final String INSERT_ROW_SQL = """
+            insert into teilnehmer_staging (vorname, nachname, email, import_filename, status, source, teilnehmer_id, created_on, created_by)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    @Autowired
+    private TeilnehmerStagingRepository teilnehmerStagingRepository;
+
+    @Autowired
+    @Qualifier("postgresDataSource")
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("postgresTransactionManager")
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("delete from teilnehmer_staging where import_filename like ?", FILENAME_PREFIX + "%");
+        jdbcTemplate.update("delete from teilnehmer_staging_history where import_filename like ?", FILENAME_PREFIX + "%");
+    }
+
+    @Test
+    void insertsRowByRow() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        run("row-by-row", rows -> rows.forEach(row -> jdbcTemplate.update(INSERT_ROW_SQL,
+                row.getVorname(), row.getNachname(), row.getEmail(), row.getImportFilename(), row.getStatus().ordinal(),
+                row.getSource().ordinal(), row.getTeilnehmerId(), row.getCreatedOn(), row.getCreatedBy())));
+    }
+
+    @Test
+    void insertsWithBatchedSaveAll() {
+        List<TeilnehmerStaging> rows = run("saveAll", teilnehmerStagingRepository::saveAll);
+
+        assertDistinctIds(rows);
+    }
+
+    @Test
+    void insertsWithCopy() {
+        List<TeilnehmerStaging> rows = run("copy", teilnehmerStagingRepository::batchInsert);
+
+        assertDistinctIds(rows);
+        assertThat(teilnehmerStagingRepository.findById(rows.get(ROWS - 1).getId()))
+                .hasValueSatisfying(row -> assertThat(row.getEmail()).isEqualTo(rows.get(ROWS - 1).getEmail()));
+    }
+
+    private List<TeilnehmerStaging> run(String name, Consumer<List<TeilnehmerStaging>> insert) {
+        String filename = FILENAME_PREFIX + name;
+        List<TeilnehmerStaging> rows = IntStream.range(0, ROWS).mapToObj(i -> row(filename, i)).toList();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> insert.accept(rows));
+        long nanos = System.nanoTime() - start;
+        log.info("{}: {} rows in {} ms, {} rows/s", name, ROWS, nanos / 1_000_000, ROWS * 1_000_000_000L / Math.max(1, nanos));
+
+        // the audit trigger wrote one history row per insert
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from teilnehmer_staging where import_filename = ?", Integer.class, filename))
+                .isEqualTo(ROWS);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from teilnehmer_staging_history where import_filename = ? and action = 'I'", Integer.class, filename))
+                .isEqualTo(ROWS);
+        return rows;
+    }
+
+    private static void assertDistinctIds(List<TeilnehmerStaging> rows) {
+        Set<Integer> ids = rows.stream().map(TeilnehmerStaging::getId).collect(Collectors.toSet());
+        assertThat(ids).hasSize(ROWS).doesNotContainNull();
+    }
+
+    private static TeilnehmerStaging row(String filename, int i) {
+        TeilnehmerStaging teilnehmerStaging = new TeilnehmerStaging();
+        teilnehmerStaging.setVorname("Max \"" + i + "\"");
+        teilnehmerStaging.setNachname(i % 10 == 0 ? "" : "Muster, " + i);
+        teilnehmerStaging.setEmail("max.muster" + i + "@ibis-acam.at");
+        teilnehmerStaging.setImportFilename(filename);
+        teilnehmerStaging.setStatus(TeilnehmerStatus.NEW);
+        teilnehmerStaging.setSource(TeilnehmerSource.VHS);
+        teilnehmerStaging.setTeilnehmerId(i);
+        teilnehmerStaging.setCreatedOn(LocalDateTime.now());
+        teilnehmerStaging.setCreatedBy("benchmark");
+        return teilnehmerStaging;
+    }
+}
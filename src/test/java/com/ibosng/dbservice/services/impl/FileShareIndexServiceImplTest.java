@@ -0,0 +1,77 @@
+package com.ibosng.dbservice.services.impl;
+
+import com.ibosng.dbservice.entities.FileShareIndex;
+import com.ibosng.dbservice.repositories.FileShareIndexRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FileShareIndexServiceImplTest {
+
+    private static final String SHARE = "personalunterlagen";
+    private static final LocalDateTime STARTED_AT = LocalDateTime.of(2025, 1, 1, 2, 30);
+
+    @Mock
+    private FileShareIndexRepository fileShareIndexRepository;
+
+    @InjectMocks
+    private FileShareIndexServiceImpl fileShareIndexService;
+
+    @Test
+    void reconcileAddsMovedAndNewFilesAndRemovesStaleOnes() {
+        FileShareIndex unchanged = entry(1, "11", "ibis/123_MAX", "Dienstvertrag.pdf", STARTED_AT.minusDays(1));
+        FileShareIndex moved = entry(2, "12", "ibis/123", "Zusatz.pdf", STARTED_AT.minusDays(1));
+        FileShareIndex stale = entry(3, "13", "ibis/123", "Alt.pdf", STARTED_AT.minusDays(1));
+        FileShareIndex uploadedDuringListing = entry(4, "14", "ibis/123_MAX", "Neu.pdf", STARTED_AT.plusMinutes(1));
+        when(fileShareIndexRepository.findAllByShareName(SHARE)).thenReturn(List.of(unchanged, moved, stale, uploadedDuringListing));
+
+        int changes = fileShareIndexService.reconcile(SHARE, List.of(
+                entry(null, "11", "/ibis/123_MAX/", "Dienstvertrag.pdf", null),
+                entry(null, "12", "ibis/123_MAX", "Zusatz.pdf", null),
+                entry(null, "15", "ibis/123_MAX", "Lohnzettel.pdf", null)), STARTED_AT);
+
+        ArgumentCaptor<List<FileShareIndex>> saved = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<FileShareIndex>> deleted = ArgumentCaptor.forClass(List.class);
+        verify(fileShareIndexRepository).saveAll(saved.capture());
+        verify(fileShareIndexRepository).deleteAllInBatch(deleted.capture());
+
+        assertEquals(3, changes);
+        assertEquals(List.of("12", "15"), saved.getValue().stream().map(FileShareIndex::getFileId).toList());
+        assertEquals("ibis/123_MAX", saved.getValue().get(0).getDirectoryPath());
+        assertEquals(SHARE, saved.getValue().get(1).getShareName());
+        assertEquals(List.of(stale), deleted.getValue());
+    }
+
+    @Test
+    void reconcileOfEmptyShareRemovesEverythingIndexedBefore() {
+        when(fileShareIndexRepository.findAllByShareName(SHARE))
+                .thenReturn(List.of(entry(1, "11", "", "Liste.xlsx", STARTED_AT.minusHours(1))));
+
+        assertEquals(1, fileShareIndexService.reconcile(SHARE, List.of(), STARTED_AT));
+        verify(fileShareIndexRepository).saveAll(anyList());
+    }
+
+    @Test
+    void escapesDescendantsPattern() {
+        assertEquals("ibis/123!_MAX/%", FileShareIndexServiceImpl.descendantsPattern("ibis/123_MAX"));
+        assertEquals("100!%!!/%", FileShareIndexServiceImpl.descendantsPattern("100%!"));
+        assertEquals("%", FileShareIndexServiceImpl.descendantsPattern(""));
+        assertEquals("ibis/123", FileShareIndexServiceImpl.normalize("\\ibis\\123\\"));
+    }
+
+    private static FileShareIndex entry(Integer id, String fileId, String directoryPath, String fileName, LocalDateTime indexedAt) {
+        return new FileShareIndex(id, SHARE, fileId, directoryPath, fileName, indexedAt);
+    }
+}
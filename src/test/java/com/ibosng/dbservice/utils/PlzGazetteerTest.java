@@ -0,0 +1,72 @@
+package com.ibosng.dbservice.utils;
+
+import com.ibosng.dbservice.entities.Plz;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlzGazetteerTest {
+
+    private static final List<String> ORTE = List.of("Wien", "Wiener Neustadt", "Sankt Pölten", "Gmünd",
+            "Bruck an der Mur", "Bruck/Leitha", "St. Johann im Pongau", "Hart-Purgstall", "Linz");
+
+    private static final List<String> KEYWORDS = List.of("Wien", "Wiener", "Wie", "Neustadt", "Pölten", "Gmünd",
+            "Gm", "Bruck", "Mur", "Leitha", "St", "St.", "Johann", "Hart", "Purgstall", "Linz", "inz", "Graz", "",
+            "an der", "Sankt Pölten");
+
+    @Test
+    void matchesLikeFormerRegex() {
+        for (String keyword : KEYWORDS) {
+            Pattern pattern = Pattern.compile("\\b" + Pattern.quote(keyword) + "(\\b|[^a-zA-Z])");
+            for (String ort : ORTE) {
+                assertEquals(pattern.matcher(ort).find(), PlzGazetteer.matchesOrt(ort, keyword),
+                        "keyword '" + keyword + "' in '" + ort + "'");
+            }
+        }
+    }
+
+    @Test
+    void containsMatchingOrtLikeLinearScan() {
+        PlzGazetteer gazetteer = PlzGazetteer.of(plzs());
+        for (String keyword : KEYWORDS) {
+            boolean expected = ORTE.stream().anyMatch(ort -> PlzGazetteer.matchesOrt(ort, keyword));
+            assertEquals(expected, gazetteer.containsMatchingOrt(keyword), "keyword '" + keyword + "'");
+        }
+    }
+
+    @Test
+    void findsEntriesByPlz() {
+        PlzGazetteer gazetteer = PlzGazetteer.of(plzs());
+
+        assertEquals(List.of("Bruck an der Mur", "Bruck/Leitha"), gazetteer.findOrtByPlz(8600));
+        assertEquals(1, gazetteer.findByPlz(1010).size());
+        assertTrue(gazetteer.findByPlz(9999).isEmpty());
+        assertEquals(List.of("Bruck/Leitha"), gazetteer.findMatchingOrts(8600, "Leitha"));
+        assertTrue(gazetteer.findMatchingOrts(1010, "Graz").isEmpty());
+    }
+
+    @Test
+    void emptyGazetteer() {
+        assertEquals(0, PlzGazetteer.EMPTY.size());
+        assertTrue(PlzGazetteer.EMPTY.findOrtByPlz(1010).isEmpty());
+        assertFalse(PlzGazetteer.EMPTY.containsMatchingOrt("Wien"));
+    }
+
+    private static List<Plz> plzs() {
+        List<Plz> plzs = new ArrayList<>();
+        int plz = 1010;
+        for (String ort : ORTE) {
+            Plz entry = new Plz();
+            entry.setPlz(ort.startsWith("Bruck") ? 8600 : plz++);
+            entry.setOrt(ort);
+            plzs.add(entry);
+        }
+        return plzs;
+    }
+}
@@ -0,0 +1,137 @@
+package com.ibosng.fileimportservice.utils.fileparsers;
+
+import com.ibosng.fileimportservice.dtos.ParticipantCsvDto;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class XlsxStreamingReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readsHeaderAndTypedCellValues() throws Exception {
+        File file = writeWorkbook();
+        List<String[]> headers = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+
+        XlsxStreamingReader.read(file, new XlsxStreamingReader.RowListener() {
+            @Override
+            public void onHeader(String[] header) {
+                headers.add(header);
+            }
+
+            @Override
+            public void onRow(int rowIndex, Object[] values) {
+                rows.add(Arrays.copyOf(values, 5));
+            }
+        });
+
+        assertEquals(1, headers.size());
+        assertArrayEquals(new String[]{"Vorname", "SV-Nummer", "Eintritt", "PLZ", "Anmerkung"}, headers.get(0));
+        assertEquals(2, rows.size());
+
+        Object[] first = rows.get(0);
+        assertEquals("Max", first[0]);
+        assertEquals("1234 010190", first[1]);
+        assertInstanceOf(Date.class, first[2]);
+        assertEquals(1010L, first[3]);
+        assertEquals(1.5, first[4]);
+
+        Object[] second = rows.get(1);
+        assertEquals("Erika", second[0]);
+        assertNull(second[1]);
+        assertEquals(Boolean.TRUE, second[4]);
+    }
+
+    @Test
+    void mapsRowsIntoReusedParticipant() throws Exception {
+        File file = writeWorkbook();
+        List<ParticipantCsvDto> participants = new ArrayList<>();
+
+        XlsxStreamingReader.read(file, new XlsxStreamingReader.RowListener() {
+            private ParticipantCsvRowMapper mapper;
+
+            @Override
+            public void onHeader(String[] header) {
+                mapper = new ParticipantCsvRowMapper(header);
+            }
+
+            @Override
+            public void onRow(int rowIndex, Object[] values) {
+                ParticipantCsvDto participant = mapper.map(values);
+                ParticipantCsvDto copy = new ParticipantCsvDto();
+                copy.setVorname(participant.getVorname());
+                copy.setSvNummer(participant.getSvNummer());
+                copy.setEintritt(participant.getEintritt());
+                copy.setPlz(participant.getPlz());
+                participants.add(copy);
+            }
+        });
+
+        assertEquals(2, participants.size());
+        assertEquals("Max", participants.get(0).getVorname());
+        assertEquals("1234010190", participants.get(0).getSvNummer());
+        assertEquals("15-01-2024", participants.get(0).getEintritt());
+        assertEquals("1010", participants.get(0).getPlz());
+        assertEquals("Erika", participants.get(1).getVorname());
+        assertNull(participants.get(1).getSvNummer());
+        assertNull(participants.get(1).getEintritt());
+    }
+
+    @Test
+    void resolvesColumnIndexFromCellReference() {
+        assertEquals(0, XlsxStreamingReader.columnIndex("A1"));
+        assertEquals(25, XlsxStreamingReader.columnIndex("Z10"));
+        assertEquals(26, XlsxStreamingReader.columnIndex("AA3"));
+        assertEquals(701, XlsxStreamingReader.columnIndex("ZZ1"));
+    }
+
+    private File writeWorkbook() throws Exception {
+        File file = tempDir.resolve("participants.xlsx").toFile();
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); FileOutputStream out = new FileOutputStream(file)) {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("dd.mm.yyyy"));
+
+            Sheet sheet = workbook.createSheet();
+            Row header = sheet.createRow(0);
+            String[] headers = {"Vorname", "SV-Nummer", "Eintritt", "PLZ", "Anmerkung"};
+            for (int i = 0; i < headers.length; i++) {
+                header.createCell(i).setCellValue(headers[i]);
+            }
+
+            Row first = sheet.createRow(1);
+            first.createCell(0).setCellValue(" Max ");
+            first.createCell(1).setCellValue("1234 010190");
+            first.createCell(2).setCellValue(new SimpleDateFormat("yyyy-MM-dd").parse("2024-01-15"));
+            first.getCell(2).setCellStyle(dateStyle);
+            first.createCell(3).setCellValue(1010);
+            first.createCell(4).setCellValue(1.5);
+
+            Row second = sheet.createRow(2);
+            second.createCell(0).setCellValue("Erika");
+            second.createCell(4).setCellValue(true);
+
+            workbook.write(out);
+        }
+        return file;
+    }
+}
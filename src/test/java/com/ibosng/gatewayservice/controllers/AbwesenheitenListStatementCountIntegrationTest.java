@@ -0,0 +1,157 @@
+package com.ibosng.gatewayservice.controllers;
+
+import com.ibosng.BaseIntegrationTest;
+import com.ibosng.StatementCounter;
+import com.ibosng._config.GlobalWebConfigTest;
+import com.ibosng._service.AsyncService;
+import com.ibosng.dbservice.entities.Benutzer;
+import com.ibosng.dbservice.entities.lhr.Abwesenheit;
+import com.ibosng.dbservice.entities.lhr.AbwesenheitStatus;
+import com.ibosng.dbservice.entities.masterdata.IbisFirma;
+import com.ibosng.dbservice.entities.masterdata.Personalnummer;
+import com.ibosng.dbservice.repositories.BenutzerRepository;
+import com.ibosng.dbservice.repositories.lhr.AbwesenheitRespository;
+import com.ibosng.dbservice.repositories.masterdata.IbisFirmaRepository;
+import com.ibosng.dbservice.repositories.mitarbeiter.PersonalnummerRepository;
+import com.ibosng.gatewayservice.services.impl.BenutzerDetailsServiceImpl;
+import com.ibosng.personalverwaltung.utils.BenutzerFactory;
+import com.ibosng.personalverwaltung.utils.IbisFirmaFactory;
+import com.ibosng.personalverwaltung.utils.PersonalnummerFactory;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the fetch plan of the Abwesenheiten list of a Führungskraft end to end: the request for a page of 20 entries
+ * must not need more statements than the one for 2 entries.
+ */
+@AutoConfigureMockMvc
+@Import(GlobalWebConfigTest.class)
+class AbwesenheitenListStatementCountIntegrationTest extends BaseIntegrationTest {
+
+    private static final String TOKEN = "some token";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private AbwesenheitRespository abwesenheitRespository;
+    @Autowired
+    private PersonalnummerRepository personalnummerRepository;
+    @Autowired
+    private IbisFirmaRepository ibisFirmaRepository;
+    @Autowired
+    private BenutzerRepository benutzerRepository;
+    @Autowired
+    @Qualifier("postgresEntityManagerFactory")
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    @Qualifier("postgresDataSource")
+    private DataSource dataSource;
+
+    @MockBean
+    private BenutzerDetailsServiceImpl benutzerDetailsServiceMock;
+    @MockBean
+    private AsyncService asyncServiceMock;
+
+    private StatementCounter statementCounter;
+    private IbisFirma firma;
+    private Benutzer fewFuehrungskraft;
+    private Benutzer manyFuehrungskraft;
+    private final List<Personalnummer> personalnummern = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statementCounter = new StatementCounter(entityManagerFactory);
+        firma = ibisFirmaRepository.save(IbisFirmaFactory.create());
+        fewFuehrungskraft = benutzerRepository.save(BenutzerFactory.createForEmail("fk.few@ibis-acam.at"));
+        manyFuehrungskraft = benutzerRepository.save(BenutzerFactory.createForEmail("fk.many@ibis-acam.at"));
+        createAbwesenheiten(fewFuehrungskraft, 2, 0);
+        createAbwesenheiten(manyFuehrungskraft, 20, 2);
+
+        when(benutzerDetailsServiceMock.isUserEligible(eq(TOKEN), anyList())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        abwesenheitRespository.deleteAll();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        personalnummern.forEach(personalnummer -> jdbcTemplate.update("delete from stammdaten where personalnummer = ?", personalnummer.getId()));
+        personalnummerRepository.deleteAll(personalnummern);
+        benutzerRepository.deleteAll(List.of(fewFuehrungskraft, manyFuehrungskraft));
+        ibisFirmaRepository.delete(firma);
+    }
+
+    @Test
+    void listsTheAbwesenheitenOfAFuehrungskraftWithAConstantNumberOfStatements() {
+        long few = countRequest(fewFuehrungskraft, 2);
+        long many = countRequest(manyFuehrungskraft, 20);
+
+        assertThat(many).isEqualTo(few);
+    }
+
+    private long countRequest(Benutzer fuehrungskraft, int expectedEntries) {
+        when(benutzerDetailsServiceMock.getUserFromToken(TOKEN)).thenReturn(fuehrungskraft);
+        return statementCounter.count(() -> performListRequest(expectedEntries));
+    }
+
+    @SneakyThrows
+    private void performListRequest(int expectedEntries) {
+        mockMvc.perform(get("/zeiterfassung/abwesenheiten/list")
+                        .param("isPersonal", "false")
+                        .param("page", "0")
+                        .param("size", "50")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data[0].attributes.length()").value(expectedEntries))
+                .andExpect(jsonPath("$.data[0].attributes[0].fullName").value("Max Muster"));
+    }
+
+    private void createAbwesenheiten(Benutzer fuehrungskraft, int count, int offset) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        for (int i = offset; i < offset + count; i++) {
+            Personalnummer personalnummer = PersonalnummerFactory.createIn(firma);
+            personalnummer.setPersonalnummer(String.valueOf(900000 + i));
+            personalnummer = personalnummerRepository.save(personalnummer);
+            personalnummern.add(personalnummer);
+            jdbcTemplate.update("insert into stammdaten (personalnummer, vorname, nachname, created_by) values (?, ?, ?, ?)",
+                    personalnummer.getId(), "Max", "Muster", "test");
+
+            Abwesenheit abwesenheit = new Abwesenheit();
+            abwesenheit.setPersonalnummer(personalnummer);
+            abwesenheit.setGrund("URLAU");
+            abwesenheit.setVon(LocalDate.of(2025, 7, 1));
+            abwesenheit.setBis(LocalDate.of(2025, 7, 11));
+            abwesenheit.setStatus(AbwesenheitStatus.VALID);
+            abwesenheit.setFuehrungskraefte(new HashSet<>(Set.of(fuehrungskraft)));
+            abwesenheitRespository.save(abwesenheit);
+        }
+    }
+}
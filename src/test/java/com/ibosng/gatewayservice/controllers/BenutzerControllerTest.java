@@ -3,6 +3,8 @@ package com.ibosng.gatewayservice.controllers;
 import com.ibosng.dbservice.services.impl.UserSessionServiceImpl;
 import com.ibosng.gatewayservice.dtos.user.UserDetailsDto;
 import com.ibosng.gatewayservice.services.BenutzerDetailsService;
+import com.ibosng.gatewayservice.services.impl.GroupMembershipCache;
+import com.ibosng.gatewayservice.services.impl.VerifiedTokenCache;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -26,6 +28,12 @@ public class BenutzerControllerTest {
     @Mock
     private UserSessionServiceImpl userSessionService;
 
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private GroupMembershipCache groupMembershipCache;
+
     @InjectMocks
     private BenutzerController benutzerController;
 
@@ -52,6 +60,7 @@ public class BenutzerControllerTest {
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         verify(userSessionService, times(1)).killActiveSession(anyString());
+        verify(verifiedTokenCache, times(1)).invalidate(List.of("authorizationHeader"));
     }
 
     @Test
@@ -4,9 +4,12 @@ import com.ibosng.BaseIntegrationTest;
 import com.ibosng.dbservice.entities.Benutzer;
 import com.ibosng.dbservice.services.mitarbeiter.PersonalnummerService;
 import com.ibosng.gatewayservice.dtos.user.UserDetailsDto;
+import com.ibosng.gatewayservice.security.AuthContext;
+import com.ibosng.gatewayservice.security.AuthContextHolder;
 import com.ibosng.gatewayservice.services.impl.BenutzerDetailsServiceImpl;
+import com.ibosng.gatewayservice.services.impl.GroupMembershipCache;
 import com.ibosng.gatewayservice.services.impl.TokenValidatorServiceImpl;
-import com.ibosng.microsoftgraphservice.services.AzureSSOService;
+import com.ibosng.gatewayservice.services.impl.VerifiedTokenCache;
 import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -30,11 +33,17 @@ public class BenutzerDetailsServiceImplTest extends BaseIntegrationTest {
     private TokenValidatorServiceImpl tokenValidatorServiceImpl;
 
     @Mock
-    private AzureSSOService azureSSOService;
+    private GroupMembershipCache groupMembershipCache;
 
     @Mock
     private PersonalnummerService personalnummerService;
 
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private AuthContextHolder authContextHolder;
+
     @InjectMocks
     private BenutzerDetailsServiceImpl benutzerServiceImplUnderTest;
 
@@ -47,7 +56,7 @@ public class BenutzerDetailsServiceImplTest extends BaseIntegrationTest {
         ArrayList<String> arrayList = new ArrayList<>(listFromArraysAsList);
         when(tokenValidatorServiceImpl.getClaimsFromJwt(anyString()).get("emails")).thenReturn(arrayList);
 
-        benutzerServiceImplUnderTest = new BenutzerDetailsServiceImpl(benutzerServiceImpl, tokenValidatorServiceImpl, azureSSOService, personalnummerService);
+        benutzerServiceImplUnderTest = new BenutzerDetailsServiceImpl(benutzerServiceImpl, tokenValidatorServiceImpl, groupMembershipCache, personalnummerService, verifiedTokenCache, authContextHolder);
     }
 
 
@@ -69,6 +78,22 @@ public class BenutzerDetailsServiceImplTest extends BaseIntegrationTest {
         verify(benutzerServiceImpl, times(1)).getBenutzerByAzureId(azureId);
     }
 
+    @Test
+    public void testGetUserFromToken_UsesAuthContextOfRequest() {
+        String token = "mockToken";
+        Benutzer benutzer = new Benutzer();
+        benutzer.setAzureId("mockAzureId");
+        AuthContext authContext = new AuthContext(token, mock(Claims.class), benutzer, () -> List.of("FN_REPORTS"));
+        when(authContextHolder.currentFor(token)).thenReturn(authContext);
+
+        assertSame(benutzer, benutzerServiceImplUnderTest.getUserFromToken(token));
+        assertTrue(benutzerServiceImplUnderTest.isUserEligible(token, List.of("FN_REPORTS", "FN_MA_LESEN")));
+        assertFalse(benutzerServiceImplUnderTest.isUserEligible(token, List.of("FN_MA_LESEN")));
+
+        verify(tokenValidatorServiceImpl, never()).getClaimsFromJwt(token);
+        verifyNoInteractions(benutzerServiceImpl, groupMembershipCache);
+    }
+
     @Test
     public void testGetUserFromToken_UserExists() {
         String token = "mockToken";
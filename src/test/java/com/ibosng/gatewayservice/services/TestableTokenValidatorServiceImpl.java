@@ -4,9 +4,12 @@ import com.ibosng.dbservice.entities.Benutzer;
 import com.ibosng.dbservice.entities.UserSession;
 import com.ibosng.dbservice.services.impl.BenutzerServiceImpl;
 import com.ibosng.dbservice.services.impl.UserSessionServiceImpl;
+import com.ibosng.gatewayservice.services.impl.JwksKeyStore;
 import com.ibosng.gatewayservice.services.impl.TokenValidatorServiceImpl;
+import com.ibosng.gatewayservice.services.impl.VerifiedTokenCache;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
 import lombok.Getter;
 import org.mockito.Mockito;
 
@@ -31,8 +34,8 @@ public class TestableTokenValidatorServiceImpl extends TokenValidatorServiceImpl
 
     private final UserSessionServiceImpl mockUserSessionService = Mockito.mock(UserSessionServiceImpl.class);
 
-    public TestableTokenValidatorServiceImpl(OpenIdConfigurationService openIdConfigurationService, JwkService jwkService, UserSessionServiceImpl userSessionService, BenutzerServiceImpl benutzerService, Gateway2Validation gateway2Validation) {
-        super(openIdConfigurationService, jwkService, userSessionService, benutzerService, 100, gateway2Validation);
+    public TestableTokenValidatorServiceImpl(JwksKeyStore jwksKeyStore, VerifiedTokenCache verifiedTokenCache, UserSessionServiceImpl userSessionService, BenutzerServiceImpl benutzerService, Gateway2Validation gateway2Validation) {
+        super(jwksKeyStore, verifiedTokenCache, userSessionService, benutzerService, 100, gateway2Validation);
     }
 
     protected PublicKey computePublicKey(String jwkJsonString) {
@@ -45,7 +48,7 @@ public class TestableTokenValidatorServiceImpl extends TokenValidatorServiceImpl
     }
 
     @Override
-    protected Jws<Claims> parseAndVerifyToken(PublicKey publicKey, String jwt) {
+    protected Jws<Claims> parseAndVerifyToken(JwtParser parser, String jwt) {
         return mockClaimsJws;
     }
 
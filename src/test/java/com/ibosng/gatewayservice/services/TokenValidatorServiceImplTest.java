@@ -7,10 +7,13 @@ import com.ibosng.dbservice.services.impl.BenutzerServiceImpl;
 import com.ibosng.dbservice.services.impl.UserSessionServiceImpl;
 import com.ibosng.gatewayservice.dtos.JwkResponseDto;
 import com.ibosng.gatewayservice.dtos.OpenIdConfigurationDto;
+import com.ibosng.gatewayservice.services.impl.JwksKeyStore;
 import com.ibosng.gatewayservice.services.impl.TokenValidatorServiceImpl;
+import com.ibosng.gatewayservice.services.impl.VerifiedTokenCache;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -34,6 +37,12 @@ public class TokenValidatorServiceImplTest extends BaseIntegrationTest {
     @Mock
     private JwkService jwkService;
 
+    @Mock
+    private JwksKeyStore jwksKeyStore;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
     @Mock
     private UserSessionServiceImpl userSessionService;
 
@@ -134,7 +143,7 @@ public class TokenValidatorServiceImplTest extends BaseIntegrationTest {
             mockJwkResponse.setKeys(Collections.singletonList(mockJwkKey));
             when(jwkService.getJwk("mockJwksUri")).thenReturn(mockJwkResponse);
 
-            Jws<Claims> claims = tokenValidatorService.parseAndVerifyToken(publicKey, validJwt);
+            Jws<Claims> claims = tokenValidatorService.parseAndVerifyToken(mock(JwtParser.class), validJwt);
 
             assertNotNull(claims, "Expected valid claims");
         } catch (JsonProcessingException e) {
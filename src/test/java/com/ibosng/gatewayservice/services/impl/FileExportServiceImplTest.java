@@ -0,0 +1,62 @@
+package com.ibosng.gatewayservice.services.impl;
+
+import com.ibosng.dbservice.dtos.zeiterfassung.export.PruefungCsvDto;
+import com.ibosng.dbservice.dtos.zeiterfassung.export.PruefungXlsxDto;
+import com.ibosng.gatewayservice.services.FileExportService.RowWriter;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileExportServiceImplTest {
+
+    private final FileExportServiceImpl fileExportService = new FileExportServiceImpl();
+
+    @Test
+    void writesTheCsvRowsAsTheyCome() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (RowWriter<PruefungCsvDto> writer = fileExportService.createCsvWriter(outputStream)) {
+            writer.write(csvRow("Muster", "Max"));
+            writer.write(csvRow("Huber", null));
+        }
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("\uFEFFGeschlecht;Nachname;Vorname"));
+        assertEquals("m;Muster;Max;;;;;;;;;;", lines[1]);
+        assertEquals("m;Huber;;;;;;;;;;;", lines[2]);
+    }
+
+    @Test
+    void writesTheXlsxRowsThroughTheWindow() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (RowWriter<PruefungXlsxDto> writer = fileExportService.createXlsxWriter(outputStream)) {
+            for (int i = 0; i < 250; i++) {
+                PruefungXlsxDto row = new PruefungXlsxDto();
+                row.setFamilienname("Teilnehmer " + i);
+                writer.write(row);
+            }
+        }
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("Pruefungen");
+            assertEquals(250, sheet.getLastRowNum());
+            assertEquals("Familienname", sheet.getRow(0).getCell(3).getStringCellValue());
+            assertEquals("Teilnehmer 249", sheet.getRow(250).getCell(3).getStringCellValue());
+        }
+    }
+
+    private static PruefungCsvDto csvRow(String nachname, String vorname) {
+        PruefungCsvDto dto = new PruefungCsvDto();
+        dto.setGeschlecht("m");
+        dto.setNachname(nachname);
+        dto.setVorname(vorname);
+        return dto;
+    }
+}
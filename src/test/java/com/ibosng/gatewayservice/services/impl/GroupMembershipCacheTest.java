@@ -0,0 +1,130 @@
+package com.ibosng.gatewayservice.services.impl;
+
+import com.ibosng.microsoftgraphservice.services.AzureSSOService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RBucket;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GroupMembershipCacheTest {
+
+    private static final String AZURE_ID = "azure-id";
+
+    private final AzureSSOService azureSSOService = mock(AzureSSOService.class);
+    private final RedissonClient redissonClient = mock(RedissonClient.class);
+    @SuppressWarnings("unchecked")
+    private final RBucket<String> bucket = mock(RBucket.class);
+    private final RTopic topic = mock(RTopic.class);
+    private final MutableClock clock = new MutableClock();
+    private final GroupMembershipCache cache = new GroupMembershipCache(azureSSOService, redissonClient, 900, 600, clock, Runnable::run);
+
+    @BeforeEach
+    void setUp() {
+        doReturn(bucket).when(redissonClient).getBucket(anyString());
+        when(redissonClient.getTopic(GroupMembershipCache.INVALIDATION_TOPIC)).thenReturn(topic);
+    }
+
+    @Test
+    void resolvesFunctionsOnceFromAzure() {
+        when(azureSSOService.getNestedGroups(AZURE_ID)).thenReturn(List.of("FN_MA_LESEN", "FN_REPORTS"));
+
+        assertEquals(List.of("FN_MA_LESEN", "FN_REPORTS"), cache.getFunctions(AZURE_ID));
+        assertTrue(cache.hasAny(AZURE_ID, List.of("FN_TN_ONBOARDING", "FN_REPORTS")));
+        assertFalse(cache.hasAny(AZURE_ID, List.of("FN_TN_ONBOARDING")));
+        assertTrue(cache.hasAll(AZURE_ID, List.of("FN_MA_LESEN", "FN_REPORTS")));
+        assertFalse(cache.hasAll(AZURE_ID, List.of("FN_MA_LESEN", "FN_UNKNOWN")));
+
+        verify(azureSSOService, times(1)).getNestedGroups(AZURE_ID);
+        verify(bucket).set("1735718400000;FN_MA_LESEN,FN_REPORTS", Duration.ofSeconds(900));
+    }
+
+    @Test
+    void usesMembershipsSharedByOtherInstances() {
+        when(bucket.get()).thenReturn(clock.instant().minusSeconds(60).toEpochMilli() + ";FN_MA_LESEN");
+
+        assertTrue(cache.hasAll(AZURE_ID, List.of("FN_MA_LESEN")));
+        verify(azureSSOService, never()).getNestedGroups(anyString());
+    }
+
+    @Test
+    void refreshesInBackgroundAndKeepsKnownFunctionsOnFailure() {
+        when(azureSSOService.getNestedGroups(AZURE_ID))
+                .thenReturn(List.of("FN_MA_LESEN"))
+                .thenThrow(new RuntimeException("Graph unavailable"))
+                .thenReturn(List.of("FN_REPORTS"));
+
+        assertTrue(cache.hasAny(AZURE_ID, List.of("FN_MA_LESEN")));
+        clock.advance(Duration.ofSeconds(601));
+        assertTrue(cache.hasAny(AZURE_ID, List.of("FN_MA_LESEN")));
+        assertTrue(cache.hasAny(AZURE_ID, List.of("FN_MA_LESEN")));
+        assertEquals(List.of("FN_REPORTS"), cache.getFunctions(AZURE_ID));
+        verify(azureSSOService, times(3)).getNestedGroups(AZURE_ID);
+    }
+
+    @Test
+    void invalidationReloadsFromAzureAndIsPublished() {
+        when(azureSSOService.getNestedGroups(AZURE_ID)).thenReturn(List.of("FN_MA_LESEN"));
+
+        cache.getFunctions(AZURE_ID);
+        cache.invalidate(AZURE_ID);
+        cache.getFunctions(AZURE_ID);
+
+        verify(bucket).delete();
+        verify(topic).publish(AZURE_ID);
+        verify(azureSSOService, times(2)).getNestedGroups(AZURE_ID);
+    }
+
+    @Test
+    void expiredMembershipsAreReloaded() {
+        when(azureSSOService.getNestedGroups(AZURE_ID)).thenReturn(List.of("FN_MA_LESEN"));
+
+        cache.getFunctions(AZURE_ID);
+        clock.advance(Duration.ofSeconds(900));
+        cache.getFunctions(AZURE_ID);
+
+        verify(azureSSOService, times(2)).getNestedGroups(AZURE_ID);
+        verify(bucket, times(2)).set(anyString(), any(Duration.class));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T08:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.ibosng.gatewayservice.services.impl;
+
+import com.ibosng.dbservice.entities.reports.Report;
+import com.ibosng.microsoftgraphservice.services.FileShareService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.MessageListener;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JasperTemplateStoreTest {
+
+    private static final String JRXML = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <jasperReport xmlns="http://jasperreports.sourceforge.net/jasperreports"
+                          xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                          xsi:schemaLocation="http://jasperreports.sourceforge.net/jasperreports http://jasperreports.sourceforge.net/xsd/jasperreport.xsd"
+                          name="%s" pageWidth="595" pageHeight="842" columnWidth="555"
+                          leftMargin="20" rightMargin="20" topMargin="20" bottomMargin="20">
+            </jasperReport>
+            """;
+
+    @TempDir
+    Path baseDirectory;
+
+    private final FileShareService fileShareService = mock(FileShareService.class);
+    private final RedissonClient redissonClient = mock(RedissonClient.class);
+    private final RTopic topic = mock(RTopic.class);
+    private final MutableClock clock = new MutableClock();
+    private final AtomicReference<String> remoteReportName = new AtomicReference<>("Urlaubsliste");
+    private final Report report = new Report();
+
+    @BeforeEach
+    void setUp() {
+        when(redissonClient.getTopic(JasperTemplateStore.INVALIDATION_TOPIC)).thenReturn(topic);
+        report.setReportName("Urlaubsliste");
+        report.setSourcePath("urlaubsliste");
+        report.setMainReportFile("main.jrxml");
+        doAnswer(invocation -> {
+            Path directory = invocation.getArgument(1);
+            Files.writeString(directory.resolve("main.jrxml"), JRXML.formatted(remoteReportName.get()));
+            Files.writeString(directory.resolve("logo.txt"), "logo");
+            return null;
+        }).when(fileShareService).downloadFiles(eq("urlaubsliste"), any(Path.class), eq(JasperTemplateStore.SHARE_NAME));
+    }
+
+    @Test
+    void compilesOnceAndChecksTheFilesOnlyAfterTheInterval() throws Exception {
+        JasperTemplateStore store = store();
+
+        JasperTemplateStore.CompiledTemplate first = store.get(report);
+        assertEquals("Urlaubsliste", first.jasperReport().getName());
+        assertSame(first, store.get(report));
+        verify(fileShareService, times(1)).downloadFiles(eq("urlaubsliste"), any(Path.class), eq(JasperTemplateStore.SHARE_NAME));
+
+        clock.advance(Duration.ofMinutes(11));
+        JasperTemplateStore.CompiledTemplate unchanged = store.get(report);
+        assertSame(first.jasperReport(), unchanged.jasperReport());
+        verify(fileShareService, times(2)).downloadFiles(eq("urlaubsliste"), any(Path.class), eq(JasperTemplateStore.SHARE_NAME));
+    }
+
+    @Test
+    void recompilesChangedFilesAfterInvalidation() throws Exception {
+        JasperTemplateStore store = store();
+        JasperTemplateStore.CompiledTemplate first = store.get(report);
+
+        remoteReportName.set("UrlaubslisteNeu");
+        store.invalidate("Urlaubsliste");
+        JasperTemplateStore.CompiledTemplate changed = store.get(report);
+
+        assertNotEquals(first.contentHash(), changed.contentHash());
+        assertNotSame(first.jasperReport(), changed.jasperReport());
+        assertEquals("UrlaubslisteNeu", changed.jasperReport().getName());
+        verify(topic).publish("Urlaubsliste");
+    }
+
+    @Test
+    void checksTheFilesAgainWhenInvalidatedOnAnotherInstance() throws Exception {
+        JasperTemplateStore store = store();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<MessageListener<String>> listener = ArgumentCaptor.forClass(MessageListener.class);
+        store.subscribe();
+        verify(topic).addListener(eq(String.class), listener.capture());
+        JasperTemplateStore.CompiledTemplate first = store.get(report);
+
+        listener.getValue().onMessage(JasperTemplateStore.INVALIDATION_TOPIC, "Urlaubsliste");
+        JasperTemplateStore.CompiledTemplate unchanged = store.get(report);
+
+        assertSame(first.jasperReport(), unchanged.jasperReport());
+        assertSame(first.classLoader(), unchanged.classLoader());
+        verify(fileShareService, times(2)).downloadFiles(eq("urlaubsliste"), any(Path.class), eq(JasperTemplateStore.SHARE_NAME));
+    }
+
+    @Test
+    void closesTheClassLoaderOfAReplacedVersionOnceItsFillsAreDone() throws Exception {
+        JasperTemplateStore store = store();
+        JasperTemplateStore.CompiledTemplate first = store.acquire(report);
+        assertNotNull(first.classLoader().getResource("logo.txt"));
+
+        remoteReportName.set("UrlaubslisteNeu");
+        store.invalidate("Urlaubsliste");
+        JasperTemplateStore.CompiledTemplate changed = store.acquire(report);
+        // still filled with the first version
+        assertNotNull(first.classLoader().getResource("logo.txt"));
+
+        store.release(first);
+        assertNull(first.classLoader().getResource("logo.txt"));
+        assertNotNull(changed.classLoader().getResource("logo.txt"));
+        store.release(changed);
+        assertNotNull(store.acquire(report).classLoader().getResource("logo.txt"));
+    }
+
+    @Test
+    void keepsAVersionInUseWhileFurtherVersionsReplaceIt() throws Exception {
+        JasperTemplateStore store = store();
+        JasperTemplateStore.CompiledTemplate first = store.acquire(report);
+
+        for (String name : new String[]{"UrlaubslisteZwei", "UrlaubslisteDrei"}) {
+            remoteReportName.set(name);
+            store.invalidate("Urlaubsliste");
+            store.get(report);
+        }
+        // the long running fill still finds the resources of its version
+        assertNotNull(first.classLoader().getResource("logo.txt"));
+        assertEquals(1, countFiles(first.contentHash() + ".jasper"));
+
+        store.release(first);
+        assertNull(first.classLoader().getResource("logo.txt"));
+        assertEquals(0, countFiles(first.contentHash() + ".jasper"));
+        assertEquals(0, countFiles(first.contentHash()));
+    }
+
+    @Test
+    void loadsTheStoredCompiledReportAfterARestart() throws Exception {
+        JasperTemplateStore.CompiledTemplate first = store().get(report);
+        Path compiledReport;
+        try (var files = Files.walk(baseDirectory)) {
+            compiledReport = files.filter(file -> file.getFileName().toString().equals(first.contentHash() + ".jasper"))
+                    .findFirst().orElseThrow();
+        }
+        FileTime compiledAt = Files.getLastModifiedTime(compiledReport);
+
+        JasperTemplateStore.CompiledTemplate restarted = store().get(report);
+
+        assertEquals(first.contentHash(), restarted.contentHash());
+        assertEquals("Urlaubsliste", restarted.jasperReport().getName());
+        assertEquals(compiledAt, Files.getLastModifiedTime(compiledReport));
+    }
+
+    private long countFiles(String name) throws Exception {
+        try (var files = Files.walk(baseDirectory)) {
+            return files.filter(file -> file.getFileName().toString().equals(name)).count();
+        }
+    }
+
+    private JasperTemplateStore store() {
+        return new JasperTemplateStore(fileShareService, redissonClient, baseDirectory, Duration.ofMinutes(10), clock);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T08:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
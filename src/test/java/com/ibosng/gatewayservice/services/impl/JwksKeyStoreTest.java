@@ -0,0 +1,150 @@
+package com.ibosng.gatewayservice.services.impl;
+
+import com.ibosng.gatewayservice.dtos.JwkResponseDto;
+import com.ibosng.gatewayservice.dtos.OpenIdConfigurationDto;
+import com.ibosng.gatewayservice.services.JwkService;
+import com.ibosng.gatewayservice.services.OpenIdConfigurationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwksKeyStoreTest {
+
+    private static final String JWKS_URI = "https://login.microsoftonline.com/tenant/discovery/v2.0/keys";
+
+    private final OpenIdConfigurationService openIdConfigurationService = mock(OpenIdConfigurationService.class);
+    private final JwkService jwkService = mock(JwkService.class);
+    private final MutableClock clock = new MutableClock();
+    private final JwksKeyStore keyStore = new JwksKeyStore(openIdConfigurationService, jwkService, "tenant", 5000, 30, clock);
+
+    private KeyPair first;
+    private KeyPair second;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        first = generator.generateKeyPair();
+        second = generator.generateKeyPair();
+        OpenIdConfigurationDto openIdConfigurationDto = new OpenIdConfigurationDto();
+        openIdConfigurationDto.setJwksUri(JWKS_URI);
+        when(openIdConfigurationService.getOpenIdConfiguration(anyString())).thenReturn(openIdConfigurationDto);
+    }
+
+    @Test
+    void loadsKeysOnceAndVerifiesTokens() throws Exception {
+        when(jwkService.getJwk(JWKS_URI)).thenReturn(jwks(jwk("k1", first)));
+
+        JwtParser parser = keyStore.getParser("k1");
+        assertSame(parser, keyStore.getParser("k1"));
+
+        Jws<Claims> jws = (Jws<Claims>) parser.parse(token("k1", first));
+        assertEquals("max.mustermann", jws.getPayload().getSubject());
+        verify(jwkService, times(1)).getJwk(JWKS_URI);
+    }
+
+    @Test
+    void reloadsForUnknownKidAtMostOncePerInterval() throws Exception {
+        when(jwkService.getJwk(JWKS_URI))
+                .thenReturn(jwks(jwk("k1", first)))
+                .thenReturn(jwks(jwk("k1", first), jwk("k2", second)));
+
+        assertNotNull(keyStore.getParser("k1"));
+        clock.advance(Duration.ofSeconds(31));
+        assertNotNull(keyStore.getParser("k2"));
+        assertNull(keyStore.getParser("unknown"));
+        verify(jwkService, times(2)).getJwk(JWKS_URI);
+
+        clock.advance(Duration.ofSeconds(31));
+        assertNull(keyStore.getParser("unknown"));
+        verify(jwkService, times(3)).getJwk(JWKS_URI);
+    }
+
+    @Test
+    void keepsKnownKeysWhenRefreshFails() throws Exception {
+        when(jwkService.getJwk(JWKS_URI))
+                .thenReturn(jwks(jwk("k1", first)))
+                .thenThrow(new RuntimeException("429 Too Many Requests"));
+
+        JwtParser parser = keyStore.getParser("k1");
+        keyStore.refresh();
+
+        assertSame(parser, keyStore.getParser("k1"));
+        verify(jwkService, times(2)).getJwk(JWKS_URI);
+    }
+
+    private static String token(String kid, KeyPair keyPair) {
+        return Jwts.builder().header().keyId(kid).and()
+                .subject("max.mustermann")
+                .signWith(keyPair.getPrivate())
+                .compact();
+    }
+
+    private static JwkResponseDto jwks(JwkResponseDto.JwkKey... keys) {
+        JwkResponseDto jwkResponseDto = new JwkResponseDto();
+        jwkResponseDto.setKeys(List.of(keys));
+        return jwkResponseDto;
+    }
+
+    private static JwkResponseDto.JwkKey jwk(String kid, KeyPair keyPair) {
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        JwkResponseDto.JwkKey jwkKey = new JwkResponseDto.JwkKey();
+        jwkKey.setKid(kid);
+        jwkKey.setKty("RSA");
+        jwkKey.setN(base64Url(publicKey.getModulus().toByteArray()));
+        jwkKey.setE(base64Url(publicKey.getPublicExponent().toByteArray()));
+        return jwkKey;
+    }
+
+    private static String base64Url(byte[] bytes) {
+        byte[] unsigned = bytes.length > 1 && bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(unsigned);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T08:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.ibosng.gatewayservice.services.impl;
+
+import com.ibosng.gatewayservice.dtos.ReportJobDto;
+import com.ibosng.gatewayservice.dtos.ReportRequestDto;
+import com.ibosng.gatewayservice.dtos.response.FilledReport;
+import com.ibosng.gatewayservice.enums.ReportJobStatus;
+import com.ibosng.gatewayservice.enums.ReportOutputFormat;
+import com.ibosng.gatewayservice.services.JasperReportService;
+import com.ibosng.microsoftgraphservice.services.BlobStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReportJobServiceImplTest {
+
+    private final JasperReportService jasperReportService = mock(JasperReportService.class);
+    private final BlobStorageService blobStorageService = mock(BlobStorageService.class);
+    private final RedissonClient redissonClient = mock(RedissonClient.class);
+    private final RBucket<Object> bucket = mock(RBucket.class);
+    private final ExecutorService executor = mock(ExecutorService.class);
+    private final Clock clock = Clock.fixed(Instant.parse("2025-01-01T08:00:00Z"), ZoneOffset.UTC);
+    private final ReportJobServiceImpl reportJobService = new ReportJobServiceImpl(jasperReportService,
+            blobStorageService, redissonClient, "report-jobs", Duration.ofHours(24), executor,
+            mock(ScheduledExecutorService.class), Duration.ofSeconds(30), clock);
+
+    @BeforeEach
+    void setUp() {
+        when(redissonClient.getBucket(anyString())).thenReturn(bucket);
+        // run the jobs on the calling thread
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+    }
+
+    @Test
+    void uploadsTheReportAndMarksTheJobDone() throws Exception {
+        FilledReport filledReport = mock(FilledReport.class);
+        when(filledReport.getOutputFormat()).thenReturn(ReportOutputFormat.CSV);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("a;b".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(filledReport).writeTo(any(OutputStream.class));
+        when(jasperReportService.fillReport(any())).thenReturn(filledReport);
+
+        ReportJobDto job = reportJobService.submit(request());
+
+        assertEquals(ReportJobStatus.DONE, job.getStatus());
+        assertEquals(job.getId() + ".csv", job.getFileName());
+        verify(blobStorageService).uploadOrReplaceFile(eq("report-jobs"), eq(job.getId() + ".csv"), any(InputStream.class), eq(3L));
+        verify(filledReport).close();
+        ArgumentCaptor<String> key = ArgumentCaptor.forClass(String.class);
+        verify(redissonClient, atLeastOnce()).getBucket(key.capture());
+        assertEquals(ReportJobServiceImpl.KEY_PREFIX + job.getId(), key.getValue());
+    }
+
+    @Test
+    void marksTheJobFailedWhenTheReportCannotBeFilled() throws Exception {
+        when(jasperReportService.fillReport(any())).thenReturn(null);
+
+        ReportJobDto job = reportJobService.submit(request());
+
+        assertEquals(ReportJobStatus.FAILED, job.getStatus());
+        assertNull(job.getFileName());
+        verify(blobStorageService, never()).uploadOrReplaceFile(anyString(), anyString(), any(), anyLong());
+    }
+
+    @Test
+    void rejectsJobsWhenTheQueueIsFull() {
+        doThrow(new RejectedExecutionException()).when(executor).execute(any(Runnable.class));
+
+        assertNull(reportJobService.submit(request()));
+        verify(bucket).delete();
+    }
+
+    @Test
+    void reportsJobsWithoutHeartbeatAsFailed() {
+        ReportJobDto stale = job(ReportJobStatus.RUNNING, clock.millis() - Duration.ofSeconds(91).toMillis());
+        ReportJobDto alive = job(ReportJobStatus.RUNNING, clock.millis() - Duration.ofSeconds(60).toMillis());
+        ReportJobDto done = job(ReportJobStatus.DONE, 0);
+
+        when(bucket.get()).thenReturn(stale);
+        assertEquals(ReportJobStatus.FAILED, reportJobService.getJob("stale").getStatus());
+        assertEquals(ReportJobServiceImpl.INTERRUPTED_MESSAGE, stale.getMessage());
+        verify(bucket).set(stale, Duration.ofHours(24));
+
+        when(bucket.get()).thenReturn(alive);
+        assertEquals(ReportJobStatus.RUNNING, reportJobService.getJob("alive").getStatus());
+        when(bucket.get()).thenReturn(done);
+        assertEquals(ReportJobStatus.DONE, reportJobService.getJob("done").getStatus());
+    }
+
+    @Test
+    void marksUnfinishedJobsFailedOnShutdown() {
+        doNothing().when(executor).execute(any(Runnable.class));
+        ReportJobDto job = reportJobService.submit(request());
+        assertEquals(ReportJobStatus.QUEUED, job.getStatus());
+
+        reportJobService.stopExecutor();
+
+        assertEquals(ReportJobStatus.FAILED, job.getStatus());
+        assertEquals(ReportJobServiceImpl.INTERRUPTED_MESSAGE, job.getMessage());
+        verify(executor).shutdownNow();
+        verify(bucket, atLeastOnce()).set(job, Duration.ofHours(24));
+    }
+
+    private static ReportJobDto job(ReportJobStatus status, long heartbeatAt) {
+        ReportJobDto job = new ReportJobDto();
+        job.setId("job");
+        job.setStatus(status);
+        job.setHeartbeatAt(heartbeatAt);
+        return job;
+    }
+
+    private static ReportRequestDto request() {
+        ReportRequestDto reportRequestDto = new ReportRequestDto();
+        reportRequestDto.setReportName("Teilnehmerliste");
+        reportRequestDto.setOutputFormat("csv");
+        reportRequestDto.setCreatedBy("max.mustermann@ibis-acam.at");
+        return reportRequestDto;
+    }
+}
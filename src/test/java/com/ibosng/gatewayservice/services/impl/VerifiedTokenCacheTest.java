@@ -0,0 +1,122 @@
+package com.ibosng.gatewayservice.services.impl;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VerifiedTokenCacheTest {
+
+    private final RedissonClient redissonClient = mock(RedissonClient.class);
+    private final RTopic topic = mock(RTopic.class);
+    private final MutableClock clock = new MutableClock();
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(redissonClient, 2, clock);
+
+    @BeforeEach
+    void setUp() {
+        when(redissonClient.getTopic(VerifiedTokenCache.INVALIDATION_TOPIC)).thenReturn(topic);
+    }
+
+    @Test
+    void keepsTokenUntilItExpires() {
+        Claims claims = claimsExpiringIn(Duration.ofMinutes(5));
+        cache.putClaims("token", claims);
+        cache.putSession("token", claims, true, cache.generation());
+        cache.putBenutzerId("token", 42);
+
+        VerifiedTokenCache.VerifiedToken verifiedToken = cache.get("token");
+        assertSame(claims, verifiedToken.claims());
+        assertTrue(verifiedToken.sessionActive());
+        assertEquals(42, verifiedToken.benutzerId());
+
+        clock.advance(Duration.ofMinutes(5));
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    void doesNotCacheExpiredTokens() {
+        cache.putClaims("token", claimsExpiringIn(Duration.ofSeconds(-1)));
+
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    void invalidationDropsTokenAndIsPublishedAsHash() {
+        Claims claims = claimsExpiringIn(Duration.ofMinutes(5));
+        cache.putSession("token", claims, true, cache.generation());
+
+        cache.invalidate(List.of("token"));
+
+        assertNull(cache.get("token"));
+        verify(topic).publish(VerifiedTokenCache.hash("token"));
+    }
+
+    @Test
+    void sessionLookedUpBeforeAnInvalidationIsNotCached() {
+        Claims claims = claimsExpiringIn(Duration.ofMinutes(5));
+        long generation = cache.generation();
+        cache.invalidate(List.of("other"));
+
+        cache.putSession("token", claims, true, generation);
+
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    void keepsAtMostMaxEntriesAndMakesRoomByDroppingExpiredTokens() {
+        cache.putClaims("first", claimsExpiringIn(Duration.ofMinutes(1)));
+        cache.putClaims("second", claimsExpiringIn(Duration.ofMinutes(5)));
+        cache.putClaims("third", claimsExpiringIn(Duration.ofMinutes(5)));
+        assertNull(cache.get("third"));
+
+        clock.advance(Duration.ofMinutes(2));
+        cache.putClaims("third", claimsExpiringIn(Duration.ofMinutes(5)));
+        assertNotNull(cache.get("second"));
+        assertNotNull(cache.get("third"));
+    }
+
+    private Claims claimsExpiringIn(Duration duration) {
+        return Jwts.claims().subject("max.mustermann").expiration(Date.from(clock.instant().plus(duration))).build();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T08:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.ibosng._service.AsyncService;
 import com.ibosng.dbibosservice.services.AdresseIbosService;
 import com.ibosng.dbmapperservice.services.ZeitbuchungenMapperService;
 import com.ibosng.dbservice.dtos.mitarbeiter.AbwesenheitDto;
+import com.ibosng.dbservice.dtos.mitarbeiter.AbwesenheitListEntryDto;
 import com.ibosng.dbservice.entities.Benutzer;
 import com.ibosng.dbservice.entities.Zeitausgleich;
 import com.ibosng.dbservice.entities.lhr.Abwesenheit;
@@ -33,12 +34,18 @@ import com.ibosng.microsoftgraphservice.services.MailService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -411,4 +418,39 @@ class ZeiterfassungGatewayServiceImplUnitTest {
         verify(abwesenheitService).findByIdAndForceRefresh(ABWESENHEIT_ID);
         verify(abwesenheitService).mapToAbwesenheitDto(abwesenheit);
     }
+
+    @Test
+    void getAbwesenheitenList_shouldMapOnlyEntriesOfPageInOrder() {
+        // GIVEN
+        Benutzer fuehrungskraft = createBenutzer(1, "fk@ibis.at");
+        when(benutzerDetailsService.getUserFromToken(TOKEN)).thenReturn(fuehrungskraft);
+        PageRequest pageRequest = PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "startDate"));
+        when(abwesenheitService.findAbwesenheitList(isNull(), eq(1), anyList(), isNull(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(
+                        new AbwesenheitListEntryDto(true, List.of(11, 12), "Bernd Adler"),
+                        new AbwesenheitListEntryDto(false, List.of(ABWESENHEIT_ID), "Zoe Berger")), pageRequest, 5));
+
+        Abwesenheit abwesenheit = createAbwesenheit(AbwesenheitStatus.NEW, null, fuehrungskraft);
+        Zeitausgleich firstDay = Zeitausgleich.builder().id(11).datum(LocalDate.of(2025, 3, 3)).build();
+        Zeitausgleich secondDay = Zeitausgleich.builder().id(12).datum(LocalDate.of(2025, 3, 4)).build();
+        AbwesenheitDto zeitausgleichDto = AbwesenheitDto.builder().id(12).type(AbwesenheitType.ZEITAUSGLEICH).build();
+        AbwesenheitDto abwesenheitDto = AbwesenheitDto.builder().id(ABWESENHEIT_ID).type(AbwesenheitType.URLAU).build();
+        when(abwesenheitService.findAllByIdIn(List.of(ABWESENHEIT_ID))).thenReturn(List.of(abwesenheit));
+        when(zeitausgleichService.findAllByIdIn(List.of(11, 12))).thenReturn(List.of(secondDay, firstDay));
+        when(zeitausgleichService.mapListZeitausgleichToListAbwesenheitDto(List.of(firstDay, secondDay), "Bernd Adler")).thenReturn(List.of(zeitausgleichDto));
+        when(abwesenheitService.mapToAbwesenheitDto(abwesenheit, "Zoe Berger")).thenReturn(abwesenheitDto);
+
+        // WHEN
+        PayloadResponse response = zeiterfassungGatewayService.getAbwesenheitenList(TOKEN, false, null, null, "startDate", "DESC", 1, 2);
+
+        // THEN
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(abwesenheitService).findAbwesenheitList(isNull(), eq(1), eq(Arrays.asList(AbwesenheitStatus.values())), isNull(), pageable.capture());
+        assertEquals(pageRequest, pageable.getValue());
+        assertTrue(response.isSuccess());
+        assertEquals(List.of(zeitausgleichDto, abwesenheitDto), ((PayloadTypeList<?>) response.getData().get(0)).getAttributes());
+        assertEquals(5, response.getPagination().getTotalCount());
+        verify(abwesenheitService, never()).findAllByFuehrungskraefteIdAndStatusIn(anyInt(), anyList());
+        verify(abwesenheitService, never()).mapToAbwesenheitDto(any(Abwesenheit.class));
+    }
 }
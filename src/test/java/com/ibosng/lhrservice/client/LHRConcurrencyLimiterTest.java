@@ -0,0 +1,94 @@
+package com.ibosng.lhrservice.client;
+
+import com.ibosng.lhrservice.exceptions.LHRWebClientException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LHRConcurrencyLimiterTest {
+
+    private static final String PATH_FIRMA_A = "/lhr/zeit/firmengruppen/IA/firmen/901/dienstnehmer/{dnNr}/zeitdaten";
+    private static final String PATH_FIRMA_B = "/lhr/firmengruppen/IB/firmen/902/dienstnehmer";
+
+    @Test
+    public void resolvesFirmaFromPath() {
+        assertEquals("IA/901", LHRConcurrencyLimiter.resolveKey(PATH_FIRMA_A));
+        assertEquals("IB/902", LHRConcurrencyLimiter.resolveKey(PATH_FIRMA_B));
+        assertEquals(LHRConcurrencyLimiter.GLOBAL_KEY, LHRConcurrencyLimiter.resolveKey("/lhr/status"));
+        assertEquals(LHRConcurrencyLimiter.GLOBAL_KEY, LHRConcurrencyLimiter.resolveKey(null));
+    }
+
+    @Test
+    public void limitsConcurrentCallsPerFirma() {
+        LHRConcurrencyLimiter limiter = new LHRConcurrencyLimiter(2, 20);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        Long completed = Flux.range(0, 20)
+                .flatMap(i -> limiter.limit(PATH_FIRMA_A, Mono.defer(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    return Mono.delay(Duration.ofMillis(10))
+                            .doOnTerminate(running::decrementAndGet);
+                })))
+                .count()
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(20L, completed);
+        assertTrue(maxRunning.get() <= 2);
+        assertEquals(0, limiter.getActiveRequests(PATH_FIRMA_A));
+    }
+
+    @Test
+    public void releasesPermitOnError() {
+        LHRConcurrencyLimiter limiter = new LHRConcurrencyLimiter(1, 5);
+
+        Long errors = Flux.range(0, 5)
+                .flatMap(i -> limiter.limit(PATH_FIRMA_B, Mono.error(new IllegalStateException("boom")))
+                        .onErrorResume(ex -> Mono.just(1)))
+                .count()
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(5L, errors);
+        assertEquals(0, limiter.getActiveRequests(PATH_FIRMA_B));
+    }
+
+    @Test
+    public void rejectsRequestsWhenTheQueueIsFull() {
+        LHRConcurrencyLimiter limiter = new LHRConcurrencyLimiter(1, 1);
+        Sinks.One<Integer> blocker = Sinks.one();
+
+        limiter.limit(PATH_FIRMA_A, blocker.asMono()).subscribe();
+        limiter.limit(PATH_FIRMA_A, Mono.just(2)).subscribe();
+
+        LHRWebClientException ex = assertThrows(LHRWebClientException.class,
+                () -> limiter.limit(PATH_FIRMA_A, Mono.just(3)).block(Duration.ofSeconds(1)));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getHttpStatus());
+
+        blocker.tryEmitValue(1);
+        assertEquals(0, limiter.getActiveRequests(PATH_FIRMA_A));
+    }
+
+    @Test
+    public void releasesPermitWhenCancelled() {
+        LHRConcurrencyLimiter limiter = new LHRConcurrencyLimiter(1, 5);
+        Sinks.One<Integer> blocker = Sinks.one();
+
+        Disposable running = limiter.limit(PATH_FIRMA_B, blocker.asMono()).subscribe();
+        Disposable queued = limiter.limit(PATH_FIRMA_B, Mono.just(2)).subscribe();
+        queued.dispose();
+        running.dispose();
+
+        assertEquals(0, limiter.getActiveRequests(PATH_FIRMA_B));
+        assertEquals(3, limiter.limit(PATH_FIRMA_B, Mono.just(3)).block(Duration.ofSeconds(1)));
+    }
+}
@@ -0,0 +1,61 @@
+package com.ibosng.lhrservice.services.impl;
+
+import com.ibosng.dbservice.dtos.mitarbeiter.MitarbeiterIdentityDto;
+import com.ibosng.dbservice.entities.masterdata.IbisFirma;
+import com.ibosng.dbservice.services.mitarbeiter.PersonalnummerService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DnNrIdentitiesTest {
+
+    @Test
+    void findsTheEmployeesByDnNr() {
+        DnNrIdentities identities = DnNrIdentities.of(List.of(
+                identity(3, "300", "c@ibis-acam.at"),
+                identity(1, "00100", "a@ibis-acam.at"),
+                identity(2, "200", null),
+                identity(4, "Z-1", "x@ibis-acam.at")));
+
+        assertEquals(3, identities.size());
+        assertEquals("a@ibis-acam.at", identities.get(100).getEmail());
+        assertEquals(2, identities.get(200).getPersonalnummerId());
+        assertEquals("c@ibis-acam.at", identities.get(300).getEmail());
+        assertNull(identities.get(150));
+    }
+
+    @Test
+    void keepsTheFirstOfADnNrUsedTwice() {
+        DnNrIdentities identities = DnNrIdentities.of(List.of(identity(1, "100", "first@ibis-acam.at"), identity(2, "100", "second@ibis-acam.at")));
+
+        assertEquals(1, identities.size());
+        assertEquals("first@ibis-acam.at", identities.get(100).getEmail());
+    }
+
+    @Test
+    void loadsEachFirmaOncePerRun() {
+        PersonalnummerService personalnummerService = mock(PersonalnummerService.class);
+        when(personalnummerService.findIdentitiesByFirmaId(1)).thenReturn(List.of(identity(1, "100", "a@ibis-acam.at")));
+        IbisFirma firma = new IbisFirma();
+        firma.setId(1);
+        LhrIdentityResolver resolver = new LhrIdentityResolver(personalnummerService);
+
+        LhrIdentityResolver.Run run = resolver.startRun();
+        assertEquals("a@ibis-acam.at", run.get(firma, 100).getEmail());
+        assertNull(run.get(firma, 101));
+        resolver.startRun().get(firma, 100);
+
+        verify(personalnummerService, times(2)).findIdentitiesByFirmaId(1);
+    }
+
+    private static MitarbeiterIdentityDto identity(int id, String personalnummer, String email) {
+        return new MitarbeiterIdentityDto(id, personalnummer, 1, "Max", "Muster", email != null ? id : null, "Max", "Muster", email, null);
+    }
+}
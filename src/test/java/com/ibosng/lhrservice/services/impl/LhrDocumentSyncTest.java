@@ -0,0 +1,126 @@
+package com.ibosng.lhrservice.services.impl;
+
+import com.ibosng._service.jobs.JobContext;
+import com.ibosng.dbservice.entities.masterdata.IbisFirma;
+import com.ibosng.dbservice.entities.masterdata.Personalnummer;
+import com.ibosng.dbservice.services.mitarbeiter.PersonalnummerService;
+import com.ibosng.lhrservice.dtos.dokumente.DnDokumenteDto;
+import com.ibosng.lhrservice.dtos.dokumente.DokumentDto;
+import com.ibosng.lhrservice.dtos.dokumente.DokumentRubrikDto;
+import com.ibosng.lhrservice.dtos.dokumente.DokumentRubrikenDto;
+import com.ibosng.lhrservice.enums.LhrDocuments;
+import com.ibosng.lhrservice.services.LHRDokumenteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+
+import java.util.List;
+
+import static com.ibosng.lhrservice.utils.Constants.REGEX_ELDA;
+import static com.ibosng.lhrservice.utils.Constants.REGEX_GEHALTSZETTEL;
+import static com.ibosng.lhrservice.utils.Constants.REGEX_L16;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LhrDocumentSyncTest {
+
+    private static final int L16 = 1;
+    private static final int ELDA = 2;
+    private static final int GEHALTSZETTEL = 3;
+
+    private final LHRDokumenteService lhrDokumenteService = mock(LHRDokumenteService.class);
+    private final PersonalnummerService personalnummerService = mock(PersonalnummerService.class);
+    private final RedissonClient redissonClient = mock(RedissonClient.class);
+    private final RMap<Object, Object> highWaterMarks = mock(RMap.class);
+    private final JobContext context = mock(JobContext.class);
+    private final LhrDocumentSync documentSync = new LhrDocumentSync(lhrDokumenteService, new LhrIdentityResolver(personalnummerService), redissonClient, 4);
+
+    @BeforeEach
+    void setUp() {
+        when(redissonClient.getMap(anyString())).thenReturn(highWaterMarks);
+        when(lhrDokumenteService.findRubrik(any(), eq(REGEX_L16))).thenReturn(rubriken(L16));
+        when(lhrDokumenteService.findRubrik(any(), eq(REGEX_ELDA))).thenReturn(rubriken(ELDA));
+        when(lhrDokumenteService.findRubrik(any(), eq(REGEX_GEHALTSZETTEL))).thenReturn(rubriken(GEHALTSZETTEL));
+        when(lhrDokumenteService.uploadToFileShare(any(Personalnummer.class), any(byte[].class), anyString(), any(), anyString(), anyString())).thenReturn(true);
+    }
+
+    @Test
+    void looksUpTheRubrikenOncePerFirma() throws Exception {
+        List<Personalnummer> personalnummern = List.of(personalnummer(1), personalnummer(2), personalnummer(3));
+
+        documentSync.sync(personalnummern, 30, context);
+
+        verify(lhrDokumenteService, times(1)).findRubrik(any(), eq(REGEX_L16));
+        verify(lhrDokumenteService, times(3)).findDocuments(any(), eq(L16), any());
+        verify(personalnummerService, times(1)).findIdentitiesByFirmaId(1);
+        verify(context).checkpoint("3");
+    }
+
+    @Test
+    void skipsDocumentsUpToTheHighWaterMark() throws Exception {
+        Personalnummer personalnummer = personalnummer(1);
+        DnDokumenteDto dnDokumente = dokumente(document(10, "L16 2024"), document(11, "L16 2025"));
+        when(lhrDokumenteService.findDocuments(any(), eq(L16), any())).thenReturn(dnDokumente);
+        when(highWaterMarks.get(String.valueOf(L16))).thenReturn(10);
+        when(lhrDokumenteService.downloadDocument(eq(dnDokumente), any())).thenReturn(new byte[]{1});
+
+        documentSync.sync(List.of(personalnummer), 30, context);
+
+        verify(lhrDokumenteService, times(1)).downloadDocument(eq(dnDokumente), any());
+        verify(lhrDokumenteService).uploadToFileShare(eq(personalnummer), any(byte[].class), anyString(), eq(LhrDocuments.L16), anyString(), eq("L16 2025"));
+        verify(highWaterMarks).fastPut(String.valueOf(L16), 11);
+    }
+
+    @Test
+    void keepsTheHighWaterMarkBeforeAFailedDownload() throws Exception {
+        DokumentDto failing = document(20, "ELDA 1");
+        DokumentDto later = document(21, "ELDA 2");
+        DnDokumenteDto dnDokumente = dokumente(later, failing);
+        when(lhrDokumenteService.findDocuments(any(), eq(ELDA), any())).thenReturn(dnDokumente);
+        when(lhrDokumenteService.downloadDocument(dnDokumente, failing)).thenReturn(null);
+
+        documentSync.sync(List.of(personalnummer(1)), 30, context);
+
+        verify(lhrDokumenteService, never()).downloadDocument(dnDokumente, later);
+        verify(highWaterMarks, never()).fastPut(eq(String.valueOf(ELDA)), any());
+    }
+
+    private static Personalnummer personalnummer(int id) {
+        IbisFirma firma = new IbisFirma();
+        firma.setId(1);
+        firma.setName("ibis acam");
+        Personalnummer personalnummer = new Personalnummer();
+        personalnummer.setId(id);
+        personalnummer.setPersonalnummer(String.valueOf(1000 + id));
+        personalnummer.setFirma(firma);
+        return personalnummer;
+    }
+
+    private static DokumentRubrikenDto rubriken(int rubrikId) {
+        DokumentRubrikDto rubrik = new DokumentRubrikDto();
+        rubrik.setId(rubrikId);
+        DokumentRubrikenDto rubriken = new DokumentRubrikenDto();
+        rubriken.setRubriken(List.of(rubrik));
+        return rubriken;
+    }
+
+    private static DnDokumenteDto dokumente(DokumentDto... documents) {
+        DnDokumenteDto dnDokumente = new DnDokumenteDto();
+        dnDokumente.setDocuments(List.of(documents));
+        return dnDokumente;
+    }
+
+    private static DokumentDto document(int id, String name) {
+        DokumentDto document = new DokumentDto();
+        document.setId(id);
+        document.setName(name);
+        return document;
+    }
+}
@@ -0,0 +1,103 @@
+package com.ibosng.lhrservice.services.impl;
+
+import com.ibosng.dbservice.dtos.zeiterfassung.MonthCloseCandidateDto;
+import com.ibosng.dbservice.entities.masterdata.IbisFirma;
+import com.ibosng.dbservice.services.lhr.AbwesenheitService;
+import com.ibosng.dbservice.services.masterdata.IbisFirmaService;
+import com.ibosng.dbservice.services.zeitbuchung.LeistungserfassungService;
+import com.ibosng.lhrservice.client.LHRClient;
+import com.ibosng.lhrservice.dtos.StatusAnfrage;
+import com.ibosng.lhrservice.exceptions.LHRWebClientException;
+import com.ibosng.lhrservice.services.LHREnvironmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.ibosng.lhrservice.utils.Constants.LHR_SERVICE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LhrMonthCloseTest {
+
+    private static final LocalDate MONTH = LocalDate.of(2025, 3, 1);
+
+    private final LHRClient lhrClient = mock(LHRClient.class);
+    private final LHREnvironmentService lhrEnvironmentService = mock(LHREnvironmentService.class);
+    private final LeistungserfassungService leistungserfassungService = mock(LeistungserfassungService.class);
+    private final AbwesenheitService abwesenheitService = mock(AbwesenheitService.class);
+    private final IbisFirmaService ibisFirmaService = mock(IbisFirmaService.class);
+    private final RedissonClient redissonClient = mock(RedissonClient.class);
+    private final RMap<Object, Object> results = mock(RMap.class);
+    private final LhrMonthClose monthClose = new LhrMonthClose(lhrClient, lhrEnvironmentService, leistungserfassungService,
+            abwesenheitService, ibisFirmaService, redissonClient, 4, 0);
+
+    @BeforeEach
+    void setUp() {
+        IbisFirma firma = new IbisFirma();
+        firma.setId(1);
+        when(ibisFirmaService.findAll()).thenReturn(List.of(firma));
+        when(lhrEnvironmentService.getFaKz(firma)).thenReturn("IBIS");
+        when(lhrEnvironmentService.getFaNr(firma)).thenReturn(7);
+        when(redissonClient.getMap(LhrMonthClose.RESULTS_PREFIX + MONTH)).thenReturn(results);
+        when(results.readAllMap()).thenReturn(Map.of());
+    }
+
+    @Test
+    void sendsTheFertigmeldungenAndLocksTheClosedMonthsInBulk() throws Exception {
+        when(leistungserfassungService.findMonthCloseCandidates(MONTH)).thenReturn(List.of(candidate(1), candidate(2), candidate(3)));
+        when(lhrClient.postStatusanfrage("IBIS", 7, 1002, "2025-03-10", StatusAnfrage.FERTIGMELDUNG))
+                .thenThrow(new LHRWebClientException("LHR unavailable", HttpStatus.BAD_GATEWAY));
+
+        assertEquals(2, monthClose.close(MONTH, null));
+
+        verify(lhrClient, times(3)).postStatusanfrage(eq("IBIS"), eq(7), any(), eq("2025-03-10"), eq(StatusAnfrage.FERTIGMELDUNG));
+        verify(results).fastPut(1, LhrMonthClose.SENT);
+        verify(results).fastPut(2, LhrMonthClose.FAILED);
+        verify(results).fastPut(3, LhrMonthClose.SENT);
+        verify(leistungserfassungService).lockMonth(argThat(ids -> Set.copyOf(ids).equals(Set.of(1, 3))), eq(MONTH), eq(LHR_SERVICE));
+        verify(abwesenheitService, times(2)).markUsedInLockedMonths(eq(MONTH), eq(LocalDate.of(2025, 3, 31)), any(), eq(LHR_SERVICE));
+    }
+
+    @Test
+    void locksWithoutResendingWhatAnInterruptedRunAlreadySent() throws Exception {
+        when(leistungserfassungService.findMonthCloseCandidates(MONTH)).thenReturn(List.of(candidate(1), candidate(2)));
+        when(results.readAllMap()).thenReturn(Map.of(1, LhrMonthClose.SENT, 2, LhrMonthClose.FAILED));
+
+        monthClose.close(MONTH, LocalDate.of(2025, 1, 1));
+
+        verify(lhrClient, never()).postStatusanfrage(anyString(), any(), eq(1001), anyString(), any());
+        verify(lhrClient).postStatusanfrage(anyString(), any(), eq(1002), anyString(), any());
+        verify(leistungserfassungService).lockMonth(argThat(ids -> Set.copyOf(ids).equals(Set.of(1, 2))), eq(MONTH), eq(LHR_SERVICE));
+        verify(abwesenheitService, times(2)).markUsedInLockedMonths(eq(LocalDate.of(2025, 1, 1)), eq(LocalDate.of(2025, 3, 31)), any(), eq(LHR_SERVICE));
+    }
+
+    @Test
+    void onlyUsesTheAbwesenheitenWithoutCandidates() throws Exception {
+        when(leistungserfassungService.findMonthCloseCandidates(MONTH)).thenReturn(List.of());
+
+        assertEquals(0, monthClose.close(MONTH, null));
+
+        verify(abwesenheitService).markUsedInLockedMonths(eq(MONTH), eq(LocalDate.of(2025, 3, 31)), any(), eq(LHR_SERVICE));
+        verify(leistungserfassungService, never()).lockMonth(any(), any(), anyString());
+        verify(redissonClient, never()).getMap(anyString());
+    }
+
+    private static MonthCloseCandidateDto candidate(int id) {
+        return new MonthCloseCandidateDto(id, String.valueOf(1000 + id), 1);
+    }
+}
@@ -0,0 +1,201 @@
+package com.ibosng.microsoftgraphservice.services.impl;
+
+import com.ibosng.microsoftgraphservice.dtos.FileItem;
+import com.ibosng.microsoftgraphservice.dtos.TreeNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.MessageListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FileShareTreeCacheTest {
+
+    private static final String SHARE = "personalunterlagen";
+
+    private final RedissonClient redissonClient = mock(RedissonClient.class);
+    private final RTopic topic = mock(RTopic.class);
+    private final MutableClock clock = new MutableClock();
+    private final FileShareTreeCache cache = new FileShareTreeCache(redissonClient, 60, 10, clock);
+
+    @BeforeEach
+    void setUp() {
+        when(redissonClient.getTopic(FileShareTreeCache.INVALIDATION_TOPIC)).thenReturn(topic);
+    }
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void servesCopiesUntilExpired() {
+        TreeNode first = cache.get(SHARE, "ibis/123_MAX", this::load);
+        TreeNode second = cache.get(SHARE, "/ibis/123_MAX/", this::load);
+
+        assertEquals(1, loads.get());
+        assertNotSame(first, second);
+        assertEquals(first, second);
+        assertInstanceOf(FileItem.class, second.getContent().get(0));
+        assertNull(second.getContent().get(0).getContent());
+
+        clock.advance(Duration.ofSeconds(61));
+        cache.get(SHARE, "ibis/123_MAX", this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidatesAncestorsAndDescendants() {
+        cache.get(SHARE, "ibis", this::load);
+        cache.get(SHARE, "ibis/123_MAX", this::load);
+        cache.get(SHARE, "ibis/123_MAX/Vereinbarungen", this::load);
+        cache.get(SHARE, "ibis/1234_ERIKA", this::load);
+        cache.get("temp", "ibis/123_MAX", this::load);
+        assertEquals(5, loads.get());
+
+        cache.invalidate(SHARE, "ibis/123_MAX");
+        verify(topic).publish(SHARE + "/ibis/123_MAX");
+
+        cache.get(SHARE, "ibis/1234_ERIKA", this::load);
+        cache.get("temp", "ibis/123_MAX", this::load);
+        assertEquals(5, loads.get());
+        cache.get(SHARE, "ibis", this::load);
+        cache.get(SHARE, "ibis/123_MAX", this::load);
+        cache.get(SHARE, "ibis/123_MAX/Vereinbarungen", this::load);
+        assertEquals(8, loads.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void dropsTreesInvalidatedOnOtherInstances() {
+        cache.subscribe();
+        ArgumentCaptor<MessageListener<String>> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(topic).addListener(eq(String.class), listener.capture());
+        cache.get(SHARE, "ibis/123_MAX", this::load);
+        cache.get(SHARE, "ibis/1234_ERIKA", this::load);
+
+        listener.getValue().onMessage(FileShareTreeCache.INVALIDATION_TOPIC, SHARE + "/ibis/123_MAX/Vereinbarungen");
+
+        cache.get(SHARE, "ibis/123_MAX", this::load);
+        cache.get(SHARE, "ibis/1234_ERIKA", this::load);
+        assertEquals(3, loads.get());
+        verify(topic, never()).publish(anyString());
+    }
+
+    @Test
+    void doesNotCacheErrorsOrTreesLoadedDuringInvalidation() {
+        cache.get(SHARE, "missing", () -> {
+            loads.incrementAndGet();
+            TreeNode node = new TreeNode();
+            node.setErrorMessage("Personalunterlagen existieren nicht");
+            return node;
+        });
+        cache.get(SHARE, "missing", this::load);
+        assertEquals(2, loads.get());
+
+        cache.get(SHARE, "ibis", () -> {
+            cache.invalidate(SHARE, "ibis/123_MAX");
+            return load();
+        });
+        cache.get(SHARE, "ibis", this::load);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<TreeNode> first = executor.submit(() -> cache.get(SHARE, "ibis", () -> {
+                loading.countDown();
+                await(release);
+                return load();
+            }));
+            loading.await(5, TimeUnit.SECONDS);
+            Future<TreeNode> second = executor.submit(() -> cache.get(SHARE, "ibis", this::load));
+            // give the second call time to join the running load before it completes
+            Thread.sleep(100);
+            release.countDown();
+
+            assertEquals(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+            assertNotSame(first.get(), second.get());
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        assertThrows(IllegalStateException.class, () -> cache.get(SHARE, "ibis", () -> {
+            throw new IllegalStateException("Share nicht erreichbar");
+        }));
+
+        cache.get(SHARE, "ibis", this::load);
+        assertEquals(1, loads.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private TreeNode load() {
+        loads.incrementAndGet();
+        TreeNode directory = new TreeNode();
+        directory.setTitle("123_MAX");
+        FileItem file = new FileItem();
+        file.setTitle("Dienstvertrag.pdf");
+        file.setMimeType("application/pdf");
+        directory.setContent(new ArrayList<>(List.of(file)));
+        return directory;
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T08:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -7,6 +7,9 @@ import com.ibosng.dbservice.entities.mitarbeiter.AbwesenheitType;
 import com.ibosng.dbservice.repositories.lhr.AbwesenheitRespository;
 import com.ibosng.dbservice.services.BenutzerService;
 import com.ibosng.lhrservice.client.LHRClient;
+import com.ibosng.lhrservice.dtos.DnEintrittDto;
+import com.ibosng.lhrservice.dtos.variabledaten.EintrittDto;
+import com.ibosng.lhrservice.dtos.variabledaten.ZeitangabeDto;
 import com.ibosng.lhrservice.exceptions.LHRWebClientException;
 import com.ibosng.lhrservice.services.LHREnvironmentService;
 import com.ibosng.microsoftgraphservice.services.MailService;
@@ -24,6 +27,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 
 import java.time.LocalDate;
 import java.util.Map;
@@ -32,6 +37,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -191,6 +197,73 @@ public class CreateAbwesenheitRequestOutboxOperationHandlerTest {
         verify(abwesenheitRepositoryMock).setStatusToInvalid(abwesenheit.getId());
     }
 
+    @Test
+    @SneakyThrows
+    public void lhrUnavailable_throwRetryableLhrResponseExceptionWithoutUpdatingAbwesenheitStatus() {
+
+        var abwesenheit = getValidAbwesenheit();
+        when(abwesenheitRepositoryMock.findById(5555)).thenReturn(Optional.of(abwesenheit));
+        when(lhrEnvironmentServiceMock.getFaKz(abwesenheit.getPersonalnummer().getFirma())).thenReturn("abc");
+        when(lhrEnvironmentServiceMock.getFaNr(abwesenheit.getPersonalnummer().getFirma())).thenReturn(10);
+        when(lhrClientMock.postEintritt(eq("abc"), eq(10), eq(123456789), isNull(), isNull(), any()))
+                .thenThrow(new LHRWebClientException("Service unavailable", HttpStatus.SERVICE_UNAVAILABLE));
+
+        var entry = getLhrOutboxEntry();
+        assertThatThrownBy(() -> sut.handle(entry))
+                .isInstanceOfSatisfying(LhrResponseException.class, e -> assertThat(sut.isRetryable(e)).isTrue());
+
+        verify(abwesenheitRepositoryMock, never()).setStatusToInvalid(any());
+    }
+
+    @Test
+    @SneakyThrows
+    public void retryAfterEintrittWasCreated_doesNotPostAgain() {
+
+        var abwesenheit = getValidAbwesenheit();
+        when(abwesenheitRepositoryMock.findById(5555)).thenReturn(Optional.of(abwesenheit));
+        when(lhrEnvironmentServiceMock.getFaKz(abwesenheit.getPersonalnummer().getFirma())).thenReturn("abc");
+        when(lhrEnvironmentServiceMock.getFaNr(abwesenheit.getPersonalnummer().getFirma())).thenReturn(10);
+        var existing = EintrittDto.builder()
+                .zeitangabe(new ZeitangabeDto(abwesenheit.getVon().toString(), abwesenheit.getBis().toString()))
+                .build();
+        when(lhrClientMock.getEintritt(eq("abc"), eq(10), eq(123456789), anyString(), eq(abwesenheit.getVon().toString())))
+                .thenReturn(ResponseEntity.ok(new DnEintrittDto(null, existing)));
+
+        var entry = getLhrOutboxEntry();
+        entry.setAttempts(2);
+        sut.handle(entry);
+
+        verify(lhrClientMock, never()).postEintritt(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    public void retryWithoutEintrittInLhr_postsIt() {
+
+        var abwesenheit = getValidAbwesenheit();
+        when(abwesenheitRepositoryMock.findById(5555)).thenReturn(Optional.of(abwesenheit));
+        when(lhrEnvironmentServiceMock.getFaKz(abwesenheit.getPersonalnummer().getFirma())).thenReturn("abc");
+        when(lhrEnvironmentServiceMock.getFaNr(abwesenheit.getPersonalnummer().getFirma())).thenReturn(10);
+        when(lhrClientMock.getEintritt(eq("abc"), eq(10), eq(123456789), anyString(), anyString()))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+
+        var entry = getLhrOutboxEntry();
+        entry.setAttempts(2);
+        sut.handle(entry);
+
+        verify(lhrClientMock).postEintritt(eq("abc"), eq(10), eq(123456789), isNull(), isNull(), any());
+    }
+
+    @Test
+    public void deadLetterAfterRetries_updateAbwesenheitStatus() {
+
+        var entry = getLhrOutboxEntry();
+
+        sut.onDeadLetter(entry, new LhrResponseException("LHR unavailable", null, true));
+
+        verify(abwesenheitRepositoryMock).setStatusToInvalid(5555);
+    }
+
     @Test
     @SneakyThrows
     public void successfulLhrPost_sendsEmailToFuehrungskraft() {
@@ -25,7 +25,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.Map;
 
 import static com.ibosng.personalverwaltung.persistence.LhrOutboxEntry.Status.DONE;
-import static com.ibosng.personalverwaltung.persistence.LhrOutboxEntry.Status.ERROR;
+import static com.ibosng.personalverwaltung.persistence.LhrOutboxEntry.Status.DEAD_LETTER;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -58,7 +58,7 @@ public class LhrOutboxIntegrationTest extends BaseIntegrationTest {
     void processCreateAbwesenheitRequest_lhrCalledAndEmailToFuehrungskraftSent() {
 
         // other tests might already have processed this entry
-        resetFirstOutboxEntryToNew();
+        resetOutboxEntryToNew(1);
 
         lhrOutboxScheduler.process();
 
@@ -115,7 +115,7 @@ public class LhrOutboxIntegrationTest extends BaseIntegrationTest {
                 })
                 .anySatisfy(e -> {
                     assertThat(e.getId()).isEqualTo(2);
-                    assertThat(e.getStatus()).isEqualTo(ERROR);
+                    assertThat(e.getStatus()).isEqualTo(DEAD_LETTER);
                     assertThat(e.getSyncedAt()).isNotNull();
                     assertThat(e.getErrorMessage()).isNotNull();
                     assertThat(e.getData()).isEqualTo(Map.of("entityId", "302"));
@@ -129,7 +129,7 @@ public class LhrOutboxIntegrationTest extends BaseIntegrationTest {
                 })
                 .anySatisfy(e -> {
                     assertThat(e.getId()).isEqualTo(4);
-                    assertThat(e.getStatus()).isEqualTo(ERROR);
+                    assertThat(e.getStatus()).isEqualTo(DEAD_LETTER);
                     assertThat(e.getSyncedAt()).isNotNull();
                     assertThat(e.getErrorMessage()).isNotNull();
                     assertThat(e.getData()).isEqualTo(Map.of("entityId", "303"));
@@ -138,9 +138,12 @@ public class LhrOutboxIntegrationTest extends BaseIntegrationTest {
     }
 
     @Test
-    void lhrPostFails_abwesenheitInvalidAndOutboxEntryError() {
+    void lhrRejectsPost_abwesenheitInvalidAndOutboxEntryDeadLetter() {
 
-        doThrow(new LHRWebClientException("An Error!", HttpStatus.INTERNAL_SERVER_ERROR))
+        // other tests might already have processed this entry
+        resetOutboxEntryToNew(5);
+
+        doThrow(new LHRWebClientException("An Error!", HttpStatus.BAD_REQUEST))
                 .when(lhrClientSpy)
                 .postEintritt(eq("abc"), eq(10), eq(999999999), isNull(), isNull(), any());
 
@@ -149,7 +152,7 @@ public class LhrOutboxIntegrationTest extends BaseIntegrationTest {
         assertThat(repository.findById(5))
                 .isPresent()
                 .hasValueSatisfying(e -> {
-                    assertThat(e.getStatus()).isEqualTo(ERROR);
+                    assertThat(e.getStatus()).isEqualTo(DEAD_LETTER);
                     assertThat(e.getSyncedAt()).isNotNull();
                     assertThat(e.getErrorMessage()).isNotNull();
                 });
@@ -162,11 +165,11 @@ public class LhrOutboxIntegrationTest extends BaseIntegrationTest {
     }
 
     @SneakyThrows
-    private void resetFirstOutboxEntryToNew() {
+    private void resetOutboxEntryToNew(int id) {
         try (var c = dataSource.getConnection();
              var st = c.createStatement()) {
             c.setAutoCommit(false);
-            st.execute("UPDATE lhr_outbox SET status = 'NEW' WHERE id = 1");
+            st.execute("UPDATE lhr_outbox SET status = 'NEW', attempts = 0, next_attempt_at = null, locked_until = null WHERE id = " + id);
             c.commit();
         }
     }
@@ -5,14 +5,26 @@ import com.ibosng.personalverwaltung.domain.LhrOutboxScheduler;
 import com.ibosng.personalverwaltung.domain.exceptions.LhrOutboxProcessingException;
 import com.ibosng.personalverwaltung.persistence.LhrOutboxEntry;
 import com.ibosng.personalverwaltung.persistence.LhrOutboxEntryRepository;
+import com.ibosng.personalverwaltung.persistence.LhrOutboxResult;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static com.ibosng.personalverwaltung.persistence.LhrOutboxEntry.Operation.CREATE_ABWESENHEIT_REQUEST;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,14 +38,22 @@ public class LhrOutboxSchedulerTest {
 
     private LhrOutboxScheduler sut;
 
+    @AfterEach
+    public void stopScheduler() {
+        if (sut != null) {
+            sut.stop();
+        }
+    }
+
     @Test
-    public void readsFromOutbox() {
+    public void claimsFromOutbox() {
 
-        sut = new LhrOutboxScheduler(repositoryMock, List.of());
+        sut = getScheduler(List.of());
 
         sut.process();
 
-        verify(repositoryMock, times(1)).findByStatusOrderById(LhrOutboxEntry.Status.NEW);
+        verify(repositoryMock, times(1)).claim(50, 600);
+        verify(repositoryMock, never()).updateResults(anyList());
     }
 
     @Test
@@ -41,8 +61,7 @@ public class LhrOutboxSchedulerTest {
 
         sut = getSchedulerWithDefinedHandlers();
 
-        var singleEntryRetrieved = getMockPersistedEntry();
-        when(repositoryMock.findByStatusOrderById(LhrOutboxEntry.Status.NEW)).thenReturn(List.of(singleEntryRetrieved));
+        var singleEntryRetrieved = claimEntries(getMockPersistedEntry(123, 1)).get(0);
 
         sut.process();
 
@@ -54,69 +73,139 @@ public class LhrOutboxSchedulerTest {
 
         sut = getSchedulerWithDefinedHandlers();
 
-        var singleEntryRetrieved = getMockPersistedEntry();
-        when(repositoryMock.findByStatusOrderById(LhrOutboxEntry.Status.NEW)).thenReturn(List.of(singleEntryRetrieved));
-        doNothing().when(createAbwesenheitRequestOutboxOperationHandlerMock).handle(singleEntryRetrieved);
+        claimEntries(getMockPersistedEntry(123, 1));
 
         sut.process();
 
-        verify(repositoryMock, times(1)).markAsProcessed(singleEntryRetrieved.getId());
+        verify(repositoryMock, times(1)).updateResults(List.of(LhrOutboxResult.done(123)));
+        assertThat(sut.getMetrics().getProcessed().get()).isEqualTo(1);
     }
 
     @Test
-    public void noHandlerForOperation_markAsError() {
+    public void noHandlerForOperation_markAsDeadLetter() {
 
-        sut = new LhrOutboxScheduler(repositoryMock, List.of());
+        sut = getScheduler(List.of());
 
-        var singleEntryRetrieved = getMockPersistedEntry();
-        when(repositoryMock.findByStatusOrderById(LhrOutboxEntry.Status.NEW)).thenReturn(List.of(singleEntryRetrieved));
+        claimEntries(getMockPersistedEntry(123, 1));
 
         sut.process();
 
-        verify(repositoryMock, times(1)).markAsError(singleEntryRetrieved.getId(), "No OperationHandler available for this entry's Operation");
+        verify(repositoryMock, times(1)).updateResults(List.of(LhrOutboxResult.deadLetter(123, "No OperationHandler available for this entry's Operation")));
+    }
+
+    @Test
+    public void handlerThrowsKnownException_markAsDeadLetterWithoutRetry() {
+
+        sut = getSchedulerWithDefinedHandlers();
+
+        var singleEntryRetrieved = claimEntries(getMockPersistedEntry(123, 1)).get(0);
+        var exception = new LhrOutboxProcessingException("Could not sync: Details containing helpful info");
+        doThrow(exception).when(createAbwesenheitRequestOutboxOperationHandlerMock).handle(singleEntryRetrieved);
+        when(createAbwesenheitRequestOutboxOperationHandlerMock.isRetryable(any())).thenCallRealMethod();
+
+        sut.process();
 
+        verify(repositoryMock, times(1)).updateResults(List.of(LhrOutboxResult.deadLetter(123, "LhrOutboxProcessingException: Could not sync: Details containing helpful info")));
+        verify(createAbwesenheitRequestOutboxOperationHandlerMock, times(1)).onDeadLetter(singleEntryRetrieved, exception);
     }
 
     @Test
-    public void handlerThrowsKnownException_catchAndMarkAsError() {
+    public void handlerThrowsUnknownException_retryWithBaseDelay() {
 
         sut = getSchedulerWithDefinedHandlers();
 
-        var singleEntryRetrieved = getMockPersistedEntry();
-        when(repositoryMock.findByStatusOrderById(LhrOutboxEntry.Status.NEW)).thenReturn(List.of(singleEntryRetrieved));
-        doThrow(new LhrOutboxProcessingException("Could not sync: Details containing helpful info"))
+        var singleEntryRetrieved = claimEntries(getMockPersistedEntry(123, 1)).get(0);
+        doThrow(new RuntimeException("Something unexpected happened"))
                 .when(createAbwesenheitRequestOutboxOperationHandlerMock).handle(singleEntryRetrieved);
+        when(createAbwesenheitRequestOutboxOperationHandlerMock.isRetryable(any())).thenCallRealMethod();
 
         sut.process();
 
-        verify(repositoryMock, times(1)).markAsError(singleEntryRetrieved.getId(), "LhrOutboxProcessingException: Could not sync: Details containing helpful info");
+        verify(repositoryMock, times(1)).updateResults(List.of(LhrOutboxResult.retry(123, "RuntimeException: Something unexpected happened", 30)));
+        verify(createAbwesenheitRequestOutboxOperationHandlerMock, never()).onDeadLetter(any(), any());
+        assertThat(sut.getMetrics().getRetried().get()).isEqualTo(1);
+    }
+
+    @Test
+    public void retryDelayDoublesPerAttemptUpToMaxDelay() {
 
+        when(createAbwesenheitRequestOutboxOperationHandlerMock.supports()).thenReturn(CREATE_ABWESENHEIT_REQUEST);
+        sut = new LhrOutboxScheduler(repositoryMock, List.of(createAbwesenheitRequestOutboxOperationHandlerMock), 50, 1, 10, 30, 200, 600);
+
+        claimEntries(getMockPersistedEntry(123, 3), getMockPersistedEntry(124, 4));
+        doThrow(new RuntimeException("LHR unavailable")).when(createAbwesenheitRequestOutboxOperationHandlerMock).handle(any());
+        when(createAbwesenheitRequestOutboxOperationHandlerMock.isRetryable(any())).thenCallRealMethod();
+
+        sut.process();
+
+        assertThat(capturedResults()).containsExactlyInAnyOrder(
+                LhrOutboxResult.retry(123, "RuntimeException: LHR unavailable", 120),
+                LhrOutboxResult.retry(124, "RuntimeException: LHR unavailable", 200));
     }
 
     @Test
-    public void handlerThrowsUnknownException_catchAndMarkAsError() {
+    public void lastAttemptFails_markAsDeadLetter() {
 
         sut = getSchedulerWithDefinedHandlers();
 
-        var singleEntryRetrieved = getMockPersistedEntry();
-        when(repositoryMock.findByStatusOrderById(LhrOutboxEntry.Status.NEW)).thenReturn(List.of(singleEntryRetrieved));
-        doThrow(new RuntimeException("Something unexpected happened"))
-                .when(createAbwesenheitRequestOutboxOperationHandlerMock).handle(singleEntryRetrieved);
+        var singleEntryRetrieved = claimEntries(getMockPersistedEntry(123, 5)).get(0);
+        var exception = new RuntimeException("Something unexpected happened");
+        doThrow(exception).when(createAbwesenheitRequestOutboxOperationHandlerMock).handle(singleEntryRetrieved);
 
         sut.process();
 
-        verify(repositoryMock, times(1)).markAsError(singleEntryRetrieved.getId(), "RuntimeException: Something unexpected happened");
+        verify(repositoryMock, times(1)).updateResults(List.of(LhrOutboxResult.deadLetter(123, "RuntimeException: Something unexpected happened")));
+        verify(createAbwesenheitRequestOutboxOperationHandlerMock, times(1)).onDeadLetter(singleEntryRetrieved, exception);
+    }
+
+    @Test
+    public void claimedEntriesAreProcessedInParallel() {
+
+        sut = getSchedulerWithDefinedHandlers();
+
+        claimEntries(getMockPersistedEntry(123, 1), getMockPersistedEntry(124, 1));
+        var bothStarted = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            bothStarted.countDown();
+            if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Entries were not processed in parallel");
+            }
+            return null;
+        }).when(createAbwesenheitRequestOutboxOperationHandlerMock).handle(any());
 
+        sut.process();
+
+        assertThat(capturedResults()).containsExactlyInAnyOrder(LhrOutboxResult.done(123), LhrOutboxResult.done(124));
+    }
+
+    private LhrOutboxScheduler getScheduler(List<CreateAbwesenheitRequestOutboxOperationHandler> handlers) {
+        return new LhrOutboxScheduler(repositoryMock, new ArrayList<>(handlers), 50, 4, 5, 30, 3600, 600);
     }
 
     private LhrOutboxScheduler getSchedulerWithDefinedHandlers() {
         when(createAbwesenheitRequestOutboxOperationHandlerMock.supports()).thenReturn(CREATE_ABWESENHEIT_REQUEST);
-        return new LhrOutboxScheduler(repositoryMock, List.of(createAbwesenheitRequestOutboxOperationHandlerMock));
+        return getScheduler(List.of(createAbwesenheitRequestOutboxOperationHandlerMock));
+    }
+
+    private List<LhrOutboxEntry> claimEntries(LhrOutboxEntry... entries) {
+        var ids = Arrays.stream(entries).map(LhrOutboxEntry::getId).toList();
+        when(repositoryMock.claim(anyInt(), anyLong())).thenReturn(ids, List.of());
+        when(repositoryMock.findByIdInOrderById(ids)).thenReturn(List.of(entries));
+        return List.of(entries);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<LhrOutboxResult> capturedResults() {
+        ArgumentCaptor<List<LhrOutboxResult>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repositoryMock, atLeastOnce()).updateResults(captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).toList();
     }
 
-    private LhrOutboxEntry getMockPersistedEntry() {
-        var entry = LhrOutboxEntry.forCreateAbwesenheitRequest(1);
-        entry.setId(123);
+    private LhrOutboxEntry getMockPersistedEntry(int id, int attempts) {
+        var entry = LhrOutboxEntry.forCreateAbwesenheitRequest(1, 200);
+        entry.setId(id);
+        entry.setStatus(LhrOutboxEntry.Status.IN_PROGRESS);
+        entry.setAttempts(attempts);
         return entry;
     }
 }
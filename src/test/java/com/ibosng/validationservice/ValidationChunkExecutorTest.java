@@ -0,0 +1,79 @@
+package com.ibosng.validationservice;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ValidationChunkExecutorTest {
+
+    private static final Function<String, Collection<String>> FIRST_LETTER = value -> List.of(value.substring(0, 1));
+
+    @Test
+    void keepsObjectsWithSharedKeysInOneChunk() {
+        List<String> objects = List.of("a1", "b1", "a2", "c1", "b2", "d1");
+
+        List<int[]> chunks = ValidationChunkExecutor.partition(objects, FIRST_LETTER, 3);
+
+        assertEquals(3, chunks.size());
+        assertArrayEquals(new int[]{0, 2}, chunks.get(0));
+        assertArrayEquals(new int[]{1, 3, 4}, chunks.get(1));
+        assertArrayEquals(new int[]{5}, chunks.get(2));
+    }
+
+    @Test
+    void mergesGroupsConnectedThroughDifferentKeys() {
+        List<String> objects = List.of("x", "y", "z");
+        Function<String, Collection<String>> keys = value -> switch (value) {
+            case "x" -> List.of("svn:1");
+            case "y" -> List.of("seminar:A");
+            default -> List.of("svn:1", "seminar:A");
+        };
+
+        List<int[]> chunks = ValidationChunkExecutor.partition(objects, keys, 1);
+
+        assertEquals(1, chunks.size());
+        assertArrayEquals(new int[]{0, 1, 2}, chunks.get(0));
+    }
+
+    @Test
+    void returnsResultsInInputOrder() {
+        ValidationChunkExecutor executor = new ValidationChunkExecutor(2, 3);
+        executor.start();
+        try {
+            List<String> objects = IntStream.range(0, 50).mapToObj(i -> (char) ('a' + i % 7) + String.valueOf(i)).toList();
+            Set<String> threads = ConcurrentHashMap.newKeySet();
+
+            assertTrue(executor.shouldSplit(objects.size()));
+            List<String> results = executor.execute(objects, FIRST_LETTER, () -> chunk -> {
+                threads.add(Thread.currentThread().getName());
+                return chunk.stream().map(String::toUpperCase).collect(Collectors.toList());
+            });
+
+            assertEquals(objects.stream().map(String::toUpperCase).toList(), results);
+            assertFalse(threads.isEmpty());
+        } finally {
+            executor.stop();
+        }
+    }
+
+    @Test
+    void doesNotSplitWithoutWorkerPool() {
+        ValidationChunkExecutor executor = new ValidationChunkExecutor(2, 1);
+        executor.start();
+
+        assertFalse(executor.shouldSplit(100));
+        assertEquals(List.of("A1", "B1", "A2"), executor.execute(List.of("a1", "b1", "a2"), FIRST_LETTER,
+                () -> chunk -> chunk.stream().map(String::toUpperCase).toList()));
+    }
+}
@@ -0,0 +1,127 @@
+package com.ibosng.validationservice.services.impl;
+
+import com.ibosng.dbibosservice.dtos.IbosChangeDto;
+import com.ibosng.dbibosservice.enums.IbosChangeTable;
+import com.ibosng.dbibosservice.services.AdresseIbosService;
+import com.ibosng.dbservice.entities.IbosSyncPending;
+import com.ibosng.dbservice.entities.IbosSyncState;
+import com.ibosng.dbservice.services.IbosSyncPendingService;
+import com.ibosng.dbservice.services.IbosSyncStateService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IbosChangeSyncTest {
+
+    private static final LocalDateTime CHANGED = LocalDateTime.of(2025, 3, 1, 8, 0);
+
+    private final AdresseIbosService adresseIbosService = mock(AdresseIbosService.class);
+    private final IbosSyncStateService ibosSyncStateService = mock(IbosSyncStateService.class);
+    private final IbosSyncPendingService ibosSyncPendingService = mock(IbosSyncPendingService.class);
+    private final IbosChangeSync ibosChangeSync = new IbosChangeSync(adresseIbosService, ibosSyncStateService, ibosSyncPendingService, 2, 60, 30);
+
+    @BeforeEach
+    void setUp() {
+        when(ibosSyncStateService.findByTableName(anyString())).thenReturn(Optional.empty());
+        when(ibosSyncStateService.save(any(IbosSyncState.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(adresseIbosService.findChanges(any(), any(), anyInt(), anyInt(), anyLong())).thenReturn(List.of());
+        when(ibosSyncPendingService.findAll()).thenReturn(List.of());
+        when(ibosSyncPendingService.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void pagesFromTheWatermarkAndSyncsEachEmployeeOnce() {
+        IbosSyncState state = new IbosSyncState(1, IbosChangeTable.ADRESSE.name(), CHANGED, 10, null, null, null, null);
+        when(ibosSyncStateService.findByTableName(IbosChangeTable.ADRESSE.name())).thenReturn(Optional.of(state));
+        when(adresseIbosService.findChanges(IbosChangeTable.ADRESSE, CHANGED, 10, 2, 60)).thenReturn(List.of(
+                new IbosChangeDto(11, CHANGED, "1001", 5),
+                new IbosChangeDto(11, CHANGED, "1002", 5),
+                new IbosChangeDto(12, CHANGED.plusMinutes(1), "1001", 5)));
+        when(adresseIbosService.findChanges(IbosChangeTable.ADRESSE, CHANGED.plusMinutes(1), 12, 2, 60)).thenReturn(List.of(
+                new IbosChangeDto(13, CHANGED.plusMinutes(2), null, null)));
+        List<String> synced = new ArrayList<>();
+
+        int changed = ibosChangeSync.syncChangedEmployees((personalnummer, lhrNr) -> {
+            synced.add(personalnummer);
+            return IbosChangeSync.Outcome.SYNCED;
+        });
+
+        assertEquals(2, changed);
+        assertEquals(List.of("1001", "1002"), synced);
+        assertEquals(CHANGED.plusMinutes(2), state.getChangedAt());
+        assertEquals(13, state.getLastId());
+        assertEquals(3, state.getLastChangedRows());
+        assertEquals(2, state.getLastSynced());
+    }
+
+    @Test
+    void startsAtTheBeginningWithoutWatermark() {
+        ibosChangeSync.syncChangedEmployees((personalnummer, lhrNr) -> IbosChangeSync.Outcome.SYNCED);
+
+        verify(adresseIbosService).findChanges(eq(IbosChangeTable.ARBEITSVERTRAG), eq(IbosChangeSync.BEGINNING), eq(0), eq(2), eq(60L));
+        verify(ibosSyncStateService).saveAll(any());
+    }
+
+    @Test
+    void keepsFailedAndUnmatchedEmployeesBeforeMovingTheWatermark() {
+        when(adresseIbosService.findChanges(IbosChangeTable.ADRESSE, IbosChangeSync.BEGINNING, 0, 2, 60)).thenReturn(List.of(
+                new IbosChangeDto(1, CHANGED, "1001", 5),
+                new IbosChangeDto(2, CHANGED, "1002", 5)));
+        when(adresseIbosService.findChanges(IbosChangeTable.ADRESSE, CHANGED, 2, 2, 60)).thenReturn(List.of(
+                new IbosChangeDto(3, CHANGED, "1003", 5)));
+
+        ibosChangeSync.syncChangedEmployees((personalnummer, lhrNr) -> switch (personalnummer) {
+            case "1001" -> throw new IllegalStateException("sync failed");
+            case "1002" -> IbosChangeSync.Outcome.RETRY;
+            default -> IbosChangeSync.Outcome.SYNCED;
+        });
+
+        ArgumentCaptor<List<IbosSyncPending>> pending = ArgumentCaptor.forClass(List.class);
+        InOrder inOrder = inOrder(ibosSyncPendingService, ibosSyncStateService);
+        inOrder.verify(ibosSyncPendingService).saveAll(pending.capture());
+        inOrder.verify(ibosSyncStateService).save(any(IbosSyncState.class));
+        assertEquals(List.of("1001", "1002"), pending.getValue().stream().map(IbosSyncPending::getPersonalnummer).toList());
+        verify(ibosSyncPendingService, times(1)).saveAll(any());
+    }
+
+    @Test
+    void retriesPendingEmployeesUntilTheyAreSynced() {
+        LocalDateTime now = LocalDateTime.now();
+        IbosSyncPending synced = new IbosSyncPending(1, "1001", 5, now.minusDays(1), now.minusDays(1), 1);
+        IbosSyncPending stillFailing = new IbosSyncPending(2, "1002", 5, now.minusDays(1), now.minusDays(1), 1);
+        IbosSyncPending expired = new IbosSyncPending(3, "1003", 5, now.minusDays(31), now.minusDays(1), 9);
+        when(ibosSyncPendingService.findAll()).thenReturn(List.of(synced, stillFailing, expired));
+        when(adresseIbosService.findChanges(IbosChangeTable.ADRESSE, IbosChangeSync.BEGINNING, 0, 2, 60)).thenReturn(List.of(
+                new IbosChangeDto(1, CHANGED, "1002", 5)));
+        List<String> attempted = new ArrayList<>();
+
+        int changed = ibosChangeSync.syncChangedEmployees((personalnummer, lhrNr) -> {
+            attempted.add(personalnummer);
+            return "1001".equals(personalnummer) ? IbosChangeSync.Outcome.SYNCED : IbosChangeSync.Outcome.RETRY;
+        });
+
+        assertEquals(3, changed);
+        assertEquals(List.of("1001", "1002", "1003"), attempted);
+        verify(ibosSyncPendingService).deleteAll(List.of(synced, expired));
+        verify(ibosSyncPendingService).saveAll(List.of(stillFailing));
+        assertEquals(2, stillFailing.getAttempts());
+    }
+}
@@ -10,6 +10,7 @@ import com.ibosng.dbservice.services.impl.TeilnehmerServiceImpl;
 import com.ibosng.dbservice.services.impl.TeilnehmerStagingServiceImpl;
 import com.ibosng.dbservice.services.impl.ValidationsServiceImpl;
 import com.ibosng.validationservice.Validation;
+import com.ibosng.validationservice.ValidationChunkExecutor;
 import com.ibosng.validationservice.ValidationObjectPair;
 import com.ibosng.validationservice.services.TeilnehmerValidatorService;
 import com.ibosng.validationservice.teilnehmer.validations.imported.*;
@@ -71,6 +72,8 @@ public class ImportedTeilnehmerValidatorTest extends BaseIntegrationTest {
     private VHSOptionalTelefonValidation vhsOptionalTelefonValidation;
     @Mock
     private VHSOptionalVornameValidation vhsOptionalVornameValidation;
+    @Mock
+    private ValidationChunkExecutor validationChunkExecutor;
     @InjectMocks
     private ImportedTeilnehmerValidator importedTeilnehmerValidator;
 
@@ -67,7 +67,7 @@ public class TeilnehmerAdresseValidationTest extends BaseIntegrationTest {
         Plz plZ = new Plz();
         plZ.setPlz(1010);
 
-        when(plzService.findOrtByPlz(1010)).thenReturn(Collections.singletonList("Wien"));
+        when(plzService.findMatchingOrtsByPlz(1010, "Wien")).thenReturn(Collections.singletonList("Wien"));
         when(plzService.getAllPlz()).thenReturn(Collections.singletonList(1010));
         when(plzService.getAllOrt()).thenReturn(Collections.singletonList("Wien"));
         when(plzValidation.validatePlz("1010")).thenReturn(plZ);
@@ -119,7 +119,7 @@ public class TeilnehmerAdresseValidationTest extends BaseIntegrationTest {
         Plz plZ = new Plz();
         plZ.setPlz(1010);
 
-        when(plzService.findOrtByPlz(1010)).thenReturn(Collections.singletonList("Wien"));
+        when(plzService.findMatchingOrtsByPlz(1010, "Graz")).thenReturn(Collections.emptyList());
         when(plzService.getAllPlz()).thenReturn(Collections.singletonList(1010));
         when(plzService.getAllOrt()).thenReturn(Collections.singletonList("Graz"));
         when(plzValidation.validatePlz("1010")).thenReturn(plZ);